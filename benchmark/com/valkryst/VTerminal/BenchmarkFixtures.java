@@ -0,0 +1,92 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import lombok.NonNull;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.Random;
+
+public final class BenchmarkFixtures {
+    /** The path, within the jar, of the sprite sheet of the font used by the benchmarks. */
+    public final static String FONT_SPRITE_SHEET_PATH = "Fonts/DejaVu Sans Mono/20pt/bitmap.png";
+
+    /** The path, within the jar, of the character data of the font used by the benchmarks. */
+    public final static String FONT_CHARACTER_DATA_PATH = "Fonts/DejaVu Sans Mono/20pt/data.fnt";
+
+    /** The seed used to generate the contents of every grid, so that each run draws the same tiles. */
+    private final static long SEED = 0x5EED;
+
+    // Prevent users from creating an instance.
+    private BenchmarkFixtures() {}
+
+    /**
+     * Loads the font used by the benchmarks.
+     *
+     * @return
+     *          The font.
+     *
+     * @throws IOException
+     *          If an IOException occurs while loading the font.
+     */
+    public static Font loadFont() throws IOException {
+        return FontLoader.loadFontFromJar(FONT_SPRITE_SHEET_PATH, FONT_CHARACTER_DATA_PATH, 1);
+    }
+
+    /**
+     * Creates a set of distinct, opaque, colors.
+     *
+     * @param colorCount
+     *          The number of colors.
+     *
+     * @return
+     *          The colors.
+     *
+     * @throws IllegalArgumentException
+     *          If the color count is below 1.
+     */
+    public static Color[] createColors(final int colorCount) {
+        if (colorCount < 1) {
+            throw new IllegalArgumentException("The color count cannot be below 1.");
+        }
+
+        final Color[] colors = new Color[colorCount];
+
+        for (int i = 0 ; i < colorCount ; i++) {
+            // Spread the hues around the color wheel, so that every color differs.
+            colors[i] = Color.getHSBColor((float) i / colorCount, 0.8f, 0.5f + (0.5f * (i % 2)));
+        }
+
+        return colors;
+    }
+
+    /**
+     * Fills a grid with printable characters, whose colors are chosen from a
+     * set of colors.
+     *
+     * The higher the number of colors, the higher the number of distinct tile
+     * images that must be drawn.
+     *
+     * @param grid
+     *          The grid.
+     *
+     * @param colors
+     *          The colors.
+     *
+     * @throws NullPointerException
+     *          If the grid or colors are null.
+     */
+    public static void fill(final @NonNull TileGrid grid, final @NonNull Color[] colors) {
+        final Random random = new Random(SEED);
+
+        for (int y = 0 ; y < grid.getHeight() ; y++) {
+            for (int x = 0 ; x < grid.getWidth() ; x++) {
+                final Tile tile = grid.getTileAt(x, y);
+                tile.setCharacter((char) ('!' + random.nextInt('~' - '!')));
+                tile.setForegroundColor(colors[random.nextInt(colors.length)]);
+                tile.setBackgroundColor(colors[random.nextInt(colors.length)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.font.Font;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/** Draws a screen onto an off-screen image, so that no window is required. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScreenDrawBenchmark {
+    /** The width, in tiles, of the screen. Its height is half of its width. */
+    @Param({"80", "160"})
+    private int width;
+
+    /** The number of colors used by the tiles. */
+    @Param({"1", "16", "256"})
+    private int colorCount;
+
+    @Param({"GLYPH_ATLAS", "IMAGE_CACHE"})
+    private RenderMode renderMode;
+
+    private Screen screen;
+
+    /** The off-screen image that the screen is drawn onto. */
+    private ImageRenderTarget target;
+
+    @Setup
+    public void setup() throws IOException {
+        final Font font = BenchmarkFixtures.loadFont();
+        final int height = width / 2;
+
+        screen = new Screen(new Dimension(width, height), font);
+        screen.setRenderMode(renderMode);
+        BenchmarkFixtures.fill(screen.getTiles(), BenchmarkFixtures.createColors(colorCount));
+
+        target = new ImageRenderTarget(width * font.getWidth(), height * font.getHeight());
+        screen.setRenderTarget(target);
+
+        // Draw every tile once, so that the atlas and cached images exist.
+        screen.draw();
+    }
+
+    /**
+     * Draws every tile of the screen.
+     *
+     * @return
+     *          The off-screen image.
+     */
+    @Benchmark
+    public BufferedImage draw_fullRepaint() {
+        screen.markForFullRepaint();
+        screen.draw();
+        return target.getImage();
+    }
+
+    /**
+     * Changes a single tile, then draws the screen.
+     *
+     * @return
+     *          The off-screen image.
+     */
+    @Benchmark
+    public BufferedImage draw_singleChange() {
+        final Tile tile = screen.getTiles().getTileAt(0, 0);
+        tile.setCharacter(tile.getCharacter() == 'A' ? 'B' : 'A');
+
+        screen.draw();
+        return target.getImage();
+    }
+
+    /**
+     * Draws a screen whose tiles haven't changed since it was last drawn.
+     *
+     * @return
+     *          The off-screen image.
+     */
+    @Benchmark
+    public BufferedImage draw_noChange() {
+        screen.draw();
+        return target.getImage();
+    }
+}
@@ -0,0 +1,117 @@
+package com.valkryst.VTerminal;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class TileGridBenchmark {
+    /** The width, in tiles, of the root grid. Its height is half of its width. */
+    @Param({"80", "160", "320"})
+    private int width;
+
+    /** The number of colors used by the tiles. */
+    @Param({"1", "16", "256"})
+    private int colorCount;
+
+    @Param({"OBJECT", "PACKED"})
+    private TileStorageMode storageMode;
+
+    /** The grid onto which the root grid is copied, as a screen's tiles would be. */
+    private TileGrid destination;
+
+    /** The root grid, with a child which has a child of it's own. */
+    private TileGrid root;
+
+    /** A child of the root grid, covering half of it. */
+    private TileGrid child;
+
+    /** A child of the child grid, covering half of it. */
+    private TileGrid grandchild;
+
+    @Setup
+    public void setup() {
+        final int height = width / 2;
+        final Color[] colors = BenchmarkFixtures.createColors(colorCount);
+
+        destination = new TileGrid(new Dimension(width, height), storageMode);
+        root = new TileGrid(new Dimension(width, height), storageMode);
+        child = new TileGrid(new Dimension(width / 2, height / 2), new Point(width / 4, height / 4), storageMode);
+        grandchild = new TileGrid(new Dimension(width / 4, height / 4), new Point(width / 8, height / 8), storageMode);
+
+        BenchmarkFixtures.fill(destination, colors);
+        BenchmarkFixtures.fill(root, colors);
+        BenchmarkFixtures.fill(child, colors);
+        BenchmarkFixtures.fill(grandchild, colors);
+
+        child.addChild(grandchild);
+        root.addChild(child);
+    }
+
+    /**
+     * Copies every tile of every grid, as happens when a screen is first
+     * drawn.
+     *
+     * @return
+     *          The destination grid.
+     */
+    @Benchmark
+    public TileGrid copyOnto_allDirty() {
+        root.markAllTilesDirty();
+        child.markAllTilesDirty();
+        grandchild.markAllTilesDirty();
+
+        root.copyOnto(destination);
+        drawDestination();
+        return destination;
+    }
+
+    /**
+     * Copies a grid whose tiles haven't changed, as happens when nothing on a
+     * screen has changed since it was last drawn.
+     *
+     * @return
+     *          The destination grid.
+     */
+    @Benchmark
+    public TileGrid copyOnto_clean() {
+        root.copyOnto(destination);
+        drawDestination();
+        return destination;
+    }
+
+    /**
+     * Changes a single tile of the grandchild grid, then copies every grid.
+     *
+     * @return
+     *          The destination grid.
+     */
+    @Benchmark
+    public TileGrid copyOnto_singleChange() {
+        final Tile tile = grandchild.getTileAt(0, 0);
+        tile.setCharacter(tile.getCharacter() == 'A' ? 'B' : 'A');
+
+        root.copyOnto(destination);
+        drawDestination();
+        return destination;
+    }
+
+    /**
+     * Clears the dirty state of the destination's tiles, as drawing a
+     * screen's tiles does, so that each benchmark begins with a clean
+     * destination.
+     */
+    private void drawDestination() {
+        for (int y = destination.nextDirtyRow(0) ; y >= 0 ; y = destination.nextDirtyRow(y + 1)) {
+            destination.takeDirtyColumns(y);
+        }
+    }
+}
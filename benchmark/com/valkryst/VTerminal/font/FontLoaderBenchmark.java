@@ -0,0 +1,80 @@
+package com.valkryst.VTerminal.font;
+
+import com.valkryst.VTerminal.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class FontLoaderBenchmark {
+    /** The amount to scale the font by. */
+    @Param({"1", "2"})
+    private double scale;
+
+    /** The sprite sheet, read into memory so that disk access isn't measured. */
+    private byte[] spriteSheet;
+
+    /** The character data, read into memory so that disk access isn't measured. */
+    private byte[] characterData;
+
+    @Setup
+    public void setup() throws IOException {
+        spriteSheet = readResource(BenchmarkFixtures.FONT_SPRITE_SHEET_PATH);
+        characterData = readResource(BenchmarkFixtures.FONT_CHARACTER_DATA_PATH);
+    }
+
+    /**
+     * Loads a font from it's sprite sheet and character data.
+     *
+     * @return
+     *          The font.
+     *
+     * @throws IOException
+     *          If an IOException occurs while loading the font.
+     */
+    @Benchmark
+    public Font loadFont() throws IOException {
+        return FontLoader.loadFont(new ByteArrayInputStream(spriteSheet), new ByteArrayInputStream(characterData), scale);
+    }
+
+    /**
+     * Reads a resource, from the jar, into memory.
+     *
+     * @param path
+     *          The path of the resource.
+     *
+     * @return
+     *          The contents of the resource.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private static byte[] readResource(final String path) throws IOException {
+        try (
+            final InputStream inputStream = FontLoaderBenchmark.class.getClassLoader().getResourceAsStream(path);
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ) {
+            if (inputStream == null) {
+                throw new IOException("The resource \"" + path + "\" does not exist.");
+            }
+
+            final byte[] buffer = new byte[4096];
+            int count;
+
+            while ((count = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, count);
+            }
+
+            return outputStream.toByteArray();
+        }
+    }
+}
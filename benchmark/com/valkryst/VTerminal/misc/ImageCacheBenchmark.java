@@ -0,0 +1,174 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.BenchmarkFixtures;
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.TileGrid;
+import com.valkryst.VTerminal.font.Font;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the retrieval and creation of tile images.
+ *
+ * Without a display, the caches store their images as BufferedImages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageCacheBenchmark {
+    /** The number of distinct tiles that are retrieved. */
+    private final static int TILE_COUNT = 1024;
+
+    /** The number of colors used by the tiles. */
+    @Param({"1", "16", "256"})
+    private int colorCount;
+
+    private Font font;
+
+    /** The cache, which already contains an image of every tile. */
+    private ImageCache warmCache;
+
+    /** The tiles. */
+    private Tile[] tiles;
+
+    /** The index of the next tile to retrieve. */
+    private int index = 0;
+
+    @Setup
+    public void setup() throws IOException {
+        font = BenchmarkFixtures.loadFont();
+
+        final TileGrid grid = new TileGrid(new Dimension(TILE_COUNT, 1));
+        BenchmarkFixtures.fill(grid, BenchmarkFixtures.createColors(colorCount));
+        tiles = grid.getRow(0);
+
+        warmCache = new ImageCache(font);
+
+        for (final Tile tile : tiles) {
+            warmCache.retrieve(tile);
+        }
+    }
+
+    /**
+     * Retrieves an image which is already in the cache.
+     *
+     * @return
+     *          The image.
+     */
+    @Benchmark
+    public Image retrieve_hit() {
+        return warmCache.retrieve(nextTile());
+    }
+
+    /**
+     * Retrieves an image which isn't in the cache, so it must be created.
+     *
+     * @param state
+     *          The state containing an empty cache.
+     *
+     * @return
+     *          The image.
+     */
+    @Benchmark
+    public Image retrieve_miss(final ColdCache state) {
+        return state.cache.retrieve(nextTile());
+    }
+
+    /**
+     * Colors a character image.
+     *
+     * @return
+     *          The colored image.
+     */
+    @Benchmark
+    public BufferedImage applyColorSwap() {
+        return ImageCache.applyColorSwap(nextTile(), font);
+    }
+
+    /**
+     * Colors a character image, by reading and writing each pixel through the
+     * image's color model.
+     *
+     * This was how applyColorSwap worked before it read the image's raster
+     * directly, and is kept as a baseline.
+     *
+     * @return
+     *          The colored image.
+     */
+    @Benchmark
+    public BufferedImage applyColorSwap_perPixel() {
+        final Tile tile = nextTile();
+        final BufferedImage image = ImageCache.cloneImage(font.getCharacterImage(tile.getCharacter()));
+
+        final int backgroundRGB = tile.getBackgroundColor().getRGB();
+        final int foregroundRGB = tile.getForegroundColor().getRGB();
+        final int foregroundR = (foregroundRGB >> 16) & 0xFF;
+        final int foregroundG = (foregroundRGB >> 8) & 0xFF;
+        final int foregroundB = foregroundRGB & 0xFF;
+
+        final boolean isTile = ! (tile instanceof GraphicTile);
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                final int pixel = image.getRGB(x, y);
+                final int alpha = (pixel >> 24) & 0xFF;
+
+                if (pixel == 0) {
+                    image.setRGB(x, y, backgroundRGB);
+                    continue;
+                }
+
+                if (isTile) {
+                    if (alpha == 255) {
+                        image.setRGB(x, y, foregroundRGB);
+                    } else {
+                        final int blendedRGBA = (alpha << 24) + (foregroundR << 16) + (foregroundG << 8) + foregroundB;
+                        image.setRGB(x, y, blendedRGBA);
+                    }
+                }
+            }
+        }
+
+        return image;
+    }
+
+    /**
+     * Retrieves the next tile, cycling through every tile.
+     *
+     * @return
+     *          The tile.
+     */
+    private Tile nextTile() {
+        index = (index + 1) % TILE_COUNT;
+        return tiles[index];
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+        /** An empty cache, which is replaced before each invocation. */
+        private ImageCache cache;
+
+        /**
+         * Replaces the cache with an empty one.
+         *
+         * Creating an image takes far longer than creating a cache, so the
+         * overhead of doing this before each invocation is acceptable.
+         *
+         * @param benchmark
+         *          The benchmark state.
+         */
+        @Setup(Level.Invocation)
+        public void setup(final ImageCacheBenchmark benchmark) {
+            cache = new ImageCache(benchmark.font);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.BenchmarkFixtures;
+import com.valkryst.VTerminal.component.Layer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class REXPaintLoaderBenchmark {
+    /** The width, in tiles, of each layer. Its height is half of its width. */
+    @Param({"80", "160"})
+    private int width;
+
+    /** The number of layers in the file. */
+    @Param({"1", "4"})
+    private int layerCount;
+
+    /** The number of colors used by the tiles. */
+    @Param({"1", "16", "256"})
+    private int colorCount;
+
+    /** The generated *.xp file. */
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        final int height = width / 2;
+        final Color[] colors = BenchmarkFixtures.createColors(colorCount);
+        final Random random = new Random(0x5EED);
+
+        // Each layer is preceded by it's width and height, and each tile is
+        // made up of a character and two RGB colors.
+        final ByteBuffer buffer = ByteBuffer.allocate(8 + (layerCount * (8 + (width * height * 10))));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(-1);
+        buffer.putInt(layerCount);
+
+        for (int layer = 0 ; layer < layerCount ; layer++) {
+            buffer.putInt(width);
+            buffer.putInt(height);
+
+            for (int i = 0 ; i < width * height ; i++) {
+                buffer.putInt('!' + random.nextInt('~' - '!'));
+                putColor(buffer, colors[random.nextInt(colors.length)]);
+                putColor(buffer, colors[random.nextInt(colors.length)]);
+            }
+        }
+
+        file = File.createTempFile("REXPaintLoaderBenchmark", ".xp");
+        file.deleteOnExit();
+
+        try (final GZIPOutputStream outputStream = new GZIPOutputStream(new FileOutputStream(file))) {
+            outputStream.write(buffer.array());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * Loads the layers of the *.xp file.
+     *
+     * @return
+     *          The layers.
+     *
+     * @throws IOException
+     *          If an I/O error has occurred.
+     */
+    @Benchmark
+    public List<Layer> load() throws IOException {
+        return REXPaintLoader.load(file);
+    }
+
+    /**
+     * Writes the RGB values of a color.
+     *
+     * @param buffer
+     *          The buffer to write to.
+     *
+     * @param color
+     *          The color.
+     */
+    private static void putColor(final ByteBuffer buffer, final Color color) {
+        buffer.put((byte) color.getRed());
+        buffer.put((byte) color.getGreen());
+        buffer.put((byte) color.getBlue());
+    }
+}
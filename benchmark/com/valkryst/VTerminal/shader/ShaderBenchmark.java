@@ -0,0 +1,73 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.BenchmarkFixtures;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.misc.ImageCache;
+import com.valkryst.VTerminal.shader.character.CharShader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations=5, time=1)
+@Measurement(iterations=5, time=1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShaderBenchmark {
+    /** The name of the shader's class, relative to the shader package. */
+    @Param({
+        "blur.FastMotionBlurShader",
+        "blur.GaussianBlurShader",
+        "blur.MotionBlurShader",
+        "character.CharBoldShader",
+        "character.CharChromeShader",
+        "character.CharEdgeDetectionShader",
+        "character.CharGlowShader",
+        "character.CharShadeShader",
+        "character.CharShadowShader",
+        "character.CharTintShader",
+        "misc.ChromeShader",
+        "misc.EdgeDetectionShader",
+        "misc.EmbossShader",
+        "misc.FlipShader",
+        "misc.OilPaintShader",
+        "misc.PixelateShader",
+        "misc.SharpenShader"
+    })
+    private String shaderName;
+
+    private Shader shader;
+
+    /** The tile whose image is shaded. */
+    private Tile tile;
+
+    /** The image of the tile. */
+    private BufferedImage image;
+
+    @Setup
+    public void setup() throws Exception {
+        shader = (Shader) Class.forName(Shader.class.getPackage().getName() + "." + shaderName).newInstance();
+
+        final Font font = BenchmarkFixtures.loadFont();
+        tile = new Tile('A');
+        image = ImageCache.cloneImage(font.getCharacterImage(tile.getCharacter()));
+    }
+
+    /**
+     * Runs the shader on the tile's image.
+     *
+     * @return
+     *          The shaded image.
+     */
+    @Benchmark
+    public BufferedImage run() {
+        if (shader instanceof CharShader) {
+            return ((CharShader) shader).run(image, tile);
+        }
+
+        return shader.run(image);
+    }
+}
@@ -27,9 +27,7 @@ public class SampleShaders {
         labelBuilder.setPosition(0, labelBuilder.getYPosition() + 1);
         labelBuilder.setText("Sample text 123456789!@#$%^&*()_+-=. Using FastMotionBlurShader (Angle 90, Distance 5).");
         label = labelBuilder.build();
-        final FastMotionBlurShader fastMotionBlurShader = new FastMotionBlurShader();
-        fastMotionBlurShader.setAngle(90);
-        fastMotionBlurShader.setDistance(5);
+        final FastMotionBlurShader fastMotionBlurShader = new FastMotionBlurShader(0.5f, 0.5f, 90, 5, 0, 0);
         for (final Tile tile : label.getTiles().getRow(0)) {
             tile.addShaders(fastMotionBlurShader);
         }
@@ -48,9 +46,7 @@ public class SampleShaders {
         labelBuilder.setPosition(0, labelBuilder.getYPosition() + 1);
         labelBuilder.setText("Sample text 123456789!@#$%^&*()_+-=. Using MotionBlurShader (Angle 90, Distance 5).");
         label = labelBuilder.build();
-        final MotionBlurShader motionBlurShader = new MotionBlurShader();
-        motionBlurShader.setAngle(90);
-        motionBlurShader.setDistance(5);
+        final MotionBlurShader motionBlurShader = new MotionBlurShader(90, 5, 0, 0, false);
         for (final Tile tile : label.getTiles().getRow(0)) {
             tile.addShaders(motionBlurShader);
         }
@@ -0,0 +1,236 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.shader.ShaderAnimation;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The animated tiles that have been drawn onto a screen, along with the
+ * animation and frame that each was drawn with.
+ *
+ * Only the animated tiles are stored, so that finding the tiles whose frames
+ * have changed doesn't require visiting every tile of the screen. The time at
+ * which the next frame, of any tile, begins is also kept, so that the tiles
+ * are only visited when at least one of them must be drawn again.
+ */
+@ToString(of={"width", "size", "nextFrameTime"})
+final class AnimatedTiles {
+    /** The width, in tiles, of the screen. */
+    private final int width;
+
+    /** The position, within the arrays, of each tile's entry. -1 if a tile isn't animated. */
+    private final int[] indices;
+
+    /** The position of each animated tile, as '(y * width) + x'. */
+    private int[] positions = new int[8];
+    /** The animation that each animated tile was drawn with. */
+    private ShaderAnimation[] animations = new ShaderAnimation[8];
+    /** The frame that each animated tile was drawn with. */
+    private int[] frames = new int[8];
+
+    /** The number of animated tiles. */
+    @Getter private int size = 0;
+
+    /**
+     * The time, in milliseconds, at which the next frame of any animated tile
+     * begins, or Long.MAX_VALUE if no animated tile changes.
+     */
+    @Getter private long nextFrameTime = Long.MAX_VALUE;
+
+    /**
+     * Constructs a new AnimatedTiles.
+     *
+     * @param width
+     *          The width, in tiles, of the screen.
+     *
+     * @param height
+     *          The height, in tiles, of the screen.
+     */
+    AnimatedTiles(final int width, final int height) {
+        this.width = width;
+
+        indices = new int[width * height];
+        Arrays.fill(indices, -1);
+    }
+
+    /**
+     * Records the animation, and the frame, that a tile is drawn with.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile.
+     *
+     * @param animation
+     *          The animation, or null if the tile isn't animated.
+     *
+     * @param time
+     *          The time, in milliseconds, of the frame being drawn.
+     */
+    void record(final int x, final int y, final ShaderAnimation animation, final long time) {
+        final int position = (y * width) + x;
+
+        if (animation == null) {
+            remove(position);
+            return;
+        }
+
+        int index = indices[position];
+
+        if (index == -1) {
+            ensureCapacity(size + 1);
+            index = size++;
+            indices[position] = index;
+            positions[index] = position;
+        }
+
+        animations[index] = animation;
+        frames[index] = animation.getFrame(time);
+        nextFrameTime = Math.min(nextFrameTime, animation.getNextFrameTime(time));
+    }
+
+    /**
+     * Passes the position, of every animated tile whose frame has changed
+     * since it was drawn, to a function.
+     *
+     * The tiles are only visited if the next frame of at least one of them
+     * has begun.
+     *
+     * @param time
+     *          The time, in milliseconds, of the frame being drawn.
+     *
+     * @param function
+     *          The function, which is given each position as
+     *          '(y * width) + x'.
+     */
+    void forEachChanged(final long time, final IntConsumer function) {
+        if (time < nextFrameTime) {
+            return;
+        }
+
+        nextFrameTime = Long.MAX_VALUE;
+
+        for (int i = 0 ; i < size ; i++) {
+            final ShaderAnimation animation = animations[i];
+
+            if (animation.getFrame(time) != frames[i]) {
+                function.accept(positions[i]);
+            }
+
+            nextFrameTime = Math.min(nextFrameTime, animation.getNextFrameTime(time));
+        }
+    }
+
+    /**
+     * Applies an area copy, so that the tiles it was copied to take on the
+     * animations and frames of the tiles they were copied from.
+     *
+     * @param areaCopy
+     *          The area copy.
+     */
+    void apply(final AreaCopy areaCopy) {
+        if (size == 0) {
+            return;
+        }
+
+        // The entries of the copied area are read before any are overwritten.
+        final int[] copiedPositions = new int[size];
+        final ShaderAnimation[] copiedAnimations = new ShaderAnimation[size];
+        final int[] copiedFrames = new int[size];
+        int copiedCount = 0;
+
+        for (int i = size - 1 ; i >= 0 ; i--) {
+            final int x = positions[i] % width;
+            final int y = positions[i] / width;
+
+            if (contains(areaCopy, x, y)) {
+                copiedPositions[copiedCount] = ((y + areaCopy.dy) * width) + x + areaCopy.dx;
+                copiedAnimations[copiedCount] = animations[i];
+                copiedFrames[copiedCount] = frames[i];
+                copiedCount++;
+            }
+
+            // Tiles which were copied over no longer show their animations.
+            if (contains(areaCopy, x - areaCopy.dx, y - areaCopy.dy)) {
+                remove(positions[i]);
+            }
+        }
+
+        ensureCapacity(size + copiedCount);
+
+        for (int i = 0 ; i < copiedCount ; i++) {
+            final int index = size++;
+            indices[copiedPositions[i]] = index;
+            positions[index] = copiedPositions[i];
+            animations[index] = copiedAnimations[i];
+            frames[index] = copiedFrames[i];
+        }
+    }
+
+    /**
+     * Determines whether or not a tile lies within the area that an area copy
+     * was copied from.
+     *
+     * @param areaCopy
+     *          The area copy.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile.
+     *
+     * @return
+     *          Whether or not the tile lies within the area.
+     */
+    private static boolean contains(final AreaCopy areaCopy, final int x, final int y) {
+        return x >= areaCopy.x && x < areaCopy.x + areaCopy.width && y >= areaCopy.y && y < areaCopy.y + areaCopy.height;
+    }
+
+    /**
+     * Grows the arrays of entries, if they can't hold a number of entries.
+     *
+     * @param capacity
+     *          The number of entries.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= positions.length) {
+            return;
+        }
+
+        final int length = Math.max(capacity, positions.length * 2);
+        positions = Arrays.copyOf(positions, length);
+        animations = Arrays.copyOf(animations, length);
+        frames = Arrays.copyOf(frames, length);
+    }
+
+    /**
+     * Removes the entry of a tile, by moving the last entry into it's place.
+     *
+     * @param position
+     *          The position of the tile, as '(y * width) + x'.
+     */
+    private void remove(final int position) {
+        final int index = indices[position];
+
+        if (index == -1) {
+            return;
+        }
+
+        final int last = --size;
+        indices[position] = -1;
+
+        if (index != last) {
+            positions[index] = positions[last];
+            animations[index] = animations[last];
+            frames[index] = frames[last];
+            indices[positions[index]] = index;
+        }
+
+        animations[last] = null;
+    }
+}
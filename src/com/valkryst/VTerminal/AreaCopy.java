@@ -0,0 +1,143 @@
+package com.valkryst.VTerminal;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A rectangular area of a grid's tiles which has been copied, as a whole, to
+ * another position on the same grid.
+ *
+ * When an area copy reaches a screen, the pixels of the area are copied on the
+ * drawing surface, rather than each of the area's tiles being drawn again.
+ */
+@EqualsAndHashCode
+@ToString
+final class AreaCopy {
+    /** The x-axis coordinate of the area's left edge. */
+    final int x;
+    /** The y-axis coordinate of the area's top edge. */
+    final int y;
+
+    /** The width of the area. */
+    final int width;
+    /** The height of the area. */
+    final int height;
+
+    /** The distance, along the x-axis, that the area was copied. */
+    final int dx;
+    /** The distance, along the y-axis, that the area was copied. */
+    final int dy;
+
+    /**
+     * Constructs a new AreaCopy.
+     *
+     * @param x
+     *          The x-axis coordinate of the area's left edge.
+     *
+     * @param y
+     *          The y-axis coordinate of the area's top edge.
+     *
+     * @param width
+     *          The width of the area.
+     *
+     * @param height
+     *          The height of the area.
+     *
+     * @param dx
+     *          The distance, along the x-axis, that the area was copied.
+     *
+     * @param dy
+     *          The distance, along the y-axis, that the area was copied.
+     */
+    AreaCopy(final int x, final int y, final int width, final int height, final int dx, final int dy) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /**
+     * Creates a copy of this area copy, moved by an offset.
+     *
+     * @param xOffset
+     *          The offset to apply to the x-axis coordinate.
+     *
+     * @param yOffset
+     *          The offset to apply to the y-axis coordinate.
+     *
+     * @return
+     *          The moved copy.
+     */
+    AreaCopy translate(final int xOffset, final int yOffset) {
+        return new AreaCopy(x + xOffset, y + yOffset, width, height, dx, dy);
+    }
+
+    /**
+     * Determines whether or not both the area, and the position that it was
+     * copied to, lie within the bounds of a grid.
+     *
+     * @param gridWidth
+     *          The width of the grid.
+     *
+     * @param gridHeight
+     *          The height of the grid.
+     *
+     * @return
+     *          Whether or not the area copy lies within the bounds.
+     */
+    boolean isWithin(final int gridWidth, final int gridHeight) {
+        final int left = Math.min(x, x + dx);
+        final int top = Math.min(y, y + dy);
+        final int right = Math.max(x, x + dx) + width;
+        final int bottom = Math.max(y, y + dy) + height;
+        return left >= 0 && top >= 0 && right <= gridWidth && bottom <= gridHeight;
+    }
+
+    /**
+     * Applies the copy to a 2D array, where each element represents a tile.
+     *
+     * @param array
+     *          The array, indexed by [y][x].
+     */
+    void apply(final long[][] array) {
+        // Rows are copied in an order which never overwrites a row before it's copied.
+        for (int i = 0 ; i < height ; i++) {
+            final int row = (dy > 0 ? height - 1 - i : i);
+            System.arraycopy(array[y + row], x, array[y + dy + row], x + dx, width);
+        }
+    }
+
+    /**
+     * Applies the copy to an array of pixels, where each tile is a block of
+     * pixels.
+     *
+     * @param pixels
+     *          The pixels.
+     *
+     * @param pixelsPerRow
+     *          The number of pixels in each row of the array.
+     *
+     * @param tileWidth
+     *          The width, in pixels, of a tile.
+     *
+     * @param tileHeight
+     *          The height, in pixels, of a tile.
+     */
+    void apply(final int[] pixels, final int pixelsPerRow, final int tileWidth, final int tileHeight) {
+        final int pixelX = x * tileWidth;
+        final int pixelY = y * tileHeight;
+        final int pixelWidth = width * tileWidth;
+        final int pixelHeight = height * tileHeight;
+        final int pixelDx = dx * tileWidth;
+        final int pixelDy = dy * tileHeight;
+
+        for (int i = 0 ; i < pixelHeight ; i++) {
+            final int row = (dy > 0 ? pixelHeight - 1 - i : i);
+            final int sourceIndex = (pixelY + row) * pixelsPerRow + pixelX;
+            final int destinationIndex = (pixelY + pixelDy + row) * pixelsPerRow + pixelX + pixelDx;
+            System.arraycopy(pixels, sourceIndex, pixels, destinationIndex, pixelWidth);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.misc.RenderMetrics;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.image.BufferStrategy;
+
+@ToString
+public final class CanvasRenderTarget implements RenderTarget {
+    /** The canvas. */
+    @Getter private final Canvas canvas;
+
+    /** The metrics to record lost and restored buffer contents with. */
+    private final RenderMetrics metrics;
+
+    /**
+     * The number of buffers to create the canvas' buffer strategy with.
+     *
+     * Only takes effect if set before the first frame is drawn.
+     */
+    @Getter @Setter private int bufferCount = 2;
+
+    /**
+     * Constructs a new CanvasRenderTarget.
+     *
+     * @param canvas
+     *          The canvas.
+     *
+     * @param metrics
+     *          The metrics to record lost and restored buffer contents with.
+     *
+     * @throws NullPointerException
+     *          If the canvas or metrics are null.
+     */
+    public CanvasRenderTarget(final @NonNull Canvas canvas, final @NonNull RenderMetrics metrics) {
+        this.canvas = canvas;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Begins drawing a frame.
+     *
+     * The canvas' buffer strategy is created, if it doesn't already exist.
+     *
+     * @return
+     *          The graphics context of the canvas' drawing buffer.
+     *
+     * @throws IllegalStateException
+     *          If the canvas isn't displayable.
+     */
+    @Override
+    public Graphics2D beginFrame() {
+        if (canvas.getBufferStrategy() == null) {
+            canvas.createBufferStrategy(bufferCount);
+        }
+
+        return (Graphics2D) canvas.getBufferStrategy().getDrawGraphics();
+    }
+
+    @Override
+    public boolean endFrame(final @NonNull Graphics2D gc) {
+        gc.dispose();
+
+        final BufferStrategy bs = canvas.getBufferStrategy();
+
+        // The frame must be drawn again if the drawing buffer contents were restored.
+        if (bs.contentsRestored()) {
+            metrics.recordContentsRestored();
+            return true;
+        }
+
+        bs.show();
+
+        // The frame must be drawn again if the drawing buffer was lost.
+        if (bs.contentsLost()) {
+            metrics.recordContentsLost();
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -7,8 +7,6 @@ import lombok.NonNull;
 import lombok.ToString;
 
 import java.awt.Graphics2D;
-import java.awt.Image;
-import java.util.Objects;
 
 @ToString
 public class GraphicTile extends Tile {
@@ -45,8 +43,6 @@ public class GraphicTile extends Tile {
 
         super.setUnderlined(tile.isUnderlined());
         super.setUnderlineThickness(tile.getUnderlineThickness());
-
-        cacheHash = Objects.hash(super.getCharacter(), super.getBackgroundColor(), super.getForegroundColor(), super.getShaders());
     }
 
     /**
@@ -64,11 +60,15 @@ public class GraphicTile extends Tile {
      * @param rowIndex
      *         The y-axis (row) coordinate where the character is to be drawn.
      *
+     * @param time
+     *         The time, in milliseconds, used to select the frame of the
+     *         tile's animation. Ignored if the tile isn't animated.
+     *
      * @throws NullPointerException
      *         If the gc or image cache are null.
      */
     @Override
-    public void draw(final @NonNull Graphics2D gc, final @NonNull ImageCache imageCache, int columnIndex, int rowIndex) {
+    public void draw(final @NonNull Graphics2D gc, final @NonNull ImageCache imageCache, int columnIndex, int rowIndex, final long time) {
         final int fontWidth = imageCache.getFont().getWidth();
         final int fontHeight = imageCache.getFont().getHeight();
 
@@ -76,15 +76,26 @@ public class GraphicTile extends Tile {
         rowIndex *= fontHeight;
 
         // Handle hidden state:
-        if (super.isHidden()) {
+        if (isImageRequired() == false) {
             gc.setColor(super.getBackgroundColor());
             gc.fillRect(columnIndex, rowIndex, fontWidth, fontHeight);
         } else {
-            final Image image = imageCache.retrieve(this);
-            gc.drawImage(image, columnIndex, rowIndex, null);
+            drawImage(gc, imageCache, columnIndex, rowIndex, time);
         }
     }
 
+    /**
+     * Determines whether or not an image of the tile is required to draw it.
+     *
+     * Only hidden tiles are drawn as a rectangle of the background color.
+     *
+     * @return
+     *          Whether or not an image of the tile is required.
+     */
+    @Override
+    public boolean isImageRequired() {
+        return super.isHidden() == false;
+    }
 
     @Override
     public void addShaders(final Shader... shaders) {
@@ -94,8 +105,6 @@ public class GraphicTile extends Tile {
                     super.addShaders(shader);
                 }
             }
-
-            cacheHash = Objects.hash(super.getCharacter(), super.getBackgroundColor(), super.getForegroundColor(), shaders);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.valkryst.VTerminal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * A render target which draws frames onto an off-screen image.
+ *
+ * Doesn't require a display, so it can be used to render screens on servers
+ * or in tests, where java.awt.headless is true.
+ */
+@ToString(exclude="pixels")
+public final class ImageRenderTarget implements RenderTarget {
+    /** The image. */
+    @Getter private final BufferedImage image;
+
+    /** The RGB pixels of the image, ordered first by row, then by column. */
+    @Getter private final int[] pixels;
+
+    /**
+     * Constructs a new ImageRenderTarget.
+     *
+     * @param width
+     *          The width, in pixels, of the image.
+     *
+     * @param height
+     *          The height, in pixels, of the image.
+     *
+     * @throws IllegalArgumentException
+     *          If the width or height are below 1.
+     */
+    public ImageRenderTarget(final int width, final int height) {
+        if (width < 1) {
+            throw new IllegalArgumentException("The width cannot be below 1.");
+        }
+
+        if (height < 1) {
+            throw new IllegalArgumentException("The height cannot be below 1.");
+        }
+
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    @Override
+    public Graphics2D beginFrame() {
+        return image.createGraphics();
+    }
+
+    /**
+     * Finishes drawing a frame, and disposes of it's graphics context.
+     *
+     * The contents of an image are never lost.
+     *
+     * @param gc
+     *          The graphics context returned by beginFrame.
+     *
+     * @return
+     *          False.
+     */
+    @Override
+    public boolean endFrame(final @NonNull Graphics2D gc) {
+        gc.dispose();
+        return false;
+    }
+}
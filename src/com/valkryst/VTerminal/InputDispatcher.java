@@ -0,0 +1,543 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Layer;
+import com.valkryst.VTerminal.font.Font;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.swing.event.MouseInputListener;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Routes the key and mouse events of a screen to it's components.
+ *
+ * Rather than attaching the listeners of every component to the canvas,
+ * where each listener would receive every event, a single dispatcher is
+ * attached and events are only passed to the listeners of the components
+ * which they concern.
+ *
+ * Key events are passed to the focused component. If more than one component
+ * is focused, then the component that was last focused by a mouse press is
+ * preferred, followed by the topmost focused component.
+ *
+ * Mouse events are passed to:
+ *
+ *  - The component under the mouse.
+ *  - The component that was previously under the mouse, so that it can react
+ *    to the mouse leaving it.
+ *  - The component that the mouse was pressed on, until the mouse is released.
+ *
+ * The component under the mouse is found using a per-tile index of the
+ * topmost component covering each tile. The index is rebuilt, when next
+ * needed, whenever a component is added or removed, or any grid is moved.
+ * The bounding box offset of a component is read when the index is built,
+ * so it must be set before the component is added.
+ */
+@ToString(of={"width", "height"})
+final class InputDispatcher implements KeyListener, MouseInputListener {
+    /** The target array with no targets. */
+    private final static Target[] EMPTY_TARGETS = new Target[0];
+
+    /** The font of the screen. */
+    private final Font font;
+
+    /** The width, in tiles, of the screen. */
+    private final int width;
+    /** The height, in tiles, of the screen. */
+    private final int height;
+
+    /** The components which can receive events, in the order that they were added. */
+    private final AtomicReference<Target[]> targets = new AtomicReference<>(EMPTY_TARGETS);
+
+    /** The index of the component covering each tile. */
+    private volatile Index index;
+
+    /** The component that was last under the mouse. */
+    private Target hoverTarget;
+
+    /** The component that the mouse was pressed on, until it's released. */
+    private Target pressTarget;
+
+    /** The target that last received key events. */
+    private Target keyTarget;
+
+    /** The targets that the key target was found in. */
+    private Target[] keyTargetSource;
+
+    /**
+     * Constructs a new InputDispatcher.
+     *
+     * @param dimensions
+     *          The dimensions, in tiles, of the screen.
+     *
+     * @param font
+     *          The font of the screen.
+     *
+     * @throws NullPointerException
+     *          If the dimensions or font is null.
+     */
+    InputDispatcher(final @NonNull Dimension dimensions, final @NonNull Font font) {
+        this.font = font;
+        width = dimensions.width;
+        height = dimensions.height;
+    }
+
+    /**
+     * Adds a component, so that it can be focused and so that it's key and
+     * mouse listeners receive events.
+     *
+     * Layers are ignored, as their components are added individually.
+     *
+     * If the component has already been added, then it's listeners are
+     * refreshed.
+     *
+     * @param component
+     *          The component.
+     *
+     * @throws NullPointerException
+     *          If the component is null.
+     */
+    void add(final @NonNull Component component) {
+        if (component instanceof Layer) {
+            return;
+        }
+
+        final Target target = new Target(component);
+        Target[] current;
+        Target[] next;
+
+        do {
+            current = targets.get();
+
+            final int position = indexOf(current, component);
+
+            if (position == -1) {
+                next = Arrays.copyOf(current, current.length + 1);
+                next[next.length - 1] = target;
+            } else {
+                next = current.clone();
+                next[position] = target;
+            }
+        } while (targets.compareAndSet(current, next) == false);
+    }
+
+    /**
+     * Removes a component.
+     *
+     * @param component
+     *          The component.
+     */
+    void remove(final Component component) {
+        if (component == null) {
+            return;
+        }
+
+        Target[] current;
+        Target[] next;
+
+        do {
+            current = targets.get();
+
+            final int position = indexOf(current, component);
+
+            if (position == -1) {
+                return;
+            }
+
+            next = new Target[current.length - 1];
+            System.arraycopy(current, 0, next, 0, position);
+            System.arraycopy(current, position + 1, next, position, next.length - position);
+        } while (targets.compareAndSet(current, next) == false);
+    }
+
+    /**
+     * Retrieves the topmost component at a tile-based position.
+     *
+     * @param x
+     *          The x-axis coordinate.
+     *
+     * @param y
+     *          The y-axis coordinate.
+     *
+     * @return
+     *          The component, or null if no component covers the position.
+     */
+    Component getComponentAt(final int x, final int y) {
+        final Target target = getTargetAt(x, y);
+        return target == null ? null : target.component;
+    }
+
+    @Override
+    public void mouseClicked(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (target != null) {
+            for (final MouseListener listener : target.mouseListeners) {
+                listener.mouseClicked(e);
+            }
+        }
+    }
+
+    @Override
+    public void mousePressed(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (e.getButton() == MouseEvent.BUTTON1) {
+            final Target[] targets = this.targets.get();
+
+            // Every other component is unfocused, including those which were
+            // focused without a mouse press.
+            for (final Target other : targets) {
+                if (other != target && other.component.isFocused()) {
+                    other.component.setFocused(false);
+                }
+            }
+
+            if (target != null) {
+                target.component.setFocused(true);
+            }
+
+            keyTarget = target;
+            keyTargetSource = targets;
+        }
+
+        pressTarget = target;
+
+        if (target != null) {
+            for (final MouseListener listener : target.mouseListeners) {
+                listener.mousePressed(e);
+            }
+        }
+    }
+
+    @Override
+    public void mouseReleased(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (pressTarget != null && pressTarget != target) {
+            for (final MouseListener listener : pressTarget.mouseListeners) {
+                listener.mouseReleased(e);
+            }
+        }
+
+        pressTarget = null;
+
+        if (target != null) {
+            for (final MouseListener listener : target.mouseListeners) {
+                listener.mouseReleased(e);
+            }
+        }
+    }
+
+    @Override
+    public void mouseEntered(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (target != null) {
+            for (final MouseListener listener : target.mouseListeners) {
+                listener.mouseEntered(e);
+            }
+        }
+    }
+
+    @Override
+    public void mouseExited(final MouseEvent e) {
+        if (hoverTarget != null) {
+            for (final MouseListener listener : hoverTarget.mouseListeners) {
+                listener.mouseExited(e);
+            }
+        }
+    }
+
+    @Override
+    public void mouseDragged(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (pressTarget != null && pressTarget != target) {
+            for (final MouseMotionListener listener : pressTarget.motionListeners) {
+                listener.mouseDragged(e);
+            }
+        }
+
+        if (target != null) {
+            for (final MouseMotionListener listener : target.motionListeners) {
+                listener.mouseDragged(e);
+            }
+        }
+    }
+
+    @Override
+    public void mouseMoved(final MouseEvent e) {
+        final Target target = getTargetAt(e);
+
+        if (hoverTarget != null && hoverTarget != target) {
+            for (final MouseMotionListener listener : hoverTarget.motionListeners) {
+                listener.mouseMoved(e);
+            }
+        }
+
+        hoverTarget = target;
+
+        if (target != null) {
+            for (final MouseMotionListener listener : target.motionListeners) {
+                listener.mouseMoved(e);
+            }
+        }
+    }
+
+    @Override
+    public void keyTyped(final KeyEvent e) {
+        final Target target = getKeyTarget();
+
+        if (target != null) {
+            for (final KeyListener listener : target.keyListeners) {
+                listener.keyTyped(e);
+            }
+        }
+    }
+
+    @Override
+    public void keyPressed(final KeyEvent e) {
+        final Target target = getKeyTarget();
+
+        if (target != null) {
+            for (final KeyListener listener : target.keyListeners) {
+                listener.keyPressed(e);
+            }
+        }
+    }
+
+    @Override
+    public void keyReleased(final KeyEvent e) {
+        final Target target = getKeyTarget();
+
+        if (target != null) {
+            for (final KeyListener listener : target.keyListeners) {
+                listener.keyReleased(e);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the target of the focused component.
+     *
+     * The previous key target is reused, as long as it's component is still
+     * focused and no component has been added or removed since it was found.
+     * Otherwise, the targets are searched, starting with the topmost.
+     *
+     * @return
+     *          The target, or null if no component is focused.
+     */
+    private Target getKeyTarget() {
+        final Target[] targets = this.targets.get();
+        final Target previous = keyTarget;
+
+        if (previous != null && keyTargetSource == targets && previous.component.isFocused()) {
+            return previous;
+        }
+
+        Target target = null;
+
+        for (int i = targets.length - 1 ; i >= 0 ; i--) {
+            if (targets[i].component.isFocused()) {
+                target = targets[i];
+                break;
+            }
+        }
+
+        keyTarget = target;
+        keyTargetSource = targets;
+        return target;
+    }
+
+    /**
+     * Retrieves the target under the mouse, when an event occurred.
+     *
+     * @param e
+     *          The event.
+     *
+     * @return
+     *          The target, or null if no target is under the mouse.
+     */
+    private Target getTargetAt(final MouseEvent e) {
+        return getTargetAt(Math.floorDiv(e.getX(), font.getWidth()), Math.floorDiv(e.getY(), font.getHeight()));
+    }
+
+    /**
+     * Retrieves the topmost target at a tile-based position.
+     *
+     * @param x
+     *          The x-axis coordinate.
+     *
+     * @param y
+     *          The y-axis coordinate.
+     *
+     * @return
+     *          The target, or null if no target covers the position.
+     */
+    private Target getTargetAt(final int x, final int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+
+        final Target[] targets = this.targets.get();
+        final long moveCount = TileGrid.getMoveCount();
+        Index index = this.index;
+
+        if (index == null || index.targets != targets || index.moveCount != moveCount) {
+            index = new Index(targets, moveCount);
+            this.index = index;
+        }
+
+        final int owner = index.owners[y * width + x];
+        return owner == -1 ? null : targets[owner];
+    }
+
+    /**
+     * Retrieves the position of a component's target.
+     *
+     * @param targets
+     *          The targets to search.
+     *
+     * @param component
+     *          The component.
+     *
+     * @return
+     *          The position of the component's target, or -1 if it has no
+     *          target.
+     */
+    private static int indexOf(final Target[] targets, final Component component) {
+        for (int i = 0 ; i < targets.length ; i++) {
+            if (targets[i].component == component) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @ToString(of="component")
+    private final static class Target {
+        /** The component. */
+        private final Component component;
+
+        /** The key listeners of the component. */
+        private final KeyListener[] keyListeners;
+
+        /** The mouse listeners of the component. */
+        private final MouseListener[] mouseListeners;
+
+        /** The mouse motion listeners of the component. */
+        private final MouseMotionListener[] motionListeners;
+
+        /**
+         * Constructs a new Target.
+         *
+         * @param component
+         *          The component.
+         */
+        private Target(final Component component) {
+            this.component = component;
+
+            final List<KeyListener> keyListeners = new ArrayList<>(1);
+            final List<MouseListener> mouseListeners = new ArrayList<>(1);
+            final List<MouseMotionListener> motionListeners = new ArrayList<>(1);
+
+            for (final EventListener listener : component.getEventListeners()) {
+                if (listener instanceof KeyListener) {
+                    keyListeners.add((KeyListener) listener);
+                }
+
+                if (listener instanceof MouseListener) {
+                    mouseListeners.add((MouseListener) listener);
+                }
+
+                if (listener instanceof MouseMotionListener) {
+                    motionListeners.add((MouseMotionListener) listener);
+                }
+            }
+
+            this.keyListeners = keyListeners.toArray(new KeyListener[0]);
+            this.mouseListeners = mouseListeners.toArray(new MouseListener[0]);
+            this.motionListeners = motionListeners.toArray(new MouseMotionListener[0]);
+        }
+    }
+
+    private final class Index {
+        /** The targets that the index was built from. */
+        private final Target[] targets;
+
+        /** The number of grid moves, when the index was built. */
+        private final long moveCount;
+
+        /** The position, within the targets, of the topmost target covering each tile. -1 if no target covers a tile. */
+        private final int[] owners;
+
+        /**
+         * Constructs a new Index.
+         *
+         * Later targets are above earlier targets.
+         *
+         * @param targets
+         *          The targets to index.
+         *
+         * @param moveCount
+         *          The number of grid moves, before the targets' bounds are
+         *          read.
+         */
+        private Index(final Target[] targets, final long moveCount) {
+            this.targets = targets;
+            this.moveCount = moveCount;
+
+            final int[] bounds = new int[4];
+            owners = new int[width * height];
+            Arrays.fill(owners, -1);
+
+            for (int i = 0 ; i < targets.length ; i++) {
+                setBounds(bounds, targets[i].component);
+
+                final int left = bounds[0];
+                final int top = bounds[1];
+                final int right = bounds[2];
+                final int bottom = bounds[3];
+
+                for (int y = top ; y < bottom ; y++) {
+                    if (left < right) {
+                        Arrays.fill(owners, y * width + left, y * width + right, i);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Stores the edges of a component, clipped to the screen, in an array.
+         *
+         * @param bounds
+         *          The array, in which the left, top, right, and bottom edges
+         *          are stored.
+         *
+         * @param component
+         *          The component.
+         */
+        private void setBounds(final int[] bounds, final Component component) {
+            final TileGrid tiles = component.getTiles();
+            final Point boundingBoxOffset = component.getBoundingBoxOffset();
+            final int x = tiles.getXPosition() + boundingBoxOffset.x;
+            final int y = tiles.getYPosition() + boundingBoxOffset.y;
+
+            bounds[0] = Math.max(0, x);
+            bounds[1] = Math.max(0, y);
+            bounds[2] = Math.min(width, x + tiles.getWidth());
+            bounds[3] = Math.min(height, y + tiles.getHeight());
+        }
+    }
+}
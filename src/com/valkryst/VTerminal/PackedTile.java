@@ -0,0 +1,294 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.ShaderChain;
+import lombok.NonNull;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A view of a tile, whose settings are stored in a PackedTileStore.
+ *
+ * Changes made to the view are written directly to the store, and the view
+ * can be moved to look at any tile of the store.
+ */
+final class PackedTile extends Tile {
+    /** The grid that the tile resides on. */
+    private final TileGrid grid;
+    /** The store containing the tile's settings. */
+    private final PackedTileStore store;
+
+    /** The x-axis (column) position of the tile within it's grid. */
+    private int x;
+    /** The y-axis (row) position of the tile within it's grid. */
+    private int y;
+    /** The index of the tile's settings within the store. */
+    private int index;
+
+    /**
+     * Constructs a new PackedTile.
+     *
+     * @param grid
+     *          The grid that the tile resides on.
+     *
+     * @param store
+     *          The store containing the tile's settings.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile within it's grid.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile within it's grid.
+     */
+    PackedTile(final @NonNull TileGrid grid, final @NonNull PackedTileStore store, final int x, final int y) {
+        this.grid = grid;
+        this.store = store;
+        moveTo(x, y);
+    }
+
+    /**
+     * Moves the view, so that it looks at a different tile of the store.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile.
+     */
+    void moveTo(final int x, final int y) {
+        this.x = x;
+        this.y = y;
+        index = x + (y * store.width);
+    }
+
+    @Override
+    public void reset() {
+        if (store.reset(index)) {
+            markDirty();
+        }
+    }
+
+    /**
+     * Copies the settings of a tile to this tile.
+     *
+     * @param otherTile
+     *          The other tile.
+     *
+     * @throws NullPointerException
+     *         If the otherTile is null.
+     *
+     * @throws UnsupportedOperationException
+     *          If the other tile is a GraphicTile, as a packed tile can't be
+     *          drawn as a graphic.
+     */
+    @Override
+    public void copy(final @NonNull Tile otherTile) {
+        if (otherTile instanceof GraphicTile) {
+            throw new UnsupportedOperationException("A grid using the PACKED storage mode can't use GraphicTiles.");
+        }
+
+        if (otherTile instanceof PackedTile) {
+            final PackedTile other = (PackedTile) otherTile;
+
+            if (store.copy(index, other.store, other.index)) {
+                markDirty();
+            }
+
+            return;
+        }
+
+        // The glyph key includes the id of the shader chain.
+        final boolean isEqual = getGlyphKey() == otherTile.getGlyphKey() && getColorKey() == otherTile.getColorKey();
+
+        if (isEqual) {
+            return;
+        }
+
+        store.characters[index] = otherTile.getCharacter();
+        store.backgroundColors[index] = otherTile.getBackgroundColor().getRGB();
+        store.foregroundColors[index] = otherTile.getForegroundColor().getRGB();
+        store.underlineThicknesses[index] = (byte) Math.min(TileCacheKey.MAXIMUM_UNDERLINE_THICKNESS, otherTile.getUnderlineThickness());
+
+        store.setFlag(index, PackedTileStore.FLAG_HIDDEN, otherTile.isHidden());
+        store.setFlag(index, PackedTileStore.FLAG_UNDERLINED, otherTile.isUnderlined());
+
+        // The chain is copied as-is, so that it's id and order are unchanged.
+        store.setShaderChain(index, otherTile.getShaderChain());
+        markDirty();
+    }
+
+    @Override
+    public void setCharacter(final char character) {
+        if (store.characters[index] != character) {
+            store.characters[index] = character;
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setBackgroundColor(final Color color) {
+        if (color != null && store.backgroundColors[index] != color.getRGB()) {
+            store.backgroundColors[index] = color.getRGB();
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setForegroundColor(final Color color) {
+        if (color != null && store.foregroundColors[index] != color.getRGB()) {
+            store.foregroundColors[index] = color.getRGB();
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setFlippedHorizontally(final boolean isFlippedHorizontally) {
+        if (store.setFlipFlag(index, PackedTileStore.FLAG_FLIPPED_HORIZONTALLY, isFlippedHorizontally)) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setFlippedVertically(final boolean isFlippedVertically) {
+        if (store.setFlipFlag(index, PackedTileStore.FLAG_FLIPPED_VERTICALLY, isFlippedVertically)) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setUnderlineThickness(final int underlineThickness) {
+        final byte newThickness = (byte) Math.min(TileCacheKey.MAXIMUM_UNDERLINE_THICKNESS, Math.max(1, underlineThickness));
+
+        if (store.underlineThicknesses[index] != newThickness) {
+            store.underlineThicknesses[index] = newThickness;
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setHidden(final boolean isHidden) {
+        if (store.setFlag(index, PackedTileStore.FLAG_HIDDEN, isHidden)) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public void setUnderlined(final boolean isUnderlined) {
+        if (store.setFlag(index, PackedTileStore.FLAG_UNDERLINED, isUnderlined)) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public void addShaders(final Shader... shaders) {
+        if (shaders != null) {
+            final List<Shader> tileShaders = new ArrayList<>(store.getShaders(index));
+
+            for (final Shader shader : shaders) {
+                if (shader != null) {
+                    tileShaders.add(shader);
+                }
+            }
+
+            if (store.setShaders(index, tileShaders)) {
+                markDirty();
+            }
+        }
+    }
+
+    @Override
+    public void removeShaders(final Shader... shaders) {
+        if (shaders != null) {
+            final List<Shader> tileShaders = new ArrayList<>(store.getShaders(index));
+
+            if (tileShaders.removeAll(Arrays.asList(shaders)) && store.setShaders(index, tileShaders)) {
+                markDirty();
+            }
+        }
+    }
+
+    @Override
+    public void removeAllShaders() {
+        store.setFlag(index, PackedTileStore.FLAG_FLIPPED_HORIZONTALLY, false);
+        store.setFlag(index, PackedTileStore.FLAG_FLIPPED_VERTICALLY, false);
+
+        if (store.setShaders(index, Collections.emptyList())) {
+            markDirty();
+        }
+    }
+
+    @Override
+    public List<Shader> getShaders() {
+        return store.getAllShaders(index);
+    }
+
+    @Override
+    public long getGlyphKey() {
+        return store.getGlyphKey(index);
+    }
+
+    @Override
+    public long getColorKey() {
+        return store.getColorKey(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * A packed tile doesn't retain it's key, so a new key is created each
+     * time this is called.
+     */
+    @Override
+    public TileCacheKey getCacheKey() {
+        return new TileCacheKey(getGlyphKey(), getColorKey(), getShaderChain());
+    }
+
+    @Override
+    ShaderChain getShaderChain() {
+        return store.shaderChains[index];
+    }
+
+    @Override
+    public char getCharacter() {
+        return store.characters[index];
+    }
+
+    @Override
+    public boolean isHidden() {
+        return store.isFlagSet(index, PackedTileStore.FLAG_HIDDEN);
+    }
+
+    @Override
+    public Color getBackgroundColor() {
+        return new Color(store.backgroundColors[index], true);
+    }
+
+    @Override
+    public Color getForegroundColor() {
+        return new Color(store.foregroundColors[index], true);
+    }
+
+    @Override
+    public boolean isUnderlined() {
+        return store.isFlagSet(index, PackedTileStore.FLAG_UNDERLINED);
+    }
+
+    @Override
+    public int getUnderlineThickness() {
+        return store.underlineThicknesses[index] & 0xFF;
+    }
+
+    @Override
+    public boolean isForegroundAndBackgroundColorEqual() {
+        return store.foregroundColors[index] == store.backgroundColors[index];
+    }
+
+    @Override
+    protected void markDirty() {
+        grid.markTileDirty(x, y);
+    }
+}
@@ -0,0 +1,420 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.ShaderChain;
+import com.valkryst.VTerminal.shader.ShaderChains;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores the settings of a grid's tiles in primitive arrays, where the
+ * settings of the tile at (x, y) are at index 'x + (y * width)'.
+ *
+ * The shaders of each tile are stored as it's interned chain, from
+ * ShaderChains. Whether a tile is flipped is also stored as a pair of flags,
+ * and the flip shader of a flipped tile is always the first in it's chain.
+ */
+final class PackedTileStore {
+    /** The flag denoting a hidden tile. */
+    final static byte FLAG_HIDDEN = 1;
+    /** The flag denoting an underlined tile. */
+    final static byte FLAG_UNDERLINED = 1 << 1;
+    /** The flag denoting a tile which is flipped horizontally. */
+    final static byte FLAG_FLIPPED_HORIZONTALLY = 1 << 2;
+    /** The flag denoting a tile which is flipped vertically. */
+    final static byte FLAG_FLIPPED_VERTICALLY = 1 << 3;
+
+    /** The default character. */
+    private final static char DEFAULT_CHARACTER = ' ';
+    /** The default background color. */
+    private final static int DEFAULT_BACKGROUND = Color.BLACK.getRGB();
+    /** The default foreground color. */
+    private final static int DEFAULT_FOREGROUND = Color.WHITE.getRGB();
+    /** The default underline thickness. */
+    private final static byte DEFAULT_UNDERLINE_THICKNESS = 2;
+
+    /** The width of the grid. */
+    final int width;
+    /** The height of the grid. */
+    final int height;
+
+    /** The character of each tile. */
+    final char[] characters;
+    /** The ARGB background color of each tile. */
+    final int[] backgroundColors;
+    /** The ARGB foreground color of each tile. */
+    final int[] foregroundColors;
+    /** The flags of each tile. */
+    final byte[] flags;
+    /** The underline thickness of each tile, as an unsigned byte. */
+    final byte[] underlineThicknesses;
+    /** The shader chain of each tile, including it's flip shader. */
+    final ShaderChain[] shaderChains;
+
+    /**
+     * Constructs a new PackedTileStore, where every tile is set to it's
+     * default state.
+     *
+     * @param width
+     *          The width of the grid.
+     *
+     * @param height
+     *          The height of the grid.
+     */
+    PackedTileStore(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+
+        final int size = width * height;
+        characters = new char[size];
+        backgroundColors = new int[size];
+        foregroundColors = new int[size];
+        flags = new byte[size];
+        underlineThicknesses = new byte[size];
+        shaderChains = new ShaderChain[size];
+
+        Arrays.fill(characters, DEFAULT_CHARACTER);
+        Arrays.fill(backgroundColors, DEFAULT_BACKGROUND);
+        Arrays.fill(foregroundColors, DEFAULT_FOREGROUND);
+        Arrays.fill(underlineThicknesses, DEFAULT_UNDERLINE_THICKNESS);
+        Arrays.fill(shaderChains, ShaderChain.EMPTY);
+    }
+
+    /**
+     * Resets a tile to it's default state.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean reset(final int index) {
+        final boolean isDefault = characters[index] == DEFAULT_CHARACTER
+                                  && backgroundColors[index] == DEFAULT_BACKGROUND
+                                  && foregroundColors[index] == DEFAULT_FOREGROUND
+                                  && flags[index] == 0
+                                  && underlineThicknesses[index] == DEFAULT_UNDERLINE_THICKNESS
+                                  && shaderChains[index] == ShaderChain.EMPTY;
+
+        if (isDefault) {
+            return false;
+        }
+
+        characters[index] = DEFAULT_CHARACTER;
+        backgroundColors[index] = DEFAULT_BACKGROUND;
+        foregroundColors[index] = DEFAULT_FOREGROUND;
+        flags[index] = 0;
+        underlineThicknesses[index] = DEFAULT_UNDERLINE_THICKNESS;
+        shaderChains[index] = ShaderChain.EMPTY;
+        return true;
+    }
+
+    /**
+     * Copies the settings of a tile, from another store, to a tile.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param other
+     *          The other store.
+     *
+     * @param otherIndex
+     *          The index of the tile within the other store.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean copy(final int index, final PackedTileStore other, final int otherIndex) {
+        final boolean isEqual = shaderChains[index] == other.shaderChains[otherIndex]
+                                && characters[index] == other.characters[otherIndex]
+                                && backgroundColors[index] == other.backgroundColors[otherIndex]
+                                && foregroundColors[index] == other.foregroundColors[otherIndex]
+                                && flags[index] == other.flags[otherIndex]
+                                && underlineThicknesses[index] == other.underlineThicknesses[otherIndex];
+
+        if (isEqual) {
+            return false;
+        }
+
+        characters[index] = other.characters[otherIndex];
+        backgroundColors[index] = other.backgroundColors[otherIndex];
+        foregroundColors[index] = other.foregroundColors[otherIndex];
+        flags[index] = other.flags[otherIndex];
+        underlineThicknesses[index] = other.underlineThicknesses[otherIndex];
+        shaderChains[index] = other.shaderChains[otherIndex];
+        return true;
+    }
+
+    /**
+     * Copies the settings of a run of consecutive tiles, from another store
+     * or from this store, to a run of tiles.
+     *
+     * The runs may overlap, when copying within this store.
+     *
+     * @param index
+     *          The index of the first tile to copy to.
+     *
+     * @param other
+     *          The store to copy from.
+     *
+     * @param otherIndex
+     *          The index of the first tile to copy from.
+     *
+     * @param length
+     *          The number of tiles to copy.
+     */
+    void copyRange(final int index, final PackedTileStore other, final int otherIndex, final int length) {
+        System.arraycopy(other.characters, otherIndex, characters, index, length);
+        System.arraycopy(other.backgroundColors, otherIndex, backgroundColors, index, length);
+        System.arraycopy(other.foregroundColors, otherIndex, foregroundColors, index, length);
+        System.arraycopy(other.flags, otherIndex, flags, index, length);
+        System.arraycopy(other.underlineThicknesses, otherIndex, underlineThicknesses, index, length);
+        System.arraycopy(other.shaderChains, otherIndex, shaderChains, index, length);
+    }
+
+    /**
+     * Resets a run of consecutive tiles to their default state.
+     *
+     * @param index
+     *          The index of the first tile.
+     *
+     * @param length
+     *          The number of tiles.
+     */
+    void resetRange(final int index, final int length) {
+        Arrays.fill(characters, index, index + length, DEFAULT_CHARACTER);
+        Arrays.fill(backgroundColors, index, index + length, DEFAULT_BACKGROUND);
+        Arrays.fill(foregroundColors, index, index + length, DEFAULT_FOREGROUND);
+        Arrays.fill(flags, index, index + length, (byte) 0);
+        Arrays.fill(underlineThicknesses, index, index + length, DEFAULT_UNDERLINE_THICKNESS);
+        Arrays.fill(shaderChains, index, index + length, ShaderChain.EMPTY);
+    }
+
+    /**
+     * Determines whether or not a flag is set on a tile.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param flag
+     *          The flag.
+     *
+     * @return
+     *          Whether or not the flag is set.
+     */
+    boolean isFlagSet(final int index, final byte flag) {
+        return (flags[index] & flag) != 0;
+    }
+
+    /**
+     * Sets, or clears, a flag on a tile.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param flag
+     *          The flag.
+     *
+     * @param isSet
+     *          Whether to set or to clear the flag.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean setFlag(final int index, final byte flag, final boolean isSet) {
+        if (isFlagSet(index, flag) == isSet) {
+            return false;
+        }
+
+        if (isSet) {
+            flags[index] |= flag;
+        } else {
+            flags[index] &= ~flag;
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves the shaders, other than the flip shader, of a tile.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @return
+     *          The unmodifiable list of shaders.
+     */
+    List<Shader> getShaders(final int index) {
+        final List<Shader> allShaders = getAllShaders(index);
+
+        if (isFlagSet(index, FLAG_FLIPPED_HORIZONTALLY) || isFlagSet(index, FLAG_FLIPPED_VERTICALLY)) {
+            return allShaders.subList(1, allShaders.size());
+        }
+
+        return allShaders;
+    }
+
+    /**
+     * Retrieves all of the shaders of a tile, including a flip shader if the
+     * tile is flipped.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @return
+     *          The unmodifiable list of shaders.
+     */
+    List<Shader> getAllShaders(final int index) {
+        return shaderChains[index].getShaders();
+    }
+
+    /**
+     * Sets the shaders, other than the flip shader, of a tile. They're
+     * preceded by a flip shader if either of the tile's flip flags are set.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param shaders
+     *          The shaders.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean setShaders(final int index, final List<Shader> shaders) {
+        final boolean isFlippedHorizontally = isFlagSet(index, FLAG_FLIPPED_HORIZONTALLY);
+        final boolean isFlippedVertically = isFlagSet(index, FLAG_FLIPPED_VERTICALLY);
+        final ShaderChain shaderChain;
+
+        if (isFlippedHorizontally || isFlippedVertically) {
+            final List<Shader> allShaders = new ArrayList<>(shaders.size() + 1);
+            allShaders.add(FlipShader.of(isFlippedHorizontally, isFlippedVertically));
+            allShaders.addAll(shaders);
+            shaderChain = ShaderChains.get(allShaders);
+        } else {
+            shaderChain = ShaderChains.get(shaders);
+        }
+
+        if (shaderChains[index] == shaderChain) {
+            return false;
+        }
+
+        shaderChains[index] = shaderChain;
+        return true;
+    }
+
+    /**
+     * Sets the shader chain of a tile, without reordering it's shaders.
+     *
+     * The flip flags are only set if the chain begins with a flip shader
+     * which flips the tile. A flip shader anywhere else in the chain is left
+     * where it is, as the shaders before it may depend on it's position.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param shaderChain
+     *          The chain.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean setShaderChain(final int index, final ShaderChain shaderChain) {
+        final List<Shader> shaders = shaderChain.getShaders();
+        final Shader firstShader = shaders.isEmpty() ? null : shaders.get(0);
+        final FlipShader flipShader = firstShader instanceof FlipShader ? (FlipShader) firstShader : null;
+
+        setFlag(index, FLAG_FLIPPED_HORIZONTALLY, flipShader != null && flipShader.isFlippedHorizontally());
+        setFlag(index, FLAG_FLIPPED_VERTICALLY, flipShader != null && flipShader.isFlippedVertically());
+
+        if (shaderChains[index] == shaderChain) {
+            return false;
+        }
+
+        shaderChains[index] = shaderChain;
+        return true;
+    }
+
+    /**
+     * Sets, or clears, one of the flip flags of a tile and updates the tile's
+     * flip shader.
+     *
+     * If the flip flags aren't set, but the tile has a flip shader, then the
+     * flip shader is replaced where it is, as with an object tile.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @param flag
+     *          The flip flag.
+     *
+     * @param isSet
+     *          Whether to set or to clear the flag.
+     *
+     * @return
+     *          Whether or not the tile was changed.
+     */
+    boolean setFlipFlag(final int index, final byte flag, final boolean isSet) {
+        if (isFlagSet(index, FLAG_FLIPPED_HORIZONTALLY) == false && isFlagSet(index, FLAG_FLIPPED_VERTICALLY) == false) {
+            final List<Shader> allShaders = new ArrayList<>(getAllShaders(index));
+
+            for (int i = 0 ; i < allShaders.size() ; i++) {
+                if (allShaders.get(i) instanceof FlipShader) {
+                    final FlipShader flipShader = (FlipShader) allShaders.get(i);
+                    final boolean isFlippedHorizontally = (flag == FLAG_FLIPPED_HORIZONTALLY ? isSet : flipShader.isFlippedHorizontally());
+                    final boolean isFlippedVertically = (flag == FLAG_FLIPPED_VERTICALLY ? isSet : flipShader.isFlippedVertically());
+
+                    allShaders.set(i, FlipShader.of(isFlippedHorizontally, isFlippedVertically));
+                    return setShaderChain(index, ShaderChains.get(allShaders));
+                }
+            }
+        }
+
+        final List<Shader> shaders = getShaders(index);
+
+        if (setFlag(index, flag, isSet)) {
+            setShaders(index, shaders);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Packs the settings of a tile into a glyph key, as described by
+     * TileCacheKey.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @return
+     *          The glyph key.
+     */
+    long getGlyphKey(final int index) {
+        return TileCacheKey.packGlyphKey(characters[index],
+                                         false,
+                                         isFlagSet(index, FLAG_HIDDEN),
+                                         isFlagSet(index, FLAG_UNDERLINED),
+                                         underlineThicknesses[index] & 0xFF,
+                                         shaderChains[index].getId());
+    }
+
+    /**
+     * Packs the colors of a tile into a color key, as described by
+     * TileCacheKey.
+     *
+     * @param index
+     *          The index of the tile.
+     *
+     * @return
+     *          The color key.
+     */
+    long getColorKey(final int index) {
+        return TileCacheKey.packColorKey(foregroundColors[index], backgroundColors[index]);
+    }
+}
@@ -0,0 +1,212 @@
+package com.valkryst.VTerminal;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.apache.logging.log4j.LogManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+@ToString
+public final class RenderLoop implements Runnable {
+    /** The function used to draw a frame. */
+    private final Runnable drawFunction;
+
+    /**
+     * The target number of frames to draw per second.
+     *
+     * If below 1, then the loop is uncapped and draws frames as quickly as
+     * possible, regardless of whether a draw has been requested.
+     */
+    @Getter private final int targetFPS;
+
+    /** The number of nanoseconds between the start of each frame. */
+    private final long frameDuration;
+
+    /** Whether or not a draw has been requested since the last frame was drawn. */
+    private final AtomicBoolean isDrawRequested = new AtomicBoolean(true);
+
+    /** Whether or not a draw has been requested for a later time. */
+    private volatile boolean isDrawScheduled = false;
+
+    /** The time, from System.nanoTime, at which the scheduled draw is due. */
+    private volatile long scheduledDrawTime;
+
+    /** Whether or not the loop is running. */
+    private volatile boolean isRunning = false;
+
+    /** The thread running the loop. */
+    private Thread thread;
+
+    /** The number of frames drawn since the loop was started. */
+    @Getter private volatile long frameCount = 0;
+
+    /**
+     * Constructs a new RenderLoop.
+     *
+     * @param drawFunction
+     *          The function used to draw a frame.
+     *
+     * @param targetFPS
+     *          The target number of frames to draw per second.
+     *
+     *          If below 1, then the loop is uncapped and draws frames as
+     *          quickly as possible.
+     *
+     * @throws NullPointerException
+     *          If the draw function is null.
+     */
+    public RenderLoop(final @NonNull Runnable drawFunction, final int targetFPS) {
+        this.drawFunction = drawFunction;
+        this.targetFPS = targetFPS;
+        frameDuration = targetFPS < 1 ? 0 : TimeUnit.SECONDS.toNanos(1) / targetFPS;
+    }
+
+    /**
+     * Starts the loop on a new thread.
+     *
+     * Does nothing if the loop is already running.
+     */
+    public synchronized void start() {
+        if (isRunning) {
+            return;
+        }
+
+        isRunning = true;
+        frameCount = 0;
+
+        thread = new Thread(this, "VTerminal Render Loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the loop and waits for the frame that's being drawn, if any, to
+     * finish.
+     *
+     * Does nothing if the loop isn't running.
+     */
+    public synchronized void stop() {
+        if (isRunning == false) {
+            return;
+        }
+
+        isRunning = false;
+        LockSupport.unpark(thread);
+
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        thread = null;
+    }
+
+    /**
+     * Requests that a frame be drawn.
+     *
+     * Multiple requests, made before the next frame is drawn, result in a
+     * single frame being drawn.
+     */
+    public void requestDraw() {
+        isDrawRequested.set(true);
+    }
+
+    /**
+     * Requests that a frame be drawn after a delay.
+     *
+     * The frame is drawn during the first of the loop's frames that begins
+     * after the delay. Only one delayed request is kept, so a request replaces
+     * any delayed request made before it.
+     *
+     * @param delay
+     *          The delay. If below 1, then the request is made immediately.
+     *
+     * @param unit
+     *          The unit of the delay.
+     *
+     * @throws NullPointerException
+     *          If the unit is null.
+     */
+    public void requestDraw(final long delay, final @NonNull TimeUnit unit) {
+        if (delay < 1) {
+            requestDraw();
+            return;
+        }
+
+        scheduledDrawTime = System.nanoTime() + unit.toNanos(delay);
+        isDrawScheduled = true;
+    }
+
+    /**
+     * Determines whether or not the scheduled draw, if any, is due, and
+     * clears it if it is.
+     *
+     * @return
+     *          Whether or not the scheduled draw is due.
+     */
+    private boolean takeScheduledDraw() {
+        if (isDrawScheduled && System.nanoTime() - scheduledDrawTime >= 0) {
+            isDrawScheduled = false;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Determines whether or not the loop is running.
+     *
+     * @return
+     *          Whether or not the loop is running.
+     */
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    @Override
+    public void run() {
+        long nextFrameTime = System.nanoTime();
+
+        while (isRunning) {
+            // Both requests are taken, so that they result in a single draw.
+            final boolean isDrawDue = takeScheduledDraw();
+
+            if (frameDuration == 0 || isDrawRequested.getAndSet(false) || isDrawDue) {
+                try {
+                    drawFunction.run();
+                } catch (final RuntimeException e) {
+                    LogManager.getLogger().error(e);
+                }
+
+                frameCount++;
+            }
+
+            if (frameDuration == 0) {
+                continue;
+            }
+
+            // Wait until the next frame is due. If the loop has fallen behind
+            // by more than a frame, then the missed frames are skipped rather
+            // than drawn in a burst.
+            nextFrameTime += frameDuration;
+
+            long remainingTime = nextFrameTime - System.nanoTime();
+
+            if (remainingTime < -frameDuration) {
+                nextFrameTime = System.nanoTime();
+                continue;
+            }
+
+            while (remainingTime > 0 && isRunning) {
+                LockSupport.parkNanos(this, remainingTime);
+                remainingTime = nextFrameTime - System.nanoTime();
+            }
+        }
+    }
+}
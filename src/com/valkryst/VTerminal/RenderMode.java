@@ -0,0 +1,19 @@
+package com.valkryst.VTerminal;
+
+public enum RenderMode {
+    /**
+     * Each tile is drawn onto the canvas using an image, retrieved from the
+     * image cache, which is created for each combination of character,
+     * colors, and shaders.
+     */
+    IMAGE_CACHE,
+
+    /**
+     * Each tile is composed into a single frame, by coloring the glyph masks
+     * of a glyph atlas, and the frame is drawn onto the canvas.
+     *
+     * Only tiles with shaders, other than the flip shader, and GraphicTiles
+     * use the image cache.
+     */
+    GLYPH_ATLAS
+}
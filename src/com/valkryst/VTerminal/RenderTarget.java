@@ -0,0 +1,37 @@
+package com.valkryst.VTerminal;
+
+import lombok.NonNull;
+
+import java.awt.Graphics2D;
+
+public interface RenderTarget {
+    /**
+     * Begins drawing a frame.
+     *
+     * @return
+     *          The graphics context to draw the frame with.
+     *
+     * @throws IllegalStateException
+     *          If the target can't currently be drawn on.
+     */
+    Graphics2D beginFrame();
+
+    /**
+     * Finishes drawing a frame, disposes of it's graphics context, and
+     * displays the frame.
+     *
+     * If the contents of the target were lost while the frame was being
+     * drawn, then the frame isn't complete and must be drawn again, in it's
+     * entirety.
+     *
+     * @param gc
+     *          The graphics context returned by beginFrame.
+     *
+     * @return
+     *          Whether or not the contents of the target were lost.
+     *
+     * @throws NullPointerException
+     *          If the graphics context is null.
+     */
+    boolean endFrame(final @NonNull Graphics2D gc);
+}
@@ -1,11 +1,15 @@
 package com.valkryst.VTerminal;
 
 import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.ComponentRegistry;
 import com.valkryst.VTerminal.component.Layer;
 import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.GlyphAtlas;
 import com.valkryst.VTerminal.misc.ImageCache;
+import com.valkryst.VTerminal.misc.RenderMetrics;
 import com.valkryst.VTerminal.palette.ColorPalette;
+import com.valkryst.VTerminal.shader.ShaderAnimation;
 import lombok.Getter;
 import lombok.NonNull;
 import org.apache.commons.lang3.SystemUtils;
@@ -15,12 +19,15 @@ import org.apache.logging.log4j.Logger;
 import javax.swing.event.MouseInputListener;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.EventListener;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 public class Screen {
     /** The canvas on which the screen is drawn. */
@@ -32,21 +39,61 @@ public class Screen {
     /** The tiles. */
     @Getter private final TileGrid tiles;
 
-    private final int[][] tileHashes;
+    /**
+     * The glyph key of each tile, as of when it was last drawn.
+     *
+     * A tile's glyph and color keys are compared with those of the drawn tile,
+     * to skip drawing tiles which look the same.
+     */
+    private final long[][] drawnGlyphKeys;
+    /** The color key of each tile, as of when it was last drawn. */
+    private final long[][] drawnColorKeys;
+    /** The animated tiles, and the frames that they were drawn with. */
+    private final AnimatedTiles animatedTiles;
 
-    /** The components on the screen. */
-    private final List<Component> components = new ArrayList<>(0);
+    /** The clock, in milliseconds, used to select the frame of each animated tile. */
+    private final LongSupplier clock;
+
+    /** The time, in milliseconds, of the current draw. */
+    private long frameTime;
+
+    /** The tiles to be drawn with the image cache, during the current draw. */
+    private final Tile[] pendingTiles;
+    /** The position of each pending tile, as '(y * width) + x'. */
+    private final int[] pendingPositions;
+
+    /** How the screen's tiles are drawn onto the canvas. */
+    @Getter private RenderMode renderMode = RenderMode.IMAGE_CACHE;
+
+    /** The glyph atlas, used when drawing with the GLYPH_ATLAS render mode. */
+    private GlyphAtlas glyphAtlas;
+
+    /** The frame that tiles are composed into, when drawing with the GLYPH_ATLAS render mode. */
+    private BufferedImage frame;
 
-    /** The lock used to control access to the components. */
-    private final ReentrantReadWriteLock componentsLock = new ReentrantReadWriteLock();
+    /** The pixels of the frame. */
+    private int[] framePixels;
+
+    /** The loop which draws the screen on it's own thread, if it's been started. */
+    private volatile RenderLoop renderLoop;
+
+    /** The lock used to control starting and stopping the render loop. */
+    private final Object renderLoopLock = new Object();
+
+    /** The components on the screen. */
+    private final ComponentRegistry components = new ComponentRegistry();
 
     /** The last known tile-based position of the mouse. */
     private final Point mousePosition = new Point(0, 0);
 
+    /** The dispatcher which routes key events to the focused component, and mouse events to the components under the mouse. */
+    private final InputDispatcher inputDispatcher;
+
     /** The color palette of the Screen. Does not apply to child components. */
     private ColorPalette colorPalette;
 
-    private boolean isInFullScreenExclusiveMode = false;
+    /** The target that the screen is drawn onto. */
+    @Getter private RenderTarget renderTarget;
 
     /**
      * Constructs a new 80x40 Screen with the 18pt DejaVu Sans Mono font.
@@ -117,8 +164,39 @@ public class Screen {
      *         If the dimensions or imageCache is null.
      */
     public Screen(final @NonNull Dimension dimensions, final @NonNull Font font) {
+        this(dimensions, font, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a new Screen.
+     *
+     * @param dimensions
+     *          The dimensions, in tiles, of the screen
+     *
+     * @param font
+     *          The font.
+     *
+     * @param clock
+     *          The clock, in milliseconds, used to select the frame of each
+     *          animated tile.
+     *
+     * @throws NullPointerException
+     *         If the dimensions, imageCache, or clock is null.
+     */
+    Screen(final @NonNull Dimension dimensions, final @NonNull Font font, final @NonNull LongSupplier clock) {
+        this.clock = clock;
+
         tiles = new TileGrid(dimensions, new Point(0, 0));
-        tileHashes = new int[dimensions.height][dimensions.width];
+        drawnGlyphKeys = new long[dimensions.height][dimensions.width];
+        drawnColorKeys = new long[dimensions.height][dimensions.width];
+        animatedTiles = new AnimatedTiles(dimensions.width, dimensions.height);
+        pendingTiles = new Tile[dimensions.width * dimensions.height];
+        pendingPositions = new int[dimensions.width * dimensions.height];
+
+        for (final long[] row : drawnGlyphKeys) {
+            Arrays.fill(row, TileCacheKey.INVALID_GLYPH_KEY);
+        }
+
         setColorPalette(new ColorPalette());
 
         this.imageCache = new ImageCache(font);
@@ -130,6 +208,13 @@ public class Screen {
         canvas.setPreferredSize(new Dimension(pixelWidth, pixelHeight));
         canvas.setIgnoreRepaint(true);
 
+        // Without a display, the screen can only be drawn onto an image.
+        if (GraphicsEnvironment.isHeadless()) {
+            renderTarget = new ImageRenderTarget(pixelWidth, pixelHeight);
+        } else {
+            renderTarget = new CanvasRenderTarget(canvas, imageCache.getMetrics());
+        }
+
         // Add mouse movement listener.
         addListener(new MouseMotionListener() {
             @Override
@@ -144,44 +229,13 @@ public class Screen {
             }
         });
 
-        // Add mouse click listener, used to determine which Component(s)
-        // are focused.
-        addListener(new MouseInputListener() {
-            @Override
-            public void mouseClicked(final MouseEvent e) {}
-
-            @Override
-            public void mousePressed(final MouseEvent e) {
-                if (e.getButton() == MouseEvent.BUTTON1) {
-                    final int mouseX = e.getX() / font.getWidth();
-                    final int mouseY = e.getY() / font.getHeight();
-                    final Point mousePosition = new Point(mouseX, mouseY);
-
-                    componentsLock.readLock().lock();
-
-                    for (final Component component : components) {
-                        component.setFocused(component.intersects(mousePosition));
-                    }
-
-                    componentsLock.readLock().unlock();
-            }
-            }
-
-            @Override
-            public void mouseReleased(final MouseEvent e) {}
-
-            @Override
-            public void mouseEntered(final MouseEvent e) {}
-
-            @Override
-            public void mouseExited(final MouseEvent e) {}
-
-            @Override
-            public void mouseDragged(final MouseEvent e) {}
-
-            @Override
-            public void mouseMoved(final MouseEvent e) {}
-        });
+        // Add the input dispatcher, used to determine which Component is
+        // focused and to pass key and mouse events to the Components that
+        // they concern.
+        inputDispatcher = new InputDispatcher(dimensions, font);
+        canvas.addKeyListener(inputDispatcher);
+        canvas.addMouseListener(inputDispatcher);
+        canvas.addMouseMotionListener(inputDispatcher);
     }
 
     /**
@@ -271,7 +325,11 @@ public class Screen {
         frame.setVisible(true);
 
         device.setFullScreenWindow(frame);
-        isInFullScreenExclusiveMode = true;
+
+        // Windows only supports a single buffer in full-screen exclusive mode.
+        if (renderTarget instanceof CanvasRenderTarget && SystemUtils.IS_OS_WINDOWS) {
+            ((CanvasRenderTarget) renderTarget).setBufferCount(1);
+        }
 
         // There's a rare, hard to reproduce, issue where, on the first
         // render of a Screen, it may just display a blank white canvas.
@@ -286,80 +344,445 @@ public class Screen {
         return frame;
     }
 
-    /** Draws all of the screen's tiles onto the canvas. */
-    public void draw() {
-        // Draw components on screen.
-        componentsLock.readLock().lock();
+    /**
+     * Draws all of the screen's dirty tiles onto the render target.
+     *
+     * If the contents of the render target are lost, then every tile is drawn
+     * again.
+     *
+     * Animated tiles are drawn again whenever the frame, selected by the
+     * clock, has changed. Each frame is drawn from the strip of frames in the
+     * image cache, so the shaders of an animated tile are only run when it's
+     * strip is created. While the render loop is running and animated tiles
+     * are on the screen, a draw is requested for when the next frame of any
+     * of them begins.
+     *
+     * Only one thread can draw the screen at a time.
+     */
+    public synchronized void draw() {
+        final RenderMetrics metrics = imageCache.getMetrics();
+        final long startNanos = metrics.startTimer();
+
+        frameTime = clock.getAsLong();
+
+        copyComponentsOntoTiles();
+        markChangedAnimatedTiles();
+
+        // The frame always contains every tile, so if the contents of the
+        // render target are lost, then only the frame is drawn again.
+        if (renderMode == RenderMode.GLYPH_ATLAS) {
+            composeFrame();
+        } else {
+            // Lost tile images are restored in a single batch, rather than
+            // one at a time as they're drawn.
+            imageCache.validate();
+        }
+
+        try {
+            boolean isContentsLost;
+
+            do {
+                final Graphics2D gc = renderTarget.beginFrame();
+
+                if (renderMode == RenderMode.GLYPH_ATLAS) {
+                    drawFrame(gc);
+                } else {
+                    drawTiles(gc);
+                }
 
-        for (final Component component : components) {
-            component.getTiles().copyOnto(tiles);
+                isContentsLost = renderTarget.endFrame(gc);
+
+                if (isContentsLost && renderMode == RenderMode.IMAGE_CACHE) {
+                    markForFullRepaint();
+                }
+            } while (isContentsLost);
+        } catch (final IllegalStateException e) {
+            // The tiles that weren't drawn are unknown, so all of them must be redrawn.
+            markForFullRepaint();
+
+            final Logger logger = LogManager.getLogger();
+            logger.error(e);
         }
 
-        componentsLock.readLock().unlock();
+        metrics.recordFrame(startNanos);
 
-        // Draw screen on canvas.
-        final BufferStrategy bs = canvas.getBufferStrategy();
+        final RenderLoop loop = renderLoop;
+        final long nextFrameTime = animatedTiles.getNextFrameTime();
 
-        do {
-            do {
-                final Graphics2D gc;
-
-                try {
-                    gc = (Graphics2D) bs.getDrawGraphics();
-
-                    gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-                    gc.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
-                    gc.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-                    gc.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-
-                    // Font characters are pre-rendered images, so no need for AA.
-                    gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-
-                    // No-need for text rendering related options.
-                    gc.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
-                    gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
-
-                    // If alpha is used in the character images, we want computations related to drawing them to be fast.
-                    gc.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
-
-                    // Draw every tile, whose hash has changed, onto the canvas.
-                    for (int y = 0; y < tiles.getHeight(); y++) {
-                        final int yPosition = tiles.getYPosition() + y;
-
-                        for (int x = 0; x < tiles.getWidth(); x++) {
-                            final int xPosition = tiles.getXPosition() + x;
-
-                            final Tile tile = tiles.getTileAt(x, y);
-
-                            // Determine if hash has changed.
-                            if (tileHashes[y][x] == 0 || tileHashes[y][x] != tile.getCacheHash()) {
-                                tileHashes[y][x] = tile.getCacheHash();
-                                tiles.getTileAt(x, y).draw(gc, imageCache, xPosition, yPosition);
-                            }
-                        }
-                    }
-
-                    gc.dispose();
-                } catch (final NullPointerException | IllegalStateException e) {
-                    if (bs == null) {
-                        // Create Canvas BufferStrategy
-                        if (isInFullScreenExclusiveMode && SystemUtils.IS_OS_WINDOWS) {
-                            canvas.createBufferStrategy(1);
-                        } else {
-                            canvas.createBufferStrategy(2);
-                        }
-
-                        draw();
-                        return;
-                    }
-
-                    final Logger logger = LogManager.getLogger();
-                    logger.error(e);
+        if (loop != null && nextFrameTime != Long.MAX_VALUE) {
+            loop.requestDraw(nextFrameTime - frameTime, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Marks every animated tile, whose frame has changed since it was last
+     * drawn, as dirty and forgets it's drawn keys, so that it's drawn again.
+     */
+    private void markChangedAnimatedTiles() {
+        final int width = tiles.getWidth();
+
+        animatedTiles.forEachChanged(frameTime, position -> {
+            final int x = position % width;
+            final int y = position / width;
+
+            drawnGlyphKeys[y][x] = TileCacheKey.INVALID_GLYPH_KEY;
+            tiles.markTileDirty(x, y);
+        });
+    }
+
+    /**
+     * Records the frame of a tile's animation, which is about to be drawn.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile.
+     */
+    private void recordDrawnFrame(final Tile tile, final int x, final int y) {
+        final ShaderAnimation animation = tile.isImageRequired() ? tile.getShaderAnimation() : null;
+        animatedTiles.record(x, y, animation, frameTime);
+    }
+
+    /** Copies the tiles of every component, which isn't within a layer, onto the screen's tiles. */
+    private void copyComponentsOntoTiles() {
+        for (final Component component : components.getComponents()) {
+            final TileGrid componentTiles = component.getTiles();
+
+            // Components within a layer are drawn onto the screen by the layer.
+            if (componentTiles.getParent() == null) {
+                componentTiles.copyOnto(tiles);
+            }
+        }
+    }
+
+    /**
+     * Draws every dirty tile, whose keys have changed, onto a graphics context
+     * using the image cache.
+     *
+     * @param gc
+     *          The graphics context.
+     */
+    private void drawTiles(final Graphics2D gc) {
+        gc.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        gc.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
+        gc.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+        gc.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+
+        // Font characters are pre-rendered images, so no need for AA.
+        gc.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+
+        // No-need for text rendering related options.
+        gc.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+        gc.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+
+        // If alpha is used in the character images, we want computations related to drawing them to be fast.
+        gc.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+
+        // Scrolled areas are copied, rather than drawn again.
+        final Font font = imageCache.getFont();
+        final int xOffset = tiles.getXPosition() * font.getWidth();
+        final int yOffset = tiles.getYPosition() * font.getHeight();
+
+        for (final AreaCopy areaCopy : takeAreaCopies()) {
+            final int x = xOffset + areaCopy.x * font.getWidth();
+            final int y = yOffset + areaCopy.y * font.getHeight();
+            final int width = areaCopy.width * font.getWidth();
+            final int height = areaCopy.height * font.getHeight();
+            gc.copyArea(x, y, width, height, areaCopy.dx * font.getWidth(), areaCopy.dy * font.getHeight());
+        }
+
+        int tilesScanned = 0;
+        int tilesDrawn = 0;
+
+        // Find every dirty tile whose keys have changed.
+        for (int y = tiles.nextDirtyRow(0) ; y >= 0 ; y = tiles.nextDirtyRow(y + 1)) {
+            final BitSet dirtyColumns = tiles.takeDirtyColumns(y);
+
+            if (dirtyColumns == null) {
+                continue;
+            }
+
+            for (int x = dirtyColumns.nextSetBit(0) ; x >= 0 ; x = dirtyColumns.nextSetBit(x + 1)) {
+                final Tile tile = tiles.getTileAt(x, y);
+                tilesScanned++;
+
+                // Determine if the keys have changed.
+                final long glyphKey = tile.getGlyphKey();
+                final long colorKey = tile.getColorKey();
+
+                if (drawnGlyphKeys[y][x] != glyphKey || drawnColorKeys[y][x] != colorKey) {
+                    drawnGlyphKeys[y][x] = glyphKey;
+                    drawnColorKeys[y][x] = colorKey;
+                    recordDrawnFrame(tile, x, y);
+
+                    pendingTiles[tilesDrawn] = tile;
+                    pendingPositions[tilesDrawn] = (y * tiles.getWidth()) + x;
+                    tilesDrawn++;
                 }
-            } while (bs.contentsRestored()); // Repeat render if drawing buffer contents were restored.
+            }
+        }
 
-            bs.show();
-        } while (bs.contentsLost()); // Repeat render if drawing buffer was lost.
+        drawPendingTiles(gc, tilesDrawn, tiles.getXPosition(), tiles.getYPosition());
+        imageCache.getMetrics().recordTiles(tilesScanned, tilesDrawn);
+    }
+
+    /**
+     * Retrieves the area copies which are pending on the screen's tiles, and
+     * applies them to the keys of the drawn tiles.
+     *
+     * The caller must apply the area copies to the drawn pixels, so that the
+     * keys continue to describe the pixels.
+     *
+     * @return
+     *          The area copies.
+     */
+    private List<AreaCopy> takeAreaCopies() {
+        final List<AreaCopy> areaCopies = tiles.takeAreaCopies();
+
+        for (final AreaCopy areaCopy : areaCopies) {
+            areaCopy.apply(drawnGlyphKeys);
+            areaCopy.apply(drawnColorKeys);
+            animatedTiles.apply(areaCopy);
+        }
+
+        return areaCopies;
+    }
+
+    /**
+     * Draws the pending tiles onto a graphics context, using the image cache.
+     *
+     * The images of every pending tile, which aren't in the image cache, are
+     * created at once, so that they can be created in parallel.
+     *
+     * @param gc
+     *          The graphics context.
+     *
+     * @param count
+     *          The number of pending tiles.
+     *
+     * @param xOffset
+     *          The offset to apply to the x-axis coordinate of each tile.
+     *
+     * @param yOffset
+     *          The offset to apply to the y-axis coordinate of each tile.
+     */
+    private void drawPendingTiles(final Graphics2D gc, final int count, final int xOffset, final int yOffset) {
+        if (count == 0) {
+            return;
+        }
+
+        imageCache.prepareFrame(Arrays.asList(pendingTiles).subList(0, count));
+
+        final int width = tiles.getWidth();
+
+        for (int i = 0 ; i < count ; i++) {
+            final int x = pendingPositions[i] % width;
+            final int y = pendingPositions[i] / width;
+
+            pendingTiles[i].draw(gc, imageCache, xOffset + x, yOffset + y, frameTime);
+            pendingTiles[i] = null;
+        }
+    }
+
+    /**
+     * Draws the frame onto a graphics context.
+     *
+     * @param gc
+     *          The graphics context.
+     */
+    private void drawFrame(final Graphics2D gc) {
+        final Font font = imageCache.getFont();
+        gc.drawImage(frame, tiles.getXPosition() * font.getWidth(), tiles.getYPosition() * font.getHeight(), null);
+    }
+
+    /**
+     * Composes all of the screen's dirty tiles, whose keys have changed, into
+     * the frame.
+     *
+     * @return
+     *          The frame.
+     */
+    private BufferedImage composeFrame() {
+        final Font font = imageCache.getFont();
+
+        // The font is resized when entering full screen mode.
+        if (glyphAtlas == null || glyphAtlas.getGlyphWidth() != font.getWidth() || glyphAtlas.getGlyphHeight() != font.getHeight()) {
+            glyphAtlas = new GlyphAtlas(font);
+
+            final int pixelWidth = tiles.getWidth() * font.getWidth();
+            final int pixelHeight = tiles.getHeight() * font.getHeight();
+            frame = new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+            framePixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+
+            markForFullRepaint();
+        }
+
+        // Compose every dirty tile, whose keys have changed, into the frame.
+        final int frameWidth = frame.getWidth();
+
+        // Scrolled areas are copied, rather than composed again.
+        for (final AreaCopy areaCopy : takeAreaCopies()) {
+            areaCopy.apply(framePixels, frameWidth, font.getWidth(), font.getHeight());
+        }
+
+        int tilesScanned = 0;
+        int tilesDrawn = 0;
+        int pendingCount = 0;
+
+        for (int y = tiles.nextDirtyRow(0) ; y >= 0 ; y = tiles.nextDirtyRow(y + 1)) {
+            final BitSet dirtyColumns = tiles.takeDirtyColumns(y);
+
+            if (dirtyColumns == null) {
+                continue;
+            }
+
+            for (int x = dirtyColumns.nextSetBit(0) ; x >= 0 ; x = dirtyColumns.nextSetBit(x + 1)) {
+                final Tile tile = tiles.getTileAt(x, y);
+                tilesScanned++;
+
+                final long glyphKey = tile.getGlyphKey();
+                final long colorKey = tile.getColorKey();
+
+                if (drawnGlyphKeys[y][x] == glyphKey && drawnColorKeys[y][x] == colorKey) {
+                    continue;
+                }
+
+                drawnGlyphKeys[y][x] = glyphKey;
+                drawnColorKeys[y][x] = colorKey;
+                recordDrawnFrame(tile, x, y);
+                tilesDrawn++;
+
+                if (glyphAtlas.canDraw(tile)) {
+                    glyphAtlas.draw(framePixels, frameWidth, tile, x * font.getWidth(), y * font.getHeight());
+                } else {
+                    // Tiles with shaders use the image cache.
+                    pendingTiles[pendingCount] = tile;
+                    pendingPositions[pendingCount] = (y * tiles.getWidth()) + x;
+                    pendingCount++;
+                }
+            }
+        }
+
+        if (pendingCount > 0) {
+            final Graphics2D frameGc = frame.createGraphics();
+            drawPendingTiles(frameGc, pendingCount, 0, 0);
+            frameGc.dispose();
+        }
+
+        imageCache.getMetrics().recordTiles(tilesScanned, tilesDrawn);
+        return frame;
+    }
+
+    /**
+     * Retrieves the metrics of the screen and of it's image cache.
+     *
+     * Metrics are disabled by default, and must be enabled before they're
+     * recorded.
+     *
+     * @return
+     *          The metrics.
+     */
+    public RenderMetrics getMetrics() {
+        return imageCache.getMetrics();
+    }
+
+    /**
+     * Requests that the screen be drawn.
+     *
+     * If the render loop is running, then the screen is drawn during the
+     * loop's next frame, and multiple requests made before that frame result
+     * in a single draw. Otherwise, the screen is drawn immediately.
+     */
+    public void requestDraw() {
+        final RenderLoop loop = renderLoop;
+
+        if (loop != null && loop.isRunning()) {
+            loop.requestDraw();
+        } else {
+            draw();
+        }
+    }
+
+    /**
+     * Starts a render loop, which draws the screen on it's own thread.
+     *
+     * While the loop is running, calls to requestDraw, such as those made by
+     * components when they change, only mark the screen as needing to be
+     * drawn.
+     *
+     * If a loop is already running, then it's stopped and replaced.
+     *
+     * @param targetFPS
+     *          The target number of frames to draw per second.
+     *
+     *          If below 1, then the loop is uncapped and draws frames as
+     *          quickly as possible, which is useful for benchmarking.
+     */
+    public void startRenderLoop(final int targetFPS) {
+        synchronized (renderLoopLock) {
+            stopRenderLoop();
+
+            renderLoop = new RenderLoop(this::draw, targetFPS);
+            renderLoop.start();
+        }
+    }
+
+    /** Stops the render loop, if it's running. */
+    public void stopRenderLoop() {
+        synchronized (renderLoopLock) {
+            if (renderLoop != null) {
+                renderLoop.stop();
+                renderLoop = null;
+            }
+        }
+    }
+
+    /**
+     * Sets how the screen's tiles are drawn onto the canvas.
+     *
+     * Every tile is drawn again during the next draw.
+     *
+     * @param renderMode
+     *          The render mode.
+     *
+     * @throws NullPointerException
+     *          If the render mode is null.
+     */
+    public void setRenderMode(final @NonNull RenderMode renderMode) {
+        this.renderMode = renderMode;
+        markForFullRepaint();
+    }
+
+    /**
+     * Sets the target that the screen is drawn onto.
+     *
+     * Every tile is drawn again during the next draw.
+     *
+     * @param renderTarget
+     *          The render target.
+     *
+     * @throws NullPointerException
+     *          If the render target is null.
+     */
+    public synchronized void setRenderTarget(final @NonNull RenderTarget renderTarget) {
+        this.renderTarget = renderTarget;
+        markForFullRepaint();
+    }
+
+    /**
+     * Marks every tile on the screen as dirty and forgets the keys of every
+     * drawn tile, so that every tile is drawn during the next draw.
+     */
+    void markForFullRepaint() {
+        for (final long[] row : drawnGlyphKeys) {
+            Arrays.fill(row, TileCacheKey.INVALID_GLYPH_KEY);
+        }
+
+        tiles.markAllTilesDirty();
     }
 
     /**
@@ -382,20 +805,16 @@ public class Screen {
         }
 
         // Add the component
-        componentsLock.writeLock().lock();
         components.add(component);
-        componentsLock.writeLock().unlock();
 
         // Set the component's redraw function
-        component.setRedrawFunction(this::draw);
+        component.setRedrawFunction(this::requestDraw);
 
         // Create the component's event listeners
         component.createEventListeners(this);
 
         // Add the component's event listeners
-        for (final EventListener listener : component.getEventListeners()) {
-            addListener(listener);
-        }
+        addComponentListeners(component);
     }
 
     /**
@@ -445,34 +864,77 @@ public class Screen {
         }
 
         // Remove the component
-        componentsLock.writeLock().lock();
         components.remove(component);
-        componentsLock.writeLock().unlock();
 
         // Unset the component's redraw function
         component.setRedrawFunction(() -> {});
 
         // Remove the component's event listeners
-        for (final EventListener listener : component.getEventListeners()) {
-            removeListener(listener);
-        }
+        removeComponentListeners(component);
     }
 
     /** Removes all components from the screen. */
     public void removeAllComponents() {
-        componentsLock.writeLock().lock();
+        for (final Component component : components.removeAll()) {
+            // Remove the component's event listeners
+            removeComponentListeners(component);
+        }
+    }
+
+    /**
+     * Adds the event listeners of a component to the screen.
+     *
+     * The component's key and mouse listeners are called by the screen's
+     * input dispatcher, only for events which concern the component. It's
+     * other listeners are added to the canvas.
+     *
+     * @param component
+     *          The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public void addComponentListeners(final @NonNull Component component) {
+        inputDispatcher.add(component);
 
-        for (final Component component : components) {
-            // Remove the component
-            components.remove(component);
+        for (final EventListener listener : component.getEventListeners()) {
+            if (isDispatchedListener(listener) == false) {
+                addListener(listener);
+            }
+        }
+    }
 
-            // Remove the component's event listeners
-            for (final EventListener listener : component.getEventListeners()) {
+    /**
+     * Removes the event listeners of a component from the screen.
+     *
+     * @param component
+     *          The component.
+     *
+     * @throws NullPointerException
+     *         If the component is null.
+     */
+    public void removeComponentListeners(final @NonNull Component component) {
+        inputDispatcher.remove(component);
+
+        for (final EventListener listener : component.getEventListeners()) {
+            if (isDispatchedListener(listener) == false) {
                 removeListener(listener);
             }
         }
+    }
 
-        componentsLock.writeLock().unlock();
+    /**
+     * Determines whether or not an event listener is called by the input
+     * dispatcher.
+     *
+     * @param eventListener
+     *        The event listener.
+     *
+     * @return
+     *        Whether or not the event listener is a key or mouse listener.
+     */
+    private static boolean isDispatchedListener(final EventListener eventListener) {
+        return eventListener instanceof KeyListener || eventListener instanceof MouseListener || eventListener instanceof MouseMotionListener;
     }
 
     /**
@@ -558,22 +1020,10 @@ public class Screen {
      *          The ID to search for.
      *
      * @return
-     *          All components using the ID.
+     *          An unmodifiable list of all components using the ID.
      */
     public List<Component> getComponentsByID(final String id) {
-        if (id == null || id.isEmpty() || components.size() == 0) {
-            return new ArrayList<>(0);
-        }
-
-        final List<Component> results = new ArrayList<>(1);
-
-        for (final Component component : components) {
-            if (component.getId().equals(id)) {
-                results.add(component);
-            }
-        }
-
-        return results;
+        return components.getComponentsByID(id);
     }
 
     /**
@@ -2,45 +2,58 @@ package com.valkryst.VTerminal;
 
 import com.valkryst.VTerminal.misc.ImageCache;
 import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.ShaderAnimation;
+import com.valkryst.VTerminal.shader.ShaderChain;
+import com.valkryst.VTerminal.shader.ShaderChains;
 import com.valkryst.VTerminal.shader.misc.FlipShader;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Setter;
 import lombok.ToString;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Image;
-import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
-@ToString
+@ToString(exclude={"grid", "gridX", "gridY", "cacheKey"})
 public class Tile {
-    /** The hash value, of the tile, used by the image cache. */
-    @Getter protected int cacheHash;
-
-    /** The shaders to run on each image. */
-    @Getter private final List<Shader> shaders = new LinkedList<>();
+    /**
+     * The character, hidden/underline settings, and shader chain id of the
+     * tile, packed as described by TileCacheKey.
+     */
+    @Getter private long glyphKey;
+    /** The foreground and background colors of the tile, packed as described by TileCacheKey. */
+    @Getter private long colorKey;
+    /** The chain of shaders to run on each image. */
+    private ShaderChain shaderChain;
+    /** The key, of the tile, used by the image cache. Null until it's first retrieved. */
+    private TileCacheKey cacheKey;
 
     /** The character. */
 	@Getter private char character = ' ';
 	/** Whether or not the foreground should be drawn using the background color. */
-	@Getter @Setter private boolean isHidden;
+	@Getter private boolean isHidden;
     /** The background color. Defaults to black. */
     @Getter private Color backgroundColor;
 	/** The foreground color. Defaults to white. */
 	@Getter private Color foregroundColor;
 
 	/** Whether or not to draw the tile as underlined. */
-	@Getter @Setter private boolean isUnderlined;
+	@Getter private boolean isUnderlined;
     /** The thickness of the underline to draw beneath the tile. */
 	@Getter private int underlineThickness;
 
 	/** Whether or not the foreground and background colors are equal. */
 	@Getter private boolean foregroundAndBackgroundColorEqual;
 
+    /** The grid that the tile resides on, if any. It's notified whenever the tile changes. */
+    private TileGrid grid;
+    /** The x-axis (column) position of the tile within it's grid. */
+    private int gridX;
+    /** The y-axis (row) position of the tile within it's grid. */
+    private int gridY;
+
     /**
      * Constructs a new Tile.
      *
@@ -50,8 +63,17 @@ public class Tile {
 	public Tile(final char character) {
 	    reset();
 	    this.character = character;
+	    updateKeys();
     }
 
+    /**
+     * Constructs a new Tile without initializing any of it's settings.
+     *
+     * This is used by subclasses, which store their settings elsewhere and
+     * override every function that accesses them.
+     */
+    protected Tile() {}
+
     /**
      * Constructs a new tile by copying the data of a tile.
      *
@@ -68,7 +90,7 @@ public class Tile {
 
     /** Resets the tile to it's default state. */
     public void reset() {
-        removeAllShaders();
+        shaderChain = ShaderChain.EMPTY;
 
         character = ' ';
         isHidden = false;
@@ -80,7 +102,8 @@ public class Tile {
 
         foregroundAndBackgroundColorEqual = false;
 
-        cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+        updateKeys();
+        markDirty();
     }
 
     /**
@@ -93,8 +116,8 @@ public class Tile {
      *         If the otherTile is null.
      */
     public void copy(final @NonNull Tile otherTile) {
-        for (final Shader shader : otherTile.getShaders()) {
-            shaders.add(shader.copy());
+        if (isEqualTo(otherTile)) {
+            return;
         }
 
         this.character = otherTile.getCharacter();
@@ -109,15 +132,38 @@ public class Tile {
 
         foregroundAndBackgroundColorEqual = otherTile.isForegroundAndBackgroundColorEqual();
 
-        if (cacheHash == otherTile.getCacheHash()) {
-            cacheHash = otherTile.getCacheHash();
-        } else {
-            cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+        shaderChain = otherTile.getShaderChain();
+        updateKeys();
+
+        // Tiles which produce the same image can share a single key.
+        if (cacheKey == null && ((glyphKey ^ otherTile.getGlyphKey()) & TileCacheKey.GLYPH_IMAGE_MASK) == 0 && colorKey == otherTile.getColorKey()) {
+            cacheKey = otherTile.peekCacheKey();
         }
+
+        markDirty();
+    }
+
+    /**
+     * Determines whether or not a tile has the same settings as this tile.
+     *
+     * @param otherTile
+     *          The other tile.
+     *
+     * @return
+     *          Whether or not the tiles have the same settings.
+     */
+    private boolean isEqualTo(final @NonNull Tile otherTile) {
+        if (this == otherTile) {
+            return true;
+        }
+
+        // The glyph key includes the id of the shader chain.
+        return glyphKey == otherTile.getGlyphKey() && colorKey == otherTile.getColorKey();
     }
 
     /**
-     * Draws the tile onto the specified context.
+     * Draws the tile onto the specified context, showing the frame of it's
+     * animation at the current time.
      *
      * @param gc
      *         The graphics context to draw with.
@@ -134,7 +180,34 @@ public class Tile {
      * @throws NullPointerException
      *         If the gc or image cache are null.
      */
-    public void draw(final @NonNull Graphics2D gc, final @NonNull ImageCache imageCache, int columnIndex, int rowIndex) {
+    public void draw(final @NonNull Graphics2D gc, final @NonNull ImageCache imageCache, final int columnIndex, final int rowIndex) {
+        draw(gc, imageCache, columnIndex, rowIndex, System.currentTimeMillis());
+    }
+
+    /**
+     * Draws the tile onto the specified context, showing the frame of it's
+     * animation at a point in time.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve tile images from.
+     *
+     * @param columnIndex
+     *         The x-axis (column) coordinate where the tile is to be drawn.
+     *
+     * @param rowIndex
+     *         The y-axis (row) coordinate where the tile is to be drawn.
+     *
+     * @param time
+     *         The time, in milliseconds, used to select the frame of the
+     *         tile's animation. Ignored if the tile isn't animated.
+     *
+     * @throws NullPointerException
+     *         If the gc or image cache are null.
+     */
+    public void draw(final @NonNull Graphics2D gc, final @NonNull ImageCache imageCache, int columnIndex, int rowIndex, final long time) {
         final int fontWidth = imageCache.getFont().getWidth();
         final int fontHeight = imageCache.getFont().getHeight();
 
@@ -142,27 +215,74 @@ public class Tile {
         rowIndex *= fontHeight;
 
         // Handle hidden state:
-        if (isHidden || foregroundAndBackgroundColorEqual || Character.isSpaceChar(character)) {
-            gc.setColor(backgroundColor);
+        if (isImageRequired() == false) {
+            gc.setColor(getBackgroundColor());
             gc.fillRect(columnIndex, rowIndex, fontWidth, fontHeight);
         } else {
-            final Image image = imageCache.retrieve(this);
-            gc.drawImage(image, columnIndex, rowIndex, null);
+            drawImage(gc, imageCache, columnIndex, rowIndex, time);
 
             // Draw underline:
-            if (isUnderlined) {
-                gc.setColor(foregroundColor);
+            if (isUnderlined()) {
+                gc.setColor(getForegroundColor());
 
-                if (underlineThickness > fontHeight) {
-                    underlineThickness = fontHeight;
-                }
-
-                final int y = rowIndex + fontHeight - underlineThickness;
-                gc.fillRect(columnIndex, y, fontWidth, underlineThickness);
+                final int thickness = Math.min(getUnderlineThickness(), fontHeight);
+                final int y = rowIndex + fontHeight - thickness;
+                gc.fillRect(columnIndex, y, fontWidth, thickness);
             }
         }
     }
 
+    /**
+     * Draws the image of the tile, or the frame of it's animation at a point
+     * in time, onto the specified context.
+     *
+     * The image of an animated tile is a strip of it's frames, from left to
+     * right, so the frame is drawn from the strip.
+     *
+     * @param gc
+     *         The graphics context to draw with.
+     *
+     * @param imageCache
+     *         The image cache to retrieve tile images from.
+     *
+     * @param x
+     *         The x-axis position, in pixels, where the image is to be drawn.
+     *
+     * @param y
+     *         The y-axis position, in pixels, where the image is to be drawn.
+     *
+     * @param time
+     *         The time, in milliseconds, used to select the frame.
+     */
+    protected void drawImage(final Graphics2D gc, final ImageCache imageCache, final int x, final int y, final long time) {
+        final Image image = imageCache.retrieve(this);
+        final ShaderAnimation animation = getShaderAnimation();
+
+        if (animation == null) {
+            gc.drawImage(image, x, y, null);
+            return;
+        }
+
+        final int width = image.getWidth(null) / animation.getFrameCount();
+        final int height = image.getHeight(null);
+        final int frameX = animation.getFrame(time) * width;
+        gc.drawImage(image, x, y, x + width, y + height, frameX, 0, frameX + width, height, null);
+    }
+
+    /**
+     * Determines whether or not an image of the tile is required to draw it.
+     *
+     * Hidden tiles, tiles whose back/foreground colors are equal, and tiles
+     * whose characters are whitespace, are drawn as a rectangle of the
+     * background color.
+     *
+     * @return
+     *          Whether or not an image of the tile is required.
+     */
+    public boolean isImageRequired() {
+        return isHidden() == false && isForegroundAndBackgroundColorEqual() == false && Character.isSpaceChar(getCharacter()) == false;
+    }
+
     /**
      * Sets the new character.
      *
@@ -173,7 +293,8 @@ public class Tile {
         if (this.character != character) {
             this.character = character;
 
-            cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+            updateKeys();
+            markDirty();
         }
     }
 
@@ -189,7 +310,8 @@ public class Tile {
                 backgroundColor = color;
                 foregroundAndBackgroundColorEqual = foregroundColor.equals(backgroundColor);
 
-                cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+                updateKeys();
+                markDirty();
             }
         }
     }
@@ -206,7 +328,8 @@ public class Tile {
                 foregroundColor = color;
                 foregroundAndBackgroundColorEqual = foregroundColor.equals(backgroundColor);
 
-                cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+                updateKeys();
+                markDirty();
             }
         }
     }
@@ -218,20 +341,8 @@ public class Tile {
      *        Whether or not the tile is flipped horizontally.
      */
     public void setFlippedHorizontally(final boolean isFlippedHorizontally) {
-        for (final Shader shader : shaders) {
-            if (shader instanceof FlipShader) {
-                ((FlipShader) shader).setFlippedHorizontally(isFlippedHorizontally);
-
-                cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
-                return;
-            }
-        }
-
-        final FlipShader flipShader = new FlipShader();
-        flipShader.setFlippedHorizontally(isFlippedHorizontally);
-        shaders.add(flipShader);
-
-        cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+        final FlipShader flipShader = getFlipShader();
+        setFlipShader(FlipShader.of(isFlippedHorizontally, flipShader != null && flipShader.isFlippedVertically()));
     }
 
     /**
@@ -241,48 +352,112 @@ public class Tile {
      *        Whether or not the tile is flipped vertically.
      */
     public void setFlippedVertically(final boolean isFlippedVertically) {
-        for (final Shader shader : shaders) {
+        final FlipShader flipShader = getFlipShader();
+        setFlipShader(FlipShader.of(flipShader != null && flipShader.isFlippedHorizontally(), isFlippedVertically));
+    }
+
+    /**
+     * Retrieves the tile's flip shader.
+     *
+     * @return
+     *          The flip shader, or null if the tile doesn't have one.
+     */
+    private FlipShader getFlipShader() {
+        for (final Shader shader : getShaders()) {
             if (shader instanceof FlipShader) {
-                ((FlipShader) shader).setFlippedVertically(isFlippedVertically);
+                return (FlipShader) shader;
+            }
+        }
+
+        return null;
+    }
 
-                cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+    /**
+     * Replaces the tile's flip shader, or adds the flip shader if the tile
+     * doesn't have one.
+     *
+     * @param flipShader
+     *          The flip shader.
+     */
+    private void setFlipShader(final FlipShader flipShader) {
+        final List<Shader> shaders = new ArrayList<>(getShaders());
+
+        for (int i = 0 ; i < shaders.size() ; i++) {
+            if (shaders.get(i) instanceof FlipShader) {
+                shaders.set(i, flipShader);
+                setShaderChain(ShaderChains.get(shaders));
                 return;
             }
         }
 
-        final FlipShader flipShader = new FlipShader();
-        flipShader.setFlippedVertically(isFlippedVertically);
         shaders.add(flipShader);
-
-        cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+        setShaderChain(ShaderChains.get(shaders));
     }
 
     /**
      * Sets the new underline thickness.
      *
+     * The thickness is clamped to between 1 and 255, the largest thickness
+     * that the tile's glyph key can hold, so that tiles which are equal by
+     * their keys are drawn with the same thickness.
+     *
      * @param underlineThickness
      *          The new underline thickness.
      */
     public void setUnderlineThickness(final int underlineThickness) {
-        if (underlineThickness <= 0) {
-            this.underlineThickness = 1;
-        } else {
-            this.underlineThickness = underlineThickness;
+        final int newThickness = Math.min(TileCacheKey.MAXIMUM_UNDERLINE_THICKNESS, Math.max(1, underlineThickness));
+
+        if (this.underlineThickness != newThickness) {
+            this.underlineThickness = newThickness;
+
+            updateKeys();
+            markDirty();
+        }
+    }
+
+    /**
+     * Sets whether or not the foreground should be drawn using the background
+     * color.
+     *
+     * @param isHidden
+     *          Whether or not the foreground should be drawn using the
+     *          background color.
+     */
+    public void setHidden(final boolean isHidden) {
+        if (this.isHidden != isHidden) {
+            this.isHidden = isHidden;
+
+            updateKeys();
+            markDirty();
+        }
+    }
+
+    /**
+     * Sets whether or not to draw the tile as underlined.
+     *
+     * @param isUnderlined
+     *          Whether or not to draw the tile as underlined.
+     */
+    public void setUnderlined(final boolean isUnderlined) {
+        if (this.isUnderlined != isUnderlined) {
+            this.isUnderlined = isUnderlined;
+
+            updateKeys();
+            markDirty();
         }
     }
 
     /**
      * Adds one or more shaders to the tile.
      *
+     * The canonical instance of each shader is added, rather than the shader
+     * itself.
+     *
      * @param shaders
      *          The shaders.
      */
     public void addShaders(final Shader ... shaders) {
-        if (shaders != null) {
-            this.shaders.addAll(Arrays.asList(shaders));
-
-            cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
-        }
+        setShaderChain(getShaderChain().append(shaders));
     }
 
     /**
@@ -292,17 +467,132 @@ public class Tile {
      *          The shaders.
      */
     public void removeShaders(final Shader ... shaders) {
-        if (shaders != null) {
-            this.shaders.removeAll(Arrays.asList(shaders));
-
-            cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
-        }
+        setShaderChain(getShaderChain().remove(shaders));
     }
 
     /** Removes all shaders from the tile. */
     public void removeAllShaders() {
-        shaders.clear();
+        setShaderChain(ShaderChain.EMPTY);
+    }
+
+    /**
+     * Retrieves the animation of the tile's shaders.
+     *
+     * @return
+     *          The animation, or null if none of the tile's shaders are
+     *          animated.
+     */
+    public ShaderAnimation getShaderAnimation() {
+        return getShaderChain().getAnimation();
+    }
+
+    /**
+     * Retrieves the shaders to run on the tile's image.
+     *
+     * The list is shared by every tile with the same shaders, so it can't be
+     * modified. Shaders are added and removed with the addShaders,
+     * removeShaders, and removeAllShaders functions.
+     *
+     * @return
+     *          The unmodifiable list of shaders.
+     */
+    public List<Shader> getShaders() {
+        return getShaderChain().getShaders();
+    }
 
-        cacheHash = Objects.hash(character, backgroundColor, foregroundColor, shaders);
+    /**
+     * Retrieves the key, of the tile, used by the image cache.
+     *
+     * The key is created when it's first retrieved after the tile's image has
+     * changed, and it's shared with any tiles that copy this tile.
+     *
+     * @return
+     *          The key.
+     */
+    public TileCacheKey getCacheKey() {
+        if (cacheKey == null) {
+            cacheKey = new TileCacheKey(glyphKey, colorKey, shaderChain);
+        }
+
+        return cacheKey;
+    }
+
+    /**
+     * Retrieves the key, of the tile, used by the image cache, without
+     * creating it.
+     *
+     * @return
+     *          The key, or null if it hasn't been created.
+     */
+    TileCacheKey peekCacheKey() {
+        return cacheKey;
+    }
+
+    /**
+     * Retrieves the chain of the tile's shaders.
+     *
+     * @return
+     *          The chain.
+     */
+    ShaderChain getShaderChain() {
+        return shaderChain;
+    }
+
+    /**
+     * Sets the chain of the tile's shaders, then updates the tile's keys.
+     *
+     * @param shaderChain
+     *          The chain.
+     */
+    private void setShaderChain(final ShaderChain shaderChain) {
+        if (this.shaderChain != shaderChain) {
+            this.shaderChain = shaderChain;
+
+            updateKeys();
+            markDirty();
+        }
+    }
+
+    /**
+     * Updates the glyph and color keys of the tile.
+     *
+     * The cache key is discarded if the tile's image has changed.
+     */
+    private void updateKeys() {
+        final long newGlyphKey = TileCacheKey.packGlyphKey(character, this instanceof GraphicTile, isHidden, isUnderlined, underlineThickness, shaderChain.getId());
+        final long newColorKey = TileCacheKey.packColorKey(foregroundColor.getRGB(), backgroundColor.getRGB());
+
+        if (((newGlyphKey ^ glyphKey) & TileCacheKey.GLYPH_IMAGE_MASK) != 0 || newColorKey != colorKey) {
+            cacheKey = null;
+        }
+
+        glyphKey = newGlyphKey;
+        colorKey = newColorKey;
+    }
+
+    /**
+     * Sets the grid that the tile resides on, along with the tile's position
+     * within the grid.
+     *
+     * @param grid
+     *          The grid, or null if the tile no longer resides on a grid.
+     *
+     * @param x
+     *          The x-axis (column) position of the tile within the grid.
+     *
+     * @param y
+     *          The y-axis (row) position of the tile within the grid.
+     */
+    void setGrid(final TileGrid grid, final int x, final int y) {
+        this.grid = grid;
+        gridX = x;
+        gridY = y;
+    }
+
+    /** Notifies the tile's grid, if there is one, that the tile has changed. */
+    protected void markDirty() {
+        if (grid != null) {
+            grid.markTileDirty(gridX, gridY);
+        }
     }
 }
\ No newline at end of file
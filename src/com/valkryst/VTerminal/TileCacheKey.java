@@ -0,0 +1,209 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.ShaderChain;
+
+import java.util.List;
+
+/**
+ * The key, of a tile, used by the image cache.
+ *
+ * Two keys are only equal if they were created from tiles that produce the
+ * same image, so unlike a hash, keys never collide.
+ *
+ * A tile's settings are packed into a pair of longs:
+ *
+ *  The glyph key:
+ *      Bits 0-15   The character.
+ *      Bit  16     Whether the tile is a GraphicTile.
+ *      Bit  17     Whether the tile is hidden.
+ *      Bit  18     Whether the tile is underlined.
+ *      Bits 19-26  The underline thickness.
+ *      Bits 27-31  Unused, always 0.
+ *      Bits 32-63  The id of the tile's shader chain.
+ *
+ *  The color key:
+ *      Bits 0-31   The ARGB background color.
+ *      Bits 32-63  The ARGB foreground color.
+ *
+ * The hidden, underlined, and underline thickness settings are held in the
+ * glyph key, so that tiles can be compared by their keys, but they don't
+ * affect the tile's image, so they're masked out of the cache key.
+ */
+public final class TileCacheKey {
+    /** The bit denoting a GraphicTile, within a glyph key. */
+    final static long GLYPH_GRAPHIC = 1L << 16;
+    /** The bit denoting a hidden tile, within a glyph key. */
+    final static long GLYPH_HIDDEN = 1L << 17;
+    /** The bit denoting an underlined tile, within a glyph key. */
+    final static long GLYPH_UNDERLINED = 1L << 18;
+    /** The maximum underline thickness, which is the largest that a glyph key can hold. */
+    final static int MAXIMUM_UNDERLINE_THICKNESS = 0xFF;
+    /** The offset of the underline thickness, within a glyph key. */
+    private final static int GLYPH_UNDERLINE_THICKNESS_OFFSET = 19;
+    /** The offset of the shader chain id, within a glyph key. */
+    private final static int GLYPH_SHADER_CHAIN_OFFSET = 32;
+    /** The bits, of a glyph key, which hold the shader chain id. */
+    private final static long GLYPH_SHADER_CHAIN_MASK = 0xFFFF_FFFF_0000_0000L;
+
+    /** The bits, of a glyph key, which affect a tile's image. */
+    final static long GLYPH_IMAGE_MASK = GLYPH_SHADER_CHAIN_MASK | GLYPH_GRAPHIC | 0xFFFF;
+
+    /**
+     * A glyph key which no tile can have, because one of it's unused bits are
+     * set.
+     */
+    final static long INVALID_GLYPH_KEY = -1;
+
+    /** Whether or not each class of shader describes it's settings with toString. */
+    private final static ClassValue<Boolean> DESCRIBABLE_SHADERS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() != Object.class;
+            } catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /** The glyph key, excluding the bits which don't affect the image. */
+    private final long glyphKey;
+    /** The color key. */
+    private final long colorKey;
+
+    /**
+     * The shader chain of the tile. It's held so that the chain isn't
+     * garbage collected, and it's id reused, while the key exists.
+     */
+    private final ShaderChain shaderChain;
+
+    /**
+     * Constructs a new TileCacheKey.
+     *
+     * @param glyphKey
+     *          The glyph key of the tile.
+     *
+     * @param colorKey
+     *          The color key of the tile.
+     *
+     * @param shaderChain
+     *          The shader chain of the tile, whose id is in the glyph key.
+     */
+    TileCacheKey(final long glyphKey, final long colorKey, final ShaderChain shaderChain) {
+        this.glyphKey = glyphKey & GLYPH_IMAGE_MASK;
+        this.colorKey = colorKey;
+        this.shaderChain = shaderChain;
+    }
+
+    /**
+     * Packs the settings of a tile into a glyph key.
+     *
+     * @param character
+     *          The character.
+     *
+     * @param isGraphic
+     *          Whether or not the tile is a GraphicTile.
+     *
+     * @param isHidden
+     *          Whether or not the tile is hidden.
+     *
+     * @param isUnderlined
+     *          Whether or not the tile is underlined.
+     *
+     * @param underlineThickness
+     *          The underline thickness. Values above 255 are clamped to 255.
+     *
+     * @param shaderChainId
+     *          The id of the tile's shader chain.
+     *
+     * @return
+     *          The glyph key.
+     */
+    static long packGlyphKey(final char character, final boolean isGraphic, final boolean isHidden, final boolean isUnderlined, final int underlineThickness, final int shaderChainId) {
+        long key = character;
+        key |= isGraphic ? GLYPH_GRAPHIC : 0;
+        key |= isHidden ? GLYPH_HIDDEN : 0;
+        key |= isUnderlined ? GLYPH_UNDERLINED : 0;
+        key |= (long) Math.min(MAXIMUM_UNDERLINE_THICKNESS, Math.max(0, underlineThickness)) << GLYPH_UNDERLINE_THICKNESS_OFFSET;
+        key |= (long) shaderChainId << GLYPH_SHADER_CHAIN_OFFSET;
+        return key;
+    }
+
+    /**
+     * Packs the colors of a tile into a color key.
+     *
+     * @param foregroundRGB
+     *          The ARGB foreground color.
+     *
+     * @param backgroundRGB
+     *          The ARGB background color.
+     *
+     * @return
+     *          The color key.
+     */
+    static long packColorKey(final int foregroundRGB, final int backgroundRGB) {
+        return ((long) foregroundRGB << 32) | (backgroundRGB & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Retrieves the shaders of the key's tile.
+     *
+     * @return
+     *          The shaders.
+     */
+    public List<Shader> getShaders() {
+        return shaderChain.getShaders();
+    }
+
+    /**
+     * Retrieves a description of the key, which is the same in every session,
+     * so that it can identify a tile's image outside of the JVM.
+     *
+     * Shaders are described by their class and toString, so a key can't be
+     * described if any of it's shaders don't override toString. The id of
+     * the shader chain differs between sessions, so it's excluded.
+     *
+     * @return
+     *          The description, or null if the key can't be described.
+     */
+    public String getStyleKey() {
+        final StringBuilder sb = new StringBuilder(32);
+        sb.append(Long.toHexString(glyphKey & ~GLYPH_SHADER_CHAIN_MASK)).append(':').append(Long.toHexString(colorKey));
+
+        for (final Shader shader : getShaders()) {
+            if (DESCRIBABLE_SHADERS.get(shader.getClass()) == false) {
+                return null;
+            }
+
+            sb.append(':').append(shader.getClass().getName()).append('=').append(shader);
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(final Object otherObj) {
+        if (this == otherObj) {
+            return true;
+        }
+
+        if (otherObj instanceof TileCacheKey == false) {
+            return false;
+        }
+
+        final TileCacheKey otherKey = (TileCacheKey) otherObj;
+        return glyphKey == otherKey.glyphKey && colorKey == otherKey.colorKey;
+    }
+
+    @Override
+    public int hashCode() {
+        final long hash = (glyphKey * 0x9E3779B97F4A7C15L) ^ colorKey;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "TileCacheKey(glyphKey=" + Long.toHexString(glyphKey) + ", colorKey=" + Long.toHexString(colorKey) + ", shaders=" + getShaders() + ")";
+    }
+}
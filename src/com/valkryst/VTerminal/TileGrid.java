@@ -4,9 +4,15 @@ import lombok.NonNull;
 
 import java.awt.Dimension;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public final class TileGrid {
@@ -15,18 +21,79 @@ public final class TileGrid {
     /** An empty 2D array of tiles. */
     private final static Tile[][] EMPTY_2D_ARRAY = new Tile[0][0];
 
+    /**
+     * The maximum number of area copies which can be pending on a grid. If
+     * exceeded, then the pending area copies are discarded and their tiles
+     * are drawn individually.
+     */
+    private final static int MAX_PENDING_AREA_COPIES = 8;
+
+    /**
+     * The number of times that any grid has been moved.
+     *
+     * Used by input dispatchers to determine when their component indices
+     * are out of date.
+     */
+    private final static AtomicLong moveCount = new AtomicLong(0);
+
     /** The position of the grid within it's parent. */
     private final Point position;
 
-    /** A grid of tiles. */
+    /** The width of the grid. */
+    private final int width;
+    /** The height of the grid. */
+    private final int height;
+
+    /** How the grid's tiles are stored. */
+    private final TileStorageMode storageMode;
+
+    /** A grid of tiles. Null if the grid uses the PACKED storage mode. */
     private final Tile[][] tiles;
 
+    /** The settings of the grid's tiles. Null if the grid uses the OBJECT storage mode. */
+    private final PackedTileStore store;
+
     /** The child grids that reside on the grid. */
     private final List<TileGrid> childGrids = new ArrayList<>();
 
     /** The lock used to control access to the children. */
     private final ReentrantReadWriteLock childLock = new ReentrantReadWriteLock();
 
+    /**
+     * The dirty tiles of each row. A set bit denotes a tile, at that column,
+     * which has changed since it was last copied or drawn.
+     */
+    private final BitSet[] dirtyTiles;
+    /** The rows which contain at least one dirty tile. */
+    private final BitSet dirtyRows;
+
+    /** The grid that this grid is a child of, if any. */
+    private TileGrid parent;
+
+    /**
+     * The areas of the grid which have been scrolled, or copied within the
+     * grid, since the grid was last copied or drawn.
+     */
+    private final List<AreaCopy> pendingAreaCopies = new ArrayList<>(0);
+
+    /**
+     * Whether or not a tile, on any of the grid's descendants, may have been
+     * marked as dirty since the grid's children were last copied onto it.
+     */
+    private volatile boolean hasDirtyDescendants = false;
+
+    /**
+     * The topmost child covering each tile of the grid, or null if the
+     * coverage must be recalculated.
+     */
+    private volatile ChildCoverage childCoverage;
+
+    /**
+     * The number of tiles, of this grid's parent, on which this grid is the
+     * topmost child. Calculated along with the parent's child coverage.
+     */
+    private volatile int visibleTileCount = 0;
+
     /**
      * Constructs a new TileGrid.
      *
@@ -37,6 +104,22 @@ public final class TileGrid {
      *         If the dimensions is null.
      */
     public TileGrid(final @NonNull Dimension dimensions) {
+        this(dimensions, TileStorageMode.OBJECT);
+    }
+
+    /**
+     * Constructs a new TileGrid.
+     *
+     * @param dimensions
+     *          The dimensions of the grid.
+     *
+     * @param storageMode
+     *          How the grid's tiles are stored.
+     *
+     * @throws NullPointerException
+     *         If the dimensions or storage mode is null.
+     */
+    public TileGrid(final @NonNull Dimension dimensions, final @NonNull TileStorageMode storageMode) {
         if (dimensions.width < 1) {
             dimensions.width = 1;
         }
@@ -45,16 +128,34 @@ public final class TileGrid {
             dimensions.height = 1;
         }
 
+        width = dimensions.width;
+        height = dimensions.height;
+        this.storageMode = storageMode;
+
         position = new Point(0, 0);
-        tiles = new Tile[dimensions.height][dimensions.width];
+        dirtyTiles = new BitSet[height];
+        dirtyRows = new BitSet(height);
+
+        for (int y = 0 ; y < height ; y++) {
+            dirtyTiles[y] = new BitSet(width);
+        }
 
-        for (int y = 0 ; y < tiles.length ; y++) {
-            tiles[y] = new Tile[dimensions.width];
+        if (storageMode == TileStorageMode.PACKED) {
+            tiles = null;
+            store = new PackedTileStore(width, height);
+        } else {
+            tiles = new Tile[height][width];
+            store = null;
 
-            for (int x = 0 ; x < tiles[0].length ; x++) {
-                tiles[y][x] = new Tile(' ');
+            for (int y = 0 ; y < height ; y++) {
+                for (int x = 0 ; x < width ; x++) {
+                    tiles[y][x] = new Tile(' ');
+                    tiles[y][x].setGrid(this, x, y);
+                }
             }
         }
+
+        markAllTilesDirty();
     }
 
     /**
@@ -70,7 +171,26 @@ public final class TileGrid {
      *         If the dimensions or position is null.
      */
     public TileGrid(final @NonNull Dimension dimensions, final @NonNull Point position) {
-        this(dimensions);
+        this(dimensions, position, TileStorageMode.OBJECT);
+    }
+
+    /**
+     * Constructs a new TileGrid.
+     *
+     * @param dimensions
+     *          The dimensions of the grid.
+     *
+     * @param position
+     *          The position of the grid within it's parent.
+     *
+     * @param storageMode
+     *          How the grid's tiles are stored.
+     *
+     * @throws NullPointerException
+     *         If the dimensions, position, or storage mode is null.
+     */
+    public TileGrid(final @NonNull Dimension dimensions, final @NonNull Point position, final @NonNull TileStorageMode storageMode) {
+        this(dimensions, storageMode);
 
         if (position == null) {
             return;
@@ -93,6 +213,17 @@ public final class TileGrid {
      * Copies the tiles of this grid's children onto this grid, then copies
      * this grid's tiles onto another grid.
      *
+     * Only the tiles which are dirty, on either this grid or on the other
+     * grid, are copied. The dirty state of this grid's tiles is cleared as
+     * they're copied.
+     *
+     * Children are only copied if they, or their descendants, have dirty
+     * tiles, and children which are completely covered by the children above
+     * them aren't copied at all.
+     *
+     * When the other grid is this grid's parent, tiles which are covered by a
+     * child above this grid aren't copied.
+     *
      * @param grid
      *          The grid to draw this grid onto.
      */
@@ -101,44 +232,512 @@ public final class TileGrid {
             return;
         }
 
-        // Draw all children onto this grid.
-        childLock.readLock().lock();
-
-        for (final TileGrid child : childGrids) {
-            child.copyOnto(this);
+        // Draw all children, which may have changed, onto this grid.
+        if (hasDirtyDescendants) {
+            hasDirtyDescendants = false;
+            copyChildrenOnto();
         }
 
-        childLock.readLock().unlock();
-
 
         // Draw this grid onto the input grid.
         final int xOffset = position.x;
         final int yOffset = position.y;
 
-        for (int y = 0 ; y < tiles.length ; y++) {
+        // Only the area which overlaps the input grid can be copied.
+        final int startX = Math.max(0, -xOffset);
+        final int endX = Math.min(width, grid.getWidth() - xOffset);
+        final int startY = Math.max(0, -yOffset);
+        final int endY = Math.min(height, grid.getHeight() - yOffset);
+
+        if (startX >= endX || startY >= endY) {
+            return;
+        }
+
+        // Tiles covered by a sibling above this grid are never visible.
+        final TileGrid[] owners = (grid == parent ? grid.getChildCoverage().owners : null);
+
+        passAreaCopiesOnto(grid, owners);
+
+        // When either grid is packed, a single view is moved between its tiles.
+        final PackedTile sourceView = store == null ? null : new PackedTile(this, store, 0, 0);
+        final PackedTile destinationView = grid.store == null ? null : new PackedTile(grid, grid.store, 0, 0);
+
+        // Only rows which are dirty, on either grid, need to be visited.
+        for (int y = nextDirtyRow(startY, grid, yOffset) ; y >= 0 && y < endY ; y = nextDirtyRow(y + 1, grid, yOffset)) {
             final int yPosition = yOffset + y;
 
-            for (int x = 0 ; x < tiles[0].length ; x++) {
-                final int xPosition = xOffset + x;
+            /*
+             * A dirty tile on the input grid has been changed by something
+             * other than this grid, so it's copied over again to ensure this
+             * grid remains on top.
+             *
+             * The input grid's dirty tiles are retrieved before copying,
+             * because copying marks them as dirty.
+             */
+            final BitSet gridDirtyColumns = grid.getDirtyColumns(yPosition, startX + xOffset, endX + xOffset);
+            final BitSet dirtyColumns = takeDirtyColumns(y);
+            final int ownerRow = yPosition * grid.width + xOffset;
+
+            if (dirtyColumns != null) {
+                for (int x = dirtyColumns.nextSetBit(startX) ; x >= 0 && x < endX ; x = dirtyColumns.nextSetBit(x + 1)) {
+                    if (owners == null || owners[ownerRow + x] == this) {
+                        copyTile(x, y, sourceView, grid, xOffset + x, yPosition, destinationView);
+                    }
+                }
+            }
+
+            if (gridDirtyColumns != null) {
+                for (int i = gridDirtyColumns.nextSetBit(0) ; i >= 0 ; i = gridDirtyColumns.nextSetBit(i + 1)) {
+                    final int x = startX + i;
+
+                    if (owners == null || owners[ownerRow + x] == this) {
+                        copyTile(x, y, sourceView, grid, xOffset + x, yPosition, destinationView);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies every child, which is at least partially visible, onto this
+     * grid.
+     */
+    private void copyChildrenOnto() {
+        childLock.readLock().lock();
+
+        try {
+            getChildCoverage();
+
+            for (final TileGrid child : childGrids) {
+                if (child.visibleTileCount > 0) {
+                    child.copyOnto(this);
+                }
+            }
+        } finally {
+            childLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes this grid's pending area copies onto the grid that it's being
+     * copied onto, so that they can eventually reach a screen.
+     *
+     * An area copy is discarded if it doesn't lie entirely within the other
+     * grid, or if any of the tiles that it was copied to are covered by a
+     * sibling above this grid. The tiles of a discarded area copy are drawn
+     * individually.
+     *
+     * @param grid
+     *          The grid that this grid is being copied onto.
+     *
+     * @param owners
+     *          The topmost child covering each tile of the other grid, or
+     *          null if the other grid isn't this grid's parent.
+     */
+    private void passAreaCopiesOnto(final TileGrid grid, final TileGrid[] owners) {
+        for (final AreaCopy areaCopy : takeAreaCopies()) {
+            final AreaCopy translated = areaCopy.translate(position.x, position.y);
+
+            if (translated.isWithin(grid.width, grid.height) == false) {
+                continue;
+            }
+
+            if (owners != null && isCovering(owners, grid.width, translated) == false) {
+                continue;
+            }
 
-                final Tile componentTile = tiles[y][x];
-                final Tile screenTile = grid.getTileAt(xPosition, yPosition);
+            grid.addAreaCopy(translated);
+        }
+    }
 
-                if (componentTile != null && screenTile != null) {
-                    screenTile.copy(componentTile);
+    /**
+     * Determines whether or not this grid is the topmost child on every tile
+     * that an area was copied to.
+     *
+     * @param owners
+     *          The topmost child covering each tile of the parent.
+     *
+     * @param parentWidth
+     *          The width of the parent.
+     *
+     * @param areaCopy
+     *          The area copy, in the parent's coordinates.
+     *
+     * @return
+     *          Whether or not this grid covers the copied area.
+     */
+    private boolean isCovering(final TileGrid[] owners, final int parentWidth, final AreaCopy areaCopy) {
+        for (int y = areaCopy.y + areaCopy.dy ; y < areaCopy.y + areaCopy.dy + areaCopy.height ; y++) {
+            for (int x = areaCopy.x + areaCopy.dx ; x < areaCopy.x + areaCopy.dx + areaCopy.width ; x++) {
+                if (owners[y * parentWidth + x] != this) {
+                    return false;
                 }
             }
         }
+
+        return true;
+    }
+
+    /**
+     * Adds a pending area copy to the grid.
+     *
+     * @param areaCopy
+     *          The area copy.
+     */
+    private void addAreaCopy(final AreaCopy areaCopy) {
+        synchronized (pendingAreaCopies) {
+            if (pendingAreaCopies.size() >= MAX_PENDING_AREA_COPIES) {
+                pendingAreaCopies.clear();
+            }
+
+            pendingAreaCopies.add(areaCopy);
+        }
+    }
+
+    /**
+     * Retrieves the grid's pending area copies, in the order that they were
+     * made, and clears them.
+     *
+     * @return
+     *          The pending area copies.
+     */
+    List<AreaCopy> takeAreaCopies() {
+        synchronized (pendingAreaCopies) {
+            if (pendingAreaCopies.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final List<AreaCopy> areaCopies = new ArrayList<>(pendingAreaCopies);
+            pendingAreaCopies.clear();
+            return areaCopies;
+        }
+    }
+
+    /**
+     * Retrieves the index of the next row, of this grid, which contains a
+     * dirty tile on either this grid or on the grid that it's being copied
+     * onto.
+     *
+     * @param fromIndex
+     *          The row index, of this grid, to begin searching from,
+     *          inclusive.
+     *
+     * @param grid
+     *          The grid that this grid is being copied onto.
+     *
+     * @param yOffset
+     *          The y-axis position of this grid, on the other grid.
+     *
+     * @return
+     *          The index of the next row, or -1 if there are no such rows.
+     */
+    private int nextDirtyRow(final int fromIndex, final TileGrid grid, final int yOffset) {
+        final int row = nextDirtyRow(fromIndex);
+        final int gridRow = grid.nextDirtyRow(Math.max(0, fromIndex + yOffset));
+
+        if (gridRow < 0) {
+            return row;
+        }
+
+        if (row < 0) {
+            return gridRow - yOffset;
+        }
+
+        return Math.min(row, gridRow - yOffset);
+    }
+
+    /**
+     * Retrieves the topmost child covering each tile of the grid,
+     * recalculating it if a child has been added, removed, or moved since it
+     * was last calculated.
+     *
+     * @return
+     *          The coverage.
+     */
+    private ChildCoverage getChildCoverage() {
+        ChildCoverage coverage = childCoverage;
+
+        if (coverage != null) {
+            return coverage;
+        }
+
+        childLock.readLock().lock();
+
+        try {
+            coverage = new ChildCoverage();
+            childCoverage = coverage;
+        } finally {
+            childLock.readLock().unlock();
+        }
+
+        return coverage;
+    }
+
+    /** Discards the child coverage, so that it's recalculated when next needed. */
+    private void invalidateChildCoverage() {
+        childCoverage = null;
+    }
+
+    /**
+     * Copies a tile of this grid onto a tile of another grid.
+     *
+     * @param x
+     *          The x-axis coordinate of the tile on this grid.
+     *
+     * @param y
+     *          The y-axis coordinate of the tile on this grid.
+     *
+     * @param sourceView
+     *          A view of this grid's tiles, or null if this grid isn't packed.
+     *
+     * @param grid
+     *          The other grid.
+     *
+     * @param gridX
+     *          The x-axis coordinate of the tile on the other grid.
+     *
+     * @param gridY
+     *          The y-axis coordinate of the tile on the other grid.
+     *
+     * @param destinationView
+     *          A view of the other grid's tiles, or null if the other grid
+     *          isn't packed.
+     */
+    private void copyTile(final int x, final int y, final PackedTile sourceView, final TileGrid grid, final int gridX, final int gridY, final PackedTile destinationView) {
+        final Tile source;
+
+        if (sourceView == null) {
+            source = tiles[y][x];
+        } else {
+            sourceView.moveTo(x, y);
+            source = sourceView;
+        }
+
+        if (destinationView == null) {
+            grid.tiles[gridY][gridX].copy(source);
+        } else {
+            destinationView.moveTo(gridX, gridY);
+            destinationView.copy(source);
+        }
+    }
+
+    /**
+     * Marks a tile as dirty.
+     *
+     * This is called by a tile, which resides on this grid, whenever the tile
+     * is changed.
+     *
+     * @param x
+     *          The x-axis coordinate of the tile.
+     *
+     * @param y
+     *          The y-axis coordinate of the tile.
+     */
+    void markTileDirty(final int x, final int y) {
+        synchronized (dirtyRows) {
+            dirtyTiles[y].set(x);
+            dirtyRows.set(y);
+        }
+
+        markAncestorsDirty();
+    }
+
+    /**
+     * Marks every ancestor of this grid as having dirty descendants, so that
+     * they copy their children when they're next copied.
+     *
+     * Stops at the first ancestor which is already marked, as it's ancestors
+     * must also be marked.
+     */
+    private void markAncestorsDirty() {
+        for (TileGrid grid = parent ; grid != null && grid.hasDirtyDescendants == false ; grid = grid.parent) {
+            grid.hasDirtyDescendants = true;
+        }
+    }
+
+    /**
+     * Marks every tile on the grid as dirty, so that the entire grid is
+     * copied and drawn again.
+     */
+    public void markAllTilesDirty() {
+        synchronized (dirtyRows) {
+            for (final BitSet row : dirtyTiles) {
+                row.set(0, width);
+            }
+
+            dirtyRows.set(0, height);
+        }
+
+        markAncestorsDirty();
+    }
+
+    /**
+     * Marks every tile within an area of the grid as dirty.
+     *
+     * @param area
+     *          The area, which must lie within the bounds of the grid.
+     */
+    private void markAreaDirty(final Rectangle area) {
+        synchronized (dirtyRows) {
+            for (int y = area.y ; y < area.y + area.height ; y++) {
+                dirtyTiles[y].set(area.x, area.x + area.width);
+            }
+
+            dirtyRows.set(area.y, area.y + area.height);
+        }
+
+        markAncestorsDirty();
+    }
+
+    /**
+     * Determines whether or not a tile is dirty.
+     *
+     * A tile is dirty if it has changed since it was last copied onto another
+     * grid, or since it was last drawn.
+     *
+     * @param x
+     *          The x-axis coordinate of the tile.
+     *
+     * @param y
+     *          The y-axis coordinate of the tile.
+     *
+     * @return
+     *          Whether or not the tile is dirty.
+     *          False if the coordinates are outside the bounds of the grid.
+     */
+    public boolean isTileDirty(final int x, final int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+
+        synchronized (dirtyRows) {
+            return dirtyTiles[y].get(x);
+        }
+    }
+
+    /**
+     * Determines whether or not the grid contains any dirty tiles.
+     *
+     * @return
+     *          Whether or not the grid contains any dirty tiles.
+     */
+    public boolean hasDirtyTiles() {
+        synchronized (dirtyRows) {
+            return dirtyRows.isEmpty() == false;
+        }
+    }
+
+    /**
+     * Retrieves the index of the next row, which contains at least one dirty
+     * tile.
+     *
+     * @param fromIndex
+     *          The row index to begin searching from, inclusive.
+     *
+     * @return
+     *          The index of the next row containing a dirty tile, or -1 if
+     *          there are no such rows.
+     */
+    int nextDirtyRow(final int fromIndex) {
+        synchronized (dirtyRows) {
+            return dirtyRows.nextSetBit(fromIndex);
+        }
+    }
+
+    /**
+     * Retrieves the dirty tiles of a row and clears their dirty state.
+     *
+     * @param y
+     *          The y-axis coordinate of the row.
+     *
+     * @return
+     *          The columns of the row's dirty tiles, or null if the row
+     *          contains no dirty tiles.
+     */
+    BitSet takeDirtyColumns(final int y) {
+        synchronized (dirtyRows) {
+            if (dirtyRows.get(y) == false) {
+                return null;
+            }
+
+            final BitSet columns = (BitSet) dirtyTiles[y].clone();
+            dirtyTiles[y].clear();
+            dirtyRows.clear(y);
+            return columns;
+        }
+    }
+
+    /**
+     * Retrieves a copy of the dirty tiles within a segment of a row.
+     *
+     * The segment is clamped to the bounds of the grid.
+     *
+     * @param y
+     *          The y-axis coordinate of the row.
+     *
+     * @param fromX
+     *          The x-axis coordinate to begin the segment at, inclusive.
+     *
+     * @param toX
+     *          The x-axis coordinate to end the segment at, exclusive.
+     *
+     * @return
+     *          The dirty tiles of the segment, where bit 0 represents the
+     *          tile at 'fromX', or null if the segment contains no dirty
+     *          tiles.
+     */
+    private BitSet getDirtyColumns(final int y, final int fromX, final int toX) {
+        if (y < 0 || y >= height) {
+            return null;
+        }
+
+        final int clampedFromX = Math.max(0, fromX);
+        final int clampedToX = Math.min(width, toX);
+
+        if (clampedFromX >= clampedToX) {
+            return null;
+        }
+
+        synchronized (dirtyRows) {
+            if (dirtyRows.get(y) == false) {
+                return null;
+            }
+
+            final BitSet segment = dirtyTiles[y].get(clampedFromX, clampedToX);
+
+            if (segment.isEmpty()) {
+                return null;
+            }
+
+            if (clampedFromX == fromX) {
+                return segment;
+            }
+
+            // Shift the segment, so that bit 0 represents the tile at 'fromX'.
+            final BitSet shiftedSegment = new BitSet(toX - fromX);
+            final int shift = clampedFromX - fromX;
+
+            for (int i = segment.nextSetBit(0) ; i >= 0 ; i = segment.nextSetBit(i + 1)) {
+                shiftedSegment.set(i + shift);
+            }
+
+            return shiftedSegment;
+        }
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
 
-        for (final Tile[] tileRow : tiles) {
-            for (final Tile tile : tileRow) {
-                sb.append(tile.getCharacter());
+        for (int y = 0 ; y < height ; y++) {
+            if (store == null) {
+                for (final Tile tile : tiles[y]) {
+                    sb.append(tile.getCharacter());
+                }
+            } else {
+                sb.append(store.characters, y * width, width);
             }
+
             sb.append("\n");
         }
 
@@ -148,16 +747,28 @@ public final class TileGrid {
     /**
      * Converts this TileGrid and all of it's children to use GraphicTiles,
      * rather than regular Tiles.
+     *
+     * @throws UnsupportedOperationException
+     *          If this grid, or one of it's children, uses the PACKED storage
+     *          mode.
      */
     public void convertToGraphicTileGrid() {
-        for (int y = 0 ; y < tiles.length ; y++) {
-            for (int x = 0 ; x < tiles[0].length ; x++) {
+        if (storageMode == TileStorageMode.PACKED) {
+            throw new UnsupportedOperationException("A grid using the PACKED storage mode can't use GraphicTiles.");
+        }
+
+        for (int y = 0 ; y < height ; y++) {
+            for (int x = 0 ; x < width ; x++) {
                 if (tiles[y][x] instanceof GraphicTile == false) {
+                    tiles[y][x].setGrid(null, 0, 0);
                     tiles[y][x] = new GraphicTile(tiles[y][x]);
+                    tiles[y][x].setGrid(this, x, y);
                 }
             }
         }
 
+        markAllTilesDirty();
+
         childLock.readLock().lock();
 
         for (final TileGrid child : childGrids) {
@@ -170,16 +781,23 @@ public final class TileGrid {
     /**
      * Converts this TileGrid and all of it's children to use Tiles, rather
      * than GraphicTiles.
+     *
+     * A grid using the PACKED storage mode never contains GraphicTiles, so
+     * only it's children are converted.
      */
     public void convertToTileGrid() {
-        for (int y = 0 ; y < tiles.length ; y++) {
-            for (int x = 0 ; x < tiles[0].length ; x++) {
+        for (int y = 0 ; y < height && tiles != null ; y++) {
+            for (int x = 0 ; x < width ; x++) {
                 if (tiles[y][x] instanceof GraphicTile) {
+                    tiles[y][x].setGrid(null, 0, 0);
                     tiles[y][x] = new Tile(tiles[y][x]);
+                    tiles[y][x].setGrid(this, x, y);
                 }
             }
         }
 
+        markAllTilesDirty();
+
         childLock.readLock().lock();
 
         for (final TileGrid child : childGrids) {
@@ -205,13 +823,31 @@ public final class TileGrid {
 
         childLock.writeLock().lock();
 
-        childGrids.add(child);
-
-        for (final TileGrid c : childGrids) {
-            c.copyOnto(this);
+        try {
+            childGrids.add(child);
+            copyNewChildOnto(child);
+        } finally {
+            childLock.writeLock().unlock();
         }
+    }
 
-        childLock.writeLock().unlock();
+    /**
+     * Copies a child, which has just been added to the grid, onto the grid.
+     *
+     * Only the new child is copied, as the other children are unaffected by
+     * it. The parts of the new child which are covered by children above it
+     * aren't copied.
+     *
+     * @param child
+     *          The child.
+     */
+    private void copyNewChildOnto(final TileGrid child) {
+        child.parent = this;
+        invalidateChildCoverage();
+
+        child.markAllTilesDirty();
+        child.hasDirtyDescendants = true;
+        child.copyOnto(this);
     }
 
     /**
@@ -242,14 +878,13 @@ public final class TileGrid {
             return;
         }
 
-        int indexOfExisting = childGrids.indexOf(existingChild);
-        childGrids.add(indexOfExisting + 1, newChild);
-
-        for (final TileGrid child : childGrids) {
-            child.copyOnto(this);
+        try {
+            final int indexOfExisting = childGrids.indexOf(existingChild);
+            childGrids.add(indexOfExisting + 1, newChild);
+            copyNewChildOnto(newChild);
+        } finally {
+            childLock.writeLock().unlock();
         }
-
-        childLock.writeLock().unlock();
     }
 
     /**
@@ -280,14 +915,13 @@ public final class TileGrid {
             return;
         }
 
-        int indexOfExisting = childGrids.indexOf(existingChild);
-        childGrids.add(indexOfExisting, newChild);
-
-        for (final TileGrid child : childGrids) {
-            child.copyOnto(this);
+        try {
+            final int indexOfExisting = childGrids.indexOf(existingChild);
+            childGrids.add(indexOfExisting, newChild);
+            copyNewChildOnto(newChild);
+        } finally {
+            childLock.writeLock().unlock();
         }
-
-        childLock.writeLock().unlock();
     }
 
     /**
@@ -305,29 +939,335 @@ public final class TileGrid {
 
         childLock.writeLock().lock();
 
-        // Reset the tiles on which the child may have been drawn.
-        final int startY = child.getYPosition();
-        final int endY = Math.min(startY + child.getHeight(), tiles.length);
+        try {
+            // Reset the tiles on which the child may have been drawn.
+            final int startX = Math.max(0, child.position.x);
+            final int endX = Math.min(width, child.position.x + child.width);
+            final int startY = Math.max(0, child.position.y);
+            final int endY = Math.min(height, child.position.y + child.height);
 
-        final int startX = child.getXPosition();
-        final int endX = Math.min(startX + child.getWidth(), tiles[0].length);
+            for (int y = startY ; y < endY ; y++) {
+                for (int x = startX ; x < endX ; x++) {
+                    getTileAt(x, y).reset();
+                }
+            }
+
+            // Remove the child.
+            if (childGrids.remove(child)) {
+                child.parent = null;
+                child.visibleTileCount = 0;
+                invalidateChildCoverage();
+            }
 
-        for (int y = startY ; y < endY ; y++) {
-            for (int x = startX ; x < endX ; x++) {
-                if (y < tiles.length && x < tiles[0].length) {
-                    tiles[y][x].reset();
+            // Only the children which overlap the reset tiles must be copied again.
+            getChildCoverage();
+
+            for (final TileGrid c : childGrids) {
+                if (c.visibleTileCount > 0 && c.intersects(startX, startY, endX, endY)) {
+                    c.copyOnto(this);
                 }
             }
+        } finally {
+            childLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Determines whether or not the grid, at it's position within it's
+     * parent, intersects an area of the parent.
+     *
+     * @param startX
+     *          The x-axis coordinate of the area's left edge, inclusive.
+     *
+     * @param startY
+     *          The y-axis coordinate of the area's top edge, inclusive.
+     *
+     * @param endX
+     *          The x-axis coordinate of the area's right edge, exclusive.
+     *
+     * @param endY
+     *          The y-axis coordinate of the area's bottom edge, exclusive.
+     *
+     * @return
+     *          Whether or not the grid intersects the area.
+     */
+    private boolean intersects(final int startX, final int startY, final int endX, final int endY) {
+        return position.x < endX && position.x + width > startX && position.y < endY && position.y + height > startY;
+    }
+
+    /**
+     * Scrolls the tiles within an area of the grid.
+     *
+     * The tiles are moved, rather than copied, so any reference to a tile
+     * within the area refers to the same tile at it's new position. Tiles
+     * which are scrolled out of the area are reset and reused to fill the
+     * tiles which are left empty.
+     *
+     * When the grid is drawn onto a screen, the screen copies the pixels of
+     * the scrolled tiles, rather than drawing each tile again.
+     *
+     * @param dx
+     *          The distance to scroll the tiles along the x-axis. Positive
+     *          values scroll right and negative values scroll left.
+     *
+     * @param dy
+     *          The distance to scroll the tiles along the y-axis. Positive
+     *          values scroll down and negative values scroll up.
+     *
+     * @param region
+     *          The area to scroll.
+     *
+     *          If null, then the entire grid is scrolled.
+     *
+     *          The area is clamped to the bounds of the grid.
+     */
+    public void scroll(final int dx, final int dy, final Rectangle region) {
+        final Rectangle area = new Rectangle(0, 0, width, height);
+
+        if (region != null) {
+            Rectangle.intersect(area, region, area);
+        }
+
+        if (area.isEmpty() || (dx == 0 && dy == 0)) {
+            return;
+        }
+
+        // If every tile is scrolled out of the area, then the area is cleared.
+        if (Math.abs(dx) >= area.width || Math.abs(dy) >= area.height) {
+            resetArea(area.x, area.y, area.width, area.height);
+            markAreaDirty(area);
+            return;
         }
 
-        // Remove the child.
-        childGrids.remove(child);
+        // The tiles which remain within the area after scrolling.
+        final int sourceX = area.x + Math.max(0, -dx);
+        final int sourceY = area.y + Math.max(0, -dy);
+        final int sourceWidth = area.width - Math.abs(dx);
+        final int sourceHeight = area.height - Math.abs(dy);
 
-        for (final TileGrid c : childGrids) {
-            c.copyOnto(this);
+        if (store == null) {
+            moveTiles(area, dx, dy);
+        } else {
+            copyArea(this, sourceX, sourceY, sourceWidth, sourceHeight, sourceX + dx, sourceY + dy);
+
+            // Reset the rows, and then the columns, left empty by the scroll.
+            final int emptyY = (dy > 0 ? area.y : area.y + sourceHeight);
+            resetArea(area.x, emptyY, area.width, Math.abs(dy));
+
+            final int emptyX = (dx > 0 ? area.x : area.x + sourceWidth);
+            resetArea(emptyX, sourceY + dy, Math.abs(dx), sourceHeight);
         }
 
-        childLock.writeLock().unlock();
+        markAreaDirty(area);
+        addAreaCopy(new AreaCopy(sourceX, sourceY, sourceWidth, sourceHeight, dx, dy));
+    }
+
+    /**
+     * Copies an area of tiles, from another grid or from this grid, onto this
+     * grid.
+     *
+     * When copying within this grid, the areas may overlap, and when the grid
+     * is drawn onto a screen, the screen copies the pixels of the copied
+     * tiles, rather than drawing each tile again.
+     *
+     * @param source
+     *          The grid to copy from.
+     *
+     * @param sourceArea
+     *          The area to copy. The area is clamped to the bounds of both
+     *          grids.
+     *
+     * @param destination
+     *          The position, on this grid, to copy the area's top-left tile
+     *          to.
+     *
+     * @throws NullPointerException
+     *          If the source, source area, or destination is null.
+     */
+    public void blit(final @NonNull TileGrid source, final @NonNull Rectangle sourceArea, final @NonNull Point destination) {
+        // Clamp the area to the source grid.
+        final Rectangle area = new Rectangle(0, 0, source.width, source.height);
+        Rectangle.intersect(area, sourceArea, area);
+
+        int destinationX = destination.x + (area.x - sourceArea.x);
+        int destinationY = destination.y + (area.y - sourceArea.y);
+
+        // Clamp the area to this grid.
+        final int leftClip = Math.max(0, -destinationX);
+        final int topClip = Math.max(0, -destinationY);
+        area.x += leftClip;
+        area.y += topClip;
+        area.width = Math.min(area.width - leftClip, width - (destinationX + leftClip));
+        area.height = Math.min(area.height - topClip, height - (destinationY + topClip));
+        destinationX += leftClip;
+        destinationY += topClip;
+
+        if (area.isEmpty()) {
+            return;
+        }
+
+        copyArea(source, area.x, area.y, area.width, area.height, destinationX, destinationY);
+        markAreaDirty(new Rectangle(destinationX, destinationY, area.width, area.height));
+
+        if (source == this && (area.x != destinationX || area.y != destinationY)) {
+            addAreaCopy(new AreaCopy(area.x, area.y, area.width, area.height, destinationX - area.x, destinationY - area.y));
+        }
+    }
+
+    /**
+     * Copies an area of tiles, which lies within the bounds of both grids,
+     * from another grid or from this grid, onto this grid.
+     *
+     * @param source
+     *          The grid to copy from.
+     *
+     * @param sourceX
+     *          The x-axis coordinate of the area's left edge, on the source.
+     *
+     * @param sourceY
+     *          The y-axis coordinate of the area's top edge, on the source.
+     *
+     * @param areaWidth
+     *          The width of the area.
+     *
+     * @param areaHeight
+     *          The height of the area.
+     *
+     * @param destinationX
+     *          The x-axis coordinate to copy the area's left edge to.
+     *
+     * @param destinationY
+     *          The y-axis coordinate to copy the area's top edge to.
+     */
+    private void copyArea(final TileGrid source, final int sourceX, final int sourceY, final int areaWidth, final int areaHeight, final int destinationX, final int destinationY) {
+        // When copying within this grid, the rows and columns are copied in
+        // an order which never overwrites a tile before it's copied.
+        final boolean isBottomUp = source == this && destinationY > sourceY;
+        final boolean isRightToLeft = source == this && destinationX > sourceX;
+
+        final PackedTile sourceView = source.store == null ? null : new PackedTile(source, source.store, 0, 0);
+        final PackedTile destinationView = store == null ? null : new PackedTile(this, store, 0, 0);
+
+        for (int i = 0 ; i < areaHeight ; i++) {
+            final int row = (isBottomUp ? areaHeight - 1 - i : i);
+
+            // Packed rows are copied in bulk.
+            if (store != null && source.store != null) {
+                final int sourceIndex = (sourceY + row) * source.width + sourceX;
+                final int destinationIndex = (destinationY + row) * width + destinationX;
+                store.copyRange(destinationIndex, source.store, sourceIndex, areaWidth);
+                continue;
+            }
+
+            for (int j = 0 ; j < areaWidth ; j++) {
+                final int column = (isRightToLeft ? areaWidth - 1 - j : j);
+                source.copyTile(sourceX + column, sourceY + row, sourceView, this, destinationX + column, destinationY + row, destinationView);
+            }
+        }
+    }
+
+    /**
+     * Moves the tiles within an area of a grid, which uses the OBJECT storage
+     * mode, and resets the tiles left empty by the move.
+     *
+     * @param area
+     *          The area, which must lie within the bounds of the grid.
+     *
+     * @param dx
+     *          The distance to move the tiles along the x-axis.
+     *
+     * @param dy
+     *          The distance to move the tiles along the y-axis.
+     */
+    private void moveTiles(final Rectangle area, final int dx, final int dy) {
+        final boolean[][] isEmpty = new boolean[area.height][area.width];
+
+        if (dx == 0 && area.x == 0 && area.width == width) {
+            // Entire rows are moved by rotating the row arrays.
+            final Tile[][] rows = Arrays.copyOfRange(tiles, area.y, area.y + area.height);
+
+            for (int row = 0 ; row < area.height ; row++) {
+                final int sourceRow = Math.floorMod(row - dy, area.height);
+                tiles[area.y + row] = rows[sourceRow];
+                Arrays.fill(isEmpty[row], sourceRow != row - dy);
+            }
+        } else {
+            final Tile[][] areaTiles = new Tile[area.height][];
+
+            for (int row = 0 ; row < area.height ; row++) {
+                areaTiles[row] = Arrays.copyOfRange(tiles[area.y + row], area.x, area.x + area.width);
+            }
+
+            // The tiles which are moved out of the area are reused to fill the empty tiles.
+            final List<Tile> spareTiles = new ArrayList<>();
+
+            for (int row = 0 ; row < area.height ; row++) {
+                for (int column = 0 ; column < area.width ; column++) {
+                    final int newRow = row + dy;
+                    final int newColumn = column + dx;
+
+                    if (newRow < 0 || newRow >= area.height || newColumn < 0 || newColumn >= area.width) {
+                        spareTiles.add(areaTiles[row][column]);
+                    }
+                }
+            }
+
+            int spareIndex = 0;
+
+            for (int row = 0 ; row < area.height ; row++) {
+                for (int column = 0 ; column < area.width ; column++) {
+                    final int sourceRow = row - dy;
+                    final int sourceColumn = column - dx;
+
+                    if (sourceRow < 0 || sourceRow >= area.height || sourceColumn < 0 || sourceColumn >= area.width) {
+                        tiles[area.y + row][area.x + column] = spareTiles.get(spareIndex++);
+                        isEmpty[row][column] = true;
+                    } else {
+                        tiles[area.y + row][area.x + column] = areaTiles[sourceRow][sourceColumn];
+                    }
+                }
+            }
+        }
+
+        // Update the position of every moved tile, and reset the empty tiles.
+        for (int row = 0 ; row < area.height ; row++) {
+            for (int column = 0 ; column < area.width ; column++) {
+                final Tile tile = tiles[area.y + row][area.x + column];
+                tile.setGrid(this, area.x + column, area.y + row);
+
+                if (isEmpty[row][column]) {
+                    tile.reset();
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets every tile within an area of the grid.
+     *
+     * @param areaX
+     *          The x-axis coordinate of the area's left edge.
+     *
+     * @param areaY
+     *          The y-axis coordinate of the area's top edge.
+     *
+     * @param areaWidth
+     *          The width of the area.
+     *
+     * @param areaHeight
+     *          The height of the area.
+     */
+    private void resetArea(final int areaX, final int areaY, final int areaWidth, final int areaHeight) {
+        for (int y = areaY ; y < areaY + areaHeight ; y++) {
+            if (store != null) {
+                store.resetRange(y * width + areaX, areaWidth);
+                continue;
+            }
+
+            for (int x = areaX ; x < areaX + areaWidth ; x++) {
+                tiles[y][x].reset();
+            }
+        }
     }
 
     /**
@@ -365,10 +1305,20 @@ public final class TileGrid {
      *          The row of tiles.
      */
     public Tile[] getRow(final int index) {
-        if (index >= tiles.length || index < 0) {
+        if (index >= height || index < 0) {
             return EMPTY_ARRAY;
         }
 
+        if (store != null) {
+            final Tile[] rowTiles = new Tile[width];
+
+            for (int x = 0 ; x < width ; x++) {
+                rowTiles[x] = new PackedTile(this, store, x, index);
+            }
+
+            return rowTiles;
+        }
+
         return tiles[index];
     }
 
@@ -385,14 +1335,14 @@ public final class TileGrid {
      *          The column of tiles.
      */
     public Tile[] getColumn(final int columnIndex) {
-        if (columnIndex >= tiles[0].length || columnIndex < 0) {
+        if (columnIndex >= width || columnIndex < 0) {
             return EMPTY_ARRAY;
         }
 
-        final Tile[] columnTiles = new Tile[tiles.length];
+        final Tile[] columnTiles = new Tile[height];
 
-        for (int rowIndex = 0 ; rowIndex < tiles.length ; rowIndex++) {
-            columnTiles[rowIndex] = tiles[rowIndex][columnIndex];
+        for (int rowIndex = 0 ; rowIndex < height ; rowIndex++) {
+            columnTiles[rowIndex] = getTileAt(columnIndex, rowIndex);
         }
 
         return columnTiles;
@@ -433,19 +1383,19 @@ public final class TileGrid {
         }
 
         // Don't allow the starting row value to be beyond the grid's height.
-        if (rowIndex >= tiles.length) {
+        if (rowIndex >= height) {
             return EMPTY_ARRAY;
         }
 
         // Don't allow the starting column value to be beyond the grid's width.
-        if (columnIndex >= tiles[0].length) {
+        if (columnIndex >= width) {
             return EMPTY_ARRAY;
         }
 
         int endColumn = columnIndex + length;
 
-        if (endColumn > tiles[0].length) {
-            return Arrays.copyOfRange(getRow(rowIndex), columnIndex, tiles[0].length);
+        if (endColumn > width) {
+            return Arrays.copyOfRange(getRow(rowIndex), columnIndex, width);
         } else {
             return Arrays.copyOfRange(getRow(rowIndex), columnIndex, endColumn);
         }
@@ -486,16 +1436,16 @@ public final class TileGrid {
         }
 
         // Don't allow the starting row value to be beyond the grid's height.
-        if (rowIndex >= tiles.length) {
+        if (rowIndex >= height) {
             return EMPTY_ARRAY;
         }
 
         // Don't allow the starting column value to be beyond the grid's width.
-        if (columnIndex >= tiles[0].length) {
+        if (columnIndex >= width) {
             return EMPTY_ARRAY;
         }
 
-        int endRow = (rowIndex + length) >= tiles.length ? tiles.length : (rowIndex + length);
+        int endRow = (rowIndex + length) >= height ? height : (rowIndex + length);
 
         final Tile[] columnTiles = getColumn(columnIndex);
         final Tile[] resultTiles = new Tile[endRow];
@@ -549,35 +1499,62 @@ public final class TileGrid {
         }
 
         // Don't allow the starting row value to be beyond the grid's height.
-        if (startRow > tiles.length) {
+        if (startRow > this.height) {
             return EMPTY_2D_ARRAY;
         }
 
         // Don't allow the starting column value to be beyond the grid's width.
-        if (startColumn > tiles[0].length) {
+        if (startColumn > this.width) {
             return EMPTY_2D_ARRAY;
         }
 
         // Don't allow the ending row value to be beyond the grid's height.
-        if (endRow > tiles.length) {
-            endRow = tiles.length;
+        if (endRow > this.height) {
+            endRow = this.height;
         }
 
         // Don't allow the ending column value to be beyond the grid's width.
-        if (endColumn > tiles[0].length) {
-            endColumn = tiles[0].length;
+        if (endColumn > this.width) {
+            endColumn = this.width;
         }
 
         // Create array.
         final Tile[][] resultTiles = new Tile[endRow - startRow][endColumn - startColumn];
 
         for (int y = startRow ; y < endRow ; y++) {
-            System.arraycopy(tiles[y], startColumn, resultTiles[y - startRow], 0, endColumn - startColumn);
+            if (store == null) {
+                System.arraycopy(tiles[y], startColumn, resultTiles[y - startRow], 0, endColumn - startColumn);
+            } else {
+                for (int x = startColumn ; x < endColumn ; x++) {
+                    resultTiles[y - startRow][x - startColumn] = new PackedTile(this, store, x, y);
+                }
+            }
         }
 
         return resultTiles;
     }
 
+    /**
+     * Retrieves how the grid's tiles are stored.
+     *
+     * @return
+     *          How the grid's tiles are stored.
+     */
+    public TileStorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Retrieves the grid that this grid is a child of.
+     *
+     * @return
+     *          The grid that this grid is a child of, or null if this grid
+     *          isn't a child of any grid.
+     */
+    public TileGrid getParent() {
+        return parent;
+    }
+
     /**
      * Retrieves the x-axis coordinate of the grid within it's parent.
      *
@@ -605,7 +1582,7 @@ public final class TileGrid {
      *          The width of the grid.
      */
     public int getWidth() {
-        return tiles[0].length;
+        return width;
     }
 
     /**
@@ -615,7 +1592,7 @@ public final class TileGrid {
      *          The height of the grid.
      */
     public int getHeight() {
-        return tiles.length;
+        return height;
     }
 
     /**
@@ -632,14 +1609,18 @@ public final class TileGrid {
      *          of the grid.
      */
     public Tile getTileAt(final int x, final int y) {
-        if (x < 0 || x >= tiles[0].length) {
+        if (x < 0 || x >= width) {
             return null;
         }
 
-        if (y < 0 || y >= tiles.length) {
+        if (y < 0 || y >= height) {
             return null;
         }
 
+        if (store != null) {
+            return new PackedTile(this, store, x, y);
+        }
+
         return tiles[y][x];
     }
 
@@ -671,7 +1652,7 @@ public final class TileGrid {
      *          The new y-axis coordinate.
      */
     public void setPosition(final int x, final int y) {
-        position.setLocation(x, y);
+        moveTo(x, y);
     }
 
     /**
@@ -681,7 +1662,7 @@ public final class TileGrid {
      *          The new x/y-axis coordinates.
      */
     public void setPosition(final Point position) {
-        this.position.setLocation(position);
+        moveTo(position.x, position.y);
     }
 
     /**
@@ -691,7 +1672,7 @@ public final class TileGrid {
      *          The new coordinate.
      */
     public void setXPosition(final int x) {
-        position.x = x;
+        moveTo(x, position.y);
     }
 
     /**
@@ -701,6 +1682,143 @@ public final class TileGrid {
      *          The new coordinate.
      */
     public void setYPosition(final int y) {
-        position.y = y;
+        moveTo(position.x, y);
+    }
+
+    /**
+     * Moves the grid to a new position within it's parent, and marks all of
+     * it's tiles as dirty.
+     *
+     * If the grid has a parent, then the parent's tiles that the grid was
+     * previously copied onto are also updated.
+     *
+     * @param x
+     *          The new x-axis coordinate.
+     *
+     * @param y
+     *          The new y-axis coordinate.
+     */
+    private void moveTo(final int x, final int y) {
+        final TileGrid parent = this.parent;
+
+        if (parent == null) {
+            position.setLocation(x, y);
+            markAllTilesDirty();
+        } else {
+            parent.moveChild(this, x, y);
+        }
+
+        moveCount.incrementAndGet();
+    }
+
+    /**
+     * Retrieves the number of times that any grid has been moved.
+     *
+     * @return
+     *          The number of moves.
+     */
+    static long getMoveCount() {
+        return moveCount.get();
+    }
+
+    /**
+     * Moves a child to a new position on the grid.
+     *
+     * The tiles that the child was previously copied onto are marked as
+     * dirty, and the children below the child which overlap them are copied
+     * onto them again. Tiles which are no longer covered by any child are
+     * reset.
+     *
+     * @param child
+     *          The child.
+     *
+     * @param x
+     *          The new x-axis coordinate of the child.
+     *
+     * @param y
+     *          The new y-axis coordinate of the child.
+     */
+    private void moveChild(final TileGrid child, final int x, final int y) {
+        childLock.writeLock().lock();
+
+        try {
+            // The tiles on which the child may have been drawn.
+            final int startX = Math.max(0, child.position.x);
+            final int endX = Math.min(width, child.position.x + child.width);
+            final int startY = Math.max(0, child.position.y);
+            final int endY = Math.min(height, child.position.y + child.height);
+
+            child.position.setLocation(x, y);
+            child.markAllTilesDirty();
+
+            // Only this grid's coverage is affected by the move.
+            invalidateChildCoverage();
+
+            if (startX >= endX || startY >= endY) {
+                return;
+            }
+
+            markAreaDirty(new Rectangle(startX, startY, endX - startX, endY - startY));
+
+            final TileGrid[] owners = getChildCoverage().owners;
+
+            for (int row = startY ; row < endY ; row++) {
+                for (int column = startX ; column < endX ; column++) {
+                    if (owners[row * width + column] == null) {
+                        getTileAt(column, row).reset();
+                    }
+                }
+            }
+
+            // Only the children which overlap the vacated tiles must be copied again.
+            for (final TileGrid c : childGrids) {
+                if (c != child && c.visibleTileCount > 0 && c.intersects(startX, startY, endX, endY)) {
+                    c.copyOnto(this);
+                }
+            }
+        } finally {
+            childLock.writeLock().unlock();
+        }
+    }
+
+    private final class ChildCoverage {
+        /** The topmost child covering each tile, or null if no child covers a tile. */
+        private final TileGrid[] owners;
+
+        /**
+         * Constructs a new ChildCoverage, and sets the visible tile count of
+         * every child.
+         *
+         * Must be called while holding the child lock.
+         */
+        private ChildCoverage() {
+            owners = new TileGrid[width * height];
+
+            // Later children are copied after, and so are above, earlier children.
+            for (final TileGrid child : childGrids) {
+                final int startX = Math.max(0, child.position.x);
+                final int endX = Math.min(width, child.position.x + child.width);
+                final int startY = Math.max(0, child.position.y);
+                final int endY = Math.min(height, child.position.y + child.height);
+
+                for (int y = startY ; y < endY && startX < endX ; y++) {
+                    Arrays.fill(owners, y * width + startX, y * width + endX, child);
+                }
+            }
+
+            // The counts are totalled before being set, as the coverage may
+            // be calculated by multiple threads at once.
+            final Map<TileGrid, Integer> visibleTileCounts = new IdentityHashMap<>(childGrids.size());
+
+            for (final TileGrid owner : owners) {
+                if (owner != null) {
+                    visibleTileCounts.merge(owner, 1, Integer::sum);
+                }
+            }
+
+            for (final TileGrid child : childGrids) {
+                child.visibleTileCount = visibleTileCounts.getOrDefault(child, 0);
+            }
+        }
     }
 }
@@ -0,0 +1,16 @@
+package com.valkryst.VTerminal;
+
+public enum TileStorageMode {
+    /** Each tile is stored as a separate Tile object. */
+    OBJECT,
+
+    /**
+     * The settings of each tile are stored in primitive arrays, and tiles are
+     * retrieved as lightweight views of the arrays.
+     *
+     * This uses a fraction of the memory used by the OBJECT mode and should be
+     * preferred for large grids, but the grid can't be converted to use
+     * GraphicTiles, and GraphicTiles can't be copied onto it.
+     */
+    PACKED
+}
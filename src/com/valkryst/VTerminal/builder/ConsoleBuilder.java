@@ -0,0 +1,72 @@
+package com.valkryst.VTerminal.builder;
+
+import com.valkryst.VTerminal.component.Console;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.json.simple.JSONObject;
+
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper=true)
+public class ConsoleBuilder extends ComponentBuilder<Console> {
+    /** The maximum number of lines held in the console's history. */
+    private int maxLines;
+
+    /** Whether or not the console initially follows the newest line. */
+    private boolean followingTail;
+
+    @Override
+    public Console build() {
+        checkState();
+        return new Console(this);
+    }
+
+    /**
+     * Checks the current state of the builder.
+     *
+     * @throws IllegalArgumentException
+     *          If the dimensions are invalid, if the max lines is less than
+     *          one, or if the history can't be held in a single array.
+     */
+    @Override
+    protected void checkState() throws NullPointerException {
+        super.checkState();
+
+        if (maxLines < 1) {
+            throw new IllegalArgumentException("You must specify a max lines of 1 or greater.");
+        }
+
+        if ((long) maxLines * getWidth() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The max lines, multiplied by the width, cannot exceed " + Integer.MAX_VALUE + ".");
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+
+        super.setDimensions(40, 10);
+
+        maxLines = 10_000;
+        followingTail = true;
+    }
+
+    @Override
+    public void parse(final @NonNull JSONObject jsonObject) {
+        reset();
+        super.parse(jsonObject);
+
+        final Integer maxLines = getInteger(jsonObject, "maxLines");
+        final Boolean followingTail = getBoolean(jsonObject, "followingTail");
+
+        if (maxLines != null) {
+            this.maxLines = maxLines;
+        }
+
+        if (followingTail != null) {
+            this.followingTail = followingTail;
+        }
+    }
+}
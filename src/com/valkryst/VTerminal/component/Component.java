@@ -3,6 +3,7 @@ package com.valkryst.VTerminal.component;
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.Screen;
 import com.valkryst.VTerminal.TileGrid;
+import com.valkryst.VTerminal.TileStorageMode;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -10,10 +11,19 @@ import lombok.Setter;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Component {
+    /**
+     * The number of times that the ID of any component has been changed.
+     *
+     * Used by component registries to determine when their ID indices are
+     * out of date.
+     */
+    private final static AtomicLong idChangeCount = new AtomicLong(0);
+
     /** The ID of the component. Not guaranteed to be unique. */
-    @Getter @Setter private String id = UUID.randomUUID().toString();
+    @Getter private volatile String id = UUID.randomUUID().toString();
 
     /** The tiles. */
     @Getter protected final TileGrid tiles;
@@ -42,7 +52,26 @@ public class Component {
      *         If the dimensions or point is null.
      */
     public Component(final @NonNull Dimension dimensions, final @NonNull Point position) {
-        tiles = new TileGrid(dimensions, position);
+        this(dimensions, position, TileStorageMode.OBJECT);
+    }
+
+    /**
+     * Constructs a new Component.
+     *
+     * @param dimensions
+     *          The dimensions of the component
+     *
+     * @param position
+     *          The position of the component within it's parent.
+     *
+     * @param storageMode
+     *          How the component's tiles are stored.
+     *
+     * @throws NullPointerException
+     *         If the dimensions, point, or storage mode is null.
+     */
+    public Component(final @NonNull Dimension dimensions, final @NonNull Point position, final @NonNull TileStorageMode storageMode) {
+        tiles = new TileGrid(dimensions, position, storageMode);
     }
 
     /**
@@ -56,6 +85,28 @@ public class Component {
      */
     public void createEventListeners(final @NonNull Screen parentScreen) {}
 
+    /**
+     * Sets the ID of the component.
+     *
+     * @param id
+     *          The new ID.
+     */
+    public void setId(final String id) {
+        this.id = id;
+        idChangeCount.incrementAndGet();
+    }
+
+    /**
+     * Retrieves the number of times that the ID of any component has been
+     * changed.
+     *
+     * @return
+     *          The number of ID changes.
+     */
+    static long getIdChangeCount() {
+        return idChangeCount.get();
+    }
+
     /**
      * Determines whether or not a point intersects this component.
      *
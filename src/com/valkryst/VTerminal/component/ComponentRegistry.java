@@ -0,0 +1,256 @@
+package com.valkryst.VTerminal.component;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A registry of components, which can be read without blocking.
+ *
+ * The components are held in an immutable snapshot, which is replaced
+ * whenever a component is added or removed. Readers, such as the render
+ * path, iterate over whichever snapshot was current when they began and are
+ * never blocked by, nor affected by, concurrent changes.
+ *
+ * Each snapshot also holds an index of it's components by ID, which is built
+ * when first needed and rebuilt if the ID of any component has changed since
+ * it was built.
+ */
+@ToString
+public final class ComponentRegistry {
+    /** The current snapshot of the components. */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Adds a component to the registry.
+     *
+     * @param component
+     *          The component.
+     *
+     * @throws NullPointerException
+     *          If the component is null.
+     */
+    public void add(final @NonNull Component component) {
+        Snapshot current;
+        Snapshot next;
+
+        do {
+            current = snapshot.get();
+
+            final Component[] components = Arrays.copyOf(current.components, current.components.length + 1);
+            components[components.length - 1] = component;
+            next = new Snapshot(components);
+        } while (snapshot.compareAndSet(current, next) == false);
+    }
+
+    /**
+     * Removes the first occurrence of a component from the registry.
+     *
+     * @param component
+     *          The component.
+     *
+     * @return
+     *          Whether or not the component was removed.
+     */
+    public boolean remove(final Component component) {
+        if (component == null) {
+            return false;
+        }
+
+        Snapshot current;
+        Snapshot next;
+
+        do {
+            current = snapshot.get();
+
+            final int index = current.indexOf(component);
+
+            if (index == -1) {
+                return false;
+            }
+
+            final Component[] components = new Component[current.components.length - 1];
+            System.arraycopy(current.components, 0, components, 0, index);
+            System.arraycopy(current.components, index + 1, components, index, components.length - index);
+            next = components.length == 0 ? Snapshot.EMPTY : new Snapshot(components);
+        } while (snapshot.compareAndSet(current, next) == false);
+
+        return true;
+    }
+
+    /**
+     * Removes all components from the registry.
+     *
+     * @return
+     *          An unmodifiable list of the removed components.
+     */
+    public List<Component> removeAll() {
+        return snapshot.getAndSet(Snapshot.EMPTY).view;
+    }
+
+    /**
+     * Determines whether or not the registry contains a component.
+     *
+     * @param component
+     *          The component.
+     *
+     * @return
+     *          Whether or not the registry contains the component.
+     */
+    public boolean contains(final Component component) {
+        return component != null && snapshot.get().indexOf(component) != -1;
+    }
+
+    /**
+     * Retrieves an unmodifiable snapshot of the registry's components.
+     *
+     * The snapshot is unaffected by later changes to the registry.
+     *
+     * @return
+     *          An unmodifiable snapshot of the components.
+     */
+    public List<Component> getComponents() {
+        return snapshot.get().view;
+    }
+
+    /**
+     * Retrieves all components which use a specific ID.
+     *
+     * @param id
+     *          The ID to search for.
+     *
+     * @return
+     *          An unmodifiable list of all components using the ID.
+     */
+    public List<Component> getComponentsByID(final String id) {
+        if (id == null || id.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return snapshot.get().getIndex().getOrDefault(id, Collections.emptyList());
+    }
+
+    /**
+     * Retrieves the number of components in the registry.
+     *
+     * @return
+     *          The number of components.
+     */
+    public int size() {
+        return snapshot.get().components.length;
+    }
+
+    /**
+     * Determines whether or not the registry is empty.
+     *
+     * @return
+     *          Whether or not the registry is empty.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @ToString(of="view")
+    private final static class Snapshot {
+        /** The snapshot with no components. */
+        private final static Snapshot EMPTY = new Snapshot(new Component[0]);
+
+        /** The components. */
+        private final Component[] components;
+
+        /** An unmodifiable view of the components. */
+        private final List<Component> view;
+
+        /** The index of the components by ID, or null if it hasn't been built. */
+        private volatile IdIndex index;
+
+        /**
+         * Constructs a new Snapshot.
+         *
+         * @param components
+         *          The components. The array must not be modified afterwards.
+         */
+        private Snapshot(final Component[] components) {
+            this.components = components;
+            view = Collections.unmodifiableList(Arrays.asList(components));
+        }
+
+        /**
+         * Retrieves the position of the first occurrence of a component.
+         *
+         * @param component
+         *          The component.
+         *
+         * @return
+         *          The position of the component, or -1 if it isn't in the
+         *          snapshot.
+         */
+        private int indexOf(final Component component) {
+            for (int i = 0 ; i < components.length ; i++) {
+                if (components[i].equals(component)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Retrieves the index of the components by ID, building it if it
+         * hasn't been built or if it's out of date.
+         *
+         * @return
+         *          The index.
+         */
+        private Map<String, List<Component>> getIndex() {
+            final long idChangeCount = Component.getIdChangeCount();
+            IdIndex index = this.index;
+
+            if (index == null || index.idChangeCount != idChangeCount) {
+                index = new IdIndex(components, idChangeCount);
+                this.index = index;
+            }
+
+            return index.components;
+        }
+    }
+
+    private final static class IdIndex {
+        /** The components, by ID. */
+        private final Map<String, List<Component>> components;
+
+        /** The number of ID changes, when the index was built. */
+        private final long idChangeCount;
+
+        /**
+         * Constructs a new IdIndex.
+         *
+         * @param components
+         *          The components to index.
+         *
+         * @param idChangeCount
+         *          The number of ID changes, before the IDs of the components
+         *          were read.
+         */
+        private IdIndex(final Component[] components, final long idChangeCount) {
+            final Map<String, List<Component>> map = new HashMap<>(components.length * 2);
+
+            for (final Component component : components) {
+                final String id = component.getId();
+
+                if (id != null) {
+                    map.computeIfAbsent(id, k -> new ArrayList<>(1)).add(component);
+                }
+            }
+
+            for (final Map.Entry<String, List<Component>> entry : map.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+
+            this.components = map;
+            this.idChangeCount = idChangeCount;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.valkryst.VTerminal.component;
+
+import com.valkryst.VTerminal.Screen;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.builder.ConsoleBuilder;
+import com.valkryst.VTerminal.palette.ColorPalette;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.awt.Color;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+
+/**
+ * A read-only, scrollable view of a bounded history of lines, such as a log.
+ *
+ * The history is held in a ring buffer of primitive arrays, with a fixed slot
+ * of characters for each line, so appending a line takes the same time
+ * regardless of the length of the history. Once the history is full, each
+ * new line replaces the oldest line.
+ *
+ * Only the visible window of the history is written to the console's tiles.
+ * When the window moves by less than it's height, the tiles are scrolled and
+ * only the newly exposed rows are written.
+ */
+@ToString(exclude={"characters", "lengths", "foregrounds", "backgrounds"})
+public class Console extends Component {
+    /** The foreground color of lines appended without a color. */
+    @Getter private final Color foregroundColor;
+    /** The background color of lines appended without a color, and of empty rows. */
+    @Getter private final Color backgroundColor;
+
+    /** The maximum number of lines held in the history. */
+    @Getter private final int maxLines;
+
+    /** The characters of each line, in slots of the console's width. */
+    private final char[] characters;
+    /** The number of characters in each line. */
+    private final int[] lengths;
+    /** The RGBA foreground color of each line. */
+    private final int[] foregrounds;
+    /** The RGBA background color of each line. */
+    private final int[] backgrounds;
+
+    /** The slot of the oldest line. */
+    private int head;
+
+    /** The number of lines in the history. */
+    @Getter private int lineCount;
+
+    /** The number of lines which have been removed from the history, to make room for newer lines. */
+    private long droppedLineCount;
+
+    /** The number of the line at the top of the visible window, counting every line ever appended. */
+    private long windowTop;
+
+    /** Whether or not the visible window follows the newest line. */
+    @Getter private boolean followingTail;
+
+    /**
+     * Constructs a new Console.
+     *
+     * @param builder
+     *         The builder to use.
+     *
+     * @throws NullPointerException
+     *         If the builder is null.
+     */
+    public Console(final @NonNull ConsoleBuilder builder) {
+        super(builder.getDimensions(), builder.getPosition());
+
+        final ColorPalette colorPalette = builder.getColorPalette();
+        foregroundColor = colorPalette.getConsole_defaultForeground();
+        backgroundColor = colorPalette.getConsole_defaultBackground();
+
+        maxLines = builder.getMaxLines();
+        followingTail = builder.isFollowingTail();
+
+        characters = new char[maxLines * super.tiles.getWidth()];
+        lengths = new int[maxLines];
+        foregrounds = new int[maxLines];
+        backgrounds = new int[maxLines];
+
+        drawRows(0, super.tiles.getHeight());
+    }
+
+    @Override
+    public void createEventListeners(final @NonNull Screen parentScreen) {
+        if (super.getEventListeners().size() > 0) {
+            return;
+        }
+
+        super.eventListeners.add(new KeyAdapter() {
+            @Override
+            public void keyPressed(final KeyEvent e) {
+                if (isFocused() == false) {
+                    return;
+                }
+
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_UP: {
+                        scrollBy(-1);
+                        break;
+                    }
+                    case KeyEvent.VK_DOWN: {
+                        scrollBy(1);
+                        break;
+                    }
+                    case KeyEvent.VK_PAGE_UP: {
+                        scrollBy(-tiles.getHeight());
+                        break;
+                    }
+                    case KeyEvent.VK_PAGE_DOWN: {
+                        scrollBy(tiles.getHeight());
+                        break;
+                    }
+                    case KeyEvent.VK_HOME: {
+                        scrollTo(0);
+                        break;
+                    }
+                    case KeyEvent.VK_END: {
+                        scrollToTail();
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Appends text to the history, using the default colors.
+     *
+     * @param text
+     *          The text.
+     *
+     * @throws NullPointerException
+     *          If the text is null.
+     *
+     * @see #appendLine(String, Color, Color)
+     */
+    public void appendLine(final @NonNull String text) {
+        appendLine(text, foregroundColor, backgroundColor);
+    }
+
+    /**
+     * Appends text to the history.
+     *
+     * The text is split into a new line at each line break, and wherever it's
+     * longer than the width of the console. A trailing line break is ignored.
+     *
+     * @param text
+     *          The text.
+     *
+     * @param foregroundColor
+     *          The foreground color of the text.
+     *
+     * @param backgroundColor
+     *          The background color of the text.
+     *
+     * @throws NullPointerException
+     *          If the text or either color is null.
+     */
+    public synchronized void appendLine(final @NonNull String text, final @NonNull Color foregroundColor, final @NonNull Color backgroundColor) {
+        final int width = super.tiles.getWidth();
+        final int foreground = foregroundColor.getRGB();
+        final int background = backgroundColor.getRGB();
+
+        int start = 0;
+
+        do {
+            int end = text.indexOf('\n', start);
+
+            if (end == -1) {
+                end = text.length();
+            }
+
+            final int lineBreak = end;
+
+            do {
+                end = Math.min(lineBreak, start + width);
+                appendSingleLine(text, start, end, foreground, background);
+                start = end;
+            } while (start < lineBreak);
+
+            start = lineBreak + 1;
+        } while (start < text.length());
+    }
+
+    /**
+     * Appends a single line, which is no longer than the width of the
+     * console, to the history and updates the visible window.
+     *
+     * @param text
+     *          The text containing the line.
+     *
+     * @param start
+     *          The index of the line's first character, within the text.
+     *
+     * @param end
+     *          The index after the line's last character, within the text.
+     *
+     * @param foreground
+     *          The RGBA foreground color of the line.
+     *
+     * @param background
+     *          The RGBA background color of the line.
+     */
+    private void appendSingleLine(final String text, final int start, final int end, final int foreground, final int background) {
+        final int slot;
+
+        if (lineCount < maxLines) {
+            slot = (int) (((long) head + lineCount) % maxLines);
+            lineCount++;
+        } else {
+            slot = head;
+            head = (head + 1) % maxLines;
+            droppedLineCount++;
+        }
+
+        text.getChars(start, end, characters, slot * super.tiles.getWidth());
+        lengths[slot] = end - start;
+        foregrounds[slot] = foreground;
+        backgrounds[slot] = background;
+
+        if (followingTail) {
+            moveWindow(getTailTop());
+        } else if (windowTop < droppedLineCount) {
+            moveWindow(droppedLineCount);
+        }
+
+        // The new line may be within the window, without the window moving.
+        final long newestLine = droppedLineCount + lineCount - 1;
+
+        if (newestLine >= windowTop && newestLine < windowTop + super.tiles.getHeight()) {
+            drawRows((int) (newestLine - windowTop), 1);
+        }
+    }
+
+    /** Removes all lines from the history. */
+    public synchronized void clear() {
+        head = 0;
+        lineCount = 0;
+        droppedLineCount = 0;
+        windowTop = 0;
+
+        drawRows(0, super.tiles.getHeight());
+    }
+
+    /**
+     * Moves the visible window, so that a line is at the top of it.
+     *
+     * If the window is moved to the newest lines, then it follows any lines
+     * that are appended later. Otherwise, it stays where it is.
+     *
+     * @param line
+     *          The index of the line, where 0 is the oldest line in the
+     *          history. This is clamped to the range of valid positions.
+     */
+    public synchronized void scrollTo(final int line) {
+        final long tailTop = getTailTop();
+        final long top = Math.max(droppedLineCount, Math.min(tailTop, droppedLineCount + line));
+
+        followingTail = (top == tailTop);
+        moveWindow(top);
+    }
+
+    /**
+     * Moves the visible window by a number of lines.
+     *
+     * @param lines
+     *          The number of lines to move by. Negative values move the
+     *          window towards older lines.
+     *
+     * @see #scrollTo(int)
+     */
+    public synchronized void scrollBy(final int lines) {
+        final long line = getFirstVisibleLine() + (long) lines;
+        scrollTo((int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, line)));
+    }
+
+    /** Moves the visible window to the newest lines, and follows any lines that are appended later. */
+    public synchronized void scrollToTail() {
+        followingTail = true;
+        moveWindow(getTailTop());
+    }
+
+    /**
+     * Sets whether or not the visible window follows the newest line.
+     *
+     * @param followingTail
+     *          Whether or not to follow the newest line.
+     */
+    public synchronized void setFollowingTail(final boolean followingTail) {
+        if (followingTail) {
+            scrollToTail();
+        } else {
+            this.followingTail = false;
+        }
+    }
+
+    /**
+     * Retrieves the index of the line at the top of the visible window.
+     *
+     * @return
+     *          The index of the line, where 0 is the oldest line in the
+     *          history.
+     */
+    public synchronized int getFirstVisibleLine() {
+        return (int) (windowTop - droppedLineCount);
+    }
+
+    /**
+     * Retrieves the text of a line.
+     *
+     * @param line
+     *          The index of the line, where 0 is the oldest line in the
+     *          history.
+     *
+     * @return
+     *          The text, or null if there is no line at the index.
+     */
+    public synchronized String getLine(final int line) {
+        if (line < 0 || line >= lineCount) {
+            return null;
+        }
+
+        final int slot = (int) (((long) head + line) % maxLines);
+        return new String(characters, slot * super.tiles.getWidth(), lengths[slot]);
+    }
+
+    /**
+     * Retrieves the position of the window's top, when it shows the newest
+     * lines.
+     *
+     * @return
+     *          The number of the line, counting every line ever appended.
+     */
+    private long getTailTop() {
+        return droppedLineCount + Math.max(0, lineCount - super.tiles.getHeight());
+    }
+
+    /**
+     * Moves the visible window and updates the tiles.
+     *
+     * @param top
+     *          The number of the line to show at the top of the window,
+     *          counting every line ever appended.
+     */
+    private void moveWindow(final long top) {
+        final long distance = top - windowTop;
+        final int height = super.tiles.getHeight();
+
+        if (distance == 0) {
+            return;
+        }
+
+        windowTop = top;
+
+        if (Math.abs(distance) >= height) {
+            drawRows(0, height);
+        } else if (distance > 0) {
+            super.tiles.scroll(0, (int) -distance, null);
+            drawRows(height - (int) distance, (int) distance);
+        } else {
+            super.tiles.scroll(0, (int) -distance, null);
+            drawRows(0, (int) -distance);
+        }
+    }
+
+    /**
+     * Writes the lines of the visible window to a range of rows.
+     *
+     * @param firstRow
+     *          The first row.
+     *
+     * @param rowCount
+     *          The number of rows.
+     */
+    private void drawRows(final int firstRow, final int rowCount) {
+        final int width = super.tiles.getWidth();
+
+        for (int y = firstRow ; y < firstRow + rowCount ; y++) {
+            final long line = windowTop + y - droppedLineCount;
+            final Tile[] row = super.tiles.getRow(y);
+
+            if (line < 0 || line >= lineCount) {
+                for (final Tile tile : row) {
+                    tile.setCharacter(' ');
+                    tile.setForegroundColor(foregroundColor);
+                    tile.setBackgroundColor(backgroundColor);
+                }
+
+                continue;
+            }
+
+            final int slot = (int) ((head + line) % maxLines);
+            final int offset = slot * width;
+            final int length = lengths[slot];
+            final Color foreground = toColor(foregrounds[slot], foregroundColor);
+            final Color background = toColor(backgrounds[slot], backgroundColor);
+
+            for (int x = 0 ; x < width ; x++) {
+                final Tile tile = row[x];
+                tile.setCharacter(x < length ? characters[offset + x] : ' ');
+                tile.setForegroundColor(foreground);
+                tile.setBackgroundColor(background);
+            }
+        }
+    }
+
+    /**
+     * Converts an RGBA value to a color, reusing a default color where
+     * possible.
+     *
+     * @param rgba
+     *          The RGBA value.
+     *
+     * @param defaultColor
+     *          The default color.
+     *
+     * @return
+     *          The color.
+     */
+    private static Color toColor(final int rgba, final Color defaultColor) {
+        return defaultColor.getRGB() == rgba ? defaultColor : new Color(rgba, true);
+    }
+}
@@ -2,25 +2,20 @@ package com.valkryst.VTerminal.component;
 
 import com.valkryst.VTerminal.Screen;
 import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.TileStorageMode;
 import com.valkryst.VTerminal.palette.ColorPalette;
 import lombok.NonNull;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.EventListener;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @ToString
 public class Layer extends Component {
     /** The components on the layer. */
-    private final List<Component> components = new ArrayList<>(0);
-
-    /** The lock used to control access to the components. */
-    private final ReentrantReadWriteLock componentsLock = new ReentrantReadWriteLock();
+    private final ComponentRegistry components = new ComponentRegistry();
 
     /** The screen that the layer resides on. */
     @Setter private Screen rootScreen;
@@ -65,7 +60,33 @@ public class Layer extends Component {
      *          If null, then the default color palette is used.
      */
     public Layer(final @NonNull Dimension dimensions, final Point position, ColorPalette colorPalette) {
-        super(dimensions, (position == null ? new Point(0, 0) : position));
+        this(dimensions, position, colorPalette, TileStorageMode.OBJECT);
+    }
+
+    /**
+     * Constructs a new Layer.
+     *
+     * @param dimensions
+     *          The dimensions of the layer.
+     *
+     * @param position
+     *          The position of the layer within it's parent.
+     *
+     *          If null, then the position (0, 0) is used.
+     *
+     * @param colorPalette
+     *          The color palette to color the layer with.
+     *
+     *          If null, then the default color palette is used.
+     *
+     * @param storageMode
+     *          How the layer's tiles are stored.
+     *
+     *          The PACKED mode should be preferred for large layers, such as
+     *          maps.
+     */
+    public Layer(final @NonNull Dimension dimensions, final Point position, ColorPalette colorPalette, final @NonNull TileStorageMode storageMode) {
+        super(dimensions, (position == null ? new Point(0, 0) : position), storageMode);
 
         if (colorPalette == null) {
             colorPalette = new ColorPalette();
@@ -103,10 +124,8 @@ public class Layer extends Component {
         }
 
         // Add the component
-        componentsLock.writeLock().lock();
         super.tiles.addChild(component.getTiles());
         components.add(component);
-        componentsLock.writeLock().unlock();
 
         // Add the component's event listeners
         super.eventListeners.addAll(component.getEventListeners());
@@ -130,15 +149,13 @@ public class Layer extends Component {
 
                 if (rootScreen != null) {
                     // Set the component's redraw function
-                    component.setRedrawFunction(() -> rootScreen.draw());
+                    component.setRedrawFunction(rootScreen::requestDraw);
 
                     // Create the component's event listeners
                     component.createEventListeners(rootScreen);
 
                     // Add component's event listeners to root screen.
-                    for (final EventListener listener : component.getEventListeners()) {
-                        rootScreen.addListener(listener);
-                    }
+                    rootScreen.addComponentListeners(component);
                 }
             }
         }
@@ -156,10 +173,8 @@ public class Layer extends Component {
         }
 
         // Remove the component
-        componentsLock.writeLock().lock();
         super.tiles.removeChild(component.getTiles());
         components.remove(component);
-        componentsLock.writeLock().unlock();
 
         // Unset the component's redraw function
         component.setRedrawFunction(() -> {});
@@ -172,20 +187,15 @@ public class Layer extends Component {
 
     /** Removes all components from the layer. */
     public void removeAllComponents() {
-        componentsLock.writeLock().lock();
-
-        for (final Component component : components) {
+        for (final Component component : components.removeAll()) {
             // Remove the component
             super.tiles.removeChild(component.getTiles());
-            components.remove(component);
 
             // Remove the component's event listeners
             for (final EventListener listener : component.getEventListeners()) {
                 super.eventListeners.remove(listener);
             }
         }
-
-        componentsLock.writeLock().unlock();
     }
 
     /**
@@ -195,31 +205,21 @@ public class Layer extends Component {
      *          The ID to search for.
      *
      * @return
-     *          All components using the ID.
+     *          An unmodifiable list of all components using the ID.
      */
     public List<Component> getComponentsByID(final String id) {
-        if (id == null || id.isEmpty() || components.size() == 0) {
-            return new ArrayList<>(0);
-        }
-
-        final List<Component> results = new ArrayList<>(1);
-
-        for (final Component component : components) {
-            if (component.getId().equals(id)) {
-                results.add(component);
-            }
-        }
-
-        return results;
+        return components.getComponentsByID(id);
     }
 
     /**
-     * Retrieves an unmodifiable list of the layer's components.
+     * Retrieves an unmodifiable snapshot of the layer's components.
+     *
+     * The snapshot is unaffected by later changes to the layer.
      *
      * @return
-     *          An unmodifiable list of the layer's components.
+     *          An unmodifiable snapshot of the layer's components.
      */
     public List<Component> getComponents() {
-        return Collections.unmodifiableList(components);
+        return components.getComponents();
     }
 }
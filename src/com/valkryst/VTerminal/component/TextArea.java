@@ -429,10 +429,12 @@ public class TextArea extends Component {
             }
         }
 
-        // If no empty rows found, move all rows up:
-        for (int y = 0 ; y < super.tiles.getHeight() - 1 ;y++) {
-            setText(y, super.tiles.getRow(y + 1));
-        }
+        // If no empty rows found, scroll all rows up:
+        super.tiles.scroll(0, -1, null);
+
+        final char[] firstRow = enteredText[0];
+        System.arraycopy(enteredText, 1, enteredText, 0, enteredText.length - 1);
+        enteredText[enteredText.length - 1] = firstRow;
 
         setText(super.tiles.getHeight() - 1, text);
 
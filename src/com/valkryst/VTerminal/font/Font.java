@@ -11,17 +11,33 @@ import java.awt.image.BufferedImage;
 import java.util.HashMap;
 import java.util.Map;
 
-@ToString
+@ToString(of="dimensions")
 public class Font {
+    /** The number of bits of a character used to find it's index within a page. */
+    private final static int PAGE_BITS = 8;
+
+    /** The number of characters on each page. */
+    private final static int PAGE_SIZE = 1 << PAGE_BITS;
+
     /**
      * The sprite-images of every character provided by the Font with a completely
      * transparent background.
+     *
+     * Images are stored in pages of consecutive characters, and pages without
+     * any images are never created, so that fonts covering a few sparse ranges
+     * of unicode remain small.
      */
-    private final HashMap<Character, BufferedImage> characterImages;
+    private final BufferedImage[][] imagePages = new BufferedImage[(Character.MAX_VALUE + 1) >> PAGE_BITS][];
+
+    /** The alpha masks of every character image, stored in the same pages as the images. */
+    private final byte[][][] maskPages = new byte[(Character.MAX_VALUE + 1) >> PAGE_BITS][][];
 
     /** The width/height of the font. */
     @Getter private final Dimension dimensions;
 
+    /** The fingerprint of the character images, or 0 if it hasn't been computed since they last changed. */
+    private volatile long fingerprint;
+
     /**
      * Constructs a new Font.
      *
@@ -35,7 +51,11 @@ public class Font {
      *         If the characterImages is null.
      */
     public Font(final @NonNull HashMap<Character, BufferedImage> characterImages, final double scale) {
-        this.characterImages = characterImages;
+        for (final Map.Entry<Character, BufferedImage> entry : characterImages.entrySet()) {
+            if (entry.getValue() != null) {
+                setCharacterImage(entry.getKey(), entry.getValue());
+            }
+        }
 
         final int width = (int) (characterImages.get('X').getWidth() * scale);
         final int height = (int) (characterImages.get('X').getHeight() * scale);
@@ -59,17 +79,114 @@ public class Font {
      */
     public void resize(final double scaleX, final double scaleY) {
         if (scaleX > 0 && scaleY > 0) {
-            final int width = (int) (characterImages.get('X').getWidth() * scaleX);
-            final int height = (int) (characterImages.get('X').getHeight() * scaleY);
+            final int width = (int) (getCharacterImage('X').getWidth() * scaleX);
+            final int height = (int) (getCharacterImage('X').getHeight() * scaleY);
             dimensions.setSize(width, height);
 
             final AffineTransform tx = AffineTransform.getScaleInstance(scaleX, scaleY);
             final AffineTransformOp op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
 
-            for (final Map.Entry<Character, BufferedImage> entry : characterImages.entrySet()) {
-                characterImages.put(entry.getKey(), op.filter(entry.getValue(), null));
+            for (int page = 0 ; page < imagePages.length ; page++) {
+                final BufferedImage[] images = imagePages[page];
+
+                if (images == null) {
+                    continue;
+                }
+
+                for (int index = 0 ; index < PAGE_SIZE ; index++) {
+                    if (images[index] != null) {
+                        setCharacterImage((char) ((page << PAGE_BITS) | index), op.filter(images[index], null));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the image of a character, and computes it's alpha mask.
+     *
+     * @param character
+     *         The character.
+     *
+     * @param image
+     *         The image.
+     */
+    private void setCharacterImage(final char character, final BufferedImage image) {
+        final int page = character >>> PAGE_BITS;
+
+        if (imagePages[page] == null) {
+            imagePages[page] = new BufferedImage[PAGE_SIZE];
+            maskPages[page] = new byte[PAGE_SIZE][];
+        }
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        final byte[] mask = new byte[pixels.length];
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            mask[i] = (byte) (pixels[i] >>> 24);
+        }
+
+        imagePages[page][character & (PAGE_SIZE - 1)] = image;
+        maskPages[page][character & (PAGE_SIZE - 1)] = mask;
+        fingerprint = 0;
+    }
+
+    /**
+     * Retrieves the fingerprint of the font.
+     *
+     * The fingerprint is computed from the size and pixels of every character
+     * image, so it's the same in every session for fonts with the same
+     * images, and can be used to identify images created from the font
+     * outside of the JVM.
+     *
+     * @return
+     *         The fingerprint. Never 0.
+     */
+    public long getFingerprint() {
+        long fingerprint = this.fingerprint;
+
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+
+        // FNV-1a, applied to ints rather than bytes.
+        fingerprint = 0xCBF29CE484222325L;
+
+        for (int page = 0 ; page < imagePages.length ; page++) {
+            final BufferedImage[] images = imagePages[page];
+
+            if (images == null) {
+                continue;
+            }
+
+            for (int index = 0 ; index < PAGE_SIZE ; index++) {
+                final BufferedImage image = images[index];
+
+                if (image == null) {
+                    continue;
+                }
+
+                final int width = image.getWidth();
+                final int height = image.getHeight();
+
+                fingerprint = (fingerprint ^ ((page << PAGE_BITS) | index)) * 0x100000001B3L;
+                fingerprint = (fingerprint ^ width) * 0x100000001B3L;
+                fingerprint = (fingerprint ^ height) * 0x100000001B3L;
+
+                for (final int pixel : image.getRGB(0, 0, width, height, null, 0, width)) {
+                    fingerprint = (fingerprint ^ pixel) * 0x100000001B3L;
+                }
             }
         }
+
+        if (fingerprint == 0) {
+            fingerprint = 1;
+        }
+
+        this.fingerprint = fingerprint;
+        return fingerprint;
     }
 
     /**
@@ -85,7 +202,7 @@ public class Font {
      *         Whether or not the character is supported.
      */
     public boolean isCharacterSupported(final char character) {
-        return characterImages.containsKey(character);
+        return getCharacterImage(character) != null;
     }
 
     /**
@@ -95,10 +212,29 @@ public class Font {
      *         The character.
      *
      * @return
-     *         The image.
+     *         The image, or null if the character isn't supported.
      */
     public BufferedImage getCharacterImage(final char character) {
-        return characterImages.get(character);
+        final BufferedImage[] images = imagePages[character >>> PAGE_BITS];
+        return images == null ? null : images[character & (PAGE_SIZE - 1)];
+    }
+
+    /**
+     * Retrieves the alpha mask of the image associated with a character.
+     *
+     * The mask contains the alpha value, from 0 to 255, of each pixel of the
+     * image, ordered first by row, then by column. The mask is shared, so it
+     * must not be modified.
+     *
+     * @param character
+     *         The character.
+     *
+     * @return
+     *         The alpha mask, or null if the character isn't supported.
+     */
+    public byte[] getCharacterMask(final char character) {
+        final byte[][] masks = maskPages[character >>> PAGE_BITS];
+        return masks == null ? null : masks[character & (PAGE_SIZE - 1)];
     }
 
     /**
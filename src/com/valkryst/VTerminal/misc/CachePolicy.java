@@ -0,0 +1,45 @@
+package com.valkryst.VTerminal.misc;
+
+public enum CachePolicy {
+    /**
+     * Images are evicted, by frequency and recency of use, once the total
+     * size of the cached images exceeds the maximum size.
+     */
+    SIZE,
+
+    /**
+     * Images are evicted once they haven't been accessed for the duration.
+     *
+     * The total size of the cached images is unbounded, so this should only
+     * be used when the number of distinct tiles is known to be small.
+     */
+    ACCESS_EXPIRY,
+
+    /**
+     * Images are evicted once the total size of the cached images exceeds the
+     * maximum size, or once they haven't been accessed for the duration.
+     */
+    SIZE_AND_ACCESS_EXPIRY;
+
+    /**
+     * Determines whether or not the policy bounds the total size of the
+     * cached images.
+     *
+     * @return
+     *          Whether or not the policy bounds the size.
+     */
+    public boolean isSizeBounded() {
+        return this != ACCESS_EXPIRY;
+    }
+
+    /**
+     * Determines whether or not the policy evicts images which haven't been
+     * accessed for a duration.
+     *
+     * @return
+     *          Whether or not the policy expires images.
+     */
+    public boolean isAccessExpiring() {
+        return this != SIZE;
+    }
+}
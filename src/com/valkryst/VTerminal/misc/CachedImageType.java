@@ -0,0 +1,15 @@
+package com.valkryst.VTerminal.misc;
+
+public enum CachedImageType {
+    /**
+     * Images are stored as VolatileImages, which may be accelerated by the
+     * graphics device, but require a display.
+     */
+    VOLATILE,
+
+    /**
+     * Images are stored as BufferedImages, which don't require a display and
+     * are preferred when drawing onto other BufferedImages.
+     */
+    BUFFERED
+}
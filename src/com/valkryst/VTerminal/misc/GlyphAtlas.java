@@ -0,0 +1,251 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+@ToString(exclude={"glyphSlots", "masks"})
+public final class GlyphAtlas {
+    /** The color used to draw characters which aren't supported by the font. */
+    private final static int MISSING_GLYPH_RGB = 0xFFFF00FF;
+
+    /** The width of each glyph. */
+    @Getter private final int glyphWidth;
+    /** The height of each glyph. */
+    @Getter private final int glyphHeight;
+    /** The number of glyphs in the atlas. */
+    @Getter private final int glyphCount;
+
+    /** The slot of each character's mask within the atlas, or -1 if the character has no mask. */
+    private final int[] glyphSlots;
+
+    /**
+     * The alpha masks of every glyph, packed one after the other. Each mask
+     * contains 'glyphWidth * glyphHeight' values, ordered first by row, then
+     * by column.
+     */
+    private final byte[] masks;
+
+    /**
+     * Constructs a new GlyphAtlas, containing the alpha mask of every
+     * character supported by a font.
+     *
+     * @param font
+     *          The font.
+     *
+     * @throws NullPointerException
+     *          If the font is null.
+     */
+    public GlyphAtlas(final @NonNull Font font) {
+        glyphWidth = font.getWidth();
+        glyphHeight = font.getHeight();
+
+        int highestCharacter = 0;
+        int count = 0;
+
+        for (int c = 0 ; c <= Character.MAX_VALUE ; c++) {
+            if (font.isCharacterSupported((char) c)) {
+                highestCharacter = c;
+                count++;
+            }
+        }
+
+        glyphCount = count;
+        glyphSlots = new int[highestCharacter + 1];
+        Arrays.fill(glyphSlots, -1);
+
+        final int maskSize = glyphWidth * glyphHeight;
+        masks = new byte[glyphCount * maskSize];
+
+        int slot = 0;
+
+        for (int c = 0 ; c <= highestCharacter ; c++) {
+            final BufferedImage image = font.getCharacterImage((char) c);
+
+            if (image == null) {
+                continue;
+            }
+
+            glyphSlots[c] = slot;
+
+            // Copy the font's mask, cropped to the size of a glyph.
+            final byte[] mask = font.getCharacterMask((char) c);
+            final int offset = slot * maskSize;
+            final int width = Math.min(glyphWidth, image.getWidth());
+            final int height = Math.min(glyphHeight, image.getHeight());
+
+            for (int y = 0 ; y < height ; y++) {
+                System.arraycopy(mask, y * image.getWidth(), masks, offset + (y * glyphWidth), width);
+            }
+
+            slot++;
+        }
+    }
+
+    /**
+     * Determines whether or not the atlas can draw a tile.
+     *
+     * GraphicTiles, and tiles with shaders other than the flip shader, can't
+     * be drawn by the atlas.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @return
+     *          Whether or not the atlas can draw the tile.
+     *
+     * @throws NullPointerException
+     *          If the tile is null.
+     */
+    public boolean canDraw(final @NonNull Tile tile) {
+        if (tile instanceof GraphicTile) {
+            return false;
+        }
+
+        for (final Shader shader : tile.getShaders()) {
+            if (shader instanceof FlipShader == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Draws a tile, by coloring it's glyph mask, into an array of RGB pixels.
+     *
+     * The glyph is colored with the foreground color and blended onto the
+     * background color, using the alpha of the mask.
+     *
+     * @param pixels
+     *          The pixels, ordered first by row, then by column.
+     *
+     * @param scanlineStride
+     *          The number of pixels in each row of the pixel array.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @param pixelX
+     *          The x-axis coordinate, in pixels, to draw the tile at.
+     *
+     * @param pixelY
+     *          The y-axis coordinate, in pixels, to draw the tile at.
+     *
+     * @throws NullPointerException
+     *          If the pixels or tile are null.
+     */
+    public void draw(final @NonNull int[] pixels, final int scanlineStride, final @NonNull Tile tile, final int pixelX, final int pixelY) {
+        final long colorKey = tile.getColorKey();
+        final int foregroundRGB = (int) (colorKey >>> 32);
+        final int backgroundRGB = (int) colorKey;
+        final char character = tile.getCharacter();
+
+        if (tile.isHidden() || foregroundRGB == backgroundRGB || Character.isSpaceChar(character)) {
+            fill(pixels, scanlineStride, pixelX, pixelY, glyphHeight, backgroundRGB);
+            return;
+        }
+
+        final int slot = character < glyphSlots.length ? glyphSlots[character] : -1;
+
+        if (slot == -1) {
+            fill(pixels, scanlineStride, pixelX, pixelY, glyphHeight, MISSING_GLYPH_RGB);
+            return;
+        }
+
+        boolean isFlippedHorizontally = false;
+        boolean isFlippedVertically = false;
+
+        for (final Shader shader : tile.getShaders()) {
+            if (shader instanceof FlipShader) {
+                isFlippedHorizontally ^= ((FlipShader) shader).isFlippedHorizontally();
+                isFlippedVertically ^= ((FlipShader) shader).isFlippedVertically();
+            }
+        }
+
+        final int maskOffset = slot * glyphWidth * glyphHeight;
+
+        for (int y = 0 ; y < glyphHeight ; y++) {
+            final int maskRow = maskOffset + (isFlippedVertically ? glyphHeight - 1 - y : y) * glyphWidth;
+            final int pixelRow = ((pixelY + y) * scanlineStride) + pixelX;
+
+            for (int x = 0 ; x < glyphWidth ; x++) {
+                final int alpha = masks[maskRow + (isFlippedHorizontally ? glyphWidth - 1 - x : x)] & 0xFF;
+
+                if (alpha == 0) {
+                    pixels[pixelRow + x] = backgroundRGB;
+                } else if (alpha == 255) {
+                    pixels[pixelRow + x] = foregroundRGB;
+                } else {
+                    pixels[pixelRow + x] = blend(foregroundRGB, backgroundRGB, alpha);
+                }
+            }
+        }
+
+        if (tile.isUnderlined()) {
+            final int thickness = Math.min(tile.getUnderlineThickness(), glyphHeight);
+            fill(pixels, scanlineStride, pixelX, pixelY + glyphHeight - thickness, thickness, foregroundRGB);
+        }
+    }
+
+    /**
+     * Fills a tile-wide rectangle, of an array of pixels, with a color.
+     *
+     * @param pixels
+     *          The pixels.
+     *
+     * @param scanlineStride
+     *          The number of pixels in each row of the pixel array.
+     *
+     * @param pixelX
+     *          The x-axis coordinate, in pixels, of the rectangle.
+     *
+     * @param pixelY
+     *          The y-axis coordinate, in pixels, of the rectangle.
+     *
+     * @param height
+     *          The height, in pixels, of the rectangle.
+     *
+     * @param rgb
+     *          The color.
+     */
+    private void fill(final int[] pixels, final int scanlineStride, final int pixelX, final int pixelY, final int height, final int rgb) {
+        for (int y = 0 ; y < height ; y++) {
+            final int pixelRow = ((pixelY + y) * scanlineStride) + pixelX;
+            Arrays.fill(pixels, pixelRow, pixelRow + glyphWidth, rgb);
+        }
+    }
+
+    /**
+     * Blends a foreground color onto a background color.
+     *
+     * @param foregroundRGB
+     *          The foreground color.
+     *
+     * @param backgroundRGB
+     *          The background color.
+     *
+     * @param alpha
+     *          The opacity of the foreground color, from 0 to 255.
+     *
+     * @return
+     *          The blended color.
+     */
+    private static int blend(final int foregroundRGB, final int backgroundRGB, final int alpha) {
+        final int inverseAlpha = 255 - alpha;
+
+        final int red = ((((foregroundRGB >> 16) & 0xFF) * alpha) + (((backgroundRGB >> 16) & 0xFF) * inverseAlpha) + 127) / 255;
+        final int green = ((((foregroundRGB >> 8) & 0xFF) * alpha) + (((backgroundRGB >> 8) & 0xFF) * inverseAlpha) + 127) / 255;
+        final int blue = (((foregroundRGB & 0xFF) * alpha) + ((backgroundRGB & 0xFF) * inverseAlpha) + 127) / 255;
+
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+}
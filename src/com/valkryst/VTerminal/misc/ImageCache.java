@@ -2,30 +2,89 @@ package com.valkryst.VTerminal.misc;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.valkryst.VTerminal.GraphicTile;
 import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.TileCacheKey;
 import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.shader.Shader;
-import com.valkryst.VTerminal.shader.character.CharShader;
+import com.valkryst.VTerminal.shader.ShaderAnimation;
+import com.valkryst.VTerminal.shader.ShaderPipeline;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.VolatileImage;
 import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 @ToString
 public final class ImageCache {
+    /** The minimum number of images which must be created at once, before they're created in parallel. */
+    private final static int PARALLEL_THRESHOLD = 8;
+
+    /** The color of the image of a character which isn't supported by the font. */
+    private final static int MISSING_GLYPH_RGB = 0xFFFF00FF;
+
+    /** The default maximum size, in bytes, of the cached images. */
+    public final static long DEFAULT_MAXIMUM_SIZE = 64L * 1024 * 1024;
+
     /** The cache. */
-    private final Cache<Integer, VolatileImage> cachedImages;
+    private final Cache<TileCacheKey, CachedImage> cachedImages;
+
+    /** The type of image that tile images are stored as. */
+    @Getter private final CachedImageType imageType;
+
+    /** The policy used to evict images from the cache. */
+    @Getter private final CachePolicy cachePolicy;
+
+    /** The maximum size, in bytes, of the cached images. Only used if the policy is size bounded. */
+    @Getter private final long maximumSize;
 
     /** The font of the character images. */
     @Getter private final Font font;
 
+    /** The metrics of the cache, and of any screen which draws using the cache. */
+    @Getter private final RenderMetrics metrics = new RenderMetrics();
+
+    /**
+     * The file that tile images are read from, before they're created, and
+     * written to, after they're created. Null if images aren't persisted.
+     */
+    @Getter @Setter private volatile ImageCacheFile persistentCache;
+
+    /** Whether or not the tiles whose images are loaded into the cache are recorded. */
+    @Getter @Setter private volatile boolean recording;
+
+    /** Copies of the recorded tiles, by their cache keys. */
+    private final Map<TileCacheKey, Tile> recordedTiles = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of the images loaded by the most recent call to prepareFrame,
+     * whose misses have been recorded, but which haven't yet been retrieved.
+     */
+    private final Set<TileCacheKey> preparedKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A small VolatileImage, which is validated before each frame to detect
+     * the loss of the cached VolatileImages. Null until it's first needed.
+     */
+    private VolatileImage lossProbe;
+
     /**
      * Constructs a new ImageCache.
      *
@@ -42,6 +101,9 @@ public final class ImageCache {
     /**
      * Constructs a new ImageCache.
      *
+     * Images are stored as VolatileImages, unless there is no display, in
+     * which case they're stored as BufferedImages.
+     *
      * @param font
      *         The font.
      *
@@ -56,15 +118,156 @@ public final class ImageCache {
      *        If the duration is below 1.
      */
     public ImageCache(final @NonNull Font font, final int duration) {
+        this(font, duration, GraphicsEnvironment.isHeadless() ? CachedImageType.BUFFERED : CachedImageType.VOLATILE);
+    }
+
+    /**
+     * Constructs a new ImageCache.
+     *
+     * Images are evicted once their total size exceeds the default maximum
+     * size, or once they haven't been accessed for the duration.
+     *
+     * @param font
+     *         The font.
+     *
+     * @param duration
+     *        The number of minutes, after the most recent access, that a cached
+     *        image will be removed from the cache.
+     *
+     * @param imageType
+     *        The type of image to store tile images as.
+     *
+     * @throws NullPointerException
+     *         If the font or image type are null.
+     *
+     * @throws IllegalArgumentException
+     *        If the duration is below 1.
+     */
+    public ImageCache(final @NonNull Font font, final int duration, final @NonNull CachedImageType imageType) {
+        this(font, imageType, CachePolicy.SIZE_AND_ACCESS_EXPIRY, DEFAULT_MAXIMUM_SIZE, duration);
+    }
+
+    /**
+     * Constructs a new ImageCache.
+     *
+     * The size of an image is the number of bytes used by it's pixels. When
+     * an image is removed from the cache, it's flushed, so that any memory
+     * held by the graphics device for a VolatileImage is released
+     * immediately, rather than whenever the image is garbage collected.
+     *
+     * @param font
+     *         The font.
+     *
+     * @param imageType
+     *        The type of image to store tile images as.
+     *
+     * @param cachePolicy
+     *        The policy used to evict images from the cache.
+     *
+     * @param maximumSize
+     *        The maximum size, in bytes, of the cached images. Only used if the
+     *        policy is size bounded.
+     *
+     * @param duration
+     *        The number of minutes, after the most recent access, that a cached
+     *        image will be removed from the cache. Only used if the policy
+     *        expires images.
+     *
+     * @throws NullPointerException
+     *         If the font, image type, or cache policy are null.
+     *
+     * @throws IllegalArgumentException
+     *        If the maximum size or duration is below 1.
+     */
+    public ImageCache(final @NonNull Font font, final @NonNull CachedImageType imageType, final @NonNull CachePolicy cachePolicy, final long maximumSize, final int duration) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size cannot be below 1.");
+        }
+
         if (duration < 1) {
             throw new IllegalArgumentException("The duration cannot be below 1.");
         }
 
         this.font = font;
-        cachedImages = Caffeine.newBuilder()
-                              .initialCapacity(5_000)
-                              .expireAfterAccess(duration, TimeUnit.MINUTES)
-                              .build();
+        this.imageType = imageType;
+        this.cachePolicy = cachePolicy;
+        this.maximumSize = maximumSize;
+
+        final Caffeine<TileCacheKey, CachedImage> builder = Caffeine.newBuilder()
+                                                              .initialCapacity(5_000)
+                                                              // Removals are handled on the thread which
+                                                              // caused them, so that memory is released
+                                                              // before the thread continues.
+                                                              .executor(Runnable::run)
+                                                              .removalListener(this::onRemoval);
+
+        if (cachePolicy.isSizeBounded()) {
+            builder.maximumWeight(maximumSize).weigher((TileCacheKey key, CachedImage cachedImage) -> cachedImage.getSize());
+        }
+
+        if (cachePolicy.isAccessExpiring()) {
+            builder.expireAfterAccess(duration, TimeUnit.MINUTES);
+        }
+
+        cachedImages = builder.build();
+    }
+
+    /**
+     * Handles the removal of an image from the cache.
+     *
+     * @param key
+     *        The key of the image.
+     *
+     * @param cachedImage
+     *        The image.
+     *
+     * @param cause
+     *        The reason that the image was removed.
+     */
+    private void onRemoval(final TileCacheKey key, final CachedImage cachedImage, final RemovalCause cause) {
+        if (cause.wasEvicted()) {
+            metrics.recordCacheEviction();
+        }
+
+        if (cachedImage != null && cachedImage.image instanceof VolatileImage) {
+            cachedImage.image.flush();
+        }
+    }
+
+    /**
+     * Retrieves the total size, in bytes, of the cached images.
+     *
+     * This includes both the VolatileImages and the BufferedImages that they
+     * were created from.
+     *
+     * @return
+     *        The total size of the cached images.
+     */
+    public long getCachedSize() {
+        cachedImages.cleanUp();
+
+        long size = 0;
+
+        for (final CachedImage cachedImage : cachedImages.asMap().values()) {
+            size += cachedImage.getSize();
+        }
+
+        return size;
+    }
+
+    /**
+     * Retrieves the size of an image, as the number of bytes used by it's
+     * pixels.
+     *
+     * @param image
+     *        The image.
+     *
+     * @return
+     *        The size of the image, limited to Integer.MAX_VALUE.
+     */
+    static int getSize(final Image image) {
+        final long size = 4L * Math.max(0, image.getWidth(null)) * Math.max(0, image.getHeight(null));
+        return (int) Math.min(Integer.MAX_VALUE, size);
     }
 
     /**
@@ -73,6 +276,10 @@ public final class ImageCache {
      * If no image could be found, then one is created, inserted into the cache,
      * and then returned.
      *
+     * The image of a tile with animated shaders is a strip of every frame of
+     * it's animation, from left to right, so an animated tile only ever has
+     * one image in the cache.
+     *
      * @param tile
      *        The tile.
      *
@@ -82,16 +289,100 @@ public final class ImageCache {
      * @throws NullPointerException
      *         If the tile is null.
      */
-    public VolatileImage retrieve(final @NonNull Tile tile) {
-        final int hash = tile.getCacheHash();
+    public Image retrieve(final @NonNull Tile tile) {
+        final CachedImage cachedImage = cachedImages.getIfPresent(tile.getCacheKey());
 
-        VolatileImage image = cachedImages.getIfPresent(hash);
+        if (cachedImage == null) {
+            metrics.recordCacheMiss();
+            return loadIntoCache(tile);
+        }
 
-        if (image == null || image.contentsLost()) {
-            image = loadIntoCache(tile);
+        // The miss of an image loaded by prepareFrame has already been
+        // recorded, so it's first retrieval isn't recorded as a hit.
+        if (preparedKeys.isEmpty() || preparedKeys.remove(tile.getCacheKey()) == false) {
+            metrics.recordCacheHit();
         }
 
-        return image;
+        // A lost image is restored from it's source, without running any shaders.
+        if (isContentsLost(cachedImage.image)) {
+            restore(cachedImage, getGraphicsConfiguration());
+        }
+
+        return cachedImage.image;
+    }
+
+    /**
+     * Restores the contents of every cached VolatileImage whose contents have
+     * been lost, by copying them from the BufferedImages that they were
+     * created from, without running any shaders.
+     *
+     * The loss of the images is detected once, using a small probe image, so
+     * this can be called before every frame. It has no effect unless images
+     * are stored as VolatileImages.
+     *
+     * @return
+     *        The number of images which were restored.
+     */
+    public synchronized int validate() {
+        if (imageType != CachedImageType.VOLATILE) {
+            return 0;
+        }
+
+        final GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+
+        if (lossProbe == null) {
+            lossProbe = graphicsConfiguration.createCompatibleVolatileImage(1, 1, Transparency.TRANSLUCENT);
+        }
+
+        final int status = lossProbe.validate(graphicsConfiguration);
+
+        if (status == VolatileImage.IMAGE_OK && lossProbe.contentsLost() == false) {
+            return 0;
+        }
+
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+            lossProbe.flush();
+            lossProbe = graphicsConfiguration.createCompatibleVolatileImage(1, 1, Transparency.TRANSLUCENT);
+        }
+
+        int restoredImages = 0;
+
+        for (final CachedImage cachedImage : cachedImages.asMap().values()) {
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE || isContentsLost(cachedImage.image)) {
+                restore(cachedImage, graphicsConfiguration);
+                restoredImages++;
+            }
+        }
+
+        return restoredImages;
+    }
+
+    /**
+     * Restores the contents of a cached VolatileImage, by copying it's
+     * source image onto it.
+     *
+     * If the image is no longer compatible with the graphics configuration,
+     * then it's replaced.
+     *
+     * @param cachedImage
+     *        The image.
+     *
+     * @param graphicsConfiguration
+     *        The graphics configuration.
+     */
+    private static void restore(final CachedImage cachedImage, final GraphicsConfiguration graphicsConfiguration) {
+        if (cachedImage.image instanceof VolatileImage == false) {
+            return;
+        }
+
+        final VolatileImage image = (VolatileImage) cachedImage.image;
+
+        if (image.validate(graphicsConfiguration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            image.flush();
+            cachedImage.image = convertToVolatileImage(cachedImage.source);
+        } else {
+            copyImage(cachedImage.source, image);
+        }
     }
 
     /**
@@ -106,20 +397,249 @@ public final class ImageCache {
      * @throws NullPointerException
      *         If the tile is null.
      */
-    public VolatileImage loadIntoCache(final @NonNull Tile tile) {
-        BufferedImage bufferedImage;
-        bufferedImage = applyColorSwap(tile, font);
+    public Image loadIntoCache(final @NonNull Tile tile) {
+        return upload(tile, createImage(tile));
+    }
 
-        for (final Shader shader : tile.getShaders()) {
-            if (shader instanceof CharShader) {
-                bufferedImage = ((CharShader) shader).run(bufferedImage, tile);
-            } else {
-                bufferedImage = shader.run(bufferedImage);
+    /**
+     * Loads the images of every tile, which aren't already in the cache, into
+     * the cache.
+     *
+     * The images are created in parallel, on the common ForkJoin pool, and
+     * then converted into VolatileImages, if required, on the calling thread.
+     * This is much
+     * faster than retrieving each image individually, when many images must
+     * be created at once, such as when a screen is first drawn.
+     *
+     * Tiles which don't require an image are ignored.
+     *
+     * A miss is recorded for each image which is loaded.
+     *
+     * This can be used to warm up the cache before the first frame is drawn,
+     * such as with the recorded tiles of an earlier session.
+     *
+     * @param tiles
+     *         The tiles.
+     *
+     * @throws NullPointerException
+     *         If the tiles are null.
+     */
+    public void prepare(final @NonNull Collection<? extends Tile> tiles) {
+        prepare(tiles, false);
+    }
+
+    /**
+     * Loads the images of every tile, which aren't already in the cache, into
+     * the cache, before the tiles are drawn as a frame.
+     *
+     * This is the same as prepare, except that the first retrieval of each
+     * loaded image, before the next frame is prepared, isn't recorded as a
+     * hit, as it's miss has already been recorded. This way, the metrics of a
+     * frame count each of it's tiles once.
+     *
+     * @param tiles
+     *         The tiles.
+     *
+     * @throws NullPointerException
+     *         If the tiles are null.
+     */
+    public void prepareFrame(final @NonNull Collection<? extends Tile> tiles) {
+        preparedKeys.clear();
+        prepare(tiles, true);
+    }
+
+    /**
+     * Loads the images of every tile, which aren't already in the cache, into
+     * the cache.
+     *
+     * @param tiles
+     *         The tiles.
+     *
+     * @param isFrame
+     *         Whether or not the tiles are about to be drawn as a frame, in
+     *         which case the keys of the loaded images are kept.
+     */
+    private void prepare(final Collection<? extends Tile> tiles, final boolean isFrame) {
+        // Find the tiles whose images aren't in the cache, ignoring tiles
+        // which share an image.
+        final Map<TileCacheKey, Tile> missedTiles = new LinkedHashMap<>();
+
+        for (final Tile tile : tiles) {
+            if (tile.isImageRequired() == false) {
+                continue;
+            }
+
+            final TileCacheKey key = tile.getCacheKey();
+
+            if (missedTiles.containsKey(key)) {
+                continue;
+            }
+
+            if (cachedImages.getIfPresent(key) == null) {
+                missedTiles.put(key, tile);
+            }
+        }
+
+        if (missedTiles.isEmpty()) {
+            return;
+        }
+
+        // Shaders are pure functions of an image and a tile, so the images
+        // can be created in any order, on any thread.
+        final Tile[] tilesToLoad = missedTiles.values().toArray(new Tile[0]);
+        final BufferedImage[] images = new BufferedImage[tilesToLoad.length];
+
+        IntStream indices = IntStream.range(0, tilesToLoad.length);
+
+        if (tilesToLoad.length >= PARALLEL_THRESHOLD) {
+            indices = indices.parallel();
+        }
+
+        indices.forEach(i -> images[i] = createImage(tilesToLoad[i]));
+
+        // VolatileImages belong to the graphics device, so they're created on
+        // the calling thread.
+        for (int i = 0 ; i < tilesToLoad.length ; i++) {
+            metrics.recordCacheMiss();
+            upload(tilesToLoad[i], images[i]);
+
+            if (isFrame && metrics.isEnabled()) {
+                preparedKeys.add(tilesToLoad[i].getCacheKey());
+            }
+        }
+    }
+
+    /**
+     * Retrieves copies of the tiles whose images have been loaded into the
+     * cache while recording, with one tile for each distinct image.
+     *
+     * The tiles can be passed to prepare, to warm up the cache of a later
+     * session.
+     *
+     * @return
+     *         The tiles.
+     */
+    public List<Tile> getRecordedTiles() {
+        return new ArrayList<>(recordedTiles.values());
+    }
+
+    /** Removes all recorded tiles. */
+    public void clearRecordedTiles() {
+        recordedTiles.clear();
+    }
+
+    /**
+     * Creates the image of a tile.
+     *
+     * The image is read from the persistent cache, if possible. Otherwise,
+     * it's created and then added to the persistent cache.
+     *
+     * @param tile
+     *         The tile.
+     *
+     * @return
+     *         The image.
+     */
+    private BufferedImage createImage(final Tile tile) {
+        final ImageCacheFile persistentCache = this.persistentCache;
+        final String styleKey = getStyleKey(persistentCache, tile);
+
+        if (styleKey != null) {
+            final BufferedImage image = persistentCache.read(styleKey);
+
+            if (image != null) {
+                return image;
             }
         }
 
-        final VolatileImage result = convertToVolatileImage(bufferedImage);
-        cachedImages.put(tile.getCacheHash(), result);
+        final BufferedImage image = renderImage(tile);
+
+        if (styleKey != null) {
+            persistentCache.write(styleKey, image);
+        }
+
+        return image;
+    }
+
+    /**
+     * Retrieves the style key that identifies a tile's image, within a
+     * persistent cache.
+     *
+     * @param persistentCache
+     *         The persistent cache.
+     *
+     * @param tile
+     *         The tile.
+     *
+     * @return
+     *         The style key, or null if the tile's image can't be persisted.
+     */
+    private String getStyleKey(final ImageCacheFile persistentCache, final Tile tile) {
+        if (persistentCache == null || persistentCache.getFontFingerprint() != font.getFingerprint()) {
+            return null;
+        }
+
+        return tile.getCacheKey().getStyleKey();
+    }
+
+    /**
+     * Renders the image of a tile, by coloring it's character image and then
+     * running it's shaders on the image, with the shader pipeline.
+     *
+     * If the tile is animated, then each frame is rendered, by running the
+     * shaders of the frame, and the frames are placed side by side in a strip.
+     *
+     * @param tile
+     *         The tile.
+     *
+     * @return
+     *         The image.
+     */
+    private BufferedImage renderImage(final Tile tile) {
+        final ShaderAnimation animation = tile.getShaderAnimation();
+
+        if (animation == null) {
+            return ShaderPipeline.run(applyColorSwap(tile, font), tile, metrics);
+        }
+
+        final List<Shader> shaders = tile.getShaders();
+        BufferedImage strip = null;
+
+        for (int frame = 0 ; frame < animation.getFrameCount() ; frame++) {
+            final List<Shader> frameShaders = animation.getFrameShaders(shaders, frame);
+            final BufferedImage image = ShaderPipeline.run(applyColorSwap(tile, font), frameShaders, tile, metrics);
+
+            if (strip == null) {
+                strip = new BufferedImage(image.getWidth() * animation.getFrameCount(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            }
+
+            strip.getRaster().setRect(frame * image.getWidth(), 0, image.getRaster());
+        }
+
+        return strip;
+    }
+
+    /**
+     * Converts the image of a tile into a VolatileImage, if required, and
+     * inserts it into the cache.
+     *
+     * @param tile
+     *         The tile.
+     *
+     * @param image
+     *         The image of the tile.
+     *
+     * @return
+     *         The cached image.
+     */
+    private Image upload(final Tile tile, final BufferedImage image) {
+        final Image result = imageType == CachedImageType.VOLATILE ? convertToVolatileImage(image) : image;
+        cachedImages.put(tile.getCacheKey(), new CachedImage(image, result));
+        metrics.recordCacheLoad();
+
+        if (recording) {
+            recordedTiles.computeIfAbsent(tile.getCacheKey(), key -> tile instanceof GraphicTile ? new GraphicTile(tile) : new Tile(tile));
+        }
 
         return result;
     }
@@ -128,6 +648,14 @@ public final class ImageCache {
      * Gets a character image for a character and applies the back/foreground
      * colors to it.
      *
+     * The result image is colored in a single pass over it's pixel array, using
+     * the font's alpha mask of the character, rather than reading and writing
+     * the pixels one at a time.
+     *
+     * The image of a character which isn't supported by the font is filled
+     * with magenta. The tile itself is never changed, as images may be
+     * created on any thread.
+     *
      * @param character
      *        The character.
      *
@@ -140,65 +668,82 @@ public final class ImageCache {
      * @throws NullPointerException
      *         If the character or font are null.
      */
-    private static BufferedImage applyColorSwap(final @NonNull Tile character, final @NonNull Font font) {
-        BufferedImage image;
+    static BufferedImage applyColorSwap(final @NonNull Tile character, final @NonNull Font font) {
+        final BufferedImage glyphImage = font.getCharacterImage(character.getCharacter());
 
-        try {
-            image = cloneImage(font.getCharacterImage(character.getCharacter()));
-        } catch (final NullPointerException e) {
-            image = new BufferedImage(font.getWidth(), font.getHeight(), BufferedImage.TYPE_INT_ARGB);
-            character.setBackgroundColor(new Color(0xFFFF00FF));
-            character.setForegroundColor(new Color(0xFFFF00FF));
+        if (glyphImage == null) {
+            final BufferedImage image = new BufferedImage(font.getWidth(), font.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Arrays.fill(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), MISSING_GLYPH_RGB);
             return image;
         }
 
+        final int width = glyphImage.getWidth();
+        final int height = glyphImage.getHeight();
 
-        final int backgroundRGB = character.getBackgroundColor().getRGB();
-        // final int backgroundA = (backgroundRGB >> 24) & 0xFF;
-        // final int backgroundR = (backgroundRGB >> 16) & 0xFF;
-        // final int backgroundG = (backgroundRGB >> 8) & 0xFF;
-        // final int backgroundB = backgroundRGB & 0xFF;
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
 
+        final int backgroundRGB = character.getBackgroundColor().getRGB();
         final int foregroundRGB = character.getForegroundColor().getRGB();
-        // final int foregroundA = (foregroundRGB >> 24) & 0xFF;
-        final int foregroundR = (foregroundRGB >> 16) & 0xFF;
-        final int foregroundG = (foregroundRGB >> 8) & 0xFF;
-        final int foregroundB = foregroundRGB & 0xFF;
-
-        final boolean isTile = ! (character instanceof GraphicTile);
-
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                final int pixel = image.getRGB(x, y);
-                final int alpha = (pixel >> 24) & 0xFF;
-                final int red = (pixel >> 16) & 0xFF;
-                final int green = (pixel >> 8) & 0xFF;
-                final int blue = (pixel) & 0xFF;
-
-                boolean isTransparent = alpha == 0;
-                isTransparent &= red == 0;
-                isTransparent &= green == 0;
-                isTransparent &= blue == 0;
-
-                if (isTransparent) {
-                    image.setRGB(x, y, backgroundRGB);
-                    continue;
-                }
 
-                if (isTile) {
-                    if (alpha == 255) {
-                        image.setRGB(x, y, foregroundRGB);
-                    } else {
-                        final int blendedRGBA = (alpha << 24) + (foregroundR << 16) + (foregroundG << 8) + foregroundB;
-                        image.setRGB(x, y, blendedRGBA);
-                    }
+        if (character instanceof GraphicTile) {
+            readPixels(glyphImage, pixels);
+
+            // Only the transparent pixels of a graphic tile are colored.
+            for (int i = 0 ; i < pixels.length ; i++) {
+                if (pixels[i] == 0) {
+                    pixels[i] = backgroundRGB;
                 }
             }
+
+            return image;
+        }
+
+        // The alpha of partially transparent pixels is kept.
+        final byte[] mask = font.getCharacterMask(character.getCharacter());
+        final int foregroundColor = foregroundRGB & 0x00FFFFFF;
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            final int alpha = mask[i] & 0xFF;
+
+            if (alpha == 0) {
+                pixels[i] = backgroundRGB;
+            } else if (alpha == 255) {
+                pixels[i] = foregroundRGB;
+            } else {
+                pixels[i] = (alpha << 24) | foregroundColor;
+            }
         }
 
         return image;
     }
 
+    /**
+     * Reads the ARGB pixels of an image into an array.
+     *
+     * If the image stores it's pixels as ARGB ints, then they're copied, row by
+     * row, directly from it's raster. Otherwise, every pixel is converted by
+     * the color model of the image.
+     *
+     * @param image
+     *        The image.
+     *
+     * @param pixels
+     *        The array to read the pixels into, ordered first by row, then by
+     *        column. It must contain at least 'width * height' elements.
+     */
+    private static void readPixels(final BufferedImage image, final int[] pixels) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            final WritableRaster raster = image.getRaster();
+            raster.getDataElements(raster.getMinX(), raster.getMinY(), width, height, pixels);
+        } else {
+            image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+    }
+
     /**
      * Makes a clone of an image.
      *
@@ -218,6 +763,21 @@ public final class ImageCache {
         return new BufferedImage(colorModel, writableRaster, isAlphaPremultiplied, null);
     }
 
+    /**
+     * Determines whether or not the contents of a cached image have been lost.
+     *
+     * Only the contents of VolatileImages can be lost.
+     *
+     * @param image
+     *        The image.
+     *
+     * @return
+     *        Whether or not the contents of the image have been lost.
+     */
+    private static boolean isContentsLost(final Image image) {
+        return image instanceof VolatileImage && ((VolatileImage) image).contentsLost();
+    }
+
     /**
      * Converts a BufferedImage into a VolatileImage,
      *
@@ -228,17 +788,74 @@ public final class ImageCache {
      *        The VolatileImage.
      */
     private static VolatileImage convertToVolatileImage(final BufferedImage source) {
-        final GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        final GraphicsDevice graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
-        final GraphicsConfiguration graphicsConfiguration = graphicsDevice.getDefaultConfiguration();
-
+        final GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
         final VolatileImage destination = graphicsConfiguration.createCompatibleVolatileImage(source.getWidth(), source.getHeight(), source.getTransparency());
+        copyImage(source, destination);
 
+        return destination;
+    }
+
+    /**
+     * Replaces the contents of a VolatileImage with a BufferedImage.
+     *
+     * @param source
+     *        The BufferedImage.
+     *
+     * @param destination
+     *        The VolatileImage.
+     */
+    private static void copyImage(final BufferedImage source, final VolatileImage destination) {
         final Graphics2D g2d = destination.createGraphics();
         g2d.setComposite(AlphaComposite.Src);
         g2d.drawImage(source, 0, 0, null);
         g2d.dispose();
+    }
 
-        return destination;
+    /**
+     * Retrieves the graphics configuration of the default screen device,
+     * which VolatileImages are created with.
+     *
+     * @return
+     *        The graphics configuration.
+     */
+    private static GraphicsConfiguration getGraphicsConfiguration() {
+        final GraphicsEnvironment graphicsEnvironment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        final GraphicsDevice graphicsDevice = graphicsEnvironment.getDefaultScreenDevice();
+        return graphicsDevice.getDefaultConfiguration();
+    }
+
+    @ToString(of="image")
+    private final static class CachedImage {
+        /** The image created from the tile. */
+        private final BufferedImage source;
+
+        /** The image which is drawn. Either the source, or a VolatileImage copy of it. */
+        private volatile Image image;
+
+        /**
+         * Constructs a new CachedImage.
+         *
+         * @param source
+         *        The image created from the tile.
+         *
+         * @param image
+         *        The image which is drawn.
+         */
+        private CachedImage(final BufferedImage source, final Image image) {
+            this.source = source;
+            this.image = image;
+        }
+
+        /**
+         * Retrieves the size, as the number of bytes used by the pixels of
+         * both the source and drawn images.
+         *
+         * @return
+         *        The size, limited to Integer.MAX_VALUE.
+         */
+        private int getSize() {
+            final long size = (image == source ? 0L : ImageCache.getSize(image)) + ImageCache.getSize(source);
+            return (int) Math.min(Integer.MAX_VALUE, size);
+        }
     }
 }
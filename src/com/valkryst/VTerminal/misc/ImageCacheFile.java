@@ -0,0 +1,374 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.font.Font;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A file of tile images, which persists the images created by an image cache
+ * between sessions, so that they needn't be created again.
+ *
+ * Each image is identified by the style key of it's tile. The file also holds
+ * the fingerprint of the font that the images were created from, and the
+ * images are ignored if the fingerprint doesn't match the font that the file
+ * is opened with.
+ *
+ * When opened, the file is memory-mapped and only it's index is read. The
+ * pixels of an image are read from the mapping when the image is requested.
+ * New images are held in memory until the file is saved, after which they're
+ * read from the mapping of the saved file.
+ *
+ * The file consists of a header, followed by any number of entries:
+ *
+ *  Header:
+ *      int     The magic number.
+ *      int     The version.
+ *      long    The font fingerprint.
+ *
+ *  Entry:
+ *      int     The length, in bytes, of the style key.
+ *      byte[]  The UTF-8 encoded style key.
+ *      int     The width of the image.
+ *      int     The height of the image.
+ *      int[]   The ARGB pixels of the image, ordered first by row, then by column.
+ *
+ * An incomplete entry, at the end of the file, is ignored and is discarded
+ * by the next save.
+ */
+@ToString(of={"path", "fontFingerprint"})
+public final class ImageCacheFile {
+    /** The magic number at the start of every file. */
+    private final static int MAGIC = 0x56544943;
+
+    /** The version of the file format. */
+    private final static int VERSION = 1;
+
+    /** The size, in bytes, of the header. */
+    private final static int HEADER_SIZE = 16;
+
+    /** The path of the file. */
+    @Getter private final Path path;
+
+    /** The fingerprint of the font that the images were created from. */
+    @Getter private final long fontFingerprint;
+
+    /** The mapping of the file, as it was when opened or last saved. Null if the file held no usable images. */
+    private MappedByteBuffer mapping;
+
+    /** The position, within the mapping, of the size of each image. */
+    private final Map<String, Integer> mappedImages = new HashMap<>();
+
+    /** The images which were added since the file was opened. */
+    private final Map<String, int[]> addedImages = new HashMap<>();
+
+    /** The keys of the added images which haven't been saved, in the order they were added. */
+    private final List<String> unsavedKeys = new ArrayList<>();
+
+    /** The widths of the added images. */
+    private final Map<String, Integer> addedWidths = new HashMap<>();
+
+    /** The length, in bytes, of the usable part of the file. 0 if the file must be rewritten. */
+    private long usableLength;
+
+    /**
+     * Opens a file of tile images.
+     *
+     * If the file doesn't exist, is unreadable, or was created from a
+     * different font, then it's treated as empty and is overwritten by the
+     * first save.
+     *
+     * @param path
+     *          The path of the file.
+     *
+     * @param font
+     *          The font that the images are created from.
+     *
+     * @throws NullPointerException
+     *          If the path or font is null.
+     *
+     * @throws IOException
+     *          If an I/O error occurs while mapping an existing file.
+     */
+    public ImageCacheFile(final @NonNull Path path, final @NonNull Font font) throws IOException {
+        this.path = path;
+        fontFingerprint = font.getFingerprint();
+
+        if (Files.isRegularFile(path) == false || Files.size(path) < HEADER_SIZE || Files.size(path) > Integer.MAX_VALUE) {
+            mapping = null;
+            return;
+        }
+
+        final MappedByteBuffer mapping;
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (mapping.getInt(0) != MAGIC || mapping.getInt(4) != VERSION || mapping.getLong(8) != fontFingerprint) {
+            this.mapping = null;
+            return;
+        }
+
+        this.mapping = mapping;
+        usableLength = readIndex();
+    }
+
+    /**
+     * Reads the index of the images in the mapping.
+     *
+     * @return
+     *          The length, in bytes, of the complete entries.
+     */
+    private long readIndex() {
+        final int limit = mapping.limit();
+        int position = HEADER_SIZE;
+
+        while (limit - position >= 4) {
+            final int keyLength = mapping.getInt(position);
+
+            if (keyLength < 0 || limit - position - 4 < keyLength + 8L) {
+                break;
+            }
+
+            final byte[] keyBytes = new byte[keyLength];
+            final ByteBuffer buffer = mapping.duplicate();
+            buffer.position(position + 4);
+            buffer.get(keyBytes);
+
+            final int sizePosition = position + 4 + keyLength;
+            final long width = mapping.getInt(sizePosition);
+            final long height = mapping.getInt(sizePosition + 4);
+            final long entryEnd = sizePosition + 8 + (4 * width * height);
+
+            if (width < 1 || height < 1 || entryEnd > limit) {
+                break;
+            }
+
+            mappedImages.put(new String(keyBytes, StandardCharsets.UTF_8), sizePosition);
+            position = (int) entryEnd;
+        }
+
+        return position;
+    }
+
+    /**
+     * Reads an image from the file.
+     *
+     * @param styleKey
+     *          The style key of the image's tile.
+     *
+     * @return
+     *          A new copy of the image, or null if the file doesn't contain
+     *          the image.
+     *
+     * @throws NullPointerException
+     *          If the style key is null.
+     */
+    public synchronized BufferedImage read(final @NonNull String styleKey) {
+        final int[] addedPixels = addedImages.get(styleKey);
+
+        if (addedPixels != null) {
+            final int width = addedWidths.get(styleKey);
+            final BufferedImage image = new BufferedImage(width, addedPixels.length / width, BufferedImage.TYPE_INT_ARGB);
+            System.arraycopy(addedPixels, 0, getPixels(image), 0, addedPixels.length);
+            return image;
+        }
+
+        final Integer sizePosition = mappedImages.get(styleKey);
+
+        if (sizePosition == null) {
+            return null;
+        }
+
+        final int width = mapping.getInt(sizePosition);
+        final int height = mapping.getInt(sizePosition + 4);
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        final ByteBuffer buffer = mapping.duplicate();
+        buffer.position(sizePosition + 8);
+
+        final IntBuffer pixels = buffer.asIntBuffer();
+        pixels.get(getPixels(image));
+
+        return image;
+    }
+
+    /**
+     * Adds an image to the file, if the file doesn't already contain an image
+     * for the style key.
+     *
+     * The image isn't written to disk until the file is saved.
+     *
+     * @param styleKey
+     *          The style key of the image's tile.
+     *
+     * @param image
+     *          The image.
+     *
+     * @throws NullPointerException
+     *          If the style key or image is null.
+     */
+    public synchronized void write(final @NonNull String styleKey, final @NonNull BufferedImage image) {
+        if (contains(styleKey)) {
+            return;
+        }
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = new int[width * height];
+
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            image.getRaster().getDataElements(image.getRaster().getMinX(), image.getRaster().getMinY(), width, height, pixels);
+        } else {
+            image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+
+        addedImages.put(styleKey, pixels);
+        addedWidths.put(styleKey, width);
+        unsavedKeys.add(styleKey);
+    }
+
+    /**
+     * Determines whether or not the file contains an image.
+     *
+     * @param styleKey
+     *          The style key of the image's tile.
+     *
+     * @return
+     *          Whether or not the file contains the image.
+     */
+    public synchronized boolean contains(final String styleKey) {
+        return mappedImages.containsKey(styleKey) || addedImages.containsKey(styleKey);
+    }
+
+    /**
+     * Retrieves the number of images in the file, including those which
+     * haven't been saved.
+     *
+     * @return
+     *          The number of images.
+     */
+    public synchronized int size() {
+        return mappedImages.size() + addedImages.size();
+    }
+
+    /**
+     * Saves the images, which were added since the last save, to the file on
+     * disk.
+     *
+     * The usable part of the existing file, followed by the added images, is
+     * written to a temporary file, which then replaces the file. The file is
+     * never truncated while it's mapped, as this fails on some platforms and
+     * could leave the mapping pointing past the end of the file. Once saved,
+     * the new file is mapped and the added images are read from it.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    public synchronized void save() throws IOException {
+        if (unsavedKeys.isEmpty() && usableLength > 0) {
+            return;
+        }
+
+        final Path directory = path.toAbsolutePath().getParent();
+        final Path temporaryPath = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (final FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putLong(fontFingerprint).flip();
+                writeFully(channel, header);
+
+                if (mapping != null) {
+                    final ByteBuffer entries = mapping.duplicate();
+                    entries.position(HEADER_SIZE).limit((int) usableLength);
+                    writeFully(channel, entries);
+                }
+
+                for (final String key : unsavedKeys) {
+                    final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+                    final int[] pixels = addedImages.get(key);
+                    final int width = addedWidths.get(key);
+
+                    final ByteBuffer entry = ByteBuffer.allocate(12 + keyBytes.length + (4 * pixels.length));
+                    entry.putInt(keyBytes.length).put(keyBytes);
+                    entry.putInt(width).putInt(pixels.length / width);
+                    entry.asIntBuffer().put(pixels);
+                    entry.position(entry.limit());
+                    entry.flip();
+
+                    writeFully(channel, entry);
+                }
+
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+
+        // The saved images are read from the new mapping, rather than held in memory.
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        mappedImages.clear();
+        usableLength = readIndex();
+
+        addedImages.clear();
+        addedWidths.clear();
+        unsavedKeys.clear();
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to a channel.
+     *
+     * @param channel
+     *          The channel.
+     *
+     * @param buffer
+     *          The buffer.
+     *
+     * @throws IOException
+     *          If an I/O error occurs.
+     */
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Retrieves the pixel array of an ARGB image.
+     *
+     * @param image
+     *          The image.
+     *
+     * @return
+     *          The pixels.
+     */
+    private static int[] getPixels(final BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+}
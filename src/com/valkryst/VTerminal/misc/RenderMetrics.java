@@ -0,0 +1,356 @@
+package com.valkryst.VTerminal.misc;
+
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records metrics about how frames are drawn.
+ *
+ * Metrics are disabled by default. While disabled, every record function
+ * returns immediately and no timestamps are taken, so the overhead of the
+ * metrics is a single field read per call.
+ */
+@ToString(of={"enabled", "objectName"})
+public final class RenderMetrics implements RenderMetricsMXBean {
+    /** The number of buckets in the frame time histogram. */
+    public final static int HISTOGRAM_BUCKETS = 32;
+
+    /** Whether or not metrics are being recorded. */
+    private volatile boolean enabled = false;
+
+    /** The number of frames drawn. */
+    private final LongAdder frameCount = new LongAdder();
+    /** The total time, in nanoseconds, taken to draw every frame. */
+    private final LongAdder totalFrameNanos = new LongAdder();
+    /** The longest time, in nanoseconds, taken to draw a frame. */
+    private final LongAccumulator maxFrameNanos = new LongAccumulator(Math::max, 0);
+    /** The frame time histogram, with power-of-two microsecond buckets. */
+    private final AtomicLongArray frameTimeHistogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    /** The number of dirty tiles whose keys were compared. */
+    private final LongAdder tilesScanned = new LongAdder();
+    /** The number of tiles drawn. */
+    private final LongAdder tilesDrawn = new LongAdder();
+
+    /** The number of image cache hits. */
+    private final LongAdder cacheHits = new LongAdder();
+    /** The number of image cache misses. */
+    private final LongAdder cacheMisses = new LongAdder();
+    /** The number of images evicted from the image cache. */
+    private final LongAdder cacheEvictions = new LongAdder();
+    /** The number of images loaded into the image cache. */
+    private final LongAdder cacheLoads = new LongAdder();
+
+    /** The total time, in nanoseconds, spent running each class of shader. */
+    private final Map<Class<?>, LongAdder> shaderNanos = new ConcurrentHashMap<>();
+
+    /** The number of times that drawing buffer contents were lost. */
+    private final LongAdder contentsLostCount = new LongAdder();
+    /** The number of times that drawing buffer contents were restored. */
+    private final LongAdder contentsRestoredCount = new LongAdder();
+
+    /** The name that the metrics are registered with JMX under, if they've been registered. */
+    private ObjectName objectName;
+
+    /**
+     * Records the time taken to draw a frame.
+     *
+     * The frame isn't recorded if it's start time is 0, as the metrics were
+     * enabled after it began to be drawn.
+     *
+     * @param startNanos
+     *          The value of System.nanoTime(), when the frame began to be
+     *          drawn, or 0 if it wasn't timed.
+     */
+    public void recordFrame(final long startNanos) {
+        if (enabled == false || startNanos == 0) {
+            return;
+        }
+
+        final long frameNanos = System.nanoTime() - startNanos;
+
+        frameCount.increment();
+        totalFrameNanos.add(frameNanos);
+        maxFrameNanos.accumulate(frameNanos);
+        frameTimeHistogram.incrementAndGet(getHistogramBucket(frameNanos));
+    }
+
+    /**
+     * Records the number of tiles scanned and drawn during a frame.
+     *
+     * @param scanned
+     *          The number of dirty tiles whose keys were compared.
+     *
+     * @param drawn
+     *          The number of tiles drawn.
+     */
+    public void recordTiles(final int scanned, final int drawn) {
+        if (enabled == false) {
+            return;
+        }
+
+        tilesScanned.add(scanned);
+        tilesDrawn.add(drawn);
+    }
+
+    /** Records an image cache hit. */
+    public void recordCacheHit() {
+        if (enabled) {
+            cacheHits.increment();
+        }
+    }
+
+    /** Records an image cache miss. */
+    public void recordCacheMiss() {
+        if (enabled) {
+            cacheMisses.increment();
+        }
+    }
+
+    /** Records the eviction of an image from the image cache. */
+    public void recordCacheEviction() {
+        if (enabled) {
+            cacheEvictions.increment();
+        }
+    }
+
+    /** Records the loading of an image into the image cache. */
+    public void recordCacheLoad() {
+        if (enabled) {
+            cacheLoads.increment();
+        }
+    }
+
+    /**
+     * Records the time taken to run a shader.
+     *
+     * @param shaderClass
+     *          The class of the shader.
+     *
+     * The shader isn't recorded if it's start time is 0, as the metrics were
+     * enabled after it began to run.
+     *
+     * @param startNanos
+     *          The value of System.nanoTime(), when the shader began to run,
+     *          or 0 if it wasn't timed.
+     *
+     * @throws NullPointerException
+     *          If the shader class is null.
+     */
+    public void recordShader(final @NonNull Class<?> shaderClass, final long startNanos) {
+        if (enabled == false || startNanos == 0) {
+            return;
+        }
+
+        final long nanos = System.nanoTime() - startNanos;
+        shaderNanos.computeIfAbsent(shaderClass, k -> new LongAdder()).add(nanos);
+    }
+
+    /** Records the loss of a drawing buffer's contents. */
+    public void recordContentsLost() {
+        if (enabled) {
+            contentsLostCount.increment();
+        }
+    }
+
+    /** Records the restoration of a drawing buffer's contents. */
+    public void recordContentsRestored() {
+        if (enabled) {
+            contentsRestoredCount.increment();
+        }
+    }
+
+    /**
+     * Retrieves the current time, to pass to one of the record functions, if
+     * metrics are being recorded.
+     *
+     * @return
+     *          The value of System.nanoTime(), or 0 if metrics aren't being
+     *          recorded.
+     */
+    public long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, so that they can
+     * be viewed with a JMX client.
+     *
+     * If the metrics are already registered, then they're unregistered first.
+     *
+     * @param name
+     *          The name to register the metrics under, which must be unique
+     *          within the application.
+     *
+     * @throws NullPointerException
+     *          If the name is null.
+     *
+     * @throws JMException
+     *          If the metrics could not be registered.
+     */
+    public synchronized void registerMBean(final @NonNull String name) throws JMException {
+        unregisterMBean();
+
+        final ObjectName objectName = new ObjectName("com.valkryst.VTerminal:type=RenderMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        this.objectName = objectName;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server.
+     *
+     * Does nothing if the metrics aren't registered.
+     *
+     * @throws JMException
+     *          If the metrics could not be unregistered.
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName == null) {
+            return;
+        }
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+
+        objectName = null;
+    }
+
+    /**
+     * Determines which histogram bucket a frame time belongs in.
+     *
+     * @param frameNanos
+     *          The frame time, in nanoseconds.
+     *
+     * @return
+     *          The index of the bucket.
+     */
+    static int getHistogramBucket(final long frameNanos) {
+        final long frameMicros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, frameNanos));
+        final int bucket = 64 - Long.numberOfLeadingZeros(frameMicros);
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        frameCount.reset();
+        totalFrameNanos.reset();
+        maxFrameNanos.reset();
+
+        for (int i = 0 ; i < HISTOGRAM_BUCKETS ; i++) {
+            frameTimeHistogram.set(i, 0);
+        }
+
+        tilesScanned.reset();
+        tilesDrawn.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+        cacheEvictions.reset();
+        cacheLoads.reset();
+        shaderNanos.clear();
+        contentsLostCount.reset();
+        contentsRestoredCount.reset();
+    }
+
+    @Override
+    public long getFrameCount() {
+        return frameCount.sum();
+    }
+
+    @Override
+    public long getMeanFrameTimeNanos() {
+        final long count = frameCount.sum();
+        return count == 0 ? 0 : totalFrameNanos.sum() / count;
+    }
+
+    @Override
+    public long getMaxFrameTimeNanos() {
+        return maxFrameNanos.get();
+    }
+
+    @Override
+    public long[] getFrameTimeHistogram() {
+        final long[] histogram = new long[HISTOGRAM_BUCKETS];
+
+        for (int i = 0 ; i < HISTOGRAM_BUCKETS ; i++) {
+            histogram[i] = frameTimeHistogram.get(i);
+        }
+
+        return histogram;
+    }
+
+    @Override
+    public long getTilesScanned() {
+        return tilesScanned.sum();
+    }
+
+    @Override
+    public long getTilesDrawn() {
+        return tilesDrawn.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getCacheEvictions() {
+        return cacheEvictions.sum();
+    }
+
+    @Override
+    public long getCacheLoads() {
+        return cacheLoads.sum();
+    }
+
+    @Override
+    public Map<String, Long> getShaderNanos() {
+        final Map<String, Long> result = new TreeMap<>();
+
+        for (final Map.Entry<Class<?>, LongAdder> entry : shaderNanos.entrySet()) {
+            result.put(entry.getKey().getSimpleName(), entry.getValue().sum());
+        }
+
+        return result;
+    }
+
+    @Override
+    public long getContentsLostCount() {
+        return contentsLostCount.sum();
+    }
+
+    @Override
+    public long getContentsRestoredCount() {
+        return contentsRestoredCount.sum();
+    }
+}
@@ -0,0 +1,135 @@
+package com.valkryst.VTerminal.misc;
+
+import java.util.Map;
+
+public interface RenderMetricsMXBean {
+    /**
+     * Determines whether or not metrics are being recorded.
+     *
+     * @return
+     *          Whether or not metrics are being recorded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Sets whether or not metrics are recorded.
+     *
+     * @param enabled
+     *          Whether or not metrics are recorded.
+     */
+    void setEnabled(final boolean enabled);
+
+    /** Resets every metric to zero. */
+    void reset();
+
+    /**
+     * Retrieves the number of frames drawn.
+     *
+     * @return
+     *          The number of frames drawn.
+     */
+    long getFrameCount();
+
+    /**
+     * Retrieves the mean time, in nanoseconds, taken to draw a frame.
+     *
+     * @return
+     *          The mean frame time, or 0 if no frames have been drawn.
+     */
+    long getMeanFrameTimeNanos();
+
+    /**
+     * Retrieves the longest time, in nanoseconds, taken to draw a frame.
+     *
+     * @return
+     *          The longest frame time.
+     */
+    long getMaxFrameTimeNanos();
+
+    /**
+     * Retrieves the frame time histogram.
+     *
+     * The value at index i is the number of frames which took less than 2^i
+     * microseconds, but no less than 2^(i-1) microseconds, to draw. The last
+     * index also includes every slower frame.
+     *
+     * @return
+     *          A copy of the histogram.
+     */
+    long[] getFrameTimeHistogram();
+
+    /**
+     * Retrieves the number of dirty tiles whose keys were compared, to
+     * determine whether they must be drawn.
+     *
+     * @return
+     *          The number of tiles scanned.
+     */
+    long getTilesScanned();
+
+    /**
+     * Retrieves the number of tiles drawn.
+     *
+     * @return
+     *          The number of tiles drawn.
+     */
+    long getTilesDrawn();
+
+    /**
+     * Retrieves the number of images found in the image cache.
+     *
+     * @return
+     *          The number of cache hits.
+     */
+    long getCacheHits();
+
+    /**
+     * Retrieves the number of images not found in the image cache.
+     *
+     * @return
+     *          The number of cache misses.
+     */
+    long getCacheMisses();
+
+    /**
+     * Retrieves the number of images evicted from the image cache.
+     *
+     * @return
+     *          The number of cache evictions.
+     */
+    long getCacheEvictions();
+
+    /**
+     * Retrieves the number of images created and loaded into the image cache.
+     *
+     * @return
+     *          The number of cache loads.
+     */
+    long getCacheLoads();
+
+    /**
+     * Retrieves the total time, in nanoseconds, spent running each shader.
+     *
+     * @return
+     *          The total time of each shader, by the name of it's class.
+     */
+    Map<String, Long> getShaderNanos();
+
+    /**
+     * Retrieves the number of times that the contents of a drawing buffer were
+     * lost, causing a frame to be drawn again.
+     *
+     * @return
+     *          The number of times that buffer contents were lost.
+     */
+    long getContentsLostCount();
+
+    /**
+     * Retrieves the number of times that the contents of a drawing buffer were
+     * restored, causing a frame to be drawn again.
+     *
+     * @return
+     *          The number of times that buffer contents were restored.
+     */
+    long getContentsRestoredCount();
+}
@@ -45,4 +45,7 @@ public class ColorPalette {
     @Getter private final Color textArea_defaultForeground = new Color(0xFF68D0FF, true);
     @Getter private final Color textArea_caretBackground = textArea_defaultForeground;
     @Getter private final Color textArea_caretForeground = textArea_defaultBackground;
+
+    @Getter private final Color console_defaultBackground = textArea_defaultBackground;
+    @Getter private final Color console_defaultForeground = textArea_defaultForeground;
 }
@@ -45,4 +45,7 @@ public class P12PhosphorColorPalette extends ColorPalette {
     @Getter private final Color textArea_defaultForeground = defaultForeground;
     @Getter private final Color textArea_caretBackground = textArea_defaultForeground;
     @Getter private final Color textArea_caretForeground = textArea_defaultBackground;
+
+    @Getter private final Color console_defaultBackground = textArea_defaultBackground;
+    @Getter private final Color console_defaultForeground = textArea_defaultForeground;
 }
@@ -0,0 +1,228 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * The shape of a single-colored image, as the alpha of each pixel.
+ *
+ * Shaders whose expensive work depends only on the shape of a character, such
+ * as a blur, can run that work on the mask of the character's image and then
+ * color the result. As the mask doesn't include the color, the result can be
+ * reused for every color of the character.
+ *
+ * Two masks are equal if they have the same size and alphas, regardless of
+ * the color of the images that they were extracted from.
+ */
+@ToString(of={"width", "height", "rgb"})
+public final class AlphaMask {
+    /** The width of the mask. */
+    @Getter private final int width;
+    /** The height of the mask. */
+    @Getter private final int height;
+
+    /** The alpha of each pixel, ordered first by row, then by column. */
+    private final byte[] alphas;
+
+    /** The RGB color, without alpha, of the image that the mask was extracted from. */
+    @Getter private final int rgb;
+
+    /** The hash code of the mask. */
+    private final int hash;
+
+    /**
+     * Constructs a new AlphaMask.
+     *
+     * @param width
+     *          The width of the mask.
+     *
+     * @param height
+     *          The height of the mask.
+     *
+     * @param alphas
+     *          The alpha of each pixel, ordered first by row, then by column.
+     *          The array is used directly, so it mustn't be modified later.
+     *
+     * @param rgb
+     *          The RGB color, without alpha, of the image that the mask was
+     *          extracted from.
+     *
+     * @throws NullPointerException
+     *          If the alphas are null.
+     *
+     * @throws IllegalArgumentException
+     *          If the number of alphas isn't 'width * height'.
+     */
+    public AlphaMask(final int width, final int height, final @NonNull byte[] alphas, final int rgb) {
+        if (width < 0 || height < 0 || (long) width * height != alphas.length) {
+            throw new IllegalArgumentException("The mask must have exactly one alpha for each pixel.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.alphas = alphas;
+        this.rgb = rgb & 0x00FFFFFF;
+
+        hash = 31 * (31 * width + height) + Arrays.hashCode(alphas);
+    }
+
+    /**
+     * Extracts the mask of an image, treating one color as transparent.
+     *
+     * @param image
+     *          The image.
+     *
+     * @param transparentRGB
+     *          The ARGB color, usually the background color, whose pixels
+     *          are treated as transparent.
+     *
+     * @return
+     *          The mask, or null if the pixels which aren't transparent
+     *          don't all share the same RGB color.
+     *
+     * @throws NullPointerException
+     *          If the image is null.
+     */
+    public static AlphaMask extract(final @NonNull BufferedImage image, final int transparentRGB) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] pixels = ShaderPipeline.getPixels(ShaderPipeline.toArgbImage(image));
+        final byte[] alphas = new byte[pixels.length];
+
+        int rgb = -1;
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            final int pixel = pixels[i];
+
+            if (pixel == transparentRGB || (pixel >>> 24) == 0) {
+                continue;
+            }
+
+            if (rgb == -1) {
+                rgb = pixel & 0x00FFFFFF;
+            } else if (rgb != (pixel & 0x00FFFFFF)) {
+                return null;
+            }
+
+            alphas[i] = (byte) (pixel >>> 24);
+        }
+
+        return new AlphaMask(width, height, alphas, rgb == -1 ? 0 : rgb);
+    }
+
+    /**
+     * Reads the alpha channel of an image into a mask.
+     *
+     * @param image
+     *          The image.
+     *
+     * @return
+     *          The mask, whose color is black.
+     *
+     * @throws NullPointerException
+     *          If the image is null.
+     */
+    public static AlphaMask fromAlphaChannel(final @NonNull BufferedImage image) {
+        final int[] pixels = ShaderPipeline.getPixels(ShaderPipeline.toArgbImage(image));
+        final byte[] alphas = new byte[pixels.length];
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            alphas[i] = (byte) (pixels[i] >>> 24);
+        }
+
+        return new AlphaMask(image.getWidth(), image.getHeight(), alphas, 0);
+    }
+
+    /**
+     * Retrieves the alpha of a pixel.
+     *
+     * @param index
+     *          The index of the pixel, ordered first by row, then by column.
+     *
+     * @return
+     *          The alpha, from 0 to 255.
+     */
+    public int getAlpha(final int index) {
+        return alphas[index] & 0xFF;
+    }
+
+    /**
+     * Creates an image of the mask, colored with the color of the image that
+     * the mask was extracted from.
+     *
+     * @return
+     *          The ARGB image.
+     */
+    public BufferedImage toImage() {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final int[] pixels = ShaderPipeline.getPixels(image);
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            pixels[i] = (getAlpha(i) << 24) | rgb;
+        }
+
+        return image;
+    }
+
+    /**
+     * Blends a color onto another color.
+     *
+     * @param sourceRGB
+     *          The RGB color being blended, without alpha.
+     *
+     * @param sourceAlpha
+     *          The opacity of the color being blended, from 0 to 255.
+     *
+     * @param destinationARGB
+     *          The ARGB color being blended onto.
+     *
+     * @return
+     *          The blended ARGB color.
+     */
+    public static int blend(final int sourceRGB, final int sourceAlpha, final int destinationARGB) {
+        if (sourceAlpha == 0) {
+            return destinationARGB;
+        }
+
+        if (sourceAlpha == 255) {
+            return 0xFF000000 | sourceRGB;
+        }
+
+        // The destination's share of the result is scaled by it's own alpha.
+        final int destinationAlpha = destinationARGB >>> 24;
+        final int destinationWeight = (destinationAlpha * (255 - sourceAlpha) + 127) / 255;
+        final int alpha = sourceAlpha + destinationWeight;
+
+        final int red = ((((sourceRGB >> 16) & 0xFF) * sourceAlpha) + (((destinationARGB >> 16) & 0xFF) * destinationWeight) + (alpha / 2)) / alpha;
+        final int green = ((((sourceRGB >> 8) & 0xFF) * sourceAlpha) + (((destinationARGB >> 8) & 0xFF) * destinationWeight) + (alpha / 2)) / alpha;
+        final int blue = (((sourceRGB & 0xFF) * sourceAlpha) + ((destinationARGB & 0xFF) * destinationWeight) + (alpha / 2)) / alpha;
+
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    @Override
+    public boolean equals(final Object otherObj) {
+        if (otherObj == this) {
+            return true;
+        }
+
+        if (otherObj instanceof AlphaMask == false) {
+            return false;
+        }
+
+        final AlphaMask otherMask = (AlphaMask) otherObj;
+        return hash == otherMask.hash
+               && width == otherMask.width
+               && height == otherMask.height
+               && Arrays.equals(alphas, otherMask.alphas);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,99 @@
+package com.valkryst.VTerminal.shader;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * A cache of the color-independent results of shaders, such as the blurred
+ * mask of a character, shared by every shader.
+ *
+ * Tile images are cached by their colors, so the image of a character with a
+ * glow is created once for every pair of colors that the character is drawn
+ * with. By caching the blurred mask of the character, the blur is only run
+ * once, and each colored image is composited from the cached mask.
+ *
+ * The cache is bounded by the total number of alphas in the cached masks.
+ */
+public final class AlphaMaskCache {
+    /** The maximum total number of alphas in the cached masks. */
+    public final static long MAXIMUM_SIZE = 16L * 1024 * 1024;
+
+    /** The cached masks. */
+    private final static Cache<Key, AlphaMask> CACHE = Caffeine.newBuilder()
+                                                               .maximumWeight(MAXIMUM_SIZE)
+                                                               .weigher((Key key, AlphaMask mask) -> mask.getWidth() * mask.getHeight())
+                                                               .executor(Runnable::run)
+                                                               .build();
+
+    private AlphaMaskCache() {}
+
+    /**
+     * Retrieves the result of an operation on a mask, computing and caching
+     * the result if it isn't cached.
+     *
+     * @param operation
+     *          The name of the operation, which must include every parameter
+     *          that affects the result, such as "GaussianBlur(radius=5)".
+     *
+     * @param mask
+     *          The mask.
+     *
+     * @param function
+     *          The function which computes the result of the operation. It
+     *          must depend only on the alphas of the mask.
+     *
+     * @return
+     *          The result.
+     *
+     * @throws NullPointerException
+     *          If the operation, mask, or function is null.
+     */
+    public static AlphaMask get(final @NonNull String operation, final @NonNull AlphaMask mask, final @NonNull UnaryOperator<AlphaMask> function) {
+        return CACHE.get(new Key(operation, mask), key -> function.apply(mask));
+    }
+
+    /**
+     * Retrieves the number of cached results.
+     *
+     * @return
+     *          The number of cached results.
+     */
+    public static long size() {
+        CACHE.cleanUp();
+        return CACHE.estimatedSize();
+    }
+
+    /** Removes all cached results. */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @ToString
+    private final static class Key {
+        /** The name of the operation. */
+        private final String operation;
+
+        /** The mask that the operation was run on. */
+        private final AlphaMask mask;
+
+        /**
+         * Constructs a new Key.
+         *
+         * @param operation
+         *          The name of the operation.
+         *
+         * @param mask
+         *          The mask that the operation was run on.
+         */
+        private Key(final String operation, final AlphaMask mask) {
+            this.operation = operation;
+            this.mask = mask;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A shader whose effect changes over time, by cycling through a fixed number
+ * of keyframes within a period.
+ *
+ * Each keyframe is an ordinary shader. The image cache renders the keyframes
+ * of a tile once, as a strip, and the screen draws the keyframe that matches
+ * it's clock.
+ */
+public interface AnimatedShader extends Shader {
+    /**
+     * Retrieves the time taken to cycle through every keyframe.
+     *
+     * @return
+     *          The period, in milliseconds. Must be at least 1.
+     */
+    long getPeriod();
+
+    /**
+     * Retrieves the number of keyframes, which are shown for equal lengths of
+     * time within the period.
+     *
+     * @return
+     *          The number of keyframes. Must be at least 1.
+     */
+    int getFrameCount();
+
+    /**
+     * Retrieves the shader of a keyframe.
+     *
+     * @param frame
+     *          The index of the keyframe, from 0 to one less than the frame
+     *          count.
+     *
+     * @return
+     *          The shader.
+     */
+    Shader getFrame(final int frame);
+
+    /**
+     * Runs the shader of the first keyframe on an image.
+     *
+     * @param image
+     *          The image.
+     *
+     * @return
+     *          The processed image.
+     *
+     * @throws NullPointerException
+     *           If the image is null.
+     */
+    @Override
+    default BufferedImage run(final @NonNull BufferedImage image) {
+        return getFrame(0).run(image);
+    }
+}
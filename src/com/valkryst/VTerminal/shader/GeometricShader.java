@@ -0,0 +1,40 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.NonNull;
+
+public interface GeometricShader extends Shader {
+    @Override
+    default ShaderKind getKind() {
+        return ShaderKind.GEOMETRIC;
+    }
+
+    /**
+     * Determines whether or not the shader leaves every pixel where it is.
+     *
+     * @return
+     *          Whether or not the shader leaves every pixel where it is.
+     */
+    boolean isIdentity();
+
+    /**
+     * Moves the pixels of an image.
+     *
+     * @param source
+     *          The ARGB pixels of the image, ordered first by row, then by
+     *          column.
+     *
+     * @param destination
+     *          The array to write the moved pixels into. This is never the
+     *          same array as the source.
+     *
+     * @param width
+     *          The width of the image.
+     *
+     * @param height
+     *          The height of the image.
+     *
+     * @throws NullPointerException
+     *           If the source or destination is null.
+     */
+    void transform(final @NonNull int[] source, final @NonNull int[] destination, final int width, final int height);
+}
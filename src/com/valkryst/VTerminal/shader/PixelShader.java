@@ -0,0 +1,66 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.misc.ImageCache;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.util.function.IntUnaryOperator;
+
+public interface PixelShader extends Shader {
+    @Override
+    default ShaderKind getKind() {
+        return ShaderKind.PER_PIXEL;
+    }
+
+    /**
+     * Retrieves the function which shades each pixel of a tile's image.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @return
+     *          The function, which maps an ARGB pixel to it's shaded ARGB
+     *          pixel, or null if the shader leaves every pixel unchanged.
+     *
+     * @throws NullPointerException
+     *           If the tile is null.
+     */
+    IntUnaryOperator getPixelFunction(final @NonNull Tile tile);
+
+    /**
+     * Runs a per-pixel shader on a copy of an image.
+     *
+     * @param shader
+     *          The shader.
+     *
+     * @param image
+     *          The image.
+     *
+     * @param tile
+     *          The tile that the image is of.
+     *
+     * @return
+     *          The processed image, or the image itself if the shader leaves
+     *          every pixel unchanged.
+     *
+     * @throws NullPointerException
+     *           If the shader, image, or tile is null.
+     */
+    static BufferedImage apply(final @NonNull PixelShader shader, final @NonNull BufferedImage image, final @NonNull Tile tile) {
+        final IntUnaryOperator function = shader.getPixelFunction(tile);
+
+        if (function == null) {
+            return image;
+        }
+
+        final BufferedImage result = ShaderPipeline.toArgbImage(ImageCache.cloneImage(image));
+        final int[] pixels = ShaderPipeline.getPixels(result);
+
+        for (int i = 0 ; i < pixels.length ; i++) {
+            pixels[i] = function.applyAsInt(pixels[i]);
+        }
+
+        return result;
+    }
+}
@@ -6,10 +6,20 @@ import lombok.NonNull;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 
+/**
+ * An effect which is run on the image of a tile.
+ *
+ * Shaders must be immutable value objects, with equals and hashCode functions
+ * that compare their settings, as they're shared between tiles and interned
+ * by the ShaderInterner.
+ */
 public interface Shader {
     /**
      * Runs the shader on an image.
      *
+     * The image may be modified by shaders which are run after this one, so
+     * the result must be either the image itself or a new image.
+     *
      * @param image
      *          The image.
      *
@@ -22,12 +32,28 @@ public interface Shader {
     BufferedImage run(final @NonNull BufferedImage image);
 
     /**
-     * Returns a copy of the shader.
+     * Retrieves the kind of the shader, which determines how it's run by the
+     * shader pipeline.
      *
      * @return
+     *          The kind of the shader.
+     */
+    default ShaderKind getKind() {
+        return ShaderKind.NEIGHBORHOOD;
+    }
+
+    /**
+     * Returns a copy of the shader.
+     *
+     * Shaders are immutable, so they can be shared by any number of tiles,
+     * and this returns the shader itself.
      *
+     * @return
+     *          The shader.
      */
-    Shader copy();
+    default Shader copy() {
+        return this;
+    }
 
     /**
      * Swaps two colors on an image.
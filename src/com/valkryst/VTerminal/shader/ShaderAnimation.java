@@ -0,0 +1,151 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The timeline of a chain of shaders, which contains one or more animated
+ * shaders.
+ *
+ * The timeline has the period and frame count of the chain's first animated
+ * shader. At each of it's frames, every animated shader in the chain shows
+ * the keyframe at the same point within it's own cycle.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class ShaderAnimation {
+    /** The time taken to cycle through every frame, in milliseconds. */
+    private final long period;
+    /** The number of frames. */
+    private final int frameCount;
+
+    /**
+     * Constructs a new ShaderAnimation.
+     *
+     * @param period
+     *          The time taken to cycle through every frame, in milliseconds.
+     *
+     * @param frameCount
+     *          The number of frames.
+     */
+    private ShaderAnimation(final long period, final int frameCount) {
+        this.period = period;
+        this.frameCount = frameCount;
+    }
+
+    /**
+     * Creates the timeline of a chain of shaders.
+     *
+     * @param shaders
+     *          The shaders.
+     *
+     * @return
+     *          The timeline, or null if none of the shaders are animated.
+     *
+     * @throws NullPointerException
+     *          If the shaders are null.
+     *
+     * @throws IllegalArgumentException
+     *          If the period or frame count of an animated shader is below 1.
+     */
+    public static ShaderAnimation of(final @NonNull List<Shader> shaders) {
+        ShaderAnimation animation = null;
+
+        for (final Shader shader : shaders) {
+            if (shader instanceof AnimatedShader == false) {
+                continue;
+            }
+
+            final AnimatedShader animatedShader = (AnimatedShader) shader;
+
+            if (animatedShader.getPeriod() < 1) {
+                throw new IllegalArgumentException("The period of an animated shader cannot be below 1.");
+            }
+
+            if (animatedShader.getFrameCount() < 1) {
+                throw new IllegalArgumentException("The frame count of an animated shader cannot be below 1.");
+            }
+
+            if (animation == null) {
+                animation = new ShaderAnimation(animatedShader.getPeriod(), animatedShader.getFrameCount());
+            }
+        }
+
+        return animation;
+    }
+
+    /**
+     * Retrieves the frame which is shown at a point in time.
+     *
+     * @param time
+     *          The time, in milliseconds.
+     *
+     * @return
+     *          The index of the frame.
+     */
+    public int getFrame(final long time) {
+        return (int) ((Math.floorMod(time, period) * frameCount) / period);
+    }
+
+    /**
+     * Retrieves the time at which the frame, after the frame shown at a point
+     * in time, begins.
+     *
+     * @param time
+     *          The time, in milliseconds.
+     *
+     * @return
+     *          The time, in milliseconds, or Long.MAX_VALUE if the animation
+     *          only has one frame.
+     */
+    public long getNextFrameTime(final long time) {
+        if (frameCount == 1) {
+            return Long.MAX_VALUE;
+        }
+
+        final long offset = Math.floorMod(time, period);
+        final long nextFrame = getFrame(time) + 1;
+
+        // The first point in the cycle at which the next frame is shown.
+        final long nextOffset = ((nextFrame * period) + frameCount - 1) / frameCount;
+        return time - offset + nextOffset;
+    }
+
+    /**
+     * Retrieves the shaders which are run to render a frame, by replacing
+     * each animated shader with it's keyframe.
+     *
+     * @param shaders
+     *          The shaders of the chain.
+     *
+     * @param frame
+     *          The index of the frame.
+     *
+     * @return
+     *          The shaders.
+     *
+     * @throws NullPointerException
+     *          If the shaders are null.
+     */
+    public List<Shader> getFrameShaders(final @NonNull List<Shader> shaders, final int frame) {
+        final List<Shader> frameShaders = new ArrayList<>(shaders.size());
+
+        for (final Shader shader : shaders) {
+            if (shader instanceof AnimatedShader) {
+                final AnimatedShader animatedShader = (AnimatedShader) shader;
+                final int keyframe = (int) (((long) frame * animatedShader.getFrameCount()) / frameCount);
+                frameShaders.add(animatedShader.getFrame(keyframe));
+            } else {
+                frameShaders.add(shader);
+            }
+        }
+
+        return frameShaders;
+    }
+}
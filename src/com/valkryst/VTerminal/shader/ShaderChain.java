@@ -0,0 +1,168 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An interned chain of shaders, identified by an int id, so that a tile only
+ * needs to hold a reference to it's chain.
+ *
+ * Two chains are equal if they contain equal shaders, of the same classes,
+ * in the same order. Chains are created by ShaderChains, which returns the
+ * same instance for equal chains.
+ */
+public final class ShaderChain {
+    /** The empty chain, which always has the id 0. */
+    public final static ShaderChain EMPTY = new ShaderChain(0, new Shader[0]);
+
+    /** The id of the chain, which no other chain has during the session. */
+    @Getter private final int id;
+
+    /** The shaders, in the order they're run. */
+    @Getter private final List<Shader> shaders;
+
+    /**
+     * The animation of the chain, or null if the chain doesn't contain any
+     * animated shaders.
+     */
+    @Getter private final ShaderAnimation animation;
+
+    /** The canonical instances of the chain's shaders. */
+    private final Shader[] shaderArray;
+
+    /** The precomputed hash of the chain. */
+    private final int hash;
+
+    /**
+     * Constructs a new ShaderChain.
+     *
+     * @param id
+     *          The id of the chain.
+     *
+     * @param shaders
+     *          The canonical instances of the shaders, in the order they're
+     *          run.
+     *
+     * @throws IllegalArgumentException
+     *          If the period or frame count of an animated shader is below 1.
+     */
+    ShaderChain(final int id, final Shader[] shaders) {
+        this.id = id;
+        this.shaders = Collections.unmodifiableList(Arrays.asList(shaders));
+        animation = ShaderAnimation.of(this.shaders);
+        shaderArray = shaders;
+
+        int hash = 1;
+
+        for (final Shader shader : shaders) {
+            hash = (31 * hash) + (shader.getClass().hashCode() ^ shader.hashCode());
+        }
+
+        this.hash = hash;
+    }
+
+    /**
+     * Creates a copy of the chain with a different id.
+     *
+     * @param id
+     *          The id.
+     *
+     * @return
+     *          The copy.
+     */
+    ShaderChain withId(final int id) {
+        return new ShaderChain(id, shaderArray);
+    }
+
+    /**
+     * Retrieves the chain, which consists of this chain followed by one or
+     * more shaders.
+     *
+     * @param shaders
+     *          The shaders to append. Null shaders are ignored.
+     *
+     * @return
+     *          The chain.
+     */
+    public ShaderChain append(final Shader ... shaders) {
+        if (shaders == null || shaders.length == 0) {
+            return this;
+        }
+
+        final List<Shader> chain = new ArrayList<>(this.shaders);
+
+        for (final Shader shader : shaders) {
+            if (shader != null) {
+                chain.add(shader);
+            }
+        }
+
+        return ShaderChains.get(chain);
+    }
+
+    /**
+     * Retrieves the chain, which consists of this chain without any shaders
+     * that are equal to one or more shaders.
+     *
+     * @param shaders
+     *          The shaders to remove.
+     *
+     * @return
+     *          The chain.
+     */
+    public ShaderChain remove(final Shader ... shaders) {
+        if (this == EMPTY || shaders == null || shaders.length == 0) {
+            return this;
+        }
+
+        final List<Shader> chain = new ArrayList<>(this.shaders);
+
+        if (chain.removeAll(Arrays.asList(shaders))) {
+            return ShaderChains.get(chain);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean equals(final Object otherObj) {
+        if (this == otherObj) {
+            return true;
+        }
+
+        if (otherObj instanceof ShaderChain == false) {
+            return false;
+        }
+
+        final ShaderChain otherChain = (ShaderChain) otherObj;
+
+        if (hash != otherChain.hash || shaderArray.length != otherChain.shaderArray.length) {
+            return false;
+        }
+
+        for (int i = 0 ; i < shaderArray.length ; i++) {
+            final Shader shader = shaderArray[i];
+            final Shader otherShader = otherChain.shaderArray[i];
+
+            if (shader.getClass() != otherShader.getClass() || shader.equals(otherShader) == false) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ShaderChain(id=" + id + ", shaders=" + shaders + ")";
+    }
+}
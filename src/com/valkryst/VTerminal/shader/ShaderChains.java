@@ -0,0 +1,96 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Returns a canonical instance of each distinct chain of shaders, so that
+ * tiles with equal shaders share the same chain.
+ *
+ * Canonical chains are only weakly held, so a chain that's no longer used by
+ * any tile or cache key can be garbage collected, and the number of chains
+ * doesn't grow when shader settings are changed over time.
+ *
+ * The id of a collected chain is never given to another chain, as ids are
+ * also stored in the keys of tiles, which may outlive the chain.
+ */
+public final class ShaderChains {
+    /** The canonical instance of each distinct chain, other than the empty chain. */
+    private final static Map<ShaderChain, WeakReference<ShaderChain>> CHAINS = new WeakHashMap<>();
+
+    /** The id of the next chain to be created. */
+    private static int nextId = 1;
+
+    private ShaderChains() {}
+
+    /**
+     * Retrieves the canonical instance of a chain of shaders, creating the
+     * chain if no equal chain exists.
+     *
+     * The canonical instance of each shader is stored in the chain, rather
+     * than the shader itself.
+     *
+     * @param shaders
+     *          The shaders, in the order they're run.
+     *
+     * @return
+     *          The chain.
+     *
+     * @throws NullPointerException
+     *          If the shaders, or any of the shaders, are null.
+     *
+     * @throws IllegalArgumentException
+     *          If the period or frame count of an animated shader is below 1.
+     *
+     * @throws IllegalStateException
+     *          If every id has been used.
+     */
+    public static ShaderChain get(final @NonNull List<Shader> shaders) {
+        if (shaders.isEmpty()) {
+            return ShaderChain.EMPTY;
+        }
+
+        final Shader[] canonicalShaders = new Shader[shaders.size()];
+
+        for (int i = 0 ; i < canonicalShaders.length ; i++) {
+            canonicalShaders[i] = ShaderInterner.intern(shaders.get(i));
+        }
+
+        // The chain is compared with the canonical chains before it's given an id.
+        final ShaderChain chain = new ShaderChain(-1, canonicalShaders);
+
+        synchronized (CHAINS) {
+            final WeakReference<ShaderChain> reference = CHAINS.get(chain);
+            final ShaderChain canonical = (reference == null ? null : reference.get());
+
+            if (canonical != null) {
+                return canonical;
+            }
+
+            if (nextId == 0) {
+                throw new IllegalStateException("Every shader chain id has been used.");
+            }
+
+            final ShaderChain newChain = chain.withId(nextId++);
+            CHAINS.put(newChain, new WeakReference<>(newChain));
+            return newChain;
+        }
+    }
+
+    /**
+     * Retrieves the number of chains which haven't been garbage collected,
+     * including the empty chain.
+     *
+     * @return
+     *          The number of chains.
+     */
+    public static int size() {
+        synchronized (CHAINS) {
+            return CHAINS.size() + 1;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.valkryst.VTerminal.shader;
+
+import lombok.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Returns a canonical instance of each distinct shader, so that tiles with
+ * equal shaders share the same instances.
+ *
+ * Canonical instances are only weakly held, so a shader that's no longer
+ * used by any tile can still be garbage collected.
+ */
+public final class ShaderInterner {
+    /** The canonical instance of each distinct shader. */
+    private final static Map<Shader, WeakReference<Shader>> SHADERS = new WeakHashMap<>();
+
+    private ShaderInterner() {}
+
+    /**
+     * Retrieves the canonical instance of a shader.
+     *
+     * If no shader, equal to the given shader, has been interned, then the
+     * given shader becomes the canonical instance.
+     *
+     * @param shader
+     *          The shader.
+     *
+     * @return
+     *          The canonical instance, of the same class as the shader.
+     *
+     * @throws NullPointerException
+     *          If the shader is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Shader> T intern(final @NonNull T shader) {
+        synchronized (SHADERS) {
+            final WeakReference<Shader> reference = SHADERS.get(shader);
+            final Shader canonical = (reference == null ? null : reference.get());
+
+            // Equal shaders of different classes, such as a subclass which
+            // doesn't change any settings, aren't interchangeable.
+            if (canonical != null && canonical.getClass() == shader.getClass()) {
+                return (T) canonical;
+            }
+
+            if (canonical == null) {
+                SHADERS.put(shader, new WeakReference<>(shader));
+            }
+
+            return shader;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.valkryst.VTerminal.shader;
+
+public enum ShaderKind {
+    /**
+     * Each pixel of the result depends only on the same pixel of the image,
+     * and on the tile.
+     *
+     * Consecutive per-pixel shaders are fused into a single pass over the
+     * image. Shaders of this kind must implement PixelShader.
+     */
+    PER_PIXEL,
+
+    /**
+     * Each pixel of the result depends on the surrounding pixels of the
+     * image, such as with a blur.
+     *
+     * Shaders of this kind are run on their own, and may create a new image.
+     */
+    NEIGHBORHOOD,
+
+    /**
+     * Each pixel of the result is a pixel of the image, moved to a new
+     * position, such as with a flip.
+     *
+     * Shaders of this kind must implement GeometricShader.
+     */
+    GEOMETRIC
+}
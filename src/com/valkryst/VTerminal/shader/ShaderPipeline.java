@@ -0,0 +1,311 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.misc.RenderMetrics;
+import com.valkryst.VTerminal.shader.character.CharShader;
+import lombok.NonNull;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Runs the shaders of a tile on it's image, while creating as few images as
+ * possible.
+ *
+ * The shaders are run according to their kind:
+ *
+ *  - Consecutive per-pixel shaders are fused into a single pass over the
+ *    pixels of the image, which are modified in place.
+ *  - Geometric shaders move the pixels of the image in place, using a
+ *    thread-local scratch buffer.
+ *  - Neighborhood shaders are run on their own, and the image that they
+ *    return is used by the remaining shaders.
+ *
+ * So a chain without neighborhood shaders creates no images, other than the
+ * image that it's run on.
+ */
+public final class ShaderPipeline {
+    /** The reusable buffers of each thread. */
+    private final static ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private ShaderPipeline() {}
+
+    /**
+     * Runs the shaders of a tile on it's image.
+     *
+     * The image is modified, so it mustn't be shared with anything else.
+     *
+     * @param image
+     *          The image.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @param metrics
+     *          The metrics to record the time taken by each shader with, or
+     *          null if the time isn't recorded. The time taken by a fused
+     *          pass is recorded under the PixelShader interface.
+     *
+     * @return
+     *          The processed image.
+     *
+     * @throws NullPointerException
+     *           If the image or tile is null.
+     */
+    public static BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile tile, final RenderMetrics metrics) {
+        return run(image, tile.getShaders(), tile, metrics);
+    }
+
+    /**
+     * Runs a list of shaders on the image of a tile, such as the shaders of
+     * one frame of the tile's animation.
+     *
+     * The image is modified, so it mustn't be shared with anything else.
+     *
+     * @param image
+     *          The image.
+     *
+     * @param shaders
+     *          The shaders, in the order they're run.
+     *
+     * @param tile
+     *          The tile.
+     *
+     * @param metrics
+     *          The metrics to record the time taken by each shader with, or
+     *          null if the time isn't recorded.
+     *
+     * @return
+     *          The processed image.
+     *
+     * @throws NullPointerException
+     *           If the image, shaders, or tile is null.
+     */
+    public static BufferedImage run(final @NonNull BufferedImage image, final @NonNull List<Shader> shaders, final @NonNull Tile tile, final RenderMetrics metrics) {
+        if (shaders.isEmpty()) {
+            return image;
+        }
+
+        BufferedImage result = toArgbImage(image);
+        int i = 0;
+
+        while (i < shaders.size()) {
+            final Shader shader = shaders.get(i);
+            final long startNanos = metrics == null ? 0 : metrics.startTimer();
+
+            switch (shader.getKind()) {
+                case PER_PIXEL: {
+                    final int end = findEndOfPixelShaders(shaders, i);
+                    runPixelShaders(getPixels(result), shaders.subList(i, end), tile);
+
+                    if (metrics != null) {
+                        metrics.recordShader(PixelShader.class, startNanos);
+                    }
+
+                    i = end;
+                    continue;
+                }
+                case GEOMETRIC: {
+                    final GeometricShader geometricShader = (GeometricShader) shader;
+
+                    if (geometricShader.isIdentity() == false) {
+                        final int[] pixels = getPixels(result);
+                        final int[] source = BUFFERS.get().getPixels(pixels.length);
+                        System.arraycopy(pixels, 0, source, 0, pixels.length);
+                        geometricShader.transform(source, pixels, result.getWidth(), result.getHeight());
+                    }
+
+                    break;
+                }
+                default: {
+                    if (shader instanceof CharShader) {
+                        result = toArgbImage(((CharShader) shader).run(result, tile));
+                    } else {
+                        result = toArgbImage(shader.run(result));
+                    }
+                }
+            }
+
+            if (metrics != null) {
+                metrics.recordShader(shader.getClass(), startNanos);
+            }
+
+            i++;
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the end of a run of consecutive per-pixel shaders.
+     *
+     * @param shaders
+     *          The shaders.
+     *
+     * @param start
+     *          The position of the first per-pixel shader in the run.
+     *
+     * @return
+     *          The position after the last per-pixel shader in the run.
+     */
+    private static int findEndOfPixelShaders(final List<Shader> shaders, final int start) {
+        int end = start + 1;
+
+        while (end < shaders.size() && shaders.get(end).getKind() == ShaderKind.PER_PIXEL) {
+            end++;
+        }
+
+        return end;
+    }
+
+    /**
+     * Runs per-pixel shaders, in a single pass, over an array of pixels.
+     *
+     * @param pixels
+     *          The ARGB pixels.
+     *
+     * @param shaders
+     *          The per-pixel shaders, in the order they're run.
+     *
+     * @param tile
+     *          The tile that the pixels are of.
+     */
+    private static void runPixelShaders(final int[] pixels, final List<Shader> shaders, final Tile tile) {
+        final Buffers buffers = BUFFERS.get();
+        final IntUnaryOperator[] functions = buffers.getFunctions(shaders.size());
+        int functionCount = 0;
+
+        for (final Shader shader : shaders) {
+            final IntUnaryOperator function = ((PixelShader) shader).getPixelFunction(tile);
+
+            if (function != null) {
+                functions[functionCount++] = function;
+            }
+        }
+
+        try {
+            if (functionCount == 1) {
+                final IntUnaryOperator function = functions[0];
+
+                for (int i = 0 ; i < pixels.length ; i++) {
+                    pixels[i] = function.applyAsInt(pixels[i]);
+                }
+            } else if (functionCount > 1) {
+                for (int i = 0 ; i < pixels.length ; i++) {
+                    int pixel = pixels[i];
+
+                    for (int j = 0 ; j < functionCount ; j++) {
+                        pixel = functions[j].applyAsInt(pixel);
+                    }
+
+                    pixels[i] = pixel;
+                }
+            }
+        } finally {
+            // The functions may reference the tile, so they aren't kept.
+            Arrays.fill(functions, 0, functionCount, null);
+        }
+    }
+
+    /**
+     * Converts an image into an ARGB image, whose pixel array can be
+     * modified directly, if it isn't one already.
+     *
+     * @param image
+     *          The image.
+     *
+     * @return
+     *          The image itself, or an ARGB copy of it.
+     *
+     * @throws NullPointerException
+     *           If the image is null.
+     */
+    static BufferedImage toArgbImage(final @NonNull BufferedImage image) {
+        if (getPixels(image) != null) {
+            return image;
+        }
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.getRGB(0, 0, width, height, getPixels(result), 0, width);
+        return result;
+    }
+
+    /**
+     * Retrieves the pixel array of an ARGB image.
+     *
+     * @param image
+     *          The image.
+     *
+     * @return
+     *          The ARGB pixels of the image, ordered first by row, then by
+     *          column, or null if the image doesn't store it's pixels in a
+     *          single array of that layout.
+     */
+    static int[] getPixels(final BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            return null;
+        }
+
+        final Raster raster = image.getRaster();
+
+        if (raster.getParent() != null || raster.getSampleModel() instanceof SinglePixelPackedSampleModel == false) {
+            return null;
+        }
+
+        if (((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride() != image.getWidth()) {
+            return null;
+        }
+
+        final int[] pixels = ((DataBufferInt) raster.getDataBuffer()).getData();
+        return pixels.length == image.getWidth() * image.getHeight() ? pixels : null;
+    }
+
+    private final static class Buffers {
+        /** The scratch pixels, which are used to move the pixels of an image. */
+        private int[] pixels = new int[0];
+
+        /** The functions of the per-pixel shaders being fused. */
+        private IntUnaryOperator[] functions = new IntUnaryOperator[4];
+
+        /**
+         * Retrieves the scratch pixels.
+         *
+         * @param length
+         *          The minimum number of pixels.
+         *
+         * @return
+         *          The scratch pixels.
+         */
+        private int[] getPixels(final int length) {
+            if (pixels.length < length) {
+                pixels = new int[length];
+            }
+
+            return pixels;
+        }
+
+        /**
+         * Retrieves the array of per-pixel shader functions.
+         *
+         * @param length
+         *          The minimum number of functions.
+         *
+         * @return
+         *          The array of functions.
+         */
+        private IntUnaryOperator[] getFunctions(final int length) {
+            if (functions.length < length) {
+                functions = new IntUnaryOperator[length];
+            }
+
+            return functions;
+        }
+    }
+}
@@ -2,19 +2,64 @@ package com.valkryst.VTerminal.shader.blur;
 
 import com.jhlabs.image.MotionBlurOp;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class FastMotionBlurShader implements Shader {
-    private float centreX = 0.5f;
-    private float centreY = 0.5f;
-    private float angle = 0.0f;
-    private float distance = 1.0f;
-    private float zoom = 0.0f;
-    private float rotation = 0.0f;
+    /** The x-axis coordinate of the centre of the blur, as a fraction of the image's width. */
+    private final float centreX;
+    /** The y-axis coordinate of the centre of the blur, as a fraction of the image's height. */
+    private final float centreY;
+    /** The angle of the blur, in degrees. */
+    private final float angle;
+    /** The distance of the blur. */
+    private final float distance;
+    /** The amount of zoom blur. */
+    private final float zoom;
+    /** The amount of rotation blur, in degrees. */
+    private final float rotation;
+
+    /** Constructs a new FastMotionBlurShader, with the default settings. */
+    public FastMotionBlurShader() {
+        this(0.5f, 0.5f, 0.0f, 1.0f, 0.0f, 0.0f);
+    }
+
+    /**
+     * Constructs a new FastMotionBlurShader.
+     *
+     * @param centreX
+     *          The x-axis coordinate of the centre of the blur, as a fraction of the image's width.
+     *
+     * @param centreY
+     *          The y-axis coordinate of the centre of the blur, as a fraction of the image's height.
+     *
+     * @param angle
+     *          The angle of the blur, in degrees.
+     *
+     * @param distance
+     *          The distance of the blur.
+     *
+     * @param zoom
+     *          The amount of zoom blur.
+     *
+     * @param rotation
+     *          The amount of rotation blur, in degrees.
+     */
+    public FastMotionBlurShader(final float centreX, final float centreY, final float angle, final float distance, final float zoom, final float rotation) {
+        this.centreX = centreX;
+        this.centreY = centreY;
+        this.angle = angle;
+        this.distance = distance;
+        this.zoom = zoom;
+        this.rotation = rotation;
+    }
 
     @Override
     public BufferedImage run(@NonNull BufferedImage bufferedImage) {
@@ -27,16 +72,4 @@ public class FastMotionBlurShader implements Shader {
         filter.setRotation(rotation);
         return filter.filter(bufferedImage, null);
     }
-
-    @Override
-    public Shader copy() {
-        final FastMotionBlurShader fastMotionBlurShader = new FastMotionBlurShader();
-        fastMotionBlurShader.setCentreX(centreX);
-        fastMotionBlurShader.setCentreY(centreY);
-        fastMotionBlurShader.setAngle(angle);
-        fastMotionBlurShader.setDistance(distance);
-        fastMotionBlurShader.setZoom(zoom);
-        fastMotionBlurShader.setRotation(rotation);
-        return fastMotionBlurShader;
-    }
 }
@@ -2,14 +2,34 @@ package com.valkryst.VTerminal.shader.blur;
 
 import com.jhlabs.image.GaussianFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class GaussianBlurShader implements Shader {
-    private int radius = 2;
+    /** The radius of the blur. */
+    private final int radius;
+
+    /** Constructs a new GaussianBlurShader, with the default settings. */
+    public GaussianBlurShader() {
+        this(2);
+    }
+
+    /**
+     * Constructs a new GaussianBlurShader.
+     *
+     * @param radius
+     *          The radius of the blur.
+     */
+    public GaussianBlurShader(final int radius) {
+        this.radius = radius;
+    }
 
     @Override
     public BufferedImage run(@NonNull BufferedImage bufferedImage) {
@@ -17,11 +37,4 @@ public class GaussianBlurShader implements Shader {
         filter.setRadius(radius);
         return filter.filter(bufferedImage, null);
     }
-
-    @Override
-    public Shader copy() {
-        final GaussianBlurShader gaussianBlurShader = new GaussianBlurShader();
-        gaussianBlurShader.setRadius(radius);
-        return gaussianBlurShader;
-    }
 }
@@ -2,18 +2,58 @@ package com.valkryst.VTerminal.shader.blur;
 
 import com.jhlabs.image.MotionBlurFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class MotionBlurShader implements Shader {
-    private float angle = 0.0f;
-    private float distance = 1.0f;
-    private float zoom = 0.0f;
-    private float rotation = 0.0f;
-    private boolean wrapEdges = false;
+    /** The angle of the blur, in degrees. */
+    private final float angle;
+    /** The distance of the blur. */
+    private final float distance;
+    /** The amount of zoom blur. */
+    private final float zoom;
+    /** The amount of rotation blur, in degrees. */
+    private final float rotation;
+    /** Whether or not to wrap the image at it's edges. */
+    private final boolean wrapEdges;
+
+    /** Constructs a new MotionBlurShader, with the default settings. */
+    public MotionBlurShader() {
+        this(0.0f, 1.0f, 0.0f, 0.0f, false);
+    }
+
+    /**
+     * Constructs a new MotionBlurShader.
+     *
+     * @param angle
+     *          The angle of the blur, in degrees.
+     *
+     * @param distance
+     *          The distance of the blur.
+     *
+     * @param zoom
+     *          The amount of zoom blur.
+     *
+     * @param rotation
+     *          The amount of rotation blur, in degrees.
+     *
+     * @param wrapEdges
+     *          Whether or not to wrap the image at it's edges.
+     */
+    public MotionBlurShader(final float angle, final float distance, final float zoom, final float rotation, final boolean wrapEdges) {
+        this.angle = angle;
+        this.distance = distance;
+        this.zoom = zoom;
+        this.rotation = rotation;
+        this.wrapEdges = wrapEdges;
+    }
 
     @Override
     public BufferedImage run(@NonNull BufferedImage bufferedImage) {
@@ -25,14 +65,4 @@ public class MotionBlurShader implements Shader {
         filter.setWrapEdges(wrapEdges);
         return filter.filter(bufferedImage, null);
     }
-
-    @Override
-    public Shader copy() {
-        final MotionBlurShader motionBlurShader = new MotionBlurShader();
-        motionBlurShader.setAngle(angle);
-        motionBlurShader.setDistance(distance);
-        motionBlurShader.setZoom(zoom);
-        motionBlurShader.setRotation(rotation);
-        return motionBlurShader;
-    }
 }
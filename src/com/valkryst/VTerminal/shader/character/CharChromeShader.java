@@ -2,20 +2,42 @@ package com.valkryst.VTerminal.shader.character;
 
 import com.jhlabs.image.ChromeFilter;
 import com.valkryst.VTerminal.Tile;
-import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class CharChromeShader implements CharShader {
     /** The amount of chrome. */
-    private float amount = 0.5f;
+    private final float amount;
     /** The amount of exposure. */
-    private float exposure = 0.85f;
+    private final float exposure;
+
+    /** Constructs a new CharChromeShader, with the default settings. */
+    public CharChromeShader() {
+        this(0.5f, 0.85f);
+    }
+
+    /**
+     * Constructs a new CharChromeShader.
+     *
+     * @param amount
+     *          The amount of chrome.
+     *
+     * @param exposure
+     *          The amount of exposure.
+     */
+    public CharChromeShader(final float amount, final float exposure) {
+        this.amount = amount;
+        this.exposure = exposure;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
@@ -39,12 +61,4 @@ public class CharChromeShader implements CharShader {
 
         return result;
     }
-
-    @Override
-    public Shader copy() {
-        final CharChromeShader shader = new CharChromeShader();
-        shader.setAmount(amount);
-        shader.setExposure(exposure);
-        return shader;
-    }
 }
@@ -2,13 +2,16 @@ package com.valkryst.VTerminal.shader.character;
 
 import com.jhlabs.image.EdgeFilter;
 import com.valkryst.VTerminal.Tile;
-import com.valkryst.VTerminal.shader.Shader;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
+@EqualsAndHashCode
+@ToString
 public class CharEdgeDetectionShader implements CharShader {
     @Override
     public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
@@ -28,9 +31,4 @@ public class CharEdgeDetectionShader implements CharShader {
 
         return result;
     }
-
-    @Override
-    public Shader copy() {
-        return new CharEdgeDetectionShader();
-    }
 }
@@ -3,14 +3,26 @@ package com.valkryst.VTerminal.shader.character;
 import com.jhlabs.image.GaussianFilter;
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.GraphicTile;
-import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.AlphaMask;
+import com.valkryst.VTerminal.shader.AlphaMaskCache;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
+@EqualsAndHashCode
+@ToString
 public class CharGlowShader implements CharShader {
+    /** The radius of the glow. */
+    private final static int RADIUS = 5;
+
+    /** The name of the glow operation, within the alpha mask cache. */
+    private final static String GLOW_OPERATION = "GaussianBlur(radius=" + RADIUS + ")";
+
     @Override
     public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
         if (character instanceof GraphicTile) {
@@ -21,12 +33,32 @@ public class CharGlowShader implements CharShader {
             return image;
         }
 
+        final int backgroundRGB = character.getBackgroundColor().getRGB();
+        final AlphaMask charMask = AlphaMask.extract(image, backgroundRGB);
+
+        // The glow only depends on the shape of a single-colored character,
+        // so it's shared by every color of the character.
+        if (charMask != null) {
+            final AlphaMask glowMask = AlphaMaskCache.get(GLOW_OPERATION, charMask, CharGlowShader::blur);
+            final int rgb = charMask.getRgb();
+
+            final BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            final int[] pixels = ((DataBufferInt) result.getRaster().getDataBuffer()).getData();
+
+            for (int i = 0 ; i < pixels.length ; i++) {
+                int pixel = AlphaMask.blend(rgb, glowMask.getAlpha(i), backgroundRGB);
+                pixels[i] = AlphaMask.blend(rgb, charMask.getAlpha(i), pixel);
+            }
+
+            return result;
+        }
+
         // Get character image:
         final BufferedImage charImage = swapColor(image, character.getBackgroundColor(), new Color(0, 0, 0, 0));
 
         // Generate glow image:
         final GaussianFilter filter = new GaussianFilter();
-        filter.setRadius(5);
+        filter.setRadius(RADIUS);
         final BufferedImage glowImage = filter.filter(charImage, null);
 
         // Combine images and background:
@@ -42,8 +74,18 @@ public class CharGlowShader implements CharShader {
         return result;
     }
 
-    @Override
-    public Shader copy() {
-        return new CharGlowShader();
+    /**
+     * Blurs the mask of a character.
+     *
+     * @param charMask
+     *          The mask.
+     *
+     * @return
+     *          The blurred mask.
+     */
+    private static AlphaMask blur(final AlphaMask charMask) {
+        final GaussianFilter filter = new GaussianFilter();
+        filter.setRadius(RADIUS);
+        return AlphaMask.fromAlphaChannel(filter.filter(charMask.toImage(), null));
     }
 }
@@ -3,52 +3,83 @@ package com.valkryst.VTerminal.shader.character;
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.GraphicTile;
 import com.valkryst.VTerminal.misc.ColorFunctions;
-import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import com.valkryst.VTerminal.shader.PixelShader;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.util.function.IntUnaryOperator;
 
-@Data
-public class CharShadeShader implements CharShader {
+@Getter
+@EqualsAndHashCode
+@ToString
+public class CharShadeShader implements CharShader, PixelShader {
     /** Whether or not to shade the background color. */
-    private boolean shadeBackground = false;
+    private final boolean shadeBackground;
     /** Whether or not to shade the foreground color. */
-    private boolean shadeForeground = false;
+    private final boolean shadeForeground;
     /** The factor to shade the background color by. */
-    private double backgroundShadeFactor = 0.0;
+    private final double backgroundShadeFactor;
     /** The factor to shade the foreground color by. */
-    private double foregroundShadeFactor = 0.0;
+    private final double foregroundShadeFactor;
+
+    /** Constructs a new CharShadeShader, with the default settings. */
+    public CharShadeShader() {
+        this(false, false, 0.0, 0.0);
+    }
+
+    /**
+     * Constructs a new CharShadeShader.
+     *
+     * @param shadeBackground
+     *          Whether or not to shade the background color.
+     *
+     * @param shadeForeground
+     *          Whether or not to shade the foreground color.
+     *
+     * @param backgroundShadeFactor
+     *          The factor to shade the background color by.
+     *
+     * @param foregroundShadeFactor
+     *          The factor to shade the foreground color by.
+     */
+    public CharShadeShader(final boolean shadeBackground, final boolean shadeForeground, final double backgroundShadeFactor, final double foregroundShadeFactor) {
+        this.shadeBackground = shadeBackground;
+        this.shadeForeground = shadeForeground;
+        this.backgroundShadeFactor = backgroundShadeFactor;
+        this.foregroundShadeFactor = foregroundShadeFactor;
+    }
 
     @Override
-    public BufferedImage run(@NonNull BufferedImage image, final @NonNull Tile character) {
-        if (character instanceof GraphicTile) {
-            return image;
-        }
+    public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
+        return PixelShader.apply(this, image, character);
+    }
 
-        if (shadeBackground) {
-            final Color originalColor = character.getBackgroundColor();
-            final Color shadeColor = ColorFunctions.shade(originalColor, backgroundShadeFactor);
-            image = swapColor(image, originalColor, shadeColor);
+    @Override
+    public IntUnaryOperator getPixelFunction(final @NonNull Tile character) {
+        if (character instanceof GraphicTile || (shadeBackground == false && shadeForeground == false)) {
+            return null;
         }
 
-        if (shadeForeground) {
-            final Color originalColor = character.getForegroundColor();
-            final Color shadeColor = ColorFunctions.shade(originalColor, foregroundShadeFactor);
-            image = swapColor(image, originalColor, shadeColor);
-        }
+        // The background is swapped before the foreground, so a shaded
+        // background which matches the foreground is also swapped.
+        final int oldBackground = character.getBackgroundColor().getRGB();
+        final int newBackground = ColorFunctions.shade(character.getBackgroundColor(), backgroundShadeFactor).getRGB();
+        final int oldForeground = character.getForegroundColor().getRGB();
+        final int newForeground = ColorFunctions.shade(character.getForegroundColor(), foregroundShadeFactor).getRGB();
 
-        return image;
-    }
+        return pixel -> {
+            if (shadeBackground && pixel == oldBackground) {
+                pixel = newBackground;
+            }
 
-    @Override
-    public Shader copy() {
-        final CharShadeShader shadeShader = new CharShadeShader();
-        shadeShader.setShadeBackground(shadeBackground);
-        shadeShader.setShadeForeground(shadeForeground);
-        shadeShader.setBackgroundShadeFactor(backgroundShadeFactor);
-        shadeShader.setForegroundShadeFactor(foregroundShadeFactor);
-        return shadeShader;
+            if (shadeForeground && pixel == oldForeground) {
+                pixel = newForeground;
+            }
+
+            return pixel;
+        };
     }
 }
@@ -2,20 +2,42 @@ package com.valkryst.VTerminal.shader.character;
 
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.GraphicTile;
-import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class CharShadowShader implements CharShader {
     /** The offset to draw the shadow at, on the x-axis. */
-    private int xOffset = 2;
+    private final int xOffset;
     /** The offset to draw the shadow at, on the y-axis. */
-    private int yOffset = 2;
+    private final int yOffset;
+
+    /** Constructs a new CharShadowShader, with the default settings. */
+    public CharShadowShader() {
+        this(2, 2);
+    }
+
+    /**
+     * Constructs a new CharShadowShader.
+     *
+     * @param xOffset
+     *          The offset to draw the shadow at, on the x-axis.
+     *
+     * @param yOffset
+     *          The offset to draw the shadow at, on the y-axis.
+     */
+    public CharShadowShader(final int xOffset, final int yOffset) {
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
@@ -43,12 +65,4 @@ public class CharShadowShader implements CharShader {
 
         return result;
     }
-
-    @Override
-    public Shader copy() {
-        final CharShadowShader textShadowShader = new CharShadowShader();
-        textShadowShader.setXOffset(xOffset);
-        textShadowShader.setYOffset(yOffset);
-        return textShadowShader;
-    }
 }
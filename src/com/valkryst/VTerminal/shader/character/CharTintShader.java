@@ -3,52 +3,83 @@ package com.valkryst.VTerminal.shader.character;
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.GraphicTile;
 import com.valkryst.VTerminal.misc.ColorFunctions;
-import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import com.valkryst.VTerminal.shader.PixelShader;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
-import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.util.function.IntUnaryOperator;
 
-@Data
-public class CharTintShader implements CharShader {
+@Getter
+@EqualsAndHashCode
+@ToString
+public class CharTintShader implements CharShader, PixelShader {
     /** Whether or not to tint the background color. */
-    private boolean tintBackground = false;
+    private final boolean tintBackground;
     /** Whether or not to tint the foreground color. */
-    private boolean tintForeground = false;
+    private final boolean tintForeground;
     /** The factor to tint the background color by. */
-    private double backgroundTintFactor = 0.0;
+    private final double backgroundTintFactor;
     /** The factor to tint the foreground color by. */
-    private double foregroundTintFactor = 0.0;
+    private final double foregroundTintFactor;
+
+    /** Constructs a new CharTintShader, with the default settings. */
+    public CharTintShader() {
+        this(false, false, 0.0, 0.0);
+    }
+
+    /**
+     * Constructs a new CharTintShader.
+     *
+     * @param tintBackground
+     *          Whether or not to tint the background color.
+     *
+     * @param tintForeground
+     *          Whether or not to tint the foreground color.
+     *
+     * @param backgroundTintFactor
+     *          The factor to tint the background color by.
+     *
+     * @param foregroundTintFactor
+     *          The factor to tint the foreground color by.
+     */
+    public CharTintShader(final boolean tintBackground, final boolean tintForeground, final double backgroundTintFactor, final double foregroundTintFactor) {
+        this.tintBackground = tintBackground;
+        this.tintForeground = tintForeground;
+        this.backgroundTintFactor = backgroundTintFactor;
+        this.foregroundTintFactor = foregroundTintFactor;
+    }
 
     @Override
-    public BufferedImage run(@NonNull BufferedImage image, final @NonNull Tile character) {
-        if (character instanceof GraphicTile) {
-            return image;
-        }
+    public BufferedImage run(final @NonNull BufferedImage image, final @NonNull Tile character) {
+        return PixelShader.apply(this, image, character);
+    }
 
-        if (tintBackground) {
-            final Color originalColor = character.getBackgroundColor();
-            final Color tintedColor = ColorFunctions.tint(originalColor, backgroundTintFactor);
-            image = swapColor(image, originalColor, tintedColor);
+    @Override
+    public IntUnaryOperator getPixelFunction(final @NonNull Tile character) {
+        if (character instanceof GraphicTile || (tintBackground == false && tintForeground == false)) {
+            return null;
         }
 
-        if (tintForeground) {
-            final Color originalColor = character.getForegroundColor();
-            final Color tintedColor = ColorFunctions.tint(originalColor, foregroundTintFactor);
-            image = swapColor(image, originalColor, tintedColor);
-        }
+        // The background is swapped before the foreground, so a tinted
+        // background which matches the foreground is also swapped.
+        final int oldBackground = character.getBackgroundColor().getRGB();
+        final int newBackground = ColorFunctions.tint(character.getBackgroundColor(), backgroundTintFactor).getRGB();
+        final int oldForeground = character.getForegroundColor().getRGB();
+        final int newForeground = ColorFunctions.tint(character.getForegroundColor(), foregroundTintFactor).getRGB();
 
-        return image;
-    }
+        return pixel -> {
+            if (tintBackground && pixel == oldBackground) {
+                pixel = newBackground;
+            }
 
-    @Override
-    public Shader copy() {
-        final CharTintShader tintShader = new CharTintShader();
-        tintShader.setTintBackground(tintBackground);
-        tintShader.setTintForeground(tintForeground);
-        tintShader.setBackgroundTintFactor(backgroundTintFactor);
-        tintShader.setForegroundTintFactor(foregroundTintFactor);
-        return tintShader;
+            if (tintForeground && pixel == oldForeground) {
+                pixel = newForeground;
+            }
+
+            return pixel;
+        };
     }
 }
@@ -2,17 +2,40 @@ package com.valkryst.VTerminal.shader.misc;
 
 import com.jhlabs.image.ChromeFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class ChromeShader implements Shader {
     /** The amount of chrome. */
-    private float amount = 0.5f;
+    private final float amount;
     /** The amount of exposure. */
-    private float exposure = 1.0f;
+    private final float exposure;
+
+    /** Constructs a new ChromeShader, with the default settings. */
+    public ChromeShader() {
+        this(0.5f, 1.0f);
+    }
+
+    /**
+     * Constructs a new ChromeShader.
+     *
+     * @param amount
+     *          The amount of chrome.
+     *
+     * @param exposure
+     *          The amount of exposure.
+     */
+    public ChromeShader(final float amount, final float exposure) {
+        this.amount = amount;
+        this.exposure = exposure;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image) {
@@ -21,12 +44,4 @@ public class ChromeShader implements Shader {
         filter.setExposure(exposure);
         return filter.filter(image, null);
     }
-
-    @Override
-    public Shader copy() {
-        final ChromeShader shader = new ChromeShader();
-        shader.setAmount(amount);
-        shader.setExposure(exposure);
-        return shader;
-    }
 }
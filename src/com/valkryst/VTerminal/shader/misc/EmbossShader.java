@@ -3,19 +3,46 @@ package com.valkryst.VTerminal.shader.misc;
 import com.jhlabs.image.BumpFilter;
 import com.jhlabs.image.ConvolveFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class EmbossShader implements Shader {
     /** What do do at the image edges. */
-    private int edgeAction = ConvolveFilter.CLAMP_EDGES;
+    private final int edgeAction;
     /** Whether to premultiply the alpha before convolving. */
-    private boolean premultiplyAlpha = true;
+    private final boolean premultiplyAlpha;
     /** Whether to convolve alpha. */
-    private boolean useAlpha = true;
+    private final boolean useAlpha;
+
+    /** Constructs a new EmbossShader, with the default settings. */
+    public EmbossShader() {
+        this(ConvolveFilter.CLAMP_EDGES, true, true);
+    }
+
+    /**
+     * Constructs a new EmbossShader.
+     *
+     * @param edgeAction
+     *          What do do at the image edges.
+     *
+     * @param premultiplyAlpha
+     *          Whether to premultiply the alpha before convolving.
+     *
+     * @param useAlpha
+     *          Whether to convolve alpha.
+     */
+    public EmbossShader(final int edgeAction, final boolean premultiplyAlpha, final boolean useAlpha) {
+        this.edgeAction = edgeAction;
+        this.premultiplyAlpha = premultiplyAlpha;
+        this.useAlpha = useAlpha;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image) {
@@ -25,13 +52,4 @@ public class EmbossShader implements Shader {
         filter.setUseAlpha(useAlpha);
         return filter.filter(image, null);
     }
-
-    @Override
-    public Shader copy() {
-        final EmbossShader shader = new EmbossShader();
-        shader.setEdgeAction(edgeAction);
-        shader.setPremultiplyAlpha(premultiplyAlpha);
-        shader.setUseAlpha(useAlpha);
-        return shader;
-    }
 }
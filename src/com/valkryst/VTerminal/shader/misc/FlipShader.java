@@ -1,23 +1,36 @@
 package com.valkryst.VTerminal.shader.misc;
 
-import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import com.valkryst.VTerminal.shader.GeometricShader;
+import com.valkryst.VTerminal.shader.ShaderInterner;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
-import java.awt.geom.AffineTransform;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.awt.image.BufferedImageOp;
+import java.awt.image.DataBufferInt;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class FlipShader implements GeometricShader {
+    /** The canonical flip shaders, indexed by their horizontal flag, then by their vertical flag. */
+    private final static FlipShader[] SHADERS = {
+        ShaderInterner.intern(new FlipShader(false, false)),
+        ShaderInterner.intern(new FlipShader(false, true)),
+        ShaderInterner.intern(new FlipShader(true, false)),
+        ShaderInterner.intern(new FlipShader(true, true))
+    };
 
-@Data
-public class FlipShader implements Shader {
     /** Whether or not the image should be flipped horizontally. */
-    private boolean isFlippedHorizontally = false;
+    private final boolean isFlippedHorizontally;
     /** Whether or not the image should be flipped vertically. */
-    private boolean isFlippedVertically = false;
+    private final boolean isFlippedVertically;
 
-    /** Constructs a new FlipShader. */
-    public FlipShader() {}
+    /** Constructs a new FlipShader, which doesn't flip the image. */
+    public FlipShader() {
+        this(false, false);
+    }
 
     /**
      * Constructs a new FlipShader.
@@ -33,29 +46,55 @@ public class FlipShader implements Shader {
         this.isFlippedVertically = isFlippedVertically;
     }
 
+    /**
+     * Retrieves the canonical flip shader for a pair of flags.
+     *
+     * @param isFlippedHorizontally
+     *          Whether or not the image should be flipped horizontally.
+     *
+     * @param isFlippedVertically
+     *          Whether or not the image should be flipped vertically.
+     *
+     * @return
+     *          The flip shader.
+     */
+    public static FlipShader of(final boolean isFlippedHorizontally, final boolean isFlippedVertically) {
+        return SHADERS[(isFlippedHorizontally ? 2 : 0) + (isFlippedVertically ? 1 : 0)];
+    }
+
     @Override
     public BufferedImage run(final @NonNull BufferedImage image) {
-        if (isFlippedHorizontally || isFlippedVertically) {
-            final double scaleX = isFlippedHorizontally ? -1 : 1;
-            final double scaleY = isFlippedVertically ? -1 : 1;
-            final double translateX = isFlippedHorizontally ? -image.getWidth() : 0;
-            final double translateY = isFlippedVertically ? -image.getHeight() : 0;
+        if (isIdentity()) {
+            return image;
+        }
 
-            final AffineTransform tx = AffineTransform.getScaleInstance(scaleX, scaleY);
-            tx.translate(translateX, translateY);
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int[] source = image.getRGB(0, 0, width, height, null, 0, width);
 
-            final BufferedImageOp op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
-            return op.filter(image, null);
-        }
+        final BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        transform(source, ((DataBufferInt) result.getRaster().getDataBuffer()).getData(), width, height);
+        return result;
+    }
 
-        return image;
+    @Override
+    public boolean isIdentity() {
+        return isFlippedHorizontally == false && isFlippedVertically == false;
     }
 
     @Override
-    public Shader copy() {
-        final FlipShader flipShader = new FlipShader();
-        flipShader.setFlippedHorizontally(isFlippedHorizontally);
-        flipShader.setFlippedVertically(isFlippedVertically);
-        return flipShader;
+    public void transform(final @NonNull int[] source, final @NonNull int[] destination, final int width, final int height) {
+        for (int y = 0 ; y < height ; y++) {
+            final int sourceRow = (isFlippedVertically ? height - 1 - y : y) * width;
+            final int destinationRow = y * width;
+
+            if (isFlippedHorizontally) {
+                for (int x = 0 ; x < width ; x++) {
+                    destination[destinationRow + x] = source[sourceRow + width - 1 - x];
+                }
+            } else {
+                System.arraycopy(source, sourceRow, destination, destinationRow, width);
+            }
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.valkryst.VTerminal.shader.misc;
+
+import com.valkryst.VTerminal.shader.AnimatedShader;
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.ShaderInterner;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An animated shader, which cycles through a list of shaders.
+ *
+ * For example, a pulsing glow can be created from glow shaders of increasing
+ * and then decreasing radii, and a sweeping motion blur from motion blur
+ * shaders of different angles.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class KeyframeShader implements AnimatedShader {
+    /** The time taken to cycle through every keyframe, in milliseconds. */
+    private final long period;
+    /** The shader of each keyframe. */
+    private final List<Shader> frames;
+
+    /**
+     * Constructs a new KeyframeShader.
+     *
+     * @param period
+     *          The time taken to cycle through every keyframe, in milliseconds.
+     *
+     * @param frames
+     *          The shader of each keyframe, in the order they're shown.
+     *
+     * @throws NullPointerException
+     *          If the frames, or any of the frames, are null.
+     *
+     * @throws IllegalArgumentException
+     *          If the period is below 1, or if there are no frames.
+     */
+    public KeyframeShader(final long period, final @NonNull Shader ... frames) {
+        if (period < 1) {
+            throw new IllegalArgumentException("The period cannot be below 1.");
+        }
+
+        if (frames.length == 0) {
+            throw new IllegalArgumentException("There must be at least one frame.");
+        }
+
+        final List<Shader> shaders = new ArrayList<>(frames.length);
+
+        for (final Shader frame : frames) {
+            shaders.add(ShaderInterner.intern(frame));
+        }
+
+        this.period = period;
+        this.frames = Collections.unmodifiableList(shaders);
+    }
+
+    @Override
+    public int getFrameCount() {
+        return frames.size();
+    }
+
+    @Override
+    public Shader getFrame(final int frame) {
+        return frames.get(frame);
+    }
+}
@@ -2,17 +2,40 @@ package com.valkryst.VTerminal.shader.misc;
 
 import com.jhlabs.image.OilFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class OilPaintShader implements Shader {
     /** The range of the effect, in pixels. */
-    private int range = 3;
+    private final int range;
     /** The number of levels of the effect. */
-    private int levels = 256;
+    private final int levels;
+
+    /** Constructs a new OilPaintShader, with the default settings. */
+    public OilPaintShader() {
+        this(3, 256);
+    }
+
+    /**
+     * Constructs a new OilPaintShader.
+     *
+     * @param range
+     *          The range of the effect, in pixels.
+     *
+     * @param levels
+     *          The number of levels of the effect.
+     */
+    public OilPaintShader(final int range, final int levels) {
+        this.range = range;
+        this.levels = levels;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image) {
@@ -21,12 +44,4 @@ public class OilPaintShader implements Shader {
         filter.setRange(range);
         return filter.filter(image, null);
     }
-
-    @Override
-    public Shader copy() {
-        final OilPaintShader shader = new OilPaintShader();
-        shader.setLevels(levels);
-        shader.setRange(range);
-        return shader;
-    }
 }
\ No newline at end of file
@@ -2,15 +2,34 @@ package com.valkryst.VTerminal.shader.misc;
 
 import com.jhlabs.image.BlockFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class PixelateShader implements Shader {
     /** The pixel block size. */
-    private int blockSize = 3;
+    private final int blockSize;
+
+    /** Constructs a new PixelateShader, with the default settings. */
+    public PixelateShader() {
+        this(3);
+    }
+
+    /**
+     * Constructs a new PixelateShader.
+     *
+     * @param blockSize
+     *          The pixel block size.
+     */
+    public PixelateShader(final int blockSize) {
+        this.blockSize = blockSize;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage image) {
@@ -18,11 +37,4 @@ public class PixelateShader implements Shader {
         filter.setBlockSize(blockSize);
         return filter.filter(image, null);
     }
-
-    @Override
-    public Shader copy() {
-        final PixelateShader shader = new PixelateShader();
-        shader.setBlockSize(blockSize);
-        return shader;
-    }
 }
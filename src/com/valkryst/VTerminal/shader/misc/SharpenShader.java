@@ -2,15 +2,40 @@ package com.valkryst.VTerminal.shader.misc;
 
 import com.jhlabs.image.UnsharpFilter;
 import com.valkryst.VTerminal.shader.Shader;
-import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
 
 import java.awt.image.BufferedImage;
 
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class SharpenShader implements Shader {
-    private float amount = 0.5f;
-    private int threshold = 1;
+    /** The amount of sharpening. */
+    private final float amount;
+    /** The threshold, below which pixels aren't sharpened. */
+    private final int threshold;
+
+    /** Constructs a new SharpenShader, with the default settings. */
+    public SharpenShader() {
+        this(0.5f, 1);
+    }
+
+    /**
+     * Constructs a new SharpenShader.
+     *
+     * @param amount
+     *          The amount of sharpening.
+     *
+     * @param threshold
+     *          The threshold, below which pixels aren't sharpened.
+     */
+    public SharpenShader(final float amount, final int threshold) {
+        this.amount = amount;
+        this.threshold = threshold;
+    }
 
     @Override
     public BufferedImage run(final @NonNull BufferedImage bufferedImage) {
@@ -19,12 +44,4 @@ public class SharpenShader implements Shader {
         filter.setThreshold(threshold);
         return filter.filter(bufferedImage, null);
     }
-
-    @Override
-    public Shader copy() {
-        final SharpenShader sharpenShader = new SharpenShader();
-        sharpenShader.setAmount(amount);
-        sharpenShader.setThreshold(threshold);
-        return sharpenShader;
-    }
 }
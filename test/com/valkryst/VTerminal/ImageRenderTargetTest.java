@@ -0,0 +1,194 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import com.valkryst.VTerminal.shader.misc.KeyframeShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class ImageRenderTargetTest {
+    private final Font font;
+
+    public ImageRenderTargetTest() throws IOException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+    }
+
+    @Test
+    public void testConstructor() {
+        final ImageRenderTarget target = new ImageRenderTarget(3, 2);
+        Assert.assertEquals(3, target.getImage().getWidth());
+        Assert.assertEquals(2, target.getImage().getHeight());
+        Assert.assertEquals(6, target.getPixels().length);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_withInvalidWidth() {
+        new ImageRenderTarget(0, 1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_withInvalidHeight() {
+        new ImageRenderTarget(1, 0);
+    }
+
+    @Test
+    public void testEndFrame() {
+        final ImageRenderTarget target = new ImageRenderTarget(1, 1);
+        final Graphics2D gc = target.beginFrame();
+        gc.setColor(Color.RED);
+        gc.fillRect(0, 0, 1, 1);
+
+        Assert.assertFalse(target.endFrame(gc));
+        Assert.assertEquals(Color.RED.getRGB(), target.getImage().getRGB(0, 0));
+    }
+
+    @Test
+    public void testDrawScreen_withImageCacheRenderMode() {
+        testDrawScreen(RenderMode.IMAGE_CACHE);
+    }
+
+    @Test
+    public void testDrawScreen_withGlyphAtlasRenderMode() {
+        testDrawScreen(RenderMode.GLYPH_ATLAS);
+    }
+
+    private void testDrawScreen(final RenderMode renderMode) {
+        final Screen screen = new Screen(2, 1, font);
+        screen.setRenderMode(renderMode);
+
+        final ImageRenderTarget target = new ImageRenderTarget(2 * font.getWidth(), font.getHeight());
+        screen.setRenderTarget(target);
+
+        final Tile tile = screen.getTiles().getTileAt(1, 0);
+        tile.setCharacter('A');
+        tile.setForegroundColor(Color.WHITE);
+        tile.setBackgroundColor(Color.BLUE);
+
+        screen.draw();
+
+        // The top-left corner of the glyph is transparent.
+        Assert.assertEquals(Color.BLUE.getRGB(), target.getImage().getRGB(font.getWidth(), 0));
+
+        boolean isForegroundDrawn = false;
+
+        for (final int pixel : target.getPixels()) {
+            isForegroundDrawn |= (pixel & 0xFFFFFF) == (Color.WHITE.getRGB() & 0xFFFFFF);
+        }
+
+        Assert.assertTrue(isForegroundDrawn);
+    }
+
+    @Test
+    public void testDrawScreen_afterScrollWithImageCacheRenderMode() {
+        testDrawScreen_afterScroll(RenderMode.IMAGE_CACHE);
+    }
+
+    @Test
+    public void testDrawScreen_afterScrollWithGlyphAtlasRenderMode() {
+        testDrawScreen_afterScroll(RenderMode.GLYPH_ATLAS);
+    }
+
+    private void testDrawScreen_afterScroll(final RenderMode renderMode) {
+        final ImageRenderTarget target = new ImageRenderTarget(4 * font.getWidth(), 3 * font.getHeight());
+        final Screen screen = createScreen(renderMode, target, "ABCD", "EFGH", "IJKL");
+        screen.draw();
+
+        screen.getMetrics().setEnabled(true);
+        screen.getMetrics().reset();
+        screen.getTiles().scroll(0, -1, null);
+        screen.draw();
+
+        // Only the vacated row is drawn, the other rows are copied.
+        Assert.assertEquals(4, screen.getMetrics().getTilesDrawn());
+
+        final ImageRenderTarget expected = new ImageRenderTarget(4 * font.getWidth(), 3 * font.getHeight());
+        createScreen(renderMode, expected, "EFGH", "IJKL", "    ").draw();
+
+        Assert.assertArrayEquals(expected.getPixels(), target.getPixels());
+    }
+
+    @Test
+    public void testDrawScreen_withAnimatedTileWithImageCacheRenderMode() {
+        testDrawScreen_withAnimatedTile(RenderMode.IMAGE_CACHE);
+    }
+
+    @Test
+    public void testDrawScreen_withAnimatedTileWithGlyphAtlasRenderMode() {
+        testDrawScreen_withAnimatedTile(RenderMode.GLYPH_ATLAS);
+    }
+
+    private void testDrawScreen_withAnimatedTile(final RenderMode renderMode) {
+        final ImageRenderTarget target = new ImageRenderTarget(2 * font.getWidth(), font.getHeight());
+        final AtomicLong time = new AtomicLong(0);
+        final Screen screen = createScreen(renderMode, target, time::get, "AB");
+        screen.getTiles().getTileAt(0, 0).addShaders(new KeyframeShader(100, FlipShader.of(false, false), FlipShader.of(false, true)));
+
+        screen.draw();
+        final int[] firstFrame = getRGB(target);
+
+        // Only the animated tile is drawn, and only when it's frame changes.
+        screen.getMetrics().setEnabled(true);
+        screen.getMetrics().reset();
+        time.set(20);
+        screen.draw();
+        Assert.assertEquals(0, screen.getMetrics().getTilesDrawn());
+
+        time.set(50);
+        screen.draw();
+        Assert.assertEquals(1, screen.getMetrics().getTilesDrawn());
+
+        final ImageRenderTarget expected = new ImageRenderTarget(2 * font.getWidth(), font.getHeight());
+        final Screen expectedScreen = createScreen(renderMode, expected, "AB");
+        expectedScreen.getTiles().getTileAt(0, 0).setFlippedVertically(true);
+        expectedScreen.draw();
+
+        // The glyph atlas doesn't write the unused alpha bits, so the colors are compared.
+        Assert.assertArrayEquals(getRGB(expected), getRGB(target));
+
+        time.set(100);
+        screen.draw();
+        Assert.assertArrayEquals(firstFrame, getRGB(target));
+    }
+
+    private static int[] getRGB(final ImageRenderTarget target) {
+        final BufferedImage image = target.getImage();
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    private Screen createScreen(final RenderMode renderMode, final ImageRenderTarget target, final String ... rows) {
+        return createScreen(renderMode, target, System::currentTimeMillis, rows);
+    }
+
+    private Screen createScreen(final RenderMode renderMode, final ImageRenderTarget target, final LongSupplier clock, final String ... rows) {
+        final Screen screen = new Screen(new Dimension(rows[0].length(), rows.length), font, clock);
+        screen.setRenderMode(renderMode);
+        screen.setRenderTarget(target);
+
+        for (int y = 0 ; y < rows.length ; y++) {
+            for (int x = 0 ; x < rows[y].length() ; x++) {
+                final char character = rows[y].charAt(x);
+                final Tile tile = screen.getTiles().getTileAt(x, y);
+
+                // Spaces are reset, as with the tiles vacated by a scroll.
+                if (character == ' ') {
+                    tile.reset();
+                } else {
+                    tile.setCharacter(character);
+                    tile.setForegroundColor(Color.WHITE);
+                    tile.setBackgroundColor(new Color(0, 0, 2 * character));
+                }
+            }
+        }
+
+        return screen;
+    }
+}
@@ -0,0 +1,367 @@
+package com.valkryst.VTerminal;
+
+import com.valkryst.VTerminal.component.Component;
+import com.valkryst.VTerminal.component.Layer;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.event.MouseInputAdapter;
+import java.awt.Canvas;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InputDispatcherTest {
+    private final Font font;
+
+    private final Canvas source = new Canvas();
+
+    private InputDispatcher dispatcher;
+
+    public InputDispatcherTest() throws IOException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+    }
+
+    @Before
+    public void initializeDispatcher() {
+        dispatcher = new InputDispatcher(new Dimension(20, 10), font);
+    }
+
+    private MouseEvent createEvent(final int id, final int tileX, final int tileY) {
+        final int x = tileX * font.getWidth() + 1;
+        final int y = tileY * font.getHeight() + 1;
+        return new MouseEvent(source, id, 0, 0, x, y, 1, false, MouseEvent.BUTTON1);
+    }
+
+    private KeyEvent createKeyEvent() {
+        return new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_A, 'a');
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullDimensions() {
+        new InputDispatcher(null, font);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullFont() {
+        new InputDispatcher(new Dimension(1, 1), null);
+    }
+
+    @Test
+    public void testGetComponentAt() {
+        final RecordingComponent bottom = new RecordingComponent(new Point(0, 0), 10, 5);
+        final RecordingComponent top = new RecordingComponent(new Point(5, 2), 4, 4);
+        dispatcher.add(bottom);
+        dispatcher.add(top);
+
+        Assert.assertEquals(bottom, dispatcher.getComponentAt(0, 0));
+        Assert.assertEquals(bottom, dispatcher.getComponentAt(9, 4));
+        Assert.assertEquals(top, dispatcher.getComponentAt(5, 2));
+        Assert.assertEquals(top, dispatcher.getComponentAt(8, 5));
+        Assert.assertNull(dispatcher.getComponentAt(10, 0));
+        Assert.assertNull(dispatcher.getComponentAt(-1, 0));
+        Assert.assertNull(dispatcher.getComponentAt(20, 10));
+
+        dispatcher.remove(top);
+        Assert.assertEquals(bottom, dispatcher.getComponentAt(5, 2));
+        Assert.assertNull(dispatcher.getComponentAt(8, 5));
+    }
+
+    @Test
+    public void testGetComponentAt_afterMove() {
+        final RecordingComponent component = new RecordingComponent(new Point(0, 0), 2, 2);
+        dispatcher.add(component);
+        Assert.assertEquals(component, dispatcher.getComponentAt(0, 0));
+
+        component.getTiles().setPosition(10, 5);
+        Assert.assertNull(dispatcher.getComponentAt(0, 0));
+        Assert.assertEquals(component, dispatcher.getComponentAt(11, 6));
+    }
+
+    @Test
+    public void testGetComponentAt_afterMoveWithinParent() {
+        final TileGrid parent = new TileGrid(new Dimension(20, 10));
+        final RecordingComponent component = new RecordingComponent(new Point(0, 0), 2, 2);
+        parent.addChild(component.getTiles());
+        dispatcher.add(component);
+        Assert.assertEquals(component, dispatcher.getComponentAt(0, 0));
+
+        component.getTiles().setXPosition(15);
+        Assert.assertNull(dispatcher.getComponentAt(0, 0));
+        Assert.assertEquals(component, dispatcher.getComponentAt(16, 1));
+    }
+
+    @Test
+    public void testGetComponentAt_withBoundingBoxOffset() {
+        final RecordingComponent component = new RecordingComponent(new Point(1, 1), 2, 2);
+        component.setBoundingBoxOffset(new Point(3, 3));
+        dispatcher.add(component);
+
+        Assert.assertNull(dispatcher.getComponentAt(1, 1));
+        Assert.assertEquals(component, dispatcher.getComponentAt(4, 4));
+    }
+
+    @Test
+    public void testAdd_ignoresLayers() {
+        dispatcher.add(new Layer(new Dimension(20, 10)));
+        Assert.assertNull(dispatcher.getComponentAt(0, 0));
+    }
+
+    @Test
+    public void testMouseMoved_onlyNotifiesHoveredComponents() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        final RecordingComponent c = new RecordingComponent(new Point(10, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+        dispatcher.add(c);
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 0, 0));
+        Assert.assertEquals(1, a.events.size());
+        Assert.assertEquals(0, b.events.size());
+
+        // The previously hovered component is notified, so that it can react
+        // to the mouse leaving it.
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 5, 0));
+        Assert.assertEquals(2, a.events.size());
+        Assert.assertEquals(1, b.events.size());
+
+        dispatcher.mouseMoved(createEvent(MouseEvent.MOUSE_MOVED, 5, 1));
+        Assert.assertEquals(2, a.events.size());
+        Assert.assertEquals(2, b.events.size());
+        Assert.assertEquals(0, c.events.size());
+    }
+
+    @Test
+    public void testMouseReleased_notifiesPressedComponent() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 0, 0));
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 5, 0));
+
+        Assert.assertEquals(2, a.events.size());
+        Assert.assertEquals(MouseEvent.MOUSE_RELEASED, a.events.get(1).intValue());
+        Assert.assertEquals(1, b.events.size());
+
+        // The press has ended, so the component is no longer notified.
+        dispatcher.mouseReleased(createEvent(MouseEvent.MOUSE_RELEASED, 5, 0));
+        Assert.assertEquals(2, a.events.size());
+    }
+
+    @Test
+    public void testMousePressed_setsFocus() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 0, 0));
+        Assert.assertTrue(a.isFocused());
+        Assert.assertFalse(b.isFocused());
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 5, 0));
+        Assert.assertFalse(a.isFocused());
+        Assert.assertTrue(b.isFocused());
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 15, 5));
+        Assert.assertFalse(a.isFocused());
+        Assert.assertFalse(b.isFocused());
+    }
+
+    @Test
+    public void testMousePressed_unfocusesProgrammaticallyFocusedComponents() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        final RecordingComponent c = new RecordingComponent(new Point(10, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+        dispatcher.add(c);
+
+        b.setFocused(true);
+        c.setFocused(true);
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 0, 0));
+        Assert.assertTrue(a.isFocused());
+        Assert.assertFalse(b.isFocused());
+        Assert.assertFalse(c.isFocused());
+
+        // Only the pressed component receives key events.
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(KeyEvent.KEY_PRESSED, a.events.get(1).intValue());
+        Assert.assertEquals(0, b.events.size());
+        Assert.assertEquals(0, c.events.size());
+
+        c.setFocused(true);
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 15, 5));
+        Assert.assertFalse(a.isFocused());
+        Assert.assertFalse(c.isFocused());
+    }
+
+    @Test
+    public void testKeyPressed_onlyNotifiesFocusedComponent() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(0, a.events.size());
+        Assert.assertEquals(0, b.events.size());
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 0, 0));
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(KeyEvent.KEY_PRESSED, a.events.get(1).intValue());
+        Assert.assertEquals(0, b.events.size());
+
+        dispatcher.mousePressed(createEvent(MouseEvent.MOUSE_PRESSED, 5, 0));
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(2, a.events.size());
+        Assert.assertEquals(KeyEvent.KEY_PRESSED, b.events.get(1).intValue());
+    }
+
+    @Test
+    public void testKeyPressed_withProgrammaticFocus() {
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        dispatcher.add(a);
+        dispatcher.add(b);
+
+        b.setFocused(true);
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(0, a.events.size());
+        Assert.assertEquals(1, b.events.size());
+
+        b.setFocused(false);
+        a.setFocused(true);
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(1, a.events.size());
+        Assert.assertEquals(1, b.events.size());
+
+        // A removed component no longer receives events, even if focused.
+        dispatcher.remove(a);
+        dispatcher.keyPressed(createKeyEvent());
+        Assert.assertEquals(1, a.events.size());
+    }
+
+    @Test
+    public void testRemove_stopsEvents() {
+        final RecordingComponent component = new RecordingComponent(new Point(0, 0), 2, 2);
+        dispatcher.add(component);
+        dispatcher.remove(component);
+        dispatcher.remove(null);
+
+        dispatcher.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 0, 0));
+        Assert.assertEquals(0, component.events.size());
+    }
+
+    @Test
+    public void testScreen_routesComponentMouseListeners() {
+        final Screen screen = new Screen(20, 10, font);
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        screen.addComponent(a);
+        screen.addComponent(b);
+
+        // Only the screen's own listeners are attached to the canvas.
+        final int mouseListenerCount = screen.getCanvas().getMouseListeners().length;
+        screen.addComponent(new RecordingComponent(new Point(10, 0), 2, 2));
+        Assert.assertEquals(mouseListenerCount, screen.getCanvas().getMouseListeners().length);
+
+        for (final MouseListener listener : screen.getCanvas().getMouseListeners()) {
+            listener.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 5, 1));
+        }
+
+        Assert.assertEquals(0, a.events.size());
+        Assert.assertEquals(1, b.events.size());
+
+        screen.removeComponent(b);
+
+        for (final MouseListener listener : screen.getCanvas().getMouseListeners()) {
+            listener.mouseClicked(createEvent(MouseEvent.MOUSE_CLICKED, 5, 1));
+        }
+
+        Assert.assertEquals(1, b.events.size());
+    }
+
+    @Test
+    public void testScreen_routesComponentKeyListeners() {
+        final Screen screen = new Screen(20, 10, font);
+        final RecordingComponent a = new RecordingComponent(new Point(0, 0), 2, 2);
+        final RecordingComponent b = new RecordingComponent(new Point(5, 0), 2, 2);
+        screen.addComponent(a);
+        screen.addComponent(b);
+
+        // Only the screen's own listeners are attached to the canvas.
+        final int keyListenerCount = screen.getCanvas().getKeyListeners().length;
+        screen.addComponent(new RecordingComponent(new Point(10, 0), 2, 2));
+        Assert.assertEquals(keyListenerCount, screen.getCanvas().getKeyListeners().length);
+
+        b.setFocused(true);
+
+        for (final KeyListener listener : screen.getCanvas().getKeyListeners()) {
+            listener.keyPressed(createKeyEvent());
+        }
+
+        Assert.assertEquals(0, a.events.size());
+        Assert.assertEquals(1, b.events.size());
+
+        screen.removeAllComponents();
+
+        for (final KeyListener listener : screen.getCanvas().getKeyListeners()) {
+            listener.keyPressed(createKeyEvent());
+        }
+
+        Assert.assertEquals(1, b.events.size());
+    }
+
+    private static class RecordingComponent extends Component {
+        /** The IDs of the events received. */
+        private final List<Integer> events = new ArrayList<>();
+
+        private RecordingComponent(final Point position, final int width, final int height) {
+            super(new Dimension(width, height), position);
+
+            super.eventListeners.add(new MouseInputAdapter() {
+                @Override
+                public void mouseClicked(final MouseEvent e) {
+                    events.add(e.getID());
+                }
+
+                @Override
+                public void mousePressed(final MouseEvent e) {
+                    events.add(e.getID());
+                }
+
+                @Override
+                public void mouseReleased(final MouseEvent e) {
+                    events.add(e.getID());
+                }
+
+                @Override
+                public void mouseMoved(final MouseEvent e) {
+                    events.add(e.getID());
+                }
+            });
+
+            super.eventListeners.add(new KeyAdapter() {
+                @Override
+                public void keyPressed(final KeyEvent e) {
+                    events.add(e.getID());
+                }
+            });
+        }
+    }
+}
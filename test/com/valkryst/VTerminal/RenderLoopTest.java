@@ -0,0 +1,133 @@
+package com.valkryst.VTerminal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RenderLoopTest {
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullDrawFunction() {
+        new RenderLoop(null, 60);
+    }
+
+    @Test
+    public void testRequestDraw_coalescesRequests() throws InterruptedException {
+        final CountDownLatch firstDrawStarted = new CountDownLatch(1);
+        final CountDownLatch firstDrawReleased = new CountDownLatch(1);
+        final CountDownLatch secondDraw = new CountDownLatch(2);
+        final AtomicInteger drawCount = new AtomicInteger(0);
+
+        final RenderLoop loop = new RenderLoop(() -> {
+            drawCount.incrementAndGet();
+            firstDrawStarted.countDown();
+            secondDraw.countDown();
+
+            try {
+                firstDrawReleased.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 10);
+
+        // The first frame is always drawn, and is blocked until every request has been made.
+        loop.start();
+        Assert.assertTrue(firstDrawStarted.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0 ; i < 1000 ; i++) {
+            loop.requestDraw();
+        }
+
+        firstDrawReleased.countDown();
+        Assert.assertTrue(secondDraw.await(10, TimeUnit.SECONDS));
+
+        // A capped loop only draws when requested, so no other frame is drawn.
+        loop.stop();
+
+        Assert.assertEquals(2, drawCount.get());
+        Assert.assertEquals(2, loop.getFrameCount());
+    }
+
+    @Test
+    public void testRequestDraw_withDelay() throws InterruptedException {
+        final CountDownLatch firstDraw = new CountDownLatch(1);
+        final CountDownLatch secondDraw = new CountDownLatch(2);
+        final AtomicLong secondDrawTime = new AtomicLong();
+        final RenderLoop loop = new RenderLoop(() -> {
+            secondDrawTime.set(System.nanoTime());
+            firstDraw.countDown();
+            secondDraw.countDown();
+        }, 100);
+
+        loop.start();
+        Assert.assertTrue(firstDraw.await(10, TimeUnit.SECONDS));
+
+        final long requestTime = System.nanoTime();
+        loop.requestDraw(50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(secondDraw.await(10, TimeUnit.SECONDS));
+        loop.stop();
+
+        Assert.assertTrue(secondDrawTime.get() - requestTime >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertEquals(2, loop.getFrameCount());
+    }
+
+    @Test
+    public void testStop() throws InterruptedException {
+        final CountDownLatch draws = new CountDownLatch(2);
+        final AtomicInteger drawCount = new AtomicInteger(0);
+        final RenderLoop loop = new RenderLoop(() -> {
+            drawCount.incrementAndGet();
+            draws.countDown();
+        }, 0);
+
+        loop.start();
+        Assert.assertTrue(loop.isRunning());
+        Assert.assertTrue(draws.await(10, TimeUnit.SECONDS));
+
+        // The loop's thread has finished once stop returns.
+        loop.stop();
+        Assert.assertFalse(loop.isRunning());
+
+        final int drawCountAfterStop = drawCount.get();
+        Thread.sleep(20);
+        Assert.assertEquals(drawCountAfterStop, drawCount.get());
+    }
+
+    @Test
+    public void testUncapped_drawsWithoutRequests() throws InterruptedException {
+        final CountDownLatch draws = new CountDownLatch(3);
+        final RenderLoop loop = new RenderLoop(draws::countDown, 0);
+
+        loop.start();
+        final boolean isDrawnRepeatedly = draws.await(10, TimeUnit.SECONDS);
+        loop.stop();
+
+        Assert.assertTrue(isDrawnRepeatedly);
+    }
+
+    @Test
+    public void testRun_continuesAfterException() throws InterruptedException {
+        final AtomicInteger drawCount = new AtomicInteger(0);
+        final RenderLoop loop = new RenderLoop(() -> {
+            drawCount.incrementAndGet();
+            throw new IllegalStateException();
+        }, 100);
+
+        loop.start();
+
+        // The first exception is slow to log, as the logger must be initialized.
+        final long deadline = System.currentTimeMillis() + 10_000;
+
+        while (drawCount.get() < 2 && System.currentTimeMillis() < deadline) {
+            loop.requestDraw();
+            Thread.sleep(10);
+        }
+
+        loop.stop();
+
+        Assert.assertTrue(drawCount.get() > 1);
+    }
+}
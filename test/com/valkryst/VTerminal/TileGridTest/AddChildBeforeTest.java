@@ -75,4 +75,19 @@ public class AddChildBeforeTest {
         Assert.assertFalse(parentGrid.containsChild(gridA));
         Assert.assertTrue(parentGrid.containsChild(gridB));
     }
+
+    @Test
+    public void testAddChildBefore_doesNotCoverExistingChild() {
+        final TileGrid gridA = new TileGrid(new Dimension(1, 1));
+        final TileGrid gridB = new TileGrid(new Dimension(2, 1));
+        gridA.getTileAt(0, 0).setCharacter('X');
+        gridB.getTileAt(0, 0).setCharacter('Y');
+        gridB.getTileAt(1, 0).setCharacter('Y');
+
+        parentGrid.addChild(gridA);
+        parentGrid.addChildBefore(gridB, gridA);
+
+        Assert.assertEquals('X', parentGrid.getTileAt(0, 0).getCharacter());
+        Assert.assertEquals('Y', parentGrid.getTileAt(1, 0).getCharacter());
+    }
 }
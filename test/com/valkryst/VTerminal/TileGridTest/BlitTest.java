@@ -0,0 +1,111 @@
+package com.valkryst.VTerminal.TileGridTest;
+
+import com.valkryst.VTerminal.TileGrid;
+import com.valkryst.VTerminal.TileStorageMode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+
+public class BlitTest {
+    /**
+     * Creates a grid which looks like this:
+     *
+     * ABC
+     * DEF
+     * GHI
+     *
+     * @param storageMode
+     *          How the grid's tiles are stored.
+     *
+     * @return
+     *          The grid.
+     */
+    private static TileGrid createGrid(final TileStorageMode storageMode) {
+        final TileGrid grid = new TileGrid(new Dimension(3, 3), storageMode);
+
+        for (int y = 0 ; y < grid.getHeight() ; y++) {
+            for (int x = 0 ; x < grid.getWidth() ; x++) {
+                grid.getTileAt(x, y).setCharacter((char) ('A' + (y * 3) + x));
+            }
+        }
+
+        return grid;
+    }
+
+    @Test
+    public void testBlit_fromOtherGrid() {
+        for (final TileStorageMode sourceMode : TileStorageMode.values()) {
+            for (final TileStorageMode destinationMode : TileStorageMode.values()) {
+                final TileGrid source = createGrid(sourceMode);
+                final TileGrid destination = new TileGrid(new Dimension(3, 3), destinationMode);
+
+                destination.blit(source, new Rectangle(1, 1, 2, 2), new Point(0, 0));
+                Assert.assertEquals("EF \nHI \n   \n", destination.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testBlit_withOverlappingAreaWithObjectStorage() {
+        testBlit_withOverlappingArea(TileStorageMode.OBJECT);
+    }
+
+    @Test
+    public void testBlit_withOverlappingAreaWithPackedStorage() {
+        testBlit_withOverlappingArea(TileStorageMode.PACKED);
+    }
+
+    private void testBlit_withOverlappingArea(final TileStorageMode storageMode) {
+        TileGrid grid = createGrid(storageMode);
+        grid.blit(grid, new Rectangle(0, 0, 2, 2), new Point(1, 1));
+        Assert.assertEquals("ABC\nDAB\nGDE\n", grid.toString());
+
+        grid = createGrid(storageMode);
+        grid.blit(grid, new Rectangle(1, 1, 2, 2), new Point(0, 0));
+        Assert.assertEquals("EFC\nHIF\nGHI\n", grid.toString());
+    }
+
+    @Test
+    public void testBlit_clampsArea() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        final TileGrid destination = new TileGrid(new Dimension(3, 3));
+
+        destination.blit(grid, new Rectangle(-1, -1, 3, 3), new Point(-1, 0));
+        Assert.assertEquals("   \nAB \nDE \n", destination.toString());
+
+        destination.blit(grid, new Rectangle(0, 0, 3, 3), new Point(2, 2));
+        Assert.assertEquals("   \nAB \nDEA\n", destination.toString());
+    }
+
+    @Test
+    public void testBlit_marksDestinationDirty() {
+        final TileGrid source = createGrid(TileStorageMode.PACKED);
+        final TileGrid destination = new TileGrid(new Dimension(3, 3), TileStorageMode.PACKED);
+        destination.copyOnto(new TileGrid(new Dimension(3, 3)));
+
+        destination.blit(source, new Rectangle(0, 0, 1, 1), new Point(2, 2));
+
+        Assert.assertTrue(destination.isTileDirty(2, 2));
+        Assert.assertFalse(destination.isTileDirty(0, 0));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testBlit_withNullSource() {
+        createGrid(TileStorageMode.OBJECT).blit(null, new Rectangle(0, 0, 1, 1), new Point(0, 0));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testBlit_withNullArea() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        grid.blit(grid, null, new Point(0, 0));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testBlit_withNullDestination() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        grid.blit(grid, new Rectangle(0, 0, 1, 1), null);
+    }
+}
@@ -126,4 +126,136 @@ public class CopyOntoTest {
         Assert.assertEquals(parentGrid.getTileAt(0, 1).getCharacter(), 'A');
         Assert.assertEquals(parentGrid.getTileAt(1, 1).getCharacter(), 'B');
     }
+
+    @Test
+    public void testCopyOnto_copiesChangedGrandchildren() {
+        final TileGrid child = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        final TileGrid grandchild = new TileGrid(new Dimension(1, 1), new Point(1, 1));
+        child.addChild(grandchild);
+        parentGrid.addChild(child);
+
+        final TileGrid newGrid = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        parentGrid.copyOnto(newGrid);
+
+        grandchild.getTileAt(0, 0).setCharacter('G');
+        parentGrid.copyOnto(newGrid);
+
+        Assert.assertEquals('G', child.getTileAt(1, 1).getCharacter());
+        Assert.assertEquals('G', parentGrid.getTileAt(1, 1).getCharacter());
+        Assert.assertEquals('G', newGrid.getTileAt(1, 1).getCharacter());
+    }
+
+    @Test
+    public void testCopyOnto_skipsOccludedChildren() {
+        final TileGrid lowerChild = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        final TileGrid upperChild = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        upperChild.getTileAt(0, 0).setCharacter('U');
+
+        parentGrid.addChild(lowerChild);
+        parentGrid.addChild(upperChild);
+
+        final TileGrid newGrid = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        parentGrid.copyOnto(newGrid);
+
+        // The lower child is completely covered, so it's never copied.
+        lowerChild.getTileAt(0, 0).setCharacter('L');
+        parentGrid.copyOnto(newGrid);
+
+        Assert.assertTrue(lowerChild.isTileDirty(0, 0));
+        Assert.assertEquals('U', parentGrid.getTileAt(0, 0).getCharacter());
+        Assert.assertEquals('U', newGrid.getTileAt(0, 0).getCharacter());
+    }
+
+    @Test
+    public void testCopyOnto_skipsOccludedTiles() {
+        final TileGrid lowerChild = new TileGrid(new Dimension(2, 1), new Point(0, 0));
+        final TileGrid upperChild = new TileGrid(new Dimension(1, 1), new Point(1, 0));
+        upperChild.getTileAt(0, 0).setCharacter('U');
+
+        parentGrid.addChild(lowerChild);
+        parentGrid.addChild(upperChild);
+
+        lowerChild.getTileAt(0, 0).setCharacter('L');
+        lowerChild.getTileAt(1, 0).setCharacter('L');
+        parentGrid.copyOnto(new TileGrid(new Dimension(2, 2), new Point(0, 0)));
+
+        Assert.assertEquals('L', parentGrid.getTileAt(0, 0).getCharacter());
+        Assert.assertEquals('U', parentGrid.getTileAt(1, 0).getCharacter());
+    }
+
+    @Test
+    public void testCopyOnto_afterChildMoves() {
+        final TileGrid lowerChild = new TileGrid(new Dimension(1, 1), new Point(0, 0));
+        final TileGrid upperChild = new TileGrid(new Dimension(1, 1), new Point(0, 0));
+        lowerChild.getTileAt(0, 0).setCharacter('L');
+        upperChild.getTileAt(0, 0).setCharacter('U');
+
+        parentGrid.addChild(lowerChild);
+        parentGrid.addChild(upperChild);
+        Assert.assertEquals('U', parentGrid.getTileAt(0, 0).getCharacter());
+
+        lowerChild.setPosition(1, 1);
+        parentGrid.copyOnto(new TileGrid(new Dimension(2, 2), new Point(0, 0)));
+
+        Assert.assertEquals('U', parentGrid.getTileAt(0, 0).getCharacter());
+        Assert.assertEquals('L', parentGrid.getTileAt(1, 1).getCharacter());
+    }
+
+    @Test
+    public void testCopyOnto_afterChildMovesOverSibling() {
+        final TileGrid grid = new TileGrid(new Dimension(10, 1));
+        final TileGrid lowerChild = new TileGrid(new Dimension(10, 1), new Point(0, 0));
+        final TileGrid upperChild = new TileGrid(new Dimension(3, 1), new Point(0, 0));
+
+        for (int x = 0 ; x < lowerChild.getWidth() ; x++) {
+            lowerChild.getTileAt(x, 0).setCharacter('L');
+        }
+
+        for (int x = 0 ; x < upperChild.getWidth() ; x++) {
+            upperChild.getTileAt(x, 0).setCharacter('U');
+        }
+
+        grid.addChild(lowerChild);
+        grid.addChild(upperChild);
+
+        final TileGrid newGrid = new TileGrid(new Dimension(10, 1), new Point(0, 0));
+        grid.copyOnto(newGrid);
+        Assert.assertEquals("UUULLLLLLL", getCharacters(newGrid));
+
+        // The tiles that the upper child vacated show the lower child again.
+        upperChild.setXPosition(5);
+        grid.copyOnto(newGrid);
+
+        Assert.assertEquals("LLLLLUUULL", getCharacters(grid));
+        Assert.assertEquals("LLLLLUUULL", getCharacters(newGrid));
+    }
+
+    @Test
+    public void testCopyOnto_afterChildMovesOffUncoveredTiles() {
+        final TileGrid grid = new TileGrid(new Dimension(4, 1));
+        final TileGrid child = new TileGrid(new Dimension(2, 1), new Point(0, 0));
+        child.getTileAt(0, 0).setCharacter('C');
+        child.getTileAt(1, 0).setCharacter('C');
+        grid.addChild(child);
+
+        final TileGrid newGrid = new TileGrid(new Dimension(4, 1), new Point(0, 0));
+        grid.copyOnto(newGrid);
+
+        // The vacated tiles, which no child covers, are reset.
+        child.setPosition(new Point(1, 0));
+        grid.copyOnto(newGrid);
+
+        Assert.assertEquals(" CC ", getCharacters(grid));
+        Assert.assertEquals(" CC ", getCharacters(newGrid));
+    }
+
+    private static String getCharacters(final TileGrid grid) {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int x = 0 ; x < grid.getWidth() ; x++) {
+            sb.append(grid.getTileAt(x, 0).getCharacter());
+        }
+
+        return sb.toString();
+    }
 }
@@ -0,0 +1,106 @@
+package com.valkryst.VTerminal.TileGridTest;
+
+import com.valkryst.VTerminal.TileGrid;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+
+public class IsTileDirtyTest {
+    private TileGrid grid;
+
+    @Before
+    public void initGrid() {
+        grid = new TileGrid(new Dimension(2, 2));
+        grid.copyOnto(new TileGrid(new Dimension(2, 2)));
+    }
+
+    @Test
+    public void testIsTileDirty_withNewGrid() {
+        final TileGrid newGrid = new TileGrid(new Dimension(2, 2));
+
+        for (int y = 0 ; y < newGrid.getHeight() ; y++) {
+            for (int x = 0 ; x < newGrid.getWidth() ; x++) {
+                Assert.assertTrue(newGrid.isTileDirty(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testIsTileDirty_afterCopyOnto() {
+        Assert.assertFalse(grid.hasDirtyTiles());
+
+        for (int y = 0 ; y < grid.getHeight() ; y++) {
+            for (int x = 0 ; x < grid.getWidth() ; x++) {
+                Assert.assertFalse(grid.isTileDirty(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testIsTileDirty_afterChangingTile() {
+        grid.getTileAt(1, 0).setCharacter('A');
+        grid.getTileAt(0, 1).setBackgroundColor(Color.RED);
+
+        Assert.assertTrue(grid.hasDirtyTiles());
+        Assert.assertFalse(grid.isTileDirty(0, 0));
+        Assert.assertTrue(grid.isTileDirty(1, 0));
+        Assert.assertTrue(grid.isTileDirty(0, 1));
+        Assert.assertFalse(grid.isTileDirty(1, 1));
+    }
+
+    @Test
+    public void testIsTileDirty_afterSettingTileToSameValue() {
+        grid.getTileAt(0, 0).setCharacter(grid.getTileAt(0, 0).getCharacter());
+        grid.getTileAt(0, 0).setHidden(grid.getTileAt(0, 0).isHidden());
+
+        Assert.assertFalse(grid.isTileDirty(0, 0));
+    }
+
+    @Test
+    public void testIsTileDirty_withOutOfBoundsCoordinates() {
+        grid.markAllTilesDirty();
+
+        Assert.assertFalse(grid.isTileDirty(-1, 0));
+        Assert.assertFalse(grid.isTileDirty(0, -1));
+        Assert.assertFalse(grid.isTileDirty(2, 0));
+        Assert.assertFalse(grid.isTileDirty(0, 2));
+    }
+
+    @Test
+    public void testCopyOnto_onlyCopiesDirtyTiles() {
+        final TileGrid destination = new TileGrid(new Dimension(2, 2));
+        grid.copyOnto(destination);
+
+        destination.copyOnto(new TileGrid(new Dimension(2, 2)));
+        grid.getTileAt(1, 1).setCharacter('B');
+        grid.copyOnto(destination);
+
+        Assert.assertEquals('B', destination.getTileAt(1, 1).getCharacter());
+        Assert.assertTrue(destination.isTileDirty(1, 1));
+        Assert.assertFalse(destination.isTileDirty(0, 0));
+        Assert.assertFalse(grid.isTileDirty(1, 1));
+    }
+
+    @Test
+    public void testCopyOnto_recopiesTilesChangedOnDestination() {
+        final TileGrid parent = new TileGrid(new Dimension(4, 4));
+        final TileGrid lowerChild = new TileGrid(new Dimension(2, 2), new Point(0, 0));
+        final TileGrid upperChild = new TileGrid(new Dimension(2, 2), new Point(1, 1));
+        upperChild.getTileAt(0, 0).setCharacter('U');
+
+        parent.addChild(lowerChild);
+        parent.addChild(upperChild);
+        Assert.assertEquals('U', parent.getTileAt(1, 1).getCharacter());
+
+        // The lower child changes a tile which is covered by the upper child.
+        lowerChild.getTileAt(1, 1).setCharacter('L');
+        lowerChild.copyOnto(parent);
+        upperChild.copyOnto(parent);
+
+        Assert.assertEquals('U', parent.getTileAt(1, 1).getCharacter());
+    }
+}
@@ -0,0 +1,203 @@
+package com.valkryst.VTerminal.TileGridTest;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.TileGrid;
+import com.valkryst.VTerminal.TileStorageMode;
+import com.valkryst.VTerminal.shader.blur.GaussianBlurShader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.Collections;
+
+public class PackedStorageTest {
+    @Test
+    public void testGetStorageMode() {
+        Assert.assertEquals(TileStorageMode.OBJECT, new TileGrid(new Dimension(2, 2)).getStorageMode());
+        Assert.assertEquals(TileStorageMode.PACKED, new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED).getStorageMode());
+    }
+
+    @Test
+    public void testDefaultTile_matchesObjectTile() {
+        final Tile packedTile = new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED).getTileAt(1, 1);
+        final Tile objectTile = new Tile(' ');
+
+        Assert.assertEquals(objectTile.getCharacter(), packedTile.getCharacter());
+        Assert.assertEquals(objectTile.getBackgroundColor(), packedTile.getBackgroundColor());
+        Assert.assertEquals(objectTile.getForegroundColor(), packedTile.getForegroundColor());
+        Assert.assertEquals(objectTile.isHidden(), packedTile.isHidden());
+        Assert.assertEquals(objectTile.isUnderlined(), packedTile.isUnderlined());
+        Assert.assertEquals(objectTile.getUnderlineThickness(), packedTile.getUnderlineThickness());
+        Assert.assertEquals(objectTile.getCacheKey(), packedTile.getCacheKey());
+    }
+
+    @Test
+    public void testSetters_writeThroughToGrid() {
+        final TileGrid grid = new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED);
+
+        final Tile tile = grid.getTileAt(1, 0);
+        tile.setCharacter('A');
+        tile.setBackgroundColor(Color.RED);
+        tile.setForegroundColor(Color.BLUE);
+        tile.setHidden(true);
+        tile.setUnderlined(true);
+        tile.setUnderlineThickness(4);
+
+        final Tile view = grid.getTileAt(1, 0);
+        Assert.assertEquals('A', view.getCharacter());
+        Assert.assertEquals(Color.RED, view.getBackgroundColor());
+        Assert.assertEquals(Color.BLUE, view.getForegroundColor());
+        Assert.assertTrue(view.isHidden());
+        Assert.assertTrue(view.isUnderlined());
+        Assert.assertEquals(4, view.getUnderlineThickness());
+
+        Assert.assertEquals(' ', grid.getTileAt(0, 0).getCharacter());
+        Assert.assertEquals(" A\n  \n", grid.toString());
+    }
+
+    @Test
+    public void testCacheKey_matchesObjectTile() {
+        final Tile packedTile = new TileGrid(new Dimension(1, 1), TileStorageMode.PACKED).getTileAt(0, 0);
+        final Tile objectTile = new Tile(' ');
+
+        for (final Tile tile : new Tile[] {packedTile, objectTile}) {
+            tile.setCharacter('B');
+            tile.setBackgroundColor(Color.GREEN);
+            tile.setFlippedHorizontally(true);
+        }
+
+        Assert.assertEquals(objectTile.getGlyphKey(), packedTile.getGlyphKey());
+        Assert.assertEquals(objectTile.getColorKey(), packedTile.getColorKey());
+        Assert.assertEquals(objectTile.getCacheKey(), packedTile.getCacheKey());
+        Assert.assertEquals(objectTile.getShaders(), packedTile.getShaders());
+    }
+
+    @Test
+    public void testUnderlineThickness_matchesObjectTile() {
+        final TileGrid grid = new TileGrid(new Dimension(2, 1), TileStorageMode.PACKED);
+        final Tile objectTile = new Tile(' ');
+
+        for (final int thickness : new int[] {200, 255}) {
+            grid.getTileAt(0, 0).setUnderlineThickness(thickness);
+            objectTile.setUnderlineThickness(thickness);
+            grid.getTileAt(1, 0).copy(objectTile);
+
+            Assert.assertEquals(thickness, grid.getTileAt(0, 0).getUnderlineThickness());
+            Assert.assertEquals(thickness, grid.getTileAt(1, 0).getUnderlineThickness());
+            Assert.assertEquals(objectTile.getGlyphKey(), grid.getTileAt(0, 0).getGlyphKey());
+            Assert.assertEquals(objectTile.getGlyphKey(), grid.getTileAt(1, 0).getGlyphKey());
+        }
+
+        // Thicker underlines are clamped, as with the glyph key.
+        grid.getTileAt(0, 0).setUnderlineThickness(300);
+        Assert.assertEquals(255, grid.getTileAt(0, 0).getUnderlineThickness());
+    }
+
+    @Test
+    public void testFlip_isStoredAsFlags() {
+        final Tile tile = new TileGrid(new Dimension(1, 1), TileStorageMode.PACKED).getTileAt(0, 0);
+        Assert.assertTrue(tile.getShaders().isEmpty());
+
+        tile.setFlippedVertically(true);
+        Assert.assertEquals(new FlipShader(false, true), tile.getShaders().get(0));
+
+        tile.removeAllShaders();
+        Assert.assertTrue(tile.getShaders().isEmpty());
+    }
+
+    @Test
+    public void testCopy_keepsOrderOfFlipShader() {
+        final TileGrid grid = new TileGrid(new Dimension(1, 1), TileStorageMode.PACKED);
+        final Tile objectTile = new Tile('A');
+        objectTile.addShaders(new GaussianBlurShader(2), FlipShader.of(true, false));
+
+        grid.getTileAt(0, 0).copy(objectTile);
+        Assert.assertEquals(objectTile.getShaders(), grid.getTileAt(0, 0).getShaders());
+        Assert.assertEquals(objectTile.getGlyphKey(), grid.getTileAt(0, 0).getGlyphKey());
+
+        // Copying the same tile again doesn't change the packed tile.
+        grid.copyOnto(new TileGrid(new Dimension(1, 1)));
+        grid.getTileAt(0, 0).copy(objectTile);
+        Assert.assertFalse(grid.isTileDirty(0, 0));
+
+        // The flip shader is replaced where it is, as with the object tile.
+        objectTile.setFlippedVertically(true);
+        grid.getTileAt(0, 0).setFlippedVertically(true);
+        Assert.assertEquals(objectTile.getShaders(), grid.getTileAt(0, 0).getShaders());
+        Assert.assertEquals(objectTile.getGlyphKey(), grid.getTileAt(0, 0).getGlyphKey());
+    }
+
+    @Test
+    public void testCopy_storesLeadingFlipShaderAsFlags() {
+        final TileGrid grid = new TileGrid(new Dimension(1, 1), TileStorageMode.PACKED);
+        final Tile objectTile = new Tile('A');
+        objectTile.addShaders(FlipShader.of(false, true), new GaussianBlurShader(2));
+
+        grid.getTileAt(0, 0).copy(objectTile);
+        Assert.assertEquals(objectTile.getGlyphKey(), grid.getTileAt(0, 0).getGlyphKey());
+
+        // Clearing the flags removes the flip shader.
+        grid.getTileAt(0, 0).setFlippedVertically(false);
+        Assert.assertEquals(Collections.singletonList(new GaussianBlurShader(2)), grid.getTileAt(0, 0).getShaders());
+    }
+
+    @Test
+    public void testSetters_markTilesDirty() {
+        final TileGrid grid = new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED);
+        grid.copyOnto(new TileGrid(new Dimension(2, 2)));
+
+        grid.getTileAt(0, 1).setCharacter(' ');
+        Assert.assertFalse(grid.hasDirtyTiles());
+
+        grid.getTileAt(0, 1).setCharacter('C');
+        Assert.assertTrue(grid.isTileDirty(0, 1));
+        Assert.assertFalse(grid.isTileDirty(1, 1));
+    }
+
+    @Test
+    public void testCopyOnto_betweenStorageModes() {
+        final TileGrid packedGrid = new TileGrid(new Dimension(2, 2), new Point(1, 1), TileStorageMode.PACKED);
+        packedGrid.getTileAt(0, 0).setCharacter('P');
+        packedGrid.getTileAt(1, 1).setForegroundColor(Color.ORANGE);
+
+        final TileGrid objectGrid = new TileGrid(new Dimension(3, 3));
+        packedGrid.copyOnto(objectGrid);
+        Assert.assertEquals('P', objectGrid.getTileAt(1, 1).getCharacter());
+        Assert.assertEquals(Color.ORANGE, objectGrid.getTileAt(2, 2).getForegroundColor());
+
+        final TileGrid otherPackedGrid = new TileGrid(new Dimension(3, 3), TileStorageMode.PACKED);
+        objectGrid.copyOnto(otherPackedGrid);
+        Assert.assertEquals('P', otherPackedGrid.getTileAt(1, 1).getCharacter());
+        Assert.assertEquals(Color.ORANGE, otherPackedGrid.getTileAt(2, 2).getForegroundColor());
+
+        final TileGrid lastPackedGrid = new TileGrid(new Dimension(3, 3), TileStorageMode.PACKED);
+        otherPackedGrid.copyOnto(lastPackedGrid);
+        Assert.assertEquals('P', lastPackedGrid.getTileAt(1, 1).getCharacter());
+        Assert.assertEquals(objectGrid.getTileAt(2, 2).getCacheKey(), lastPackedGrid.getTileAt(2, 2).getCacheKey());
+    }
+
+    @Test
+    public void testGetColumn_withPackedGrid() {
+        final TileGrid grid = new TileGrid(new Dimension(2, 3), TileStorageMode.PACKED);
+        grid.getTileAt(1, 2).setCharacter('D');
+
+        final Tile[] column = grid.getColumn(1);
+        Assert.assertEquals(3, column.length);
+        Assert.assertEquals('D', column[2].getCharacter());
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testCopy_withGraphicTile() {
+        final TileGrid grid = new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED);
+        grid.getTileAt(0, 0).copy(new GraphicTile('A'));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testConvertToGraphicTileGrid_withPackedGrid() {
+        new TileGrid(new Dimension(2, 2), TileStorageMode.PACKED).convertToGraphicTileGrid();
+    }
+}
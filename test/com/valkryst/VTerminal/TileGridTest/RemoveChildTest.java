@@ -57,4 +57,35 @@ public class RemoveChildTest {
     public void testRemoveChild_withNullChild() {
         parentGrid.removeChild(null);
     }
+
+    @Test
+    public void testRemoveChild_exposesLowerChild() {
+        final TileGrid lowerChild = new TileGrid(new Dimension(2, 2));
+        final TileGrid upperChild = new TileGrid(new Dimension(1, 1));
+        lowerChild.getTileAt(0, 0).setCharacter('L');
+        upperChild.getTileAt(0, 0).setCharacter('U');
+
+        parentGrid.addChild(lowerChild);
+        parentGrid.addChild(upperChild);
+        Assert.assertEquals('U', parentGrid.getTileAt(0, 0).getCharacter());
+
+        parentGrid.removeChild(upperChild);
+        Assert.assertEquals('L', parentGrid.getTileAt(0, 0).getCharacter());
+    }
+
+    @Test(timeout=10_000)
+    public void testRemoveChild_withNegativePosition() {
+        final TileGrid child = new TileGrid(new Dimension(2, 2));
+        child.setPosition(-1, -1);
+        child.getTileAt(1, 1).setCharacter('C');
+
+        parentGrid.addChild(child);
+        parentGrid.removeChild(child);
+        Assert.assertFalse(parentGrid.containsChild(child));
+
+        // The grid is still usable, as it's lock was released.
+        final TileGrid otherChild = new TileGrid(new Dimension(1, 1));
+        parentGrid.addChild(otherChild);
+        Assert.assertTrue(parentGrid.containsChild(otherChild));
+    }
 }
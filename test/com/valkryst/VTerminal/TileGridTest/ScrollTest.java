@@ -0,0 +1,171 @@
+package com.valkryst.VTerminal.TileGridTest;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.TileGrid;
+import com.valkryst.VTerminal.TileStorageMode;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+
+public class ScrollTest {
+    /**
+     * Creates a grid which looks like this:
+     *
+     * ABC
+     * DEF
+     * GHI
+     *
+     * @param storageMode
+     *          How the grid's tiles are stored.
+     *
+     * @return
+     *          The grid.
+     */
+    private static TileGrid createGrid(final TileStorageMode storageMode) {
+        final TileGrid grid = new TileGrid(new Dimension(3, 3), storageMode);
+
+        for (int y = 0 ; y < grid.getHeight() ; y++) {
+            for (int x = 0 ; x < grid.getWidth() ; x++) {
+                grid.getTileAt(x, y).setCharacter((char) ('A' + (y * 3) + x));
+            }
+        }
+
+        return grid;
+    }
+
+    /**
+     * Clears the dirty state of every tile on a grid, by copying it.
+     *
+     * @param grid
+     *          The grid.
+     */
+    private static void clearDirtyTiles(final TileGrid grid) {
+        grid.copyOnto(new TileGrid(new Dimension(grid.getWidth(), grid.getHeight())));
+    }
+
+    @Test
+    public void testScroll_upWithObjectStorage() {
+        testScroll_up(TileStorageMode.OBJECT);
+    }
+
+    @Test
+    public void testScroll_upWithPackedStorage() {
+        testScroll_up(TileStorageMode.PACKED);
+    }
+
+    private void testScroll_up(final TileStorageMode storageMode) {
+        final TileGrid grid = createGrid(storageMode);
+        grid.getTileAt(0, 2).setBackgroundColor(Color.RED);
+
+        grid.scroll(0, -1, null);
+
+        Assert.assertEquals("DEF\nGHI\n   \n", grid.toString());
+        Assert.assertEquals(Color.RED, grid.getTileAt(0, 1).getBackgroundColor());
+        Assert.assertEquals(Color.BLACK, grid.getTileAt(0, 2).getBackgroundColor());
+    }
+
+    @Test
+    public void testScroll_downAndRightWithObjectStorage() {
+        testScroll_downAndRight(TileStorageMode.OBJECT);
+    }
+
+    @Test
+    public void testScroll_downAndRightWithPackedStorage() {
+        testScroll_downAndRight(TileStorageMode.PACKED);
+    }
+
+    private void testScroll_downAndRight(final TileStorageMode storageMode) {
+        final TileGrid grid = createGrid(storageMode);
+        grid.scroll(1, 1, null);
+        Assert.assertEquals("   \n AB\n DE\n", grid.toString());
+    }
+
+    @Test
+    public void testScroll_withRegionWithObjectStorage() {
+        testScroll_withRegion(TileStorageMode.OBJECT);
+    }
+
+    @Test
+    public void testScroll_withRegionWithPackedStorage() {
+        testScroll_withRegion(TileStorageMode.PACKED);
+    }
+
+    private void testScroll_withRegion(final TileStorageMode storageMode) {
+        final TileGrid grid = createGrid(storageMode);
+        grid.scroll(-1, 0, new Rectangle(1, 0, 2, 2));
+        Assert.assertEquals("AC \nDF \nGHI\n", grid.toString());
+    }
+
+    @Test
+    public void testScroll_withRegionOutsideOfGrid() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        grid.scroll(0, 1, new Rectangle(5, 5, 2, 2));
+        Assert.assertEquals("ABC\nDEF\nGHI\n", grid.toString());
+    }
+
+    @Test
+    public void testScroll_byMoreThanRegion() {
+        final TileGrid grid = createGrid(TileStorageMode.PACKED);
+        grid.scroll(0, 5, null);
+        Assert.assertEquals("   \n   \n   \n", grid.toString());
+    }
+
+    @Test
+    public void testScroll_movesTiles() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        final Tile tile = grid.getTileAt(1, 1);
+
+        grid.scroll(0, -1, null);
+        Assert.assertSame(tile, grid.getTileAt(1, 0));
+
+        // The tile must mark it's new position as dirty, when changed.
+        clearDirtyTiles(grid);
+        tile.setCharacter('Z');
+
+        Assert.assertTrue(grid.isTileDirty(1, 0));
+        Assert.assertFalse(grid.isTileDirty(1, 1));
+    }
+
+    @Test
+    public void testScroll_marksRegionDirty() {
+        final TileGrid grid = createGrid(TileStorageMode.OBJECT);
+        clearDirtyTiles(grid);
+
+        grid.scroll(1, 0, new Rectangle(0, 1, 3, 1));
+
+        for (int x = 0 ; x < grid.getWidth() ; x++) {
+            Assert.assertFalse(grid.isTileDirty(x, 0));
+            Assert.assertTrue(grid.isTileDirty(x, 1));
+            Assert.assertFalse(grid.isTileDirty(x, 2));
+        }
+    }
+
+    @Test
+    public void testScroll_withPackedShaders() {
+        final TileGrid grid = createGrid(TileStorageMode.PACKED);
+        grid.getTileAt(0, 1).addShaders(new SharpenShader());
+
+        grid.scroll(0, -1, null);
+
+        Assert.assertEquals(1, grid.getTileAt(0, 0).getShaders().size());
+        Assert.assertEquals(0, grid.getTileAt(0, 1).getShaders().size());
+    }
+
+    @Test
+    public void testScroll_copiesScrolledChildOntoParent() {
+        final TileGrid parent = new TileGrid(new Dimension(5, 5));
+        final TileGrid child = createGrid(TileStorageMode.OBJECT);
+        child.setPosition(new Point(1, 1));
+        parent.addChild(child);
+
+        child.scroll(0, -1, null);
+        parent.copyOnto(new TileGrid(new Dimension(5, 5)));
+
+        Assert.assertEquals("     \n DEF \n GHI \n     \n     \n", parent.toString());
+    }
+}
@@ -0,0 +1,147 @@
+package com.valkryst.VTerminal.TileTest;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.shader.Shader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+public class GetCacheKeyTest {
+    private Tile character;
+
+    @Before
+    public void initializeCharacter() {
+        character = new Tile('A');
+    }
+
+    @Test
+    public void withEqualTiles() {
+        final Tile otherCharacter = new Tile('A');
+        Assert.assertEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+        Assert.assertEquals(character.getCacheKey().hashCode(), otherCharacter.getCacheKey().hashCode());
+    }
+
+    @Test
+    public void withDifferentCharacters() {
+        Assert.assertNotEquals(character.getCacheKey(), new Tile('B').getCacheKey());
+    }
+
+    @Test
+    public void withDifferentColors() {
+        final Tile otherCharacter = new Tile('A');
+        otherCharacter.setForegroundColor(Color.RED);
+        Assert.assertNotEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+
+        otherCharacter.setForegroundColor(character.getForegroundColor());
+        otherCharacter.setBackgroundColor(Color.RED);
+        Assert.assertNotEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+    }
+
+    @Test
+    public void withForegroundAndBackgroundColorsSwapped() {
+        final Tile otherCharacter = new Tile('A');
+        otherCharacter.setForegroundColor(character.getBackgroundColor());
+        otherCharacter.setBackgroundColor(character.getForegroundColor());
+        Assert.assertNotEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+    }
+
+    @Test
+    public void withDifferentShaders() {
+        final Tile otherCharacter = new Tile('A');
+        otherCharacter.addShaders(new SharpenShader());
+        Assert.assertNotEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+
+        character.addShaders(new SharpenShader());
+        Assert.assertEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+
+        character.setFlippedHorizontally(true);
+        Assert.assertNotEquals(character.getCacheKey(), otherCharacter.getCacheKey());
+    }
+
+    @Test
+    public void withGraphicTile() {
+        Assert.assertNotEquals(character.getCacheKey(), new GraphicTile('A').getCacheKey());
+    }
+
+    @Test
+    public void withUnderlineAndHiddenState() {
+        final Object cacheKey = character.getCacheKey();
+        final long glyphKey = character.getGlyphKey();
+
+        character.setUnderlined(true);
+        character.setHidden(true);
+
+        // The image is the same, but the tile must still be redrawn.
+        Assert.assertSame(cacheKey, character.getCacheKey());
+        Assert.assertNotEquals(glyphKey, character.getGlyphKey());
+    }
+
+    @Test
+    public void withCopiedTile_sharesKey() {
+        character.addShaders(new FlipShader(true, false));
+        character.getCacheKey();
+
+        final Tile otherCharacter = new Tile(' ');
+        otherCharacter.copy(character);
+        Assert.assertSame(character.getCacheKey(), otherCharacter.getCacheKey());
+    }
+
+    @Test
+    public void withChangedTile_createsNewKey() {
+        final Object cacheKey = character.getCacheKey();
+        character.setCharacter('B');
+        Assert.assertNotEquals(cacheKey, character.getCacheKey());
+
+        character.setCharacter('A');
+        Assert.assertEquals(cacheKey, character.getCacheKey());
+    }
+
+    @Test
+    public void testGetStyleKey_withEqualTiles() {
+        final Tile otherCharacter = new Tile('A');
+        character.addShaders(new SharpenShader());
+        otherCharacter.addShaders(new SharpenShader());
+
+        Assert.assertNotNull(character.getCacheKey().getStyleKey());
+        Assert.assertEquals(character.getCacheKey().getStyleKey(), otherCharacter.getCacheKey().getStyleKey());
+    }
+
+    @Test
+    public void testGetStyleKey_withDifferentShaderSettings() {
+        final Tile otherCharacter = new Tile('A');
+        final SharpenShader shader = new SharpenShader(0.75f, 1);
+
+        character.addShaders(new SharpenShader());
+        otherCharacter.addShaders(shader);
+
+        Assert.assertNotEquals(character.getCacheKey().getStyleKey(), otherCharacter.getCacheKey().getStyleKey());
+    }
+
+    @Test
+    public void testGetStyleKey_withUndescribableShader() {
+        character.addShaders(new SharpenShader() {});
+        Assert.assertNotNull(character.getCacheKey().getStyleKey());
+
+        final Tile otherCharacter = new Tile('A');
+        otherCharacter.addShaders(new UndescribableShader());
+        Assert.assertNull(otherCharacter.getCacheKey().getStyleKey());
+    }
+
+    private static class UndescribableShader implements Shader {
+        @Override
+        public BufferedImage run(final BufferedImage image) {
+            return image;
+        }
+
+        @Override
+        public Shader copy() {
+            return new UndescribableShader();
+        }
+    }
+}
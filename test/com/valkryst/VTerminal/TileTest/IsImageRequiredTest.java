@@ -0,0 +1,44 @@
+package com.valkryst.VTerminal.TileTest;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+
+public class IsImageRequiredTest {
+    @Test
+    public void withVisibleCharacter() {
+        Assert.assertTrue(new Tile('A').isImageRequired());
+    }
+
+    @Test
+    public void withHiddenTile() {
+        final Tile tile = new Tile('A');
+        tile.setHidden(true);
+        Assert.assertFalse(tile.isImageRequired());
+    }
+
+    @Test
+    public void withEqualColors() {
+        final Tile tile = new Tile('A');
+        tile.setForegroundColor(Color.RED);
+        tile.setBackgroundColor(Color.RED);
+        Assert.assertFalse(tile.isImageRequired());
+    }
+
+    @Test
+    public void withSpaceCharacter() {
+        Assert.assertFalse(new Tile(' ').isImageRequired());
+    }
+
+    @Test
+    public void withGraphicTile() {
+        final Tile tile = new GraphicTile(' ');
+        Assert.assertTrue(tile.isImageRequired());
+
+        tile.setHidden(true);
+        Assert.assertFalse(tile.isImageRequired());
+    }
+}
@@ -26,4 +26,16 @@ public class SetUnderlineThicknessTest {
             Assert.assertEquals(1, character.getUnderlineThickness());
         }
     }
+
+    @Test
+    public void withThicknessAboveMaximum() {
+        character.setUnderlineThickness(300);
+        Assert.assertEquals(255, character.getUnderlineThickness());
+
+        // The thickness agrees with the glyph key, so copies aren't skipped wrongly.
+        final Tile otherTile = new Tile('A');
+        otherTile.setUnderlineThickness(400);
+        otherTile.copy(character);
+        Assert.assertEquals(255, otherTile.getUnderlineThickness());
+    }
 }
@@ -0,0 +1,149 @@
+package com.valkryst.VTerminal.component;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.List;
+
+public class ComponentRegistryTest {
+    private ComponentRegistry registry;
+
+    @Before
+    public void initializeRegistry() {
+        registry = new ComponentRegistry();
+    }
+
+    private static Component createComponent(final String id) {
+        final Component component = new Component(new Dimension(2, 2), new Point(0, 0));
+        component.setId(id);
+        return component;
+    }
+
+    @Test
+    public void testAdd() {
+        final Component component = createComponent("A");
+        registry.add(component);
+
+        Assert.assertEquals(1, registry.size());
+        Assert.assertTrue(registry.contains(component));
+        Assert.assertEquals(component, registry.getComponents().get(0));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testAdd_withNullComponent() {
+        registry.add(null);
+    }
+
+    @Test
+    public void testRemove() {
+        final Component a = createComponent("A");
+        final Component b = createComponent("B");
+        final Component c = createComponent("C");
+        registry.add(a);
+        registry.add(b);
+        registry.add(c);
+
+        Assert.assertTrue(registry.remove(b));
+        Assert.assertFalse(registry.remove(b));
+        Assert.assertFalse(registry.remove(null));
+
+        Assert.assertEquals(2, registry.size());
+        Assert.assertEquals(a, registry.getComponents().get(0));
+        Assert.assertEquals(c, registry.getComponents().get(1));
+    }
+
+    @Test
+    public void testRemoveAll() {
+        final Component a = createComponent("A");
+        final Component b = createComponent("B");
+        registry.add(a);
+        registry.add(b);
+
+        final List<Component> removed = registry.removeAll();
+
+        Assert.assertTrue(registry.isEmpty());
+        Assert.assertEquals(2, removed.size());
+        Assert.assertEquals(a, removed.get(0));
+        Assert.assertEquals(b, removed.get(1));
+        Assert.assertTrue(registry.getComponentsByID("A").isEmpty());
+    }
+
+    @Test
+    public void testGetComponents_isUnaffectedByChanges() {
+        final Component a = createComponent("A");
+        registry.add(a);
+
+        final List<Component> snapshot = registry.getComponents();
+        registry.add(createComponent("B"));
+        registry.remove(a);
+
+        Assert.assertEquals(1, snapshot.size());
+        Assert.assertEquals(a, snapshot.get(0));
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testGetComponents_isUnmodifiable() {
+        registry.add(createComponent("A"));
+        registry.getComponents().clear();
+    }
+
+    @Test
+    public void testGetComponentsByID() {
+        final Component a = createComponent("A");
+        final Component b1 = createComponent("B");
+        final Component b2 = createComponent("B");
+        registry.add(a);
+        registry.add(b1);
+        registry.add(b2);
+
+        Assert.assertEquals(1, registry.getComponentsByID("A").size());
+        Assert.assertEquals(a, registry.getComponentsByID("A").get(0));
+
+        final List<Component> results = registry.getComponentsByID("B");
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals(b1, results.get(0));
+        Assert.assertEquals(b2, results.get(1));
+
+        Assert.assertTrue(registry.getComponentsByID("C").isEmpty());
+        Assert.assertTrue(registry.getComponentsByID("").isEmpty());
+        Assert.assertTrue(registry.getComponentsByID(null).isEmpty());
+    }
+
+    @Test
+    public void testGetComponentsByID_afterIdChange() {
+        final Component component = createComponent("A");
+        registry.add(component);
+        Assert.assertEquals(1, registry.getComponentsByID("A").size());
+
+        component.setId("B");
+        Assert.assertTrue(registry.getComponentsByID("A").isEmpty());
+        Assert.assertEquals(component, registry.getComponentsByID("B").get(0));
+
+        component.setId(null);
+        Assert.assertTrue(registry.getComponentsByID("B").isEmpty());
+    }
+
+    @Test
+    public void testAdd_concurrently() throws InterruptedException {
+        final Thread[] threads = new Thread[4];
+
+        for (int i = 0 ; i < threads.length ; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0 ; j < 250 ; j++) {
+                    registry.add(createComponent("A"));
+                }
+            });
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(1000, registry.size());
+        Assert.assertEquals(1000, registry.getComponentsByID("A").size());
+    }
+}
@@ -0,0 +1,174 @@
+package com.valkryst.VTerminal.component;
+
+import com.valkryst.VTerminal.builder.ConsoleBuilder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+
+public class ConsoleTest {
+    private ConsoleBuilder builder;
+
+    @Before
+    public void initializeBuilder() {
+        builder = new ConsoleBuilder();
+        builder.setDimensions(4, 3);
+        builder.setMaxLines(5);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullBuilder() {
+        new Console(null);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testBuild_withInvalidMaxLines() {
+        builder.setMaxLines(0);
+        builder.build();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testBuild_withTooManyCharacters() {
+        builder.setMaxLines(Integer.MAX_VALUE);
+        builder.build();
+    }
+
+    @Test
+    public void testAppendLine() {
+        final Console console = builder.build();
+        console.appendLine("A");
+        console.appendLine("B");
+
+        Assert.assertEquals(2, console.getLineCount());
+        Assert.assertEquals("A   \nB   \n    \n", console.getTiles().toString());
+    }
+
+    @Test
+    public void testAppendLine_splitsText() {
+        final Console console = builder.build();
+        console.appendLine("ABCDEF\nG\n");
+
+        Assert.assertEquals(3, console.getLineCount());
+        Assert.assertEquals("ABCD", console.getLine(0));
+        Assert.assertEquals("EF", console.getLine(1));
+        Assert.assertEquals("G", console.getLine(2));
+
+        console.appendLine("");
+        Assert.assertEquals(4, console.getLineCount());
+        Assert.assertEquals("", console.getLine(3));
+    }
+
+    @Test
+    public void testAppendLine_withColors() {
+        final Console console = builder.build();
+        console.appendLine("A", Color.RED, Color.BLUE);
+
+        Assert.assertEquals(Color.RED, console.getTileAt(0, 0).getForegroundColor());
+        Assert.assertEquals(Color.BLUE, console.getTileAt(3, 0).getBackgroundColor());
+        Assert.assertEquals(console.getBackgroundColor(), console.getTileAt(0, 1).getBackgroundColor());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testAppendLine_withNullText() {
+        builder.build().appendLine(null);
+    }
+
+    @Test
+    public void testAppendLine_followsTail() {
+        final Console console = builder.build();
+
+        for (final String line : new String[] {"A", "B", "C", "D"}) {
+            console.appendLine(line);
+        }
+
+        Assert.assertEquals(1, console.getFirstVisibleLine());
+        Assert.assertEquals("B   \nC   \nD   \n", console.getTiles().toString());
+    }
+
+    @Test
+    public void testAppendLine_replacesOldestLines() {
+        final Console console = builder.build();
+
+        for (int i = 0 ; i < 12 ; i++) {
+            console.appendLine(String.valueOf(i));
+        }
+
+        Assert.assertEquals(5, console.getLineCount());
+        Assert.assertEquals("7", console.getLine(0));
+        Assert.assertEquals("11", console.getLine(4));
+        Assert.assertNull(console.getLine(5));
+        Assert.assertNull(console.getLine(-1));
+        Assert.assertEquals("9   \n10  \n11  \n", console.getTiles().toString());
+    }
+
+    @Test
+    public void testAppendLine_whileNotFollowingTail() {
+        final Console console = builder.build();
+
+        for (final String line : new String[] {"A", "B", "C", "D"}) {
+            console.appendLine(line);
+        }
+
+        console.scrollTo(0);
+        Assert.assertFalse(console.isFollowingTail());
+
+        console.appendLine("E");
+        Assert.assertEquals("A   \nB   \nC   \n", console.getTiles().toString());
+
+        // The top line is replaced, so the window moves to the oldest line.
+        console.appendLine("F");
+        Assert.assertEquals(0, console.getFirstVisibleLine());
+        Assert.assertEquals("B   \nC   \nD   \n", console.getTiles().toString());
+    }
+
+    @Test
+    public void testScrollTo() {
+        final Console console = builder.build();
+
+        for (final String line : new String[] {"A", "B", "C", "D", "E"}) {
+            console.appendLine(line);
+        }
+
+        console.scrollTo(1);
+        Assert.assertEquals("B   \nC   \nD   \n", console.getTiles().toString());
+
+        console.scrollTo(-10);
+        Assert.assertEquals(0, console.getFirstVisibleLine());
+        Assert.assertEquals("A   \nB   \nC   \n", console.getTiles().toString());
+
+        console.scrollBy(1);
+        Assert.assertEquals("B   \nC   \nD   \n", console.getTiles().toString());
+
+        // Scrolling to the newest lines follows the tail again.
+        console.scrollBy(100);
+        Assert.assertTrue(console.isFollowingTail());
+        Assert.assertEquals(2, console.getFirstVisibleLine());
+        Assert.assertEquals("C   \nD   \nE   \n", console.getTiles().toString());
+    }
+
+    @Test
+    public void testSetFollowingTail() {
+        final Console console = builder.build();
+
+        for (final String line : new String[] {"A", "B", "C", "D", "E"}) {
+            console.appendLine(line);
+        }
+
+        console.setFollowingTail(false);
+        console.scrollTo(0);
+        console.setFollowingTail(true);
+
+        Assert.assertEquals(2, console.getFirstVisibleLine());
+    }
+
+    @Test
+    public void testClear() {
+        final Console console = builder.build();
+        console.appendLine("A");
+        console.clear();
+
+        Assert.assertEquals(0, console.getLineCount());
+        Assert.assertEquals("    \n    \n    \n", console.getTiles().toString());
+    }
+}
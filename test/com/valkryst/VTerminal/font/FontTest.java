@@ -3,7 +3,9 @@ package com.valkryst.VTerminal.font;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.HashMap;
 
 public class FontTest {
     private final Font font;
@@ -34,4 +36,57 @@ public class FontTest {
             Assert.assertNotNull(font.getCharacterImage((char) i));
         }
     }
+
+    @Test
+    public void testGetCharacterMask() {
+        final BufferedImage image = font.getCharacterImage('A');
+        final byte[] mask = font.getCharacterMask('A');
+
+        Assert.assertEquals(image.getWidth() * image.getHeight(), mask.length);
+
+        for (int y = 0 ; y < image.getHeight() ; y++) {
+            for (int x = 0 ; x < image.getWidth() ; x++) {
+                Assert.assertEquals(image.getRGB(x, y) >>> 24, mask[(y * image.getWidth()) + x] & 0xFF);
+            }
+        }
+    }
+
+    @Test
+    public void testGetCharacterMask_withNonSupportedCharacter() {
+        Assert.assertNull(font.getCharacterMask('\u1F5E'));
+    }
+
+    @Test
+    public void testGetCharacterImage_withSparseCharacters() {
+        final BufferedImage image = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0x80FFFFFF);
+
+        final HashMap<Character, BufferedImage> images = new HashMap<>();
+        images.put('X', image);
+        images.put('\u4E00', image);
+        images.put(Character.MAX_VALUE, image);
+
+        final Font sparseFont = new Font(images, 2);
+        Assert.assertTrue(sparseFont.isCharacterSupported('X'));
+        Assert.assertTrue(sparseFont.isCharacterSupported('\u4E00'));
+        Assert.assertTrue(sparseFont.isCharacterSupported(Character.MAX_VALUE));
+        Assert.assertFalse(sparseFont.isCharacterSupported('Y'));
+        Assert.assertFalse(sparseFont.isCharacterSupported('\u4E01'));
+
+        // The images, and their masks, are scaled.
+        Assert.assertEquals(4, sparseFont.getCharacterImage('\u4E00').getWidth());
+        Assert.assertEquals(16, sparseFont.getCharacterMask('\u4E00').length);
+        Assert.assertEquals(0x80, sparseFont.getCharacterMask('\u4E00')[5] & 0xFF);
+        Assert.assertEquals(0, sparseFont.getCharacterMask('\u4E00')[2]);
+    }
+
+    @Test
+    public void testGetFingerprint() throws IOException {
+        final Font otherFont = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        Assert.assertNotEquals(0, font.getFingerprint());
+        Assert.assertEquals(font.getFingerprint(), otherFont.getFingerprint());
+
+        otherFont.resize(2, 2);
+        Assert.assertNotEquals(font.getFingerprint(), otherFont.getFingerprint());
+    }
 }
@@ -0,0 +1,112 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+public class GlyphAtlasTest {
+    private final static int BLACK = Color.BLACK.getRGB();
+    private final static int WHITE = Color.WHITE.getRGB();
+
+    private GlyphAtlas atlas;
+
+    @Before
+    public void initializeAtlas() {
+        // A 2x2 glyph, where only the top-left pixel is opaque.
+        final BufferedImage glyph = new BufferedImage(2, 2, BufferedImage.TYPE_INT_ARGB);
+        glyph.setRGB(0, 0, 0xFFFFFFFF);
+        glyph.setRGB(1, 0, 0x80FFFFFF);
+
+        final HashMap<Character, BufferedImage> images = new HashMap<>();
+        images.put('X', glyph);
+        images.put('A', glyph);
+
+        atlas = new GlyphAtlas(new Font(images, 1));
+    }
+
+    @Test
+    public void testConstructor() {
+        Assert.assertEquals(2, atlas.getGlyphWidth());
+        Assert.assertEquals(2, atlas.getGlyphHeight());
+        Assert.assertEquals(2, atlas.getGlyphCount());
+    }
+
+    @Test
+    public void testCanDraw() {
+        final Tile tile = new Tile('A');
+        Assert.assertTrue(atlas.canDraw(tile));
+
+        tile.setFlippedHorizontally(true);
+        Assert.assertTrue(atlas.canDraw(tile));
+
+        tile.addShaders(new SharpenShader());
+        Assert.assertFalse(atlas.canDraw(tile));
+
+        Assert.assertFalse(atlas.canDraw(new GraphicTile('A')));
+    }
+
+    @Test
+    public void testDraw() {
+        final int[] pixels = new int[4 * 2];
+        atlas.draw(pixels, 4, new Tile('A'), 2, 0);
+
+        Assert.assertArrayEquals(new int[] {0, 0, WHITE, 0xFF808080,
+                                            0, 0, BLACK, BLACK}, pixels);
+    }
+
+    @Test
+    public void testDraw_withFlippedTile() {
+        final Tile tile = new Tile('A');
+        tile.setFlippedHorizontally(true);
+        tile.setFlippedVertically(true);
+
+        final int[] pixels = new int[2 * 2];
+        atlas.draw(pixels, 2, tile, 0, 0);
+
+        Assert.assertArrayEquals(new int[] {BLACK, BLACK,
+                                            0xFF808080, WHITE}, pixels);
+    }
+
+    @Test
+    public void testDraw_withUnderlinedTile() {
+        final Tile tile = new Tile('A');
+        tile.setUnderlined(true);
+        tile.setUnderlineThickness(1);
+
+        final int[] pixels = new int[2 * 2];
+        atlas.draw(pixels, 2, tile, 0, 0);
+
+        Assert.assertArrayEquals(new int[] {WHITE, 0xFF808080,
+                                            WHITE, WHITE}, pixels);
+    }
+
+    @Test
+    public void testDraw_withHiddenTile() {
+        final Tile tile = new Tile('A');
+        tile.setBackgroundColor(Color.RED);
+        tile.setHidden(true);
+
+        final int[] pixels = new int[2 * 2];
+        atlas.draw(pixels, 2, tile, 0, 0);
+
+        final int red = Color.RED.getRGB();
+        Assert.assertArrayEquals(new int[] {red, red, red, red}, pixels);
+    }
+
+    @Test
+    public void testDraw_withUnsupportedCharacter() {
+        final int[] pixels = new int[2 * 2];
+        atlas.draw(pixels, 2, new Tile('B'), 0, 0);
+
+        final int magenta = 0xFFFF00FF;
+        Assert.assertArrayEquals(new int[] {magenta, magenta, magenta, magenta}, pixels);
+    }
+}
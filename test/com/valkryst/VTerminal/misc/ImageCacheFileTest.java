@@ -0,0 +1,155 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class ImageCacheFileTest {
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Font font;
+
+    public ImageCacheFileTest() throws IOException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+    }
+
+    private static BufferedImage createImage(final int rgb) {
+        final BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0 ; y < 2 ; y++) {
+            for (int x = 0 ; x < 3 ; x++) {
+                image.setRGB(x, y, rgb + (y * 3) + x);
+            }
+        }
+
+        return image;
+    }
+
+    private static void assertImageEquals(final BufferedImage expected, final BufferedImage actual) {
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(expected.getWidth(), actual.getWidth());
+        Assert.assertEquals(expected.getHeight(), actual.getHeight());
+        Assert.assertArrayEquals(expected.getRGB(0, 0, 3, 2, null, 0, 3), actual.getRGB(0, 0, 3, 2, null, 0, 3));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullPath() throws IOException {
+        new ImageCacheFile(null, font);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_withNullFont() throws IOException {
+        new ImageCacheFile(folder.getRoot().toPath().resolve("cache.bin"), null);
+    }
+
+    @Test
+    public void testRead_beforeSave() throws IOException {
+        final ImageCacheFile file = new ImageCacheFile(folder.getRoot().toPath().resolve("cache.bin"), font);
+        Assert.assertNull(file.read("A"));
+
+        file.write("A", createImage(0xFF000000));
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+
+        // Existing images aren't replaced.
+        file.write("A", createImage(0xFF00FF00));
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+        Assert.assertEquals(1, file.size());
+    }
+
+    @Test
+    public void testRead_afterReopening() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("cache.bin");
+
+        ImageCacheFile file = new ImageCacheFile(path, font);
+        file.write("A", createImage(0xFF000000));
+        file.save();
+
+        file = new ImageCacheFile(path, font);
+        file.write("B", createImage(0xFF00FF00));
+        file.save();
+
+        file = new ImageCacheFile(path, font);
+        Assert.assertEquals(2, file.size());
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+        assertImageEquals(createImage(0xFF00FF00), file.read("B"));
+    }
+
+    @Test
+    public void testRead_afterSavingMappedFile() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("cache.bin");
+
+        ImageCacheFile file = new ImageCacheFile(path, font);
+        file.write("A", createImage(0xFF000000));
+        file.save();
+
+        // The image of 'A' is read from the mapping of the opened file.
+        file = new ImageCacheFile(path, font);
+        file.write("B", createImage(0xFF00FF00));
+        file.save();
+
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+        assertImageEquals(createImage(0xFF00FF00), file.read("B"));
+
+        // Both images are read from the mapping of the saved file.
+        file.write("C", createImage(0xFF0000FF));
+        file.save();
+
+        Assert.assertEquals(3, file.size());
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+        assertImageEquals(createImage(0xFF00FF00), file.read("B"));
+        assertImageEquals(createImage(0xFF0000FF), file.read("C"));
+        Assert.assertEquals(3, new ImageCacheFile(path, font).size());
+    }
+
+    @Test
+    public void testRead_withDifferentFont() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("cache.bin");
+
+        final ImageCacheFile file = new ImageCacheFile(path, font);
+        file.write("A", createImage(0xFF000000));
+        file.save();
+
+        final Font otherFont = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 2);
+        final ImageCacheFile otherFile = new ImageCacheFile(path, otherFont);
+        Assert.assertNull(otherFile.read("A"));
+
+        // The file is replaced by the next save.
+        otherFile.write("B", createImage(0xFF00FF00));
+        otherFile.save();
+
+        Assert.assertEquals(1, new ImageCacheFile(path, otherFont).size());
+        Assert.assertEquals(0, new ImageCacheFile(path, font).size());
+    }
+
+    @Test
+    public void testRead_withIncompleteEntry() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("cache.bin");
+
+        ImageCacheFile file = new ImageCacheFile(path, font);
+        file.write("A", createImage(0xFF000000));
+        file.save();
+
+        Files.write(path, new byte[] {0, 0, 0, 1, 'B', 0, 0}, StandardOpenOption.APPEND);
+
+        file = new ImageCacheFile(path, font);
+        Assert.assertEquals(1, file.size());
+        assertImageEquals(createImage(0xFF000000), file.read("A"));
+
+        // The incomplete entry is discarded by the next save.
+        file.write("B", createImage(0xFF00FF00));
+        file.save();
+
+        file = new ImageCacheFile(path, font);
+        Assert.assertEquals(2, file.size());
+        assertImageEquals(createImage(0xFF00FF00), file.read("B"));
+    }
+}
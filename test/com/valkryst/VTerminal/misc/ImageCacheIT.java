@@ -1,15 +1,25 @@
 package com.valkryst.VTerminal.misc;
 
+import com.valkryst.VTerminal.GraphicTile;
 import com.valkryst.VTerminal.Tile;
 import com.valkryst.VTerminal.font.Font;
 import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.shader.character.CharGlowShader;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.awt.Image;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ImageCacheIT {
+    @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
     private final Font font;
 
     public ImageCacheIT() throws IOException {
@@ -62,4 +72,147 @@ public class ImageCacheIT {
         final ImageCache cache = new ImageCache(font);
         cache.retrieve(null);
     }
+
+    @Test
+    public void testPrepare() {
+        final ImageCache cache = new ImageCache(font);
+        cache.getMetrics().setEnabled(true);
+
+        final List<Tile> tiles = new ArrayList<>();
+
+        for (char c = 'A' ; c <= 'Z' ; c++) {
+            tiles.add(new Tile(c));
+            tiles.add(new Tile(c));
+        }
+
+        // Tiles which don't require an image are ignored.
+        tiles.add(new Tile(' '));
+
+        cache.prepare(tiles);
+        Assert.assertEquals(26, cache.getMetrics().getCacheLoads());
+
+        for (final Tile tile : tiles) {
+            if (tile.isImageRequired()) {
+                cache.retrieve(tile);
+            }
+        }
+
+        Assert.assertEquals(26, cache.getMetrics().getCacheLoads());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testPrepare_withNullTiles() {
+        new ImageCache(font).prepare(null);
+    }
+
+    @Test
+    public void testConstructor_fiveParams_withValidData() {
+        final ImageCache cache = new ImageCache(font, CachedImageType.BUFFERED, CachePolicy.SIZE, 1024, 1);
+        Assert.assertEquals(CachePolicy.SIZE, cache.getCachePolicy());
+        Assert.assertEquals(1024, cache.getMaximumSize());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_fiveParams_withNullPolicy() {
+        new ImageCache(font, CachedImageType.BUFFERED, null, 1024, 1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_fiveParams_withInvalidMaximumSize() {
+        new ImageCache(font, CachedImageType.BUFFERED, CachePolicy.SIZE, 0, 1);
+    }
+
+    @Test
+    public void testRetrieve_withSizePolicy() {
+        final int imageSize = ImageCache.getSize(ImageCache.applyColorSwap(new Tile('A'), font));
+        final long maximumSize = imageSize * 10L;
+
+        for (final CachePolicy policy : new CachePolicy[] {CachePolicy.SIZE, CachePolicy.SIZE_AND_ACCESS_EXPIRY}) {
+            final ImageCache cache = new ImageCache(font, CachedImageType.BUFFERED, policy, maximumSize, 1);
+            cache.getMetrics().setEnabled(true);
+
+            for (char c = 'A' ; c <= 'Z' ; c++) {
+                cache.retrieve(new Tile(c));
+            }
+
+            Assert.assertTrue(cache.getCachedSize() <= maximumSize);
+            Assert.assertTrue(cache.getMetrics().getCacheEvictions() >= 16);
+        }
+    }
+
+    @Test
+    public void testRetrieve_withAccessExpiryPolicy() {
+        final ImageCache cache = new ImageCache(font, CachedImageType.BUFFERED, CachePolicy.ACCESS_EXPIRY, 1, 1);
+        cache.getMetrics().setEnabled(true);
+
+        for (char c = 'A' ; c <= 'Z' ; c++) {
+            cache.retrieve(new Tile(c));
+        }
+
+        // The maximum size is ignored.
+        Assert.assertTrue(cache.getCachedSize() > 1);
+        Assert.assertEquals(0, cache.getMetrics().getCacheEvictions());
+    }
+
+    @Test
+    public void testRetrieve_withPersistentCache() throws IOException {
+        final Path path = folder.getRoot().toPath().resolve("cache.bin");
+        final Tile tile = new Tile('A');
+        tile.addShaders(new CharGlowShader());
+
+        final ImageCache cache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        cache.setPersistentCache(new ImageCacheFile(path, font));
+        final BufferedImage image = (BufferedImage) cache.retrieve(tile);
+        cache.getPersistentCache().save();
+
+        // The image is read from the file, without running the shader.
+        final ImageCache otherCache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        otherCache.setPersistentCache(new ImageCacheFile(path, font));
+        otherCache.getMetrics().setEnabled(true);
+        final BufferedImage otherImage = (BufferedImage) otherCache.retrieve(tile);
+
+        Assert.assertTrue(otherCache.getMetrics().getShaderNanos().isEmpty());
+
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        Assert.assertArrayEquals(image.getRGB(0, 0, width, height, null, 0, width), otherImage.getRGB(0, 0, width, height, null, 0, width));
+    }
+
+    @Test
+    public void testGetRecordedTiles() {
+        final ImageCache cache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        cache.retrieve(new Tile('A'));
+
+        cache.setRecording(true);
+        cache.retrieve(new Tile('B'));
+        cache.retrieve(new Tile('B'));
+        cache.retrieve(new GraphicTile('C'));
+
+        final List<Tile> tiles = cache.getRecordedTiles();
+        Assert.assertEquals(2, tiles.size());
+
+        final ImageCache otherCache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        otherCache.getMetrics().setEnabled(true);
+        otherCache.prepare(tiles);
+        otherCache.retrieve(new GraphicTile('C'));
+        Assert.assertEquals(1, otherCache.getMetrics().getCacheHits());
+
+        cache.clearRecordedTiles();
+        Assert.assertTrue(cache.getRecordedTiles().isEmpty());
+    }
+
+    @Test
+    public void testRetrieve_returnsCachedImage() {
+        final ImageCache cache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        Assert.assertSame(cache.retrieve(new Tile('A')), cache.retrieve(new Tile('A')));
+    }
+
+    @Test
+    public void testValidate_withBufferedImages() {
+        final ImageCache cache = new ImageCache(font, 1, CachedImageType.BUFFERED);
+        cache.retrieve(new Tile('A'));
+
+        // BufferedImages can't be lost, so there's nothing to restore.
+        Assert.assertEquals(0, cache.validate());
+    }
 }
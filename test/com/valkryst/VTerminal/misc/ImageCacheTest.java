@@ -0,0 +1,93 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.GraphicTile;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+public class ImageCacheTest {
+    /** The pixels of the glyph: opaque, partially transparent, transparent and transparent with color. */
+    private final static int[] GLYPH_PIXELS = {0xFFFFFFFF, 0x80FFFFFF, 0x00000000, 0x00123456};
+
+    private final static int FOREGROUND_RGB = 0xFF102030;
+    private final static int BACKGROUND_RGB = 0xFF405060;
+
+    @Test
+    public void testApplyColorSwap_withIntImage() {
+        final Font font = createFont(createGlyph(BufferedImage.TYPE_INT_ARGB));
+        assertTileColors(ImageCache.applyColorSwap(createTile(new Tile('A')), font));
+    }
+
+    @Test
+    public void testApplyColorSwap_withByteImage() {
+        final Font font = createFont(createGlyph(BufferedImage.TYPE_4BYTE_ABGR));
+        assertTileColors(ImageCache.applyColorSwap(createTile(new Tile('A')), font));
+    }
+
+    @Test
+    public void testApplyColorSwap_withSubimage() {
+        // Glyphs are usually subimages of a sprite sheet.
+        final BufferedImage spriteSheet = new BufferedImage(4, 3, BufferedImage.TYPE_INT_ARGB);
+        spriteSheet.setRGB(1, 1, 2, 2, GLYPH_PIXELS, 0, 2);
+
+        final Font font = createFont(spriteSheet.getSubimage(1, 1, 2, 2));
+        assertTileColors(ImageCache.applyColorSwap(createTile(new Tile('A')), font));
+    }
+
+    @Test
+    public void testApplyColorSwap_withGraphicTile() {
+        final Font font = createFont(createGlyph(BufferedImage.TYPE_INT_ARGB));
+        final BufferedImage image = ImageCache.applyColorSwap(createTile(new GraphicTile('A')), font);
+
+        Assert.assertArrayEquals(new int[] {0xFFFFFFFF, 0x80FFFFFF, BACKGROUND_RGB, 0x00123456}, getPixels(image));
+    }
+
+    @Test
+    public void testApplyColorSwap_withUnsupportedCharacter() {
+        final Font font = createFont(createGlyph(BufferedImage.TYPE_INT_ARGB));
+        final Tile tile = createTile(new Tile('B'));
+        final BufferedImage image = ImageCache.applyColorSwap(tile, font);
+
+        final int magenta = 0xFFFF00FF;
+        Assert.assertArrayEquals(new int[] {magenta, magenta, magenta, magenta}, getPixels(image));
+
+        // The tile isn't changed, as images may be created on any thread.
+        Assert.assertEquals(new Color(FOREGROUND_RGB), tile.getForegroundColor());
+        Assert.assertEquals(new Color(BACKGROUND_RGB), tile.getBackgroundColor());
+    }
+
+    private static void assertTileColors(final BufferedImage image) {
+        final int expectedPartial = 0x80000000 | (FOREGROUND_RGB & 0x00FFFFFF);
+
+        // Every fully transparent pixel is colored with the background.
+        Assert.assertArrayEquals(new int[] {FOREGROUND_RGB, expectedPartial, BACKGROUND_RGB, BACKGROUND_RGB}, getPixels(image));
+    }
+
+    private static Tile createTile(final Tile tile) {
+        tile.setForegroundColor(new Color(FOREGROUND_RGB));
+        tile.setBackgroundColor(new Color(BACKGROUND_RGB));
+        return tile;
+    }
+
+    private static BufferedImage createGlyph(final int type) {
+        final BufferedImage image = new BufferedImage(2, 2, type);
+        image.setRGB(0, 0, 2, 2, GLYPH_PIXELS, 0, 2);
+        return image;
+    }
+
+    private static Font createFont(final BufferedImage glyph) {
+        final HashMap<Character, BufferedImage> images = new HashMap<>();
+        images.put('X', glyph);
+        images.put('A', glyph);
+        return new Font(images, 1);
+    }
+
+    private static int[] getPixels(final BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+}
@@ -0,0 +1,187 @@
+package com.valkryst.VTerminal.misc;
+
+import com.valkryst.VTerminal.ImageRenderTarget;
+import com.valkryst.VTerminal.Screen;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.awt.Color;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+public class RenderMetricsTest {
+    private RenderMetrics metrics;
+
+    @Before
+    public void initializeMetrics() {
+        metrics = new RenderMetrics();
+    }
+
+    @Test
+    public void testIsEnabled_disabledByDefault() {
+        Assert.assertFalse(metrics.isEnabled());
+        Assert.assertEquals(0, metrics.startTimer());
+    }
+
+    @Test
+    public void testRecord_whenDisabled() {
+        metrics.recordFrame(System.nanoTime());
+        metrics.recordTiles(10, 5);
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+        metrics.recordCacheEviction();
+        metrics.recordCacheLoad();
+        metrics.recordShader(SharpenShader.class, System.nanoTime());
+        metrics.recordContentsLost();
+        metrics.recordContentsRestored();
+
+        Assert.assertEquals(0, metrics.getFrameCount());
+        Assert.assertEquals(0, metrics.getTilesScanned());
+        Assert.assertEquals(0, metrics.getTilesDrawn());
+        Assert.assertEquals(0, metrics.getCacheHits());
+        Assert.assertEquals(0, metrics.getCacheMisses());
+        Assert.assertEquals(0, metrics.getCacheEvictions());
+        Assert.assertEquals(0, metrics.getCacheLoads());
+        Assert.assertTrue(metrics.getShaderNanos().isEmpty());
+        Assert.assertEquals(0, metrics.getContentsLostCount());
+        Assert.assertEquals(0, metrics.getContentsRestoredCount());
+    }
+
+    @Test
+    public void testRecord_whenEnabled() {
+        metrics.setEnabled(true);
+
+        metrics.recordFrame(metrics.startTimer());
+        metrics.recordTiles(10, 5);
+        metrics.recordTiles(3, 1);
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+        metrics.recordCacheMiss();
+        metrics.recordCacheEviction();
+        metrics.recordCacheLoad();
+        metrics.recordShader(SharpenShader.class, metrics.startTimer());
+        metrics.recordContentsLost();
+        metrics.recordContentsRestored();
+
+        Assert.assertEquals(1, metrics.getFrameCount());
+        Assert.assertEquals(13, metrics.getTilesScanned());
+        Assert.assertEquals(6, metrics.getTilesDrawn());
+        Assert.assertEquals(1, metrics.getCacheHits());
+        Assert.assertEquals(2, metrics.getCacheMisses());
+        Assert.assertEquals(1, metrics.getCacheEvictions());
+        Assert.assertEquals(1, metrics.getCacheLoads());
+        Assert.assertTrue(metrics.getShaderNanos().containsKey("SharpenShader"));
+        Assert.assertEquals(1, metrics.getContentsLostCount());
+        Assert.assertEquals(1, metrics.getContentsRestoredCount());
+    }
+
+    @Test
+    public void testRecord_whenEnabledMidFrame() {
+        final long frameStart = metrics.startTimer();
+        final long shaderStart = metrics.startTimer();
+
+        metrics.setEnabled(true);
+        metrics.recordShader(SharpenShader.class, shaderStart);
+        metrics.recordFrame(frameStart);
+
+        Assert.assertEquals(0, metrics.getFrameCount());
+        Assert.assertEquals(0, metrics.getMaxFrameTimeNanos());
+        Assert.assertArrayEquals(new long[RenderMetrics.HISTOGRAM_BUCKETS], metrics.getFrameTimeHistogram());
+        Assert.assertTrue(metrics.getShaderNanos().isEmpty());
+    }
+
+    @Test
+    public void testScreenDraw_countsEachTileOnceOnColdFrame() throws IOException {
+        final Font font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+        final Screen screen = new Screen(3, 1, font);
+        screen.setRenderTarget(new ImageRenderTarget(3 * font.getWidth(), font.getHeight()));
+
+        final String characters = "ABA";
+
+        for (int x = 0 ; x < characters.length() ; x++) {
+            final Tile tile = screen.getTileAt(x, 0);
+            tile.setCharacter(characters.charAt(x));
+            tile.setForegroundColor(Color.WHITE);
+            tile.setBackgroundColor(Color.BLUE);
+        }
+
+        screen.getMetrics().setEnabled(true);
+        screen.draw();
+
+        // Both images are missed and loaded, and the second 'A' is a hit.
+        Assert.assertEquals(2, screen.getMetrics().getCacheMisses());
+        Assert.assertEquals(2, screen.getMetrics().getCacheLoads());
+        Assert.assertEquals(1, screen.getMetrics().getCacheHits());
+    }
+
+    @Test
+    public void testRecordFrame_histogram() {
+        metrics.setEnabled(true);
+
+        final long now = System.nanoTime();
+        metrics.recordFrame(now - TimeUnit.MILLISECONDS.toNanos(10));
+
+        long total = 0;
+
+        for (final long count : metrics.getFrameTimeHistogram()) {
+            total += count;
+        }
+
+        Assert.assertEquals(1, total);
+        Assert.assertTrue(metrics.getMaxFrameTimeNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+        Assert.assertEquals(metrics.getMaxFrameTimeNanos(), metrics.getMeanFrameTimeNanos());
+    }
+
+    @Test
+    public void testGetHistogramBucket() {
+        Assert.assertEquals(0, RenderMetrics.getHistogramBucket(0));
+        Assert.assertEquals(0, RenderMetrics.getHistogramBucket(999));
+        Assert.assertEquals(1, RenderMetrics.getHistogramBucket(1_000));
+        Assert.assertEquals(2, RenderMetrics.getHistogramBucket(2_000));
+        Assert.assertEquals(2, RenderMetrics.getHistogramBucket(3_999));
+        Assert.assertEquals(3, RenderMetrics.getHistogramBucket(4_000));
+        Assert.assertEquals(RenderMetrics.HISTOGRAM_BUCKETS - 1, RenderMetrics.getHistogramBucket(Long.MAX_VALUE));
+        Assert.assertEquals(0, RenderMetrics.getHistogramBucket(-1));
+    }
+
+    @Test
+    public void testReset() {
+        metrics.setEnabled(true);
+        metrics.recordFrame(metrics.startTimer());
+        metrics.recordTiles(1, 1);
+        metrics.recordShader(SharpenShader.class, metrics.startTimer());
+
+        metrics.reset();
+
+        Assert.assertEquals(0, metrics.getFrameCount());
+        Assert.assertEquals(0, metrics.getMaxFrameTimeNanos());
+        Assert.assertEquals(0, metrics.getTilesScanned());
+        Assert.assertTrue(metrics.getShaderNanos().isEmpty());
+        Assert.assertArrayEquals(new long[RenderMetrics.HISTOGRAM_BUCKETS], metrics.getFrameTimeHistogram());
+    }
+
+    @Test
+    public void testRegisterMBean() throws JMException {
+        metrics.registerMBean("RenderMetricsTest");
+
+        final ObjectName name = new ObjectName("com.valkryst.VTerminal:type=RenderMetrics,name=" + ObjectName.quote("RenderMetricsTest"));
+        Assert.assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        Assert.assertEquals(false, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+
+        metrics.unregisterMBean();
+        Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testRegisterMBean_withNullName() throws JMException {
+        metrics.registerMBean(null);
+    }
+}
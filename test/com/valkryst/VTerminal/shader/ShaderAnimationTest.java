@@ -0,0 +1,149 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.misc.CachePolicy;
+import com.valkryst.VTerminal.misc.CachedImageType;
+import com.valkryst.VTerminal.misc.ImageCache;
+import com.valkryst.VTerminal.shader.blur.GaussianBlurShader;
+import com.valkryst.VTerminal.shader.blur.MotionBlurShader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import com.valkryst.VTerminal.shader.misc.KeyframeShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ShaderAnimationTest {
+    private final Font font;
+
+    public ShaderAnimationTest() throws IOException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testKeyframeShader_withInvalidPeriod() {
+        new KeyframeShader(0, FlipShader.of(true, false));
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testKeyframeShader_withoutFrames() {
+        new KeyframeShader(100);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testKeyframeShader_withNullFrame() {
+        new KeyframeShader(100, FlipShader.of(true, false), null);
+    }
+
+    @Test
+    public void testOf() {
+        Assert.assertNull(ShaderAnimation.of(Collections.singletonList(FlipShader.of(true, false))));
+
+        final ShaderAnimation animation = ShaderAnimation.of(Arrays.asList(new GaussianBlurShader(2),
+                                                                           new KeyframeShader(400, new MotionBlurShader(), new MotionBlurShader(90, 2, 0, 0, false)),
+                                                                           new KeyframeShader(100, FlipShader.of(true, false))));
+        Assert.assertEquals(400, animation.getPeriod());
+        Assert.assertEquals(2, animation.getFrameCount());
+    }
+
+    @Test
+    public void testGetFrame() {
+        final ShaderAnimation animation = ShaderAnimation.of(Collections.singletonList(createFlipAnimation()));
+
+        Assert.assertEquals(0, animation.getFrame(0));
+        Assert.assertEquals(0, animation.getFrame(49));
+        Assert.assertEquals(1, animation.getFrame(50));
+        Assert.assertEquals(1, animation.getFrame(99));
+        Assert.assertEquals(0, animation.getFrame(100));
+        Assert.assertEquals(1, animation.getFrame(-1));
+    }
+
+    @Test
+    public void testGetNextFrameTime() {
+        final ShaderAnimation animation = ShaderAnimation.of(Collections.singletonList(createFlipAnimation()));
+
+        Assert.assertEquals(50, animation.getNextFrameTime(0));
+        Assert.assertEquals(50, animation.getNextFrameTime(49));
+        Assert.assertEquals(100, animation.getNextFrameTime(50));
+        Assert.assertEquals(150, animation.getNextFrameTime(100));
+        Assert.assertEquals(0, animation.getNextFrameTime(-1));
+
+        // The frames of uneven length begin at the first millisecond that they're shown.
+        final ShaderAnimation unevenAnimation = ShaderAnimation.of(Collections.singletonList(new KeyframeShader(100, new GaussianBlurShader(1), new GaussianBlurShader(2), new GaussianBlurShader(3))));
+        Assert.assertEquals(34, unevenAnimation.getNextFrameTime(0));
+        Assert.assertEquals(1, unevenAnimation.getFrame(34));
+        Assert.assertEquals(0, unevenAnimation.getFrame(33));
+        Assert.assertEquals(67, unevenAnimation.getNextFrameTime(34));
+        Assert.assertEquals(100, unevenAnimation.getNextFrameTime(67));
+
+        final ShaderAnimation stillAnimation = ShaderAnimation.of(Collections.singletonList(new KeyframeShader(100, new GaussianBlurShader(1))));
+        Assert.assertEquals(Long.MAX_VALUE, stillAnimation.getNextFrameTime(0));
+    }
+
+    @Test
+    public void testGetFrameShaders() {
+        final KeyframeShader slowShader = new KeyframeShader(100, new GaussianBlurShader(1), new GaussianBlurShader(2), new GaussianBlurShader(3), new GaussianBlurShader(4));
+        final KeyframeShader fastShader = createFlipAnimation();
+        final ShaderAnimation animation = ShaderAnimation.of(Arrays.asList(slowShader, fastShader));
+
+        // The second shader shows the keyframe at the same point in it's own cycle.
+        Assert.assertEquals(Arrays.asList(new GaussianBlurShader(2), FlipShader.of(false, false)), animation.getFrameShaders(Arrays.asList(slowShader, fastShader), 1));
+        Assert.assertEquals(Arrays.asList(new GaussianBlurShader(3), FlipShader.of(false, true)), animation.getFrameShaders(Arrays.asList(slowShader, fastShader), 2));
+    }
+
+    @Test
+    public void testShaderChains_getAnimation() {
+        Assert.assertNull(ShaderChain.EMPTY.getAnimation());
+        Assert.assertNull(ShaderChain.EMPTY.append(new GaussianBlurShader(2)).getAnimation());
+
+        final ShaderChain chain = ShaderChain.EMPTY.append(createFlipAnimation());
+        Assert.assertEquals(2, chain.getAnimation().getFrameCount());
+    }
+
+    @Test
+    public void testImageCache_storesFramesAsStrip() {
+        final ImageCache imageCache = new ImageCache(font, CachedImageType.BUFFERED, CachePolicy.SIZE, ImageCache.DEFAULT_MAXIMUM_SIZE, 1);
+
+        final Tile tile = new Tile('A');
+        tile.setForegroundColor(Color.WHITE);
+        tile.setBackgroundColor(Color.BLUE);
+        tile.addShaders(createFlipAnimation());
+
+        final BufferedImage strip = (BufferedImage) imageCache.retrieve(tile);
+        Assert.assertEquals(2 * font.getWidth(), strip.getWidth());
+        Assert.assertEquals(font.getHeight(), strip.getHeight());
+        Assert.assertEquals(4L * strip.getWidth() * strip.getHeight(), imageCache.getCachedSize());
+
+        final Tile unflippedTile = new Tile(tile);
+        unflippedTile.removeAllShaders();
+
+        final Tile flippedTile = new Tile(unflippedTile);
+        flippedTile.setFlippedVertically(true);
+
+        assertFrameEquals(imageCache.retrieve(unflippedTile), strip, 0);
+        assertFrameEquals(imageCache.retrieve(flippedTile), strip, 1);
+
+        // Every frame is drawn from the same image.
+        Assert.assertSame(strip, imageCache.retrieve(new Tile(tile)));
+    }
+
+    private static KeyframeShader createFlipAnimation() {
+        return new KeyframeShader(100, FlipShader.of(false, false), FlipShader.of(false, true));
+    }
+
+    private void assertFrameEquals(final Image expected, final BufferedImage strip, final int frame) {
+        final int width = font.getWidth();
+        final int height = font.getHeight();
+        final int[] expectedPixels = ((BufferedImage) expected).getRGB(0, 0, width, height, null, 0, width);
+        final int[] framePixels = strip.getRGB(frame * width, 0, width, height, null, 0, width);
+
+        Assert.assertArrayEquals(expectedPixels, framePixels);
+    }
+}
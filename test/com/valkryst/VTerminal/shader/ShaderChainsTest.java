@@ -0,0 +1,92 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.shader.blur.GaussianBlurShader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ShaderChainsTest {
+    @Test(expected=NullPointerException.class)
+    public void testGet_withNullShaders() {
+        ShaderChains.get(null);
+    }
+
+    @Test
+    public void testGet() {
+        final ShaderChain chain = ShaderChains.get(Arrays.asList(new GaussianBlurShader(4), FlipShader.of(true, false)));
+
+        Assert.assertSame(ShaderChain.EMPTY, ShaderChains.get(Collections.emptyList()));
+        Assert.assertSame(chain, ShaderChains.get(Arrays.asList(new GaussianBlurShader(4), new FlipShader(true, false))));
+        Assert.assertNotEquals(chain, ShaderChains.get(Arrays.asList(FlipShader.of(true, false), new GaussianBlurShader(4))));
+        Assert.assertEquals(Arrays.asList(new GaussianBlurShader(4), FlipShader.of(true, false)), chain.getShaders());
+    }
+
+    @Test
+    public void testGet_withSubclass() {
+        final ShaderChain chain = ShaderChains.get(Collections.singletonList(new SharpenShader(0.5f, 3)));
+        final ShaderChain subclassChain = ShaderChains.get(Collections.singletonList(new SharpenShader(0.5f, 3) {}));
+
+        Assert.assertNotEquals(chain, subclassChain);
+        Assert.assertNotEquals(chain.getId(), subclassChain.getId());
+    }
+
+    @Test(expected=UnsupportedOperationException.class)
+    public void testGetShaders_isUnmodifiable() {
+        ShaderChain.EMPTY.append(new GaussianBlurShader(4)).getShaders().clear();
+    }
+
+    @Test
+    public void testAppendAndRemove() {
+        final ShaderChain chain = ShaderChain.EMPTY.append(new GaussianBlurShader(5), null, FlipShader.of(false, true));
+        Assert.assertEquals(2, chain.getShaders().size());
+
+        final ShaderChain removedChain = chain.remove(new GaussianBlurShader(5));
+        Assert.assertSame(ShaderChains.get(Collections.singletonList(FlipShader.of(false, true))), removedChain);
+        Assert.assertSame(ShaderChain.EMPTY, removedChain.remove(FlipShader.of(false, true)));
+
+        Assert.assertSame(chain, chain.remove(new GaussianBlurShader(6)));
+    }
+
+    @Test
+    public void testTile_sharesChain() {
+        final Tile tile = new Tile('A');
+        tile.addShaders(new GaussianBlurShader(9));
+
+        final Tile otherTile = new Tile('A');
+        otherTile.addShaders(new GaussianBlurShader(9));
+
+        Assert.assertEquals(tile.getGlyphKey(), otherTile.getGlyphKey());
+        Assert.assertEquals(tile.getCacheKey(), otherTile.getCacheKey());
+        Assert.assertSame(tile.getShaders(), otherTile.getShaders());
+
+        otherTile.removeAllShaders();
+        Assert.assertNotEquals(tile.getGlyphKey(), otherTile.getGlyphKey());
+        Assert.assertEquals(new Tile('A').getGlyphKey(), otherTile.getGlyphKey());
+    }
+
+    @Test
+    public void testGet_collectsUnusedChains() throws InterruptedException {
+        ShaderChain chain = ShaderChains.get(Collections.singletonList(new GaussianBlurShader(123_457)));
+        final int id = chain.getId();
+        final WeakReference<ShaderChain> reference = new WeakReference<>(chain);
+        chain = null;
+
+        final long deadline = System.currentTimeMillis() + 10_000;
+
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assert.assertNull(reference.get());
+
+        // An equal chain, created after the first was collected, is given a new id.
+        Assert.assertNotEquals(id, ShaderChains.get(Collections.singletonList(new GaussianBlurShader(123_457))).getId());
+    }
+}
@@ -0,0 +1,52 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.shader.blur.GaussianBlurShader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import com.valkryst.VTerminal.shader.misc.SharpenShader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShaderInternerTest {
+    @Test(expected=NullPointerException.class)
+    public void testIntern_withNullShader() {
+        ShaderInterner.intern(null);
+    }
+
+    @Test
+    public void testIntern() {
+        final GaussianBlurShader shader = ShaderInterner.intern(new GaussianBlurShader(7));
+
+        Assert.assertSame(shader, ShaderInterner.intern(new GaussianBlurShader(7)));
+        Assert.assertNotSame(shader, ShaderInterner.intern(new GaussianBlurShader(8)));
+    }
+
+    @Test
+    public void testIntern_withSubclass() {
+        final SharpenShader shader = ShaderInterner.intern(new SharpenShader(0.25f, 2));
+        final SharpenShader subclassShader = new SharpenShader(0.25f, 2) {};
+
+        Assert.assertSame(subclassShader, ShaderInterner.intern(subclassShader));
+        Assert.assertSame(shader, ShaderInterner.intern(new SharpenShader(0.25f, 2)));
+    }
+
+    @Test
+    public void testFlipShader_of() {
+        Assert.assertSame(FlipShader.of(true, false), ShaderInterner.intern(new FlipShader(true, false)));
+        Assert.assertEquals(new FlipShader(false, true), FlipShader.of(false, true));
+    }
+
+    @Test
+    public void testTile_sharesShaders() {
+        final Tile tile = new Tile('A');
+        tile.addShaders(new GaussianBlurShader(3));
+        tile.setFlippedHorizontally(true);
+        tile.setFlippedVertically(true);
+
+        final Tile otherTile = new Tile('B');
+        otherTile.copy(tile);
+
+        Assert.assertSame(tile.getShaders().get(0), otherTile.getShaders().get(0));
+        Assert.assertSame(FlipShader.of(true, true), otherTile.getShaders().get(1));
+    }
+}
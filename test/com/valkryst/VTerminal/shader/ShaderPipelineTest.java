@@ -0,0 +1,131 @@
+package com.valkryst.VTerminal.shader;
+
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.misc.ImageCache;
+import com.valkryst.VTerminal.shader.blur.GaussianBlurShader;
+import com.valkryst.VTerminal.shader.character.CharShadeShader;
+import com.valkryst.VTerminal.shader.character.CharShader;
+import com.valkryst.VTerminal.shader.character.CharTintShader;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+public class ShaderPipelineTest {
+    private final static int WIDTH = 5;
+    private final static int HEIGHT = 4;
+
+    private Tile tile;
+
+    private BufferedImage image;
+
+    @Before
+    public void initializeTile() {
+        tile = new Tile('A');
+        tile.setBackgroundColor(new Color(10, 20, 30));
+        tile.setForegroundColor(new Color(200, 150, 100));
+
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+
+        for (int y = 0 ; y < HEIGHT ; y++) {
+            for (int x = 0 ; x < WIDTH ; x++) {
+                final boolean isForeground = (x + (y * 2)) % 3 == 0;
+                image.setRGB(x, y, (isForeground ? tile.getForegroundColor() : tile.getBackgroundColor()).getRGB());
+            }
+        }
+
+        // A pixel which is neither color, so that the flip can be checked.
+        image.setRGB(0, 0, 0xFF123456);
+    }
+
+    private BufferedImage runSequentially(BufferedImage image) {
+        for (final Shader shader : tile.getShaders()) {
+            if (shader instanceof CharShader) {
+                image = ((CharShader) shader).run(image, tile);
+            } else {
+                image = shader.run(image);
+            }
+        }
+
+        return image;
+    }
+
+    private static void assertImageEquals(final BufferedImage expected, final BufferedImage actual) {
+        Assert.assertEquals(expected.getWidth(), actual.getWidth());
+        Assert.assertEquals(expected.getHeight(), actual.getHeight());
+
+        for (int y = 0 ; y < expected.getHeight() ; y++) {
+            for (int x = 0 ; x < expected.getWidth() ; x++) {
+                Assert.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    private static CharTintShader createTintShader() {
+        return new CharTintShader(true, true, 0.5, 0.25);
+    }
+
+    private static CharShadeShader createShadeShader() {
+        return new CharShadeShader(false, true, 0.0, 0.5);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testRun_withNullImage() {
+        ShaderPipeline.run(null, tile, null);
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testRun_withNullTile() {
+        ShaderPipeline.run(image, null, null);
+    }
+
+    @Test
+    public void testRun_withNoShaders() {
+        Assert.assertSame(image, ShaderPipeline.run(image, tile, null));
+    }
+
+    @Test
+    public void testRun_withFusedShaders() {
+        tile.addShaders(createTintShader(), createShadeShader(), new FlipShader(true, true));
+
+        final BufferedImage expected = runSequentially(ImageCache.cloneImage(image));
+        final BufferedImage actual = ShaderPipeline.run(image, tile, null);
+
+        // Per-pixel and geometric shaders modify the image in place.
+        Assert.assertSame(image, actual);
+        assertImageEquals(expected, actual);
+        Assert.assertEquals(0xFF123456, actual.getRGB(WIDTH - 1, HEIGHT - 1));
+    }
+
+    @Test
+    public void testRun_withNeighborhoodShader() {
+        tile.addShaders(createTintShader(), new GaussianBlurShader(), createShadeShader(), new FlipShader(false, true));
+
+        final BufferedImage expected = runSequentially(ImageCache.cloneImage(image));
+        assertImageEquals(expected, ShaderPipeline.run(image, tile, null));
+    }
+
+    @Test
+    public void testRun_withNonArgbImage() {
+        final BufferedImage rgbImage = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        rgbImage.getGraphics().drawImage(image, 0, 0, null);
+        tile.addShaders(createTintShader());
+
+        final BufferedImage expected = runSequentially(ImageCache.cloneImage(rgbImage));
+        final BufferedImage actual = ShaderPipeline.run(rgbImage, tile, null);
+
+        Assert.assertEquals(BufferedImage.TYPE_INT_ARGB, actual.getType());
+        assertImageEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetKind() {
+        Assert.assertEquals(ShaderKind.PER_PIXEL, new CharTintShader().getKind());
+        Assert.assertEquals(ShaderKind.PER_PIXEL, new CharShadeShader().getKind());
+        Assert.assertEquals(ShaderKind.GEOMETRIC, new FlipShader().getKind());
+        Assert.assertEquals(ShaderKind.NEIGHBORHOOD, new GaussianBlurShader().getKind());
+    }
+}
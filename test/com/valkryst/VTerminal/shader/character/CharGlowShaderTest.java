@@ -0,0 +1,129 @@
+package com.valkryst.VTerminal.shader.character;
+
+import com.jhlabs.image.GaussianFilter;
+import com.valkryst.VTerminal.Tile;
+import com.valkryst.VTerminal.font.Font;
+import com.valkryst.VTerminal.font.FontLoader;
+import com.valkryst.VTerminal.shader.AlphaMaskCache;
+import com.valkryst.VTerminal.shader.misc.FlipShader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+public class CharGlowShaderTest {
+    private final Font font;
+
+    private final CharGlowShader shader = new CharGlowShader();
+
+    public CharGlowShaderTest() throws IOException {
+        font = FontLoader.loadFontFromJar("Fonts/DejaVu Sans Mono/20pt/bitmap.png", "Fonts/DejaVu Sans Mono/20pt/data.fnt", 1);
+    }
+
+    @Before
+    public void clearCache() {
+        AlphaMaskCache.clear();
+    }
+
+    private Tile createTile(final Color foregroundColor, final Color backgroundColor) {
+        final Tile tile = new Tile('A');
+        tile.setForegroundColor(foregroundColor);
+        tile.setBackgroundColor(backgroundColor);
+        return tile;
+    }
+
+    private BufferedImage createImage(final Tile tile) {
+        final byte[] mask = font.getCharacterMask(tile.getCharacter());
+        final BufferedImage image = new BufferedImage(font.getWidth(), font.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final int foregroundRGB = tile.getForegroundColor().getRGB();
+
+        for (int i = 0 ; i < mask.length ; i++) {
+            final int alpha = mask[i] & 0xFF;
+            final int rgb;
+
+            if (alpha == 0) {
+                rgb = tile.getBackgroundColor().getRGB();
+            } else if (alpha == 255) {
+                rgb = foregroundRGB;
+            } else {
+                rgb = (alpha << 24) | (foregroundRGB & 0x00FFFFFF);
+            }
+
+            image.setRGB(i % font.getWidth(), i / font.getWidth(), rgb);
+        }
+
+        return image;
+    }
+
+    /** Runs the glow without the alpha mask cache, by blurring the colored character. */
+    private static BufferedImage runUncached(final BufferedImage image, final Tile tile) {
+        final BufferedImage charImage = shaderSwap(image, tile.getBackgroundColor());
+
+        final GaussianFilter filter = new GaussianFilter();
+        filter.setRadius(5);
+        final BufferedImage glowImage = filter.filter(charImage, null);
+
+        final BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D gc = (Graphics2D) result.getGraphics();
+        gc.setColor(tile.getBackgroundColor());
+        gc.fillRect(0, 0, result.getWidth(), result.getHeight());
+        gc.drawImage(glowImage, 0, 0, null);
+        gc.drawImage(charImage, 0, 0, null);
+        gc.dispose();
+
+        return result;
+    }
+
+    private static BufferedImage shaderSwap(final BufferedImage image, final Color backgroundColor) {
+        return new FlipShader().swapColor(image, backgroundColor, new Color(0, 0, 0, 0));
+    }
+
+    private static void assertImageSimilar(final BufferedImage expected, final BufferedImage actual) {
+        for (int y = 0 ; y < expected.getHeight() ; y++) {
+            for (int x = 0 ; x < expected.getWidth() ; x++) {
+                final int expectedRGB = expected.getRGB(x, y);
+                final int actualRGB = actual.getRGB(x, y);
+
+                for (int shift = 0 ; shift < 32 ; shift += 8) {
+                    final int difference = Math.abs(((expectedRGB >> shift) & 0xFF) - ((actualRGB >> shift) & 0xFF));
+                    Assert.assertTrue("Pixel (" + x + ", " + y + ") differs by " + difference, difference <= 3);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRun_matchesUncachedGlow() {
+        final Tile tile = createTile(new Color(0xFF66CC33), new Color(0xFF102030));
+        final BufferedImage image = createImage(tile);
+
+        assertImageSimilar(runUncached(image, tile), shader.run(image, tile));
+    }
+
+    @Test
+    public void testRun_reusesGlowForEachColor() {
+        for (final Color color : new Color[] {Color.RED, Color.GREEN, Color.BLUE, Color.WHITE}) {
+            final Tile tile = createTile(color, Color.BLACK);
+            final BufferedImage image = createImage(tile);
+
+            assertImageSimilar(runUncached(image, tile), shader.run(image, tile));
+        }
+
+        Assert.assertEquals(1, AlphaMaskCache.size());
+    }
+
+    @Test
+    public void testRun_withMultipleColors() {
+        final Tile tile = createTile(Color.RED, Color.BLACK);
+        final BufferedImage image = createImage(tile);
+        image.setRGB(0, 0, Color.BLUE.getRGB());
+
+        // The character isn't single-colored, so it's glow isn't cached.
+        assertImageSimilar(runUncached(image, tile), shader.run(image, tile));
+        Assert.assertEquals(0, AlphaMaskCache.size());
+    }
+}